@@ -1,11 +1,35 @@
 package com.binance.api.client;
 
+import com.binance.api.client.cache.ExchangeInfoCache;
+import com.binance.api.client.clock.ServerClock;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.SymbolRegistry;
+import com.binance.api.client.exception.BinanceApiException;
 import com.binance.api.client.impl.BinanceApiAsyncRestClientImpl;
+import com.binance.api.client.impl.BinanceApiCombinedStreamManager;
+import com.binance.api.client.impl.BinanceApiFutureRestClientImpl;
 import com.binance.api.client.impl.BinanceApiRestClientImpl;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import com.binance.api.client.impl.BinanceApiServiceOptions;
 import com.binance.api.client.impl.BinanceApiWebSocketClientImpl;
+import com.binance.api.client.impl.BinanceApiWebSocketTradingClientImpl;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+import com.binance.api.client.metrics.MetricsInterceptor;
+import com.binance.api.client.ratelimit.RateLimiter;
+import com.binance.api.client.security.ApiKeyType;
+import com.binance.api.client.security.RequestSigner;
+import com.binance.api.client.userdata.UserDataStreamListener;
+import com.binance.api.client.userdata.UserDataStreamSession;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
 
 import java.net.ProxySelector;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.createService;
 import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedClient;
 
 /**
@@ -19,19 +43,61 @@ public class BinanceApiClientFactory {
   private String apiKey;
 
   /**
-   * Secret.
+   * Signer of the signed requests, if any.
    */
-  private String secret;
+  private RequestSigner signer;
+
+  /**
+   * Registry resolving the symbols of web socket events, if any.
+   */
+  private SymbolRegistry symbolRegistry;
+
+  /**
+   * Rate limiter shared by the REST clients, if any.
+   */
+  private RateLimiter rateLimiter;
+
+  /**
+   * Listener of the failed calls of the REST clients, if any.
+   */
+  private BinanceApiErrorListener errorListener;
+
+  /**
+   * Clock supplying the timestamps of signed requests, if any.
+   */
+  private ServerClock clock;
+
+  /**
+   * Metrics the REST calls and streams of the clients are reported to.
+   */
+  private BinanceApiMetrics metrics = BinanceApiMetrics.NONE;
+
+  /**
+   * HTTP client whose dispatcher and connection pool the clients use.
+   */
+  private OkHttpClient httpClient = getSharedClient();
+
+  /**
+   * Headers set on all REST requests, none by default.
+   */
+  private Headers headers;
+
+  /**
+   * REST services built for the clients, by proxy selector, and reused by all the clients using the same one.
+   */
+  private final Map<Object, BinanceApiService> services = new ConcurrentHashMap<>();
+
+  private static final Object NO_PROXY_SELECTOR = new Object();
 
   /**
    * Instantiates a new binance api client factory.
    *
    * @param apiKey the API key
-   * @param secret the Secret
+   * @param signer the signer of the signed requests
    */
-  private BinanceApiClientFactory(String apiKey, String secret) {
+  private BinanceApiClientFactory(String apiKey, RequestSigner signer) {
     this.apiKey = apiKey;
-    this.secret = secret;
+    this.signer = signer;
   }
 
   /**
@@ -43,7 +109,32 @@ public class BinanceApiClientFactory {
    * @return the binance api client factory
    */
   public static BinanceApiClientFactory newInstance(String apiKey, String secret) {
-    return new BinanceApiClientFactory(apiKey, secret);
+    return newInstance(apiKey, secret, ApiKeyType.HMAC);
+  }
+
+  /**
+   * New instance for an API key of the given type.
+   *
+   * @param apiKey the API key
+   * @param secret the Secret of an HMAC key, or the PEM encoded PKCS#8 private key of an Ed25519 or RSA key
+   * @param keyType the type of the API key
+   *
+   * @return the binance api client factory
+   */
+  public static BinanceApiClientFactory newInstance(String apiKey, String secret, ApiKeyType keyType) {
+    return new BinanceApiClientFactory(apiKey, StringUtils.isEmpty(secret) ? null : keyType.newSigner(secret));
+  }
+
+  /**
+   * New instance signing requests with the given signer, e.g. one delegating to a signing service which holds the key.
+   *
+   * @param apiKey the API key
+   * @param signer the signer of the signed requests
+   *
+   * @return the binance api client factory
+   */
+  public static BinanceApiClientFactory newInstanceWithSigner(String apiKey, RequestSigner signer) {
+    return new BinanceApiClientFactory(apiKey, signer);
   }
 
   /**
@@ -55,6 +146,108 @@ public class BinanceApiClientFactory {
     return new BinanceApiClientFactory(null, null);
   }
 
+  /**
+   * Makes the web socket clients created by this factory from now on resolve the symbols of events to the canonical
+   * instances of the given registry, instead of allocating a new String per event.
+   *
+   * @return this factory
+   */
+  public BinanceApiClientFactory symbolRegistry(SymbolRegistry symbolRegistry) {
+    this.symbolRegistry = symbolRegistry;
+    return this;
+  }
+
+  /**
+   * Makes all the REST clients created by this factory from now on share the given rate limiter, so that together they
+   * stay within the exchange's request weight and order limits.
+   *
+   * @return this factory
+   */
+  public BinanceApiClientFactory rateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    services.clear();
+    return this;
+  }
+
+  /**
+   * Makes the clients created by this factory from now on use their own HTTP client, configured by the given
+   * configuration, instead of the client shared by all factories. For example, to run many concurrent blocking calls on
+   * virtual threads:
+   *
+   * <pre>
+   * BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance().httpConfig(BinanceApiHttpConfig.virtualThreads());
+   * </pre>
+   *
+   * @return this factory
+   */
+  public BinanceApiClientFactory httpConfig(BinanceApiHttpConfig httpConfig) {
+    this.httpClient = httpConfig.newClient();
+    this.headers = httpConfig.getHeaders();
+    services.clear();
+    return this;
+  }
+
+  /**
+   * Makes the REST clients created by this factory from now on tell the given listener of their failed calls, e.g. to
+   * count errors by HTTP status and error code.
+   *
+   * @return this factory
+   */
+  public BinanceApiClientFactory errorListener(BinanceApiErrorListener errorListener) {
+    this.errorListener = errorListener;
+    return this;
+  }
+
+  /**
+   * Makes the clients created by this factory from now on report the latency and weight of REST calls, and the message
+   * rates, timings and reconnects of streams, to the given metrics.
+   *
+   * @return this factory
+   */
+  public BinanceApiClientFactory metrics(BinanceApiMetrics metrics) {
+    this.metrics = metrics;
+    services.clear();
+    return this;
+  }
+
+  /**
+   * Makes the signed requests of the clients created by this factory from now on carry the timestamps of the given clock,
+   * and its receive window if it has one, taken as they are sent, instead of those of their parameters.
+   *
+   * @return this factory
+   * @see #newServerClock()
+   */
+  public BinanceApiClientFactory clock(ServerClock clock) {
+    this.clock = clock;
+    services.clear();
+    return this;
+  }
+
+  /**
+   * Creates a new clock synchronized with the server time, as read by a REST client of this factory. It still has to be
+   * {@link ServerClock#start(long) started}, or {@link ServerClock#sync() synchronized}, and set with {@link #clock}.
+   */
+  public ServerClock newServerClock() {
+    BinanceApiRestClient restClient = newRestClient();
+    return new ServerClock(() -> restClient.getServerTime());
+  }
+
+  /**
+   * Creates a new cache of the exchange information, as read by a REST client of this factory. It is loaded on its first
+   * lookup, and refreshed once {@link ExchangeInfoCache#start(long) started}.
+   */
+  public ExchangeInfoCache newExchangeInfoCache() {
+    BinanceApiRestClient restClient = newRestClient();
+    return new ExchangeInfoCache(() -> restClient.getExchangeInfo());
+  }
+
+  /**
+   * @return the rate limiter shared by the REST clients of this factory, or null
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
   /**
    * Creates a new synchronous/blocking REST client.
    */
@@ -66,7 +259,8 @@ public class BinanceApiClientFactory {
    * Creates a new synchronous/blocking REST client.
    */
   public BinanceApiRestClient newRestClient(ProxySelector proxySelector) {
-    return new BinanceApiRestClientImpl(apiKey, secret, proxySelector);
+    BinanceApiErrorListener errorListener = this.errorListener;
+    return new BinanceApiRestClientImpl(getService(proxySelector), call -> BinanceApiServiceGenerator.executeSync(call, errorListener));
   }
 
   /**
@@ -80,13 +274,111 @@ public class BinanceApiClientFactory {
    * Creates a new asynchronous/non-blocking REST client.
    */
   public BinanceApiAsyncRestClient newAsyncRestClient(ProxySelector proxySelector) {
-    return new BinanceApiAsyncRestClientImpl(apiKey, secret, proxySelector);
+    return new BinanceApiAsyncRestClientImpl(getService(proxySelector), errorListener);
+  }
+
+  /**
+   * Creates a new asynchronous/non-blocking REST client whose methods return <code>CompletableFuture</code>s.
+   */
+  public BinanceApiFutureRestClient newFutureRestClient() {
+    return newFutureRestClient(null);
+  }
+
+  /**
+   * Creates a new asynchronous/non-blocking REST client whose methods return <code>CompletableFuture</code>s.
+   */
+  public BinanceApiFutureRestClient newFutureRestClient(ProxySelector proxySelector) {
+    return new BinanceApiFutureRestClientImpl(getService(proxySelector), errorListener);
+  }
+
+  /**
+   * Creates a new client placing, checking and canceling orders over a persistent WebSocket API connection.
+   */
+  public BinanceApiWebSocketTradingClient newWebSocketTradingClient() {
+    if (StringUtils.isEmpty(apiKey) || signer == null) {
+      throw new BinanceApiException("The WebSocket API trading client requires an API key and its secret");
+    }
+    return new BinanceApiWebSocketTradingClientImpl(httpClient, apiKey, signer, clock);
   }
 
   /**
    * Creates a new web socket client used for handling data streams.
    */
   public BinanceApiWebSocketClient newWebSocketClient() {
-    return new BinanceApiWebSocketClientImpl(getSharedClient());
+    return new BinanceApiWebSocketClientImpl(httpClient, null, null, symbolRegistry, metrics);
+  }
+
+  /**
+   * Creates a new web socket client whose streams are automatically reconnected according to the given policy.
+   * Callbacks implementing {@link BinanceApiStreamCallback} are notified of every reconnect.
+   */
+  public BinanceApiWebSocketClient newWebSocketClient(BinanceApiWebSocketReconnectPolicy reconnectPolicy) {
+    return new BinanceApiWebSocketClientImpl(httpClient, null, reconnectPolicy, symbolRegistry, metrics);
+  }
+
+  /**
+   * Creates a new web socket client which multiplexes all of its subscriptions onto combined stream connections,
+   * opening a new connection only once the current ones carry the maximum number of streams.
+   */
+  public BinanceApiWebSocketClient newCombinedStreamWebSocketClient() {
+    return newCombinedStreamWebSocketClient(BinanceApiWebSocketReconnectPolicy.never());
+  }
+
+  /**
+   * Creates a new combined stream web socket client whose connections are automatically reconnected, and resubscribed
+   * to all of their streams, according to the given policy.
+   * Callbacks implementing {@link BinanceApiStreamCallback} are notified of every reconnect.
+   */
+  public BinanceApiWebSocketClient newCombinedStreamWebSocketClient(BinanceApiWebSocketReconnectPolicy reconnectPolicy) {
+    return new BinanceApiWebSocketClientImpl(httpClient, new BinanceApiCombinedStreamManager(httpClient, reconnectPolicy),
+        null, symbolRegistry, metrics);
+  }
+
+  /**
+   * Creates and starts a new user data stream session, which keeps its listen key alive, reconnects forever and hands
+   * the listeners a snapshot of the account and its open orders whenever events may have been missed. As every stream
+   * of an account shares its listen key, all the listeners of an account should share one session.
+   */
+  public UserDataStreamSession newUserDataStreamSession(UserDataStreamListener... listeners) {
+    return newUserDataStreamSession(new BinanceApiWebSocketReconnectPolicy(), listeners);
+  }
+
+  /**
+   * Creates and starts a new user data stream session, reconnected according to the given policy.
+   *
+   * @see #newUserDataStreamSession(UserDataStreamListener...)
+   */
+  public UserDataStreamSession newUserDataStreamSession(BinanceApiWebSocketReconnectPolicy reconnectPolicy,
+                                                        UserDataStreamListener... listeners) {
+    if (StringUtils.isEmpty(apiKey) || signer == null) {
+      throw new BinanceApiException("The user data stream requires an API key and its secret");
+    }
+    return new UserDataStreamSession(newRestClient(), httpClient, BinanceApiConstants.WSS_INDIVIDUAL_URL, reconnectPolicy,
+        UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS, listeners).start();
+  }
+
+  /**
+   * @return the REST service of this factory for the given proxy selector, built on first use
+   */
+  private BinanceApiService getService(ProxySelector proxySelector) {
+    return services.computeIfAbsent(proxySelector != null ? proxySelector : NO_PROXY_SELECTOR,
+        key -> createService(BinanceApiService.class, new BinanceApiServiceOptions()
+            .baseClient(getRestHttpClient())
+            .apiKey(apiKey)
+            .signer(signer)
+            .headers(headers)
+            .clock(clock)
+            .proxySelector(proxySelector)
+            .rateLimiter(rateLimiter)));
+  }
+
+  /**
+   * @return the HTTP client of the REST services, measuring requests if there are metrics
+   */
+  private OkHttpClient getRestHttpClient() {
+    if (metrics == BinanceApiMetrics.NONE) {
+      return httpClient;
+    }
+    return httpClient.newBuilder().addNetworkInterceptor(new MetricsInterceptor(metrics)).build();
   }
 }
@@ -0,0 +1,20 @@
+package com.binance.api.client;
+
+import com.binance.api.client.exception.BinanceApiException;
+
+/**
+ * Listener of the failed calls of REST clients, e.g. to count errors and rate limit rejections by code.
+ *
+ * It is called on the thread which completes the call, before the caller sees the failure, so it must return quickly
+ * and not block. Exceptions it throws are ignored.
+ */
+@FunctionalInterface
+public interface BinanceApiErrorListener {
+
+  /**
+   * Called with the exception a call failed with.
+   *
+   * @param exception the failure, with the HTTP status code, error code and rate limit headers of the response, if any
+   */
+  void onError(BinanceApiException exception);
+}
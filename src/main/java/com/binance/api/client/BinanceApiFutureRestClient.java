@@ -0,0 +1,280 @@
+package com.binance.api.client;
+
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.AllOrdersRequest;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binance API façade, supporting asynchronous/non-blocking access Binance's REST API, with methods returning
+ * <code>CompletableFuture</code>s, e.g. to compose calls or fan them out with {@link BinanceApiFutures}.
+ *
+ * Futures are completed on the threads of the HTTP client's dispatcher, and fail with a
+ * {@link com.binance.api.client.exception.BinanceApiException}. Cancelling a future cancels its request.
+ */
+public interface BinanceApiFutureRestClient {
+
+  // General endpoints
+
+  /**
+   * Test connectivity to the Rest API.
+   */
+  CompletableFuture<Void> ping();
+
+  /**
+   * Check server time.
+   */
+  CompletableFuture<ServerTime> getServerTime();
+
+  /**
+   * Current exchange trading rules and symbol information
+   */
+  CompletableFuture<ExchangeInfo> getExchangeInfo();
+
+  /**
+   * ALL supported assets and whether or not they can be withdrawn.
+   */
+  CompletableFuture<List<Asset>> getAllAssets();
+
+  // Market Data endpoints
+
+  /**
+   * Get order book of a symbol
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   * @param limit depth of the order book (max 100)
+   */
+  CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit);
+
+  /**
+   * Get recent trades (up to last 500). Weight: 1
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   * @param limit of last trades (Default 500; max 1000.)
+   */
+  CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit);
+
+  /**
+   * Get older trades. Weight: 5
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   * @param limit of last trades (Default 500; max 1000.)
+   * @param fromId TradeId to fetch from. Default gets most recent trades.
+   */
+  CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId);
+
+  /**
+   * Get compressed, aggregate trades. Trades that fill at the time, from the same order, with
+   * the same price will have the quantity aggregated.
+   *
+   * If both <code>startTime</code> and <code>endTime</code> are sent, <code>limit</code>should not
+   * be sent AND the distance between <code>startTime</code> and <code>endTime</code> must be less than 24 hours.
+   *
+   * @param symbol symbol to aggregate (mandatory)
+   * @param fromId ID to get aggregate trades from INCLUSIVE (optional)
+   * @param limit Default 500; max 1000 (optional)
+   * @param startTime Timestamp in ms to get aggregate trades from INCLUSIVE (optional).
+   * @param endTime Timestamp in ms to get aggregate trades until INCLUSIVE (optional).
+   * @return a list of aggregate trades for the given symbol
+   */
+  CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime);
+
+  /**
+   * Return the most recent aggregate trades for <code>symbol</code>
+   *
+   * @see #getAggTrades(String, String, Integer, Long, Long)
+   */
+  CompletableFuture<List<AggTrade>> getAggTrades(String symbol);
+
+  /**
+   * Kline/candlestick bars for a symbol. Klines are uniquely identified by their open time.
+   *
+   * @param symbol symbol to aggregate (mandatory)
+   * @param interval candlestick interval (mandatory)
+   * @param limit Default 500; max 1000 (optional)
+   * @param startTime Timestamp in ms to get candlestick bars from INCLUSIVE (optional).
+   * @param endTime Timestamp in ms to get candlestick bars until INCLUSIVE (optional).
+   */
+  CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime);
+
+  /**
+   * Kline/candlestick bars for a symbol. Klines are uniquely identified by their open time.
+   *
+   * @see #getCandlestickBars(String, CandlestickInterval, Integer, Long, Long)
+   */
+  CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval);
+
+  /**
+   * Get 24 hour price change statistics.
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   */
+  CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol);
+
+  /**
+   * Get 24 hour price change statistics for all symbols.
+   */
+  CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics();
+
+  /**
+   * Get latest price for <code>symbol</code>.
+   *
+   * @param symbol ticker symbol (e.g. ETHBTC)
+   */
+  CompletableFuture<TickerPrice> getPrice(String symbol);
+
+  /**
+   * Get best price/qty on the order book for symbol.
+   */
+  CompletableFuture<BookTicker> getBookTicker(String symbol);
+
+  /**
+   * Get best price/qty on the order book for all symbols.
+   */
+  CompletableFuture<List<BookTicker>> getBookTickers();
+
+  // Account endpoints
+
+  /**
+   * Send in a new order
+   *
+   * @param order the new order to submit.
+   */
+  CompletableFuture<NewOrderResponse> newOrder(NewOrder order);
+
+  /**
+   * Test new order creation and signature/recvWindow long. Creates and validates a new order but does not send it into the matching engine.
+   *
+   * @param order the new TEST order to submit.
+   */
+  CompletableFuture<Void> newOrderTest(NewOrder order);
+
+  /**
+   * Check an order's status.
+   *
+   * @param orderStatusRequest order status request parameters
+   */
+  CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest);
+
+  /**
+   * Cancel an active order.
+   *
+   * @param cancelOrderRequest order status request parameters
+   */
+  CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest);
+
+  /**
+   * Get all open orders on a symbol.
+   *
+   * @param orderRequest order request parameters
+   */
+  CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest);
+
+  /**
+   * Get all account orders; active, canceled, or filled.
+   *
+   * @param orderRequest order request parameters
+   */
+  CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest);
+
+  /**
+   * Get current account information.
+   */
+  CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp);
+
+  /**
+   * Get current account information using default parameters.
+   */
+  CompletableFuture<Account> getAccount();
+
+  /**
+   * Get trades for a specific account and symbol.
+   *
+   * @param symbol symbol to get trades from
+   * @param limit default 500; max 1000
+   * @param fromId TradeId to fetch from. Default gets most recent trades.
+   */
+  CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp);
+
+  /**
+   * Get trades for a specific account and symbol.
+   *
+   * @param symbol symbol to get trades from
+   * @param limit default 500; max 1000
+   */
+  CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit);
+
+  /**
+   * Get trades for a specific account and symbol.
+   *
+   * @param symbol symbol to get trades from
+   */
+  CompletableFuture<List<Trade>> getMyTrades(String symbol);
+
+  /**
+   * Submit a withdraw request.
+   *
+   * Enable Withdrawals option has to be active in the API settings.
+   *
+   * @param asset asset symbol to withdraw
+   * @param address address to withdraw to
+   * @param amount amount to withdraw
+   * @param name description/alias of the address
+   * @param addressTag Secondary address identifier for coins like XRP,XMR etc.
+   */
+  CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag);
+
+  /**
+   * Fetch account deposit history.
+   */
+  CompletableFuture<DepositHistory> getDepositHistory(String asset);
+
+  /**
+   * Fetch account withdraw history.
+   */
+  CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset);
+
+  /**
+   * Fetch deposit address.
+   */
+  CompletableFuture<DepositAddress> getDepositAddress(String asset);
+
+  // User stream endpoints
+
+  /**
+   * Start a new user data stream.
+   */
+  CompletableFuture<ListenKey> startUserDataStream();
+
+  /**
+   * PING a user data stream to prevent a time out.
+   *
+   * @param listenKey listen key that identifies a data stream
+   */
+  CompletableFuture<Void> keepAliveUserDataStream(String listenKey);
+
+  /**
+   * Close out a new user data stream.
+   *
+   * @param listenKey listen key that identifies a data stream
+   */
+  CompletableFuture<Void> closeUserDataStream(String listenKey);
+
+  CompletableFuture<TradeFee> getTradeFee();
+}
\ No newline at end of file
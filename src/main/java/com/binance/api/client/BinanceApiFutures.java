@@ -0,0 +1,163 @@
+package com.binance.api.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Combinators running batches of asynchronous calls, such as those of {@link BinanceApiFutureRestClient}, with a bound
+ * on how many are in flight at once. For example, to fetch the order books of all symbols, 20 at a time:
+ *
+ * <pre>
+ * Map&lt;String, OrderBook&gt; orderBooks = BinanceApiFutures.forEach(symbols, 20, symbol -&gt; client.getOrderBook(symbol, 100)).join();
+ * </pre>
+ *
+ * No thread is involved: the first calls are started by the calling thread, and each of the following ones by the thread
+ * completing a previous call, normally a thread of the HTTP client's dispatcher.
+ *
+ * A batch fails as soon as one of its calls fails: no more calls are started, and those in flight are cancelled. The
+ * same happens when the future of the batch is cancelled.
+ */
+public final class BinanceApiFutures {
+
+  private BinanceApiFutures() {
+  }
+
+  /**
+   * Makes a call for each key, with at most <code>maxConcurrency</code> calls in flight.
+   *
+   * @return a future of the results of the calls by key, in the order of the keys
+   */
+  public static <K, T> CompletableFuture<Map<K, T>> forEach(Collection<K> keys, int maxConcurrency,
+                                                           Function<? super K, ? extends CompletableFuture<? extends T>> call) {
+    List<K> keyList = new ArrayList<>(keys);
+    List<Supplier<CompletableFuture<? extends T>>> calls = new ArrayList<>(keyList.size());
+    for (K key : keyList) {
+      calls.add(() -> call.apply(key));
+    }
+    return all(calls, maxConcurrency).thenApply(results -> {
+      Map<K, T> resultsByKey = new LinkedHashMap<>();
+      for (int i = 0; i < results.size(); i++) {
+        resultsByKey.put(keyList.get(i), results.get(i));
+      }
+      return resultsByKey;
+    });
+  }
+
+  /**
+   * Makes the given calls, in order, with at most <code>maxConcurrency</code> calls in flight.
+   *
+   * @return a future of the results of the calls, in the order of the calls
+   */
+  public static <T> CompletableFuture<List<T>> all(List<? extends Supplier<? extends CompletableFuture<? extends T>>> calls,
+                                                   int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive");
+    }
+    Batch<T> batch = new Batch<>(calls, maxConcurrency);
+    batch.pump();
+    return batch.result;
+  }
+
+  private static final class Batch<T> {
+    private final List<? extends Supplier<? extends CompletableFuture<? extends T>>> calls;
+    private final int maxConcurrency;
+    private final Object[] results;
+    private final AtomicReferenceArray<CompletableFuture<?>> started;
+    private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+    /**
+     * Number of requests to start calls; only the thread which raises it from 0 starts them, so that calls completing
+     * synchronously do not recurse.
+     */
+    private final AtomicInteger pumpRequests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+
+    /**
+     * Index of the next call to start. Only accessed by the thread starting calls.
+     */
+    private int next;
+
+    private Batch(List<? extends Supplier<? extends CompletableFuture<? extends T>>> calls, int maxConcurrency) {
+      this.calls = calls;
+      this.maxConcurrency = maxConcurrency;
+      this.results = new Object[calls.size()];
+      this.started = new AtomicReferenceArray<>(calls.size());
+      if (calls.isEmpty()) {
+        result.complete(new ArrayList<>());
+      }
+      result.whenComplete((values, failure) -> {
+        if (failure != null) {
+          cancelStarted();
+        }
+      });
+    }
+
+    private void pump() {
+      if (pumpRequests.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (!result.isDone() && next < results.length && inFlight.get() < maxConcurrency) {
+          inFlight.incrementAndGet();
+          start(next++);
+        }
+      } while (pumpRequests.decrementAndGet() != 0);
+    }
+
+    private void start(int index) {
+      CompletableFuture<? extends T> future;
+      try {
+        future = calls.get(index).get();
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+        return;
+      }
+      started.set(index, future);
+      if (result.isCompletedExceptionally()) {
+        future.cancel(false);
+        return;
+      }
+      future.whenComplete((value, failure) -> {
+        if (failure != null) {
+          result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+          return;
+        }
+        results[index] = value;
+        inFlight.decrementAndGet();
+        if (completed.incrementAndGet() == results.length) {
+          result.complete(toList());
+        } else {
+          pump();
+        }
+      });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> toList() {
+      List<T> values = new ArrayList<>(results.length);
+      for (Object value : results) {
+        values.add((T) value);
+      }
+      return values;
+    }
+
+    private void cancelStarted() {
+      for (int i = 0; i < started.length(); i++) {
+        CompletableFuture<?> future = started.get(i);
+        if (future != null) {
+          future.cancel(false);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,443 @@
+package com.binance.api.client;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the HTTP client used by the clients of a {@link BinanceApiClientFactory}: how many requests may be in
+ * flight, on which threads asynchronous calls run, how many connections are kept open, timeouts, protocols, DNS,
+ * socket options and the headers of requests.
+ *
+ * Each configured factory gets its own client, so that e.g. latency-critical order traffic and bulk market data pulls
+ * can use separately tuned pools in one JVM:
+ *
+ * <pre>
+ * BinanceApiClientFactory orders = BinanceApiClientFactory.newInstance(apiKey, secret)
+ *     .httpConfig(new BinanceApiHttpConfig().tcpNoDelay(true).readTimeoutMillis(2_000).maxIdleConnections(4));
+ * BinanceApiClientFactory marketData = BinanceApiClientFactory.newInstance()
+ *     .httpConfig(new BinanceApiHttpConfig().maxRequestsPerHost(50).maxIdleConnections(50).readTimeoutMillis(30_000));
+ * </pre>
+ *
+ * The defaults match the client shared by factories which are not configured. For many concurrent blocking calls, see
+ * {@link #virtualThreads()}.
+ */
+public class BinanceApiHttpConfig {
+
+  /**
+   * Maximum number of asynchronous requests in flight.
+   */
+  private int maxRequests = 500;
+
+  /**
+   * Maximum number of asynchronous requests in flight to one host.
+   */
+  private int maxRequestsPerHost = 500;
+
+  /**
+   * Executor running asynchronous calls, or null for OkHttp's default, unbounded thread pool.
+   */
+  private ExecutorService dispatcherExecutor;
+
+  /**
+   * Maximum number of idle connections kept open.
+   */
+  private int maxIdleConnections = 5;
+
+  /**
+   * How long idle connections are kept open.
+   */
+  private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+
+  /**
+   * Interval of web socket pings, or 0 for none.
+   */
+  private long pingIntervalMillis = TimeUnit.SECONDS.toMillis(20);
+
+  /**
+   * Timeouts of new connections, and of reads and writes on connections, or 0 for none.
+   */
+  private long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  private long readTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  private long writeTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  /**
+   * Timeout of whole calls, from resolving DNS to reading the response body, or 0 for none.
+   */
+  private long callTimeoutMillis;
+
+  /**
+   * Whether to retry requests on another route when connecting fails.
+   */
+  private boolean retryOnConnectionFailure = true;
+
+  /**
+   * Protocols to negotiate, e.g. only <code>HTTP_1_1</code> to avoid multiplexing all requests on one HTTP/2
+   * connection, or null for OkHttp's default of HTTP/2 and HTTP/1.1.
+   */
+  private List<Protocol> protocols;
+
+  /**
+   * DNS resolver, or null for the system's.
+   */
+  private Dns dns;
+
+  /**
+   * Factory of listeners of call events, e.g. to measure DNS, connect and TLS latencies, or null for none.
+   */
+  private EventListener.Factory eventListenerFactory;
+
+  /**
+   * Whether to disable Nagle's algorithm on sockets, so that small requests are sent without delay.
+   */
+  private boolean tcpNoDelay;
+
+  /**
+   * Sizes of the socket buffers, or 0 for the system's defaults.
+   */
+  private int sendBufferSize;
+
+  private int receiveBufferSize;
+
+  /**
+   * Headers set on all REST requests, e.g. a User-Agent, none by default.
+   */
+  private Headers headers = Headers.of();
+
+  /**
+   * A configuration for thousands of concurrent calls: asynchronous calls each run on their own virtual thread, and
+   * enough connections are kept open for the blocking calls of as many virtual threads to reuse them. Blocking calls
+   * run on the calling thread, e.g. on an executor from {@link #newVirtualThreadPerTaskExecutor()}.
+   *
+   * @throws UnsupportedOperationException if virtual threads are not supported, before Java 21
+   */
+  public static BinanceApiHttpConfig virtualThreads() {
+    return new BinanceApiHttpConfig()
+        .dispatcherExecutor(newVirtualThreadPerTaskExecutor())
+        .maxRequests(10_000)
+        .maxRequestsPerHost(10_000)
+        .maxIdleConnections(256);
+  }
+
+  /**
+   * @return true if virtual threads are supported, from Java 21 on
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Creates an executor starting a new virtual thread for each task. This library targets Java 8, so the executor is
+   * looked up at runtime.
+   *
+   * @throws UnsupportedOperationException if virtual threads are not supported, before Java 21
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+    }
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public BinanceApiHttpConfig maxRequests(int maxRequests) {
+    this.maxRequests = maxRequests;
+    return this;
+  }
+
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public BinanceApiHttpConfig maxRequestsPerHost(int maxRequestsPerHost) {
+    this.maxRequestsPerHost = maxRequestsPerHost;
+    return this;
+  }
+
+  public ExecutorService getDispatcherExecutor() {
+    return dispatcherExecutor;
+  }
+
+  public BinanceApiHttpConfig dispatcherExecutor(ExecutorService dispatcherExecutor) {
+    this.dispatcherExecutor = dispatcherExecutor;
+    return this;
+  }
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public BinanceApiHttpConfig maxIdleConnections(int maxIdleConnections) {
+    this.maxIdleConnections = maxIdleConnections;
+    return this;
+  }
+
+  public long getKeepAliveMillis() {
+    return keepAliveMillis;
+  }
+
+  public BinanceApiHttpConfig keepAliveMillis(long keepAliveMillis) {
+    this.keepAliveMillis = keepAliveMillis;
+    return this;
+  }
+
+  public long getPingIntervalMillis() {
+    return pingIntervalMillis;
+  }
+
+  public BinanceApiHttpConfig pingIntervalMillis(long pingIntervalMillis) {
+    this.pingIntervalMillis = pingIntervalMillis;
+    return this;
+  }
+
+  public long getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public BinanceApiHttpConfig connectTimeoutMillis(long connectTimeoutMillis) {
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    return this;
+  }
+
+  public long getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  public BinanceApiHttpConfig readTimeoutMillis(long readTimeoutMillis) {
+    this.readTimeoutMillis = readTimeoutMillis;
+    return this;
+  }
+
+  public long getWriteTimeoutMillis() {
+    return writeTimeoutMillis;
+  }
+
+  public BinanceApiHttpConfig writeTimeoutMillis(long writeTimeoutMillis) {
+    this.writeTimeoutMillis = writeTimeoutMillis;
+    return this;
+  }
+
+  public long getCallTimeoutMillis() {
+    return callTimeoutMillis;
+  }
+
+  public BinanceApiHttpConfig callTimeoutMillis(long callTimeoutMillis) {
+    this.callTimeoutMillis = callTimeoutMillis;
+    return this;
+  }
+
+  public boolean isRetryOnConnectionFailure() {
+    return retryOnConnectionFailure;
+  }
+
+  public BinanceApiHttpConfig retryOnConnectionFailure(boolean retryOnConnectionFailure) {
+    this.retryOnConnectionFailure = retryOnConnectionFailure;
+    return this;
+  }
+
+  public List<Protocol> getProtocols() {
+    return protocols;
+  }
+
+  public BinanceApiHttpConfig protocols(List<Protocol> protocols) {
+    this.protocols = protocols;
+    return this;
+  }
+
+  public Dns getDns() {
+    return dns;
+  }
+
+  public BinanceApiHttpConfig dns(Dns dns) {
+    this.dns = dns;
+    return this;
+  }
+
+  public EventListener.Factory getEventListenerFactory() {
+    return eventListenerFactory;
+  }
+
+  public BinanceApiHttpConfig eventListenerFactory(EventListener.Factory eventListenerFactory) {
+    this.eventListenerFactory = eventListenerFactory;
+    return this;
+  }
+
+  public boolean isTcpNoDelay() {
+    return tcpNoDelay;
+  }
+
+  public BinanceApiHttpConfig tcpNoDelay(boolean tcpNoDelay) {
+    this.tcpNoDelay = tcpNoDelay;
+    return this;
+  }
+
+  public int getSendBufferSize() {
+    return sendBufferSize;
+  }
+
+  public BinanceApiHttpConfig sendBufferSize(int sendBufferSize) {
+    this.sendBufferSize = sendBufferSize;
+    return this;
+  }
+
+  public int getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
+  public BinanceApiHttpConfig receiveBufferSize(int receiveBufferSize) {
+    this.receiveBufferSize = receiveBufferSize;
+    return this;
+  }
+
+  public Headers getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Sets a header on all REST requests, replacing any previous value.
+   */
+  public BinanceApiHttpConfig header(String name, String value) {
+    this.headers = headers.newBuilder().set(name, value).build();
+    return this;
+  }
+
+  public BinanceApiHttpConfig userAgent(String userAgent) {
+    return header("User-Agent", userAgent);
+  }
+
+  /**
+   * Builds a new HTTP client, with its own dispatcher and connection pool, from this configuration.
+   */
+  public OkHttpClient newClient() {
+    Dispatcher dispatcher = dispatcherExecutor != null ? new Dispatcher(dispatcherExecutor) : new Dispatcher();
+    dispatcher.setMaxRequests(maxRequests);
+    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+    OkHttpClient.Builder builder = new OkHttpClient.Builder()
+        .dispatcher(dispatcher)
+        .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+        .pingInterval(pingIntervalMillis, TimeUnit.MILLISECONDS)
+        .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+        .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+        .writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS)
+        .callTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+        .retryOnConnectionFailure(retryOnConnectionFailure);
+    if (protocols != null) {
+      builder.protocols(protocols);
+    }
+    if (dns != null) {
+      builder.dns(dns);
+    }
+    if (eventListenerFactory != null) {
+      builder.eventListenerFactory(eventListenerFactory);
+    }
+    if (tcpNoDelay || sendBufferSize > 0 || receiveBufferSize > 0) {
+      builder.socketFactory(new ConfiguringSocketFactory(SocketFactory.getDefault(), tcpNoDelay, sendBufferSize, receiveBufferSize));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("maxRequests", maxRequests)
+        .append("maxRequestsPerHost", maxRequestsPerHost)
+        .append("dispatcherExecutor", dispatcherExecutor)
+        .append("maxIdleConnections", maxIdleConnections)
+        .append("keepAliveMillis", keepAliveMillis)
+        .append("pingIntervalMillis", pingIntervalMillis)
+        .append("connectTimeoutMillis", connectTimeoutMillis)
+        .append("readTimeoutMillis", readTimeoutMillis)
+        .append("writeTimeoutMillis", writeTimeoutMillis)
+        .append("callTimeoutMillis", callTimeoutMillis)
+        .append("retryOnConnectionFailure", retryOnConnectionFailure)
+        .append("protocols", protocols)
+        .append("dns", dns)
+        .append("eventListenerFactory", eventListenerFactory)
+        .append("tcpNoDelay", tcpNoDelay)
+        .append("sendBufferSize", sendBufferSize)
+        .append("receiveBufferSize", receiveBufferSize)
+        .append("headers", headers)
+        .toString();
+  }
+
+  /**
+   * Applies socket options to the sockets it creates.
+   */
+  private static final class ConfiguringSocketFactory extends SocketFactory {
+
+    private final SocketFactory delegate;
+    private final boolean tcpNoDelay;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+
+    private ConfiguringSocketFactory(SocketFactory delegate, boolean tcpNoDelay, int sendBufferSize, int receiveBufferSize) {
+      this.delegate = delegate;
+      this.tcpNoDelay = tcpNoDelay;
+      this.sendBufferSize = sendBufferSize;
+      this.receiveBufferSize = receiveBufferSize;
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+      return configure(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+      return configure(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localAddress, int localPort) throws IOException {
+      return configure(delegate.createSocket(host, port, localAddress, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port) throws IOException {
+      return configure(delegate.createSocket(address, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+      return configure(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket configure(Socket socket) throws SocketException {
+      socket.setTcpNoDelay(tcpNoDelay);
+      if (sendBufferSize > 0) {
+        socket.setSendBufferSize(sendBufferSize);
+      }
+      if (receiveBufferSize > 0) {
+        socket.setReceiveBufferSize(receiveBufferSize);
+      }
+      return socket;
+    }
+  }
+}
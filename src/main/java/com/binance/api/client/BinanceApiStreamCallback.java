@@ -0,0 +1,18 @@
+package com.binance.api.client;
+
+/**
+ * A callback for web socket streams, which is also notified when the stream was automatically reconnected.
+ *
+ * @param <T> the type of the stream events
+ * @see BinanceApiWebSocketReconnectPolicy
+ */
+public interface BinanceApiStreamCallback<T> extends BinanceApiCallback<T> {
+
+    /**
+     * Called once the stream has been re-established, before any event of the new connection is delivered.
+     * Events sent while the stream was disconnected are lost, so state derived from the stream should be resynchronized.
+     *
+     * @param gap the period during which events may have been missed
+     */
+    default void onGap(BinanceApiStreamGap gap) {}
+}
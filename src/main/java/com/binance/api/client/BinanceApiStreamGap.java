@@ -0,0 +1,85 @@
+package com.binance.api.client;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Describes a period during which events of a stream may have been missed, because its connection was re-established.
+ */
+public class BinanceApiStreamGap {
+
+  /**
+   * Why the connection was re-established.
+   */
+  public enum Reason {
+    /**
+     * The connection failed or was closed by the server.
+     */
+    FAILURE,
+    /**
+     * The connection was proactively replaced before reaching its maximum age.
+     */
+    ROTATION
+  }
+
+  private final Reason reason;
+
+  private final long disconnectedAt;
+
+  private final long reconnectedAt;
+
+  private final int attempts;
+
+  private final Throwable cause;
+
+  public BinanceApiStreamGap(Reason reason, long disconnectedAt, long reconnectedAt, int attempts, Throwable cause) {
+    this.reason = reason;
+    this.disconnectedAt = disconnectedAt;
+    this.reconnectedAt = reconnectedAt;
+    this.attempts = attempts;
+    this.cause = cause;
+  }
+
+  public Reason getReason() {
+    return reason;
+  }
+
+  /**
+   * @return the time, in milliseconds since the epoch, from which events may have been missed
+   */
+  public long getDisconnectedAt() {
+    return disconnectedAt;
+  }
+
+  /**
+   * @return the time, in milliseconds since the epoch, at which the new connection was opened
+   */
+  public long getReconnectedAt() {
+    return reconnectedAt;
+  }
+
+  /**
+   * @return the number of connection attempts it took to reconnect
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * @return the failure which dropped the previous connection, or null for a rotation
+   */
+  public Throwable getCause() {
+    return cause;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("reason", reason)
+        .append("disconnectedAt", disconnectedAt)
+        .append("reconnectedAt", reconnectedAt)
+        .append("attempts", attempts)
+        .append("cause", cause)
+        .toString();
+  }
+}
@@ -1,7 +1,9 @@
 package com.binance.api.client;
 
+import com.binance.api.client.dispatch.ConflatedStream;
 import com.binance.api.client.domain.event.*;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.FixedPointDecimal;
 
 import java.io.Closeable;
 import java.util.List;
@@ -14,6 +16,18 @@ public interface BinanceApiWebSocketClient extends Closeable {
      * Supported depth levels: 5, 10, 20
      */
     Closeable onPartialDepthEvent(String symbol, int level, BinanceApiCallback<PartialDepthEvent> callback);
+
+    /**
+     * Open a new web socket keeping only the latest {@link PartialDepthEvent partialDepthEvent} in a conflated stream,
+     * under the upper-case symbol. Events are deserialized only when polled from the stream.
+     *
+     * @param symbol   market symbol to subscribe to
+     * @param level    depth level: 5, 10 or 20
+     * @param stream   the stream storing the latest event; may be shared by the subscriptions of several symbols
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onPartialDepthEvent(String symbol, int level, ConflatedStream<PartialDepthEvent> stream);
+
     /**
      * Open a new web socket to receive {@link DepthEvent depthEvents} on a callback.
      *
@@ -23,6 +37,21 @@ public interface BinanceApiWebSocketClient extends Closeable {
      */
     Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback);
 
+    /**
+     * Open a new web socket to receive {@link FixedPointDepthEvent fixedPointDepthEvents} on a callback.
+     *
+     * Prices and quantities are decoded straight into fixed-point <code>long</code> mantissas, and the same event instance is
+     * refilled for every message of the subscription, so it must not be retained beyond the callback. Callbacks of an
+     * {@link com.binance.api.client.dispatch.EventDispatcher} are handed a copy of each event instead.
+     *
+     * @param symbol     market symbol to subscribe to
+     * @param priceScale decimal places of prices, see {@link FixedPointDecimal#getPriceScale}
+     * @param qtyScale   decimal places of quantities, see {@link FixedPointDecimal#getQtyScale}
+     * @param callback   the callback to call on new events
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onFixedPointDepthEvent(String symbol, int priceScale, int qtyScale, BinanceApiCallback<FixedPointDepthEvent> callback);
+
     /**
      * Open a new web socket to receive {@link CandlestickEvent candlestickEvents} on a callback.
      *
@@ -59,6 +88,37 @@ public interface BinanceApiWebSocketClient extends Closeable {
      */
     Closeable onAllMarketTickersEvent(BinanceApiCallback<List<AllMarketTickersEvent>> callback);
 
+    /**
+     * Open a new web socket keeping only the latest {@link AllMarketTickersEvent allMarketTickersEvent} of each symbol in
+     * a conflated stream. Events are deserialized only when polled from the stream.
+     *
+     * @param stream the stream storing the latest event of each symbol
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onAllMarketTickersEvent(ConflatedStream<AllMarketTickersEvent> stream);
+
+    /**
+     * Open a new web socket decoding all market tickers into {@link AllMarketTickersColumns columns} of primitives,
+     * indexed by symbol id.
+     *
+     * The columns are updated in place by every message, before the callback is called with them, so they must only be
+     * read from the callback, which therefore cannot be one of an {@link com.binance.api.client.dispatch.EventDispatcher}.
+     *
+     * @param columns  the columns to update
+     * @param callback the callback to call after each update
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     * @throws IllegalArgumentException if the callback is a {@link com.binance.api.client.dispatch.DispatchingCallback}
+     */
+    Closeable onAllMarketTickersEvent(AllMarketTickersColumns columns, BinanceApiCallback<AllMarketTickersColumns> callback);
+
+    /**
+     * @return whether the streams of this client are reconnected according to a reconnect policy, in which case their
+     * callbacks only fail once the policy gave up on them
+     */
+    default boolean isSupervised() {
+        return false;
+    }
+
     /**
      * @deprecated This method is no longer functional. Please use the returned {@link Closeable} from any of the other methods to close the web socket.
      */
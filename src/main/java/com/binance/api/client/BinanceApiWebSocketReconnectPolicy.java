@@ -0,0 +1,90 @@
+package com.binance.api.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls how web socket streams are re-established after they fail.
+ *
+ * Reconnects are delayed with an exponential backoff, randomized by up to half of each delay so that many clients
+ * disconnected at the same time do not reconnect in lockstep. Connections are also rotated before Binance forcibly
+ * closes them after 24 hours.
+ */
+public class BinanceApiWebSocketReconnectPolicy {
+
+  /**
+   * Delay before the first reconnect attempt.
+   */
+  private long initialBackoffMillis = 500L;
+
+  /**
+   * Upper bound of the delay between reconnect attempts.
+   */
+  private long maxBackoffMillis = TimeUnit.MINUTES.toMillis(1);
+
+  /**
+   * Number of consecutive failed attempts after which the stream is given up, or -1 to retry forever.
+   */
+  private int maxAttempts = -1;
+
+  /**
+   * Age after which a connection is proactively replaced, or 0 to never rotate connections.
+   */
+  private long maxConnectionAgeMillis = TimeUnit.HOURS.toMillis(23);
+
+  /**
+   * @return a policy which gives up on the first failure and never rotates connections
+   */
+  public static BinanceApiWebSocketReconnectPolicy never() {
+    return new BinanceApiWebSocketReconnectPolicy().maxAttempts(0).maxConnectionAgeMillis(0);
+  }
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public BinanceApiWebSocketReconnectPolicy initialBackoffMillis(long initialBackoffMillis) {
+    this.initialBackoffMillis = initialBackoffMillis;
+    return this;
+  }
+
+  public long getMaxBackoffMillis() {
+    return maxBackoffMillis;
+  }
+
+  public BinanceApiWebSocketReconnectPolicy maxBackoffMillis(long maxBackoffMillis) {
+    this.maxBackoffMillis = maxBackoffMillis;
+    return this;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public BinanceApiWebSocketReconnectPolicy maxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  public long getMaxConnectionAgeMillis() {
+    return maxConnectionAgeMillis;
+  }
+
+  public BinanceApiWebSocketReconnectPolicy maxConnectionAgeMillis(long maxConnectionAgeMillis) {
+    this.maxConnectionAgeMillis = maxConnectionAgeMillis;
+    return this;
+  }
+
+  /**
+   * @param attempt number of the reconnect attempt, starting at 1
+   * @return the jittered delay before the given attempt
+   */
+  public long getBackoffMillis(int attempt) {
+    long backoff = initialBackoffMillis << Math.min(Math.max(attempt - 1, 0), 30);
+    if (backoff <= 0 || backoff > maxBackoffMillis) {
+      backoff = maxBackoffMillis;
+    }
+    long half = backoff / 2;
+    return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+  }
+}
@@ -0,0 +1,77 @@
+package com.binance.api.client;
+
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+
+import java.io.Closeable;
+
+/**
+ * Order entry over the Binance WebSocket API, an alternative to the order methods of {@link BinanceApiRestClient} and
+ * {@link BinanceApiAsyncRestClient} which sends every request over one persistent, authenticated connection.
+ *
+ * Requests are pipelined: any number of them may be in flight at once, and responses, which may come back in any order,
+ * are matched to their requests by id.
+ *
+ * Asynchronous callbacks are called on the web socket thread when the response arrives or the connection is lost, on a
+ * thread of the dispatcher of the HTTP client when the request timed out, on the calling thread when the request could
+ * not be sent, and on the thread closing the client for the requests still in flight then.
+ */
+public interface BinanceApiWebSocketTradingClient extends Closeable {
+
+  /**
+   * Send in a new order.
+   *
+   * @param order the new order to submit.
+   * @return a response containing details about the newly placed order.
+   */
+  NewOrderResponse newOrder(NewOrder order);
+
+  /**
+   * Send in a new order (asynchronous)
+   *
+   * @param order the new order to submit.
+   * @param callback the callback that handles the response
+   */
+  void newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback);
+
+  /**
+   * Check an order's status.
+   *
+   * @param orderStatusRequest order status request options/filters
+   * @return an order
+   */
+  Order getOrderStatus(OrderStatusRequest orderStatusRequest);
+
+  /**
+   * Check an order's status (asynchronous).
+   *
+   * @param orderStatusRequest order status request parameters
+   * @param callback the callback that handles the response
+   */
+  void getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback);
+
+  /**
+   * Cancel an active order.
+   *
+   * @param cancelOrderRequest order status request parameters
+   */
+  CancelOrderResponse cancelOrder(CancelOrderRequest cancelOrderRequest);
+
+  /**
+   * Cancel an active order (asynchronous).
+   *
+   * @param cancelOrderRequest order status request parameters
+   * @param callback the callback that handles the response
+   */
+  void cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback);
+
+  /**
+   * Closes the connection; requests still in flight fail.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,204 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.binance.api.client.userdata.UserDataSnapshot;
+import com.binance.api.client.userdata.UserDataStreamListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The balances of an account, seeded from the REST API and kept up to date from the balance updates of its user data
+ * stream.
+ *
+ * Each asset gets a dense id, under which its free and locked balances are kept as fixed-point mantissas along with the
+ * time of their last update. Mantissas are at {@link #SCALE} unless a balance of the asset is too large for it, e.g.
+ * billions of units of a low-priced token: the scale of that asset is then lowered for good, just enough for its
+ * balances to fit in a <code>long</code>, truncating the decimals it no longer holds. Updates older than the balances
+ * of an asset are rejected, so a snapshot never overwrites newer balances and a late event never overwrites a newer
+ * snapshot.
+ *
+ * The cache must be written by a single thread at a time, e.g. by registering it as a listener of the
+ * {@link com.binance.api.client.userdata.UserDataStreamSession}, which seeds it on start and after every gap. Reads are
+ * lock-free: they go through immutable {@link AccountBalanceSnapshot snapshots} published through a volatile reference.
+ */
+public class AccountBalanceCache implements UserDataStreamListener {
+
+  /**
+   * Scale of the balance mantissas, unless lowered for an asset with large balances.
+   */
+  public static final int SCALE = FixedPointDecimal.MAX_SCALE;
+
+  private final Map<String, Integer> assetIds = new HashMap<>();
+
+  /**
+   * Asset ids published by the latest snapshot, replaced only when assets are added.
+   */
+  private Map<String, Integer> publishedAssetIds = Collections.emptyMap();
+
+  private String[] assets = new String[0];
+
+  private long[] free = new long[0];
+
+  private long[] locked = new long[0];
+
+  private int[] scales = new int[0];
+
+  private long[] updateTimes = new long[0];
+
+  private int assetCount = 0;
+
+  private boolean seeded = false;
+
+  private long updateTime = -1;
+
+  private volatile AccountBalanceSnapshot snapshot = newSnapshot();
+
+  /**
+   * @return the latest consistent view of the balances
+   */
+  public AccountBalanceSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Seeds the balances of all assets with those of an account read with the REST API. Assets the account does not list
+   * are zeroed.
+   */
+  public void seed(Account account) {
+    long time = account.getUpdateTime();
+    boolean[] listed = new boolean[assetCount + account.getBalances().size()];
+    for (AssetBalance balance : account.getBalances()) {
+      int id = getOrAddAssetId(balance.getAsset());
+      listed[id] = true;
+      update(id, balance, time);
+    }
+    for (int id = 0; id < assetCount; id++) {
+      if (!listed[id] && time >= updateTimes[id]) {
+        free[id] = 0;
+        locked[id] = 0;
+        updateTimes[id] = time;
+      }
+    }
+    seeded = true;
+    updateTime = Math.max(updateTime, time);
+    snapshot = newSnapshot();
+  }
+
+  /**
+   * Applies the balances of an account update event, except those older than the current balance of their asset.
+   *
+   * @return false if the event was entirely stale
+   */
+  public boolean apply(AccountUpdateEvent event) {
+    long time = event.getLastUpdateTime() > 0 ? event.getLastUpdateTime() : event.getEventTime();
+    boolean applied = false;
+    for (AssetBalance balance : event.getBalances()) {
+      applied |= update(getOrAddAssetId(balance.getAsset()), balance, time);
+    }
+    if (applied) {
+      updateTime = Math.max(updateTime, time);
+      snapshot = newSnapshot();
+    }
+    return applied;
+  }
+
+  @Override
+  public void onSnapshot(UserDataSnapshot userDataSnapshot) {
+    seed(userDataSnapshot.getAccount());
+  }
+
+  @Override
+  public void onEvent(UserDataUpdateEvent event) {
+    if (event.getEventType() == UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE ||
+        event.getEventType() == UserDataUpdateEventType.ACCOUNT_UPDATE) {
+      apply(event.getAccountUpdateEvent());
+    }
+  }
+
+  private boolean update(int id, AssetBalance balance, long time) {
+    if (time < updateTimes[id]) {
+      return false;
+    }
+    long freeMantissa;
+    long lockedMantissa;
+    try {
+      freeMantissa = FixedPointDecimal.parse(balance.getFree(), scales[id]);
+      lockedMantissa = FixedPointDecimal.parse(balance.getLocked(), scales[id]);
+    } catch (NumberFormatException e) {
+      BigDecimal freeDecimal = new BigDecimal(balance.getFree());
+      BigDecimal lockedDecimal = new BigDecimal(balance.getLocked());
+      rescale(id, Math.min(fittingScale(freeDecimal), fittingScale(lockedDecimal)));
+      freeMantissa = toMantissa(freeDecimal, scales[id]);
+      lockedMantissa = toMantissa(lockedDecimal, scales[id]);
+    }
+    free[id] = freeMantissa;
+    locked[id] = lockedMantissa;
+    updateTimes[id] = time;
+    return true;
+  }
+
+  /**
+   * @return the largest scale, up to that of the mantissas of the asset, at which a balance fits in a <code>long</code>
+   */
+  private static int fittingScale(BigDecimal balance) {
+    // A long holds any number of 18 digits
+    int integerDigits = Math.max(balance.precision() - balance.scale(), 0);
+    return Math.min(SCALE, 18 - integerDigits);
+  }
+
+  /**
+   * Lowers the scale of the mantissas of an asset.
+   */
+  private void rescale(int id, int scale) {
+    while (scales[id] > scale) {
+      free[id] /= 10;
+      locked[id] /= 10;
+      scales[id]--;
+    }
+  }
+
+  private static long toMantissa(BigDecimal balance, int scale) {
+    return balance.setScale(scale, RoundingMode.DOWN).unscaledValue().longValueExact();
+  }
+
+  private int getOrAddAssetId(String asset) {
+    Integer id = assetIds.get(asset);
+    if (id != null) {
+      return id;
+    }
+    if (assetCount == assets.length) {
+      int capacity = Math.max(16, assetCount * 2);
+      assets = Arrays.copyOf(assets, capacity);
+      free = Arrays.copyOf(free, capacity);
+      locked = Arrays.copyOf(locked, capacity);
+      updateTimes = Arrays.copyOf(updateTimes, capacity);
+      scales = Arrays.copyOf(scales, capacity);
+    }
+    assets[assetCount] = asset;
+    scales[assetCount] = SCALE;
+    updateTimes[assetCount] = Long.MIN_VALUE;
+    assetIds.put(asset, assetCount);
+    return assetCount++;
+  }
+
+  /**
+   * Copies the balances into a new snapshot; accounts hold at most a few hundred assets, so this is cheap.
+   */
+  private AccountBalanceSnapshot newSnapshot() {
+    if (publishedAssetIds.size() != assetIds.size()) {
+      publishedAssetIds = Collections.unmodifiableMap(new HashMap<>(assetIds));
+    }
+    return new AccountBalanceSnapshot(seeded, updateTime, publishedAssetIds, Arrays.copyOf(assets, assetCount),
+        Arrays.copyOf(free, assetCount), Arrays.copyOf(locked, assetCount), Arrays.copyOf(scales, assetCount));
+  }
+}
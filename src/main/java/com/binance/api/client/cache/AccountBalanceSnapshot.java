@@ -0,0 +1,132 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Map;
+
+/**
+ * Immutable, consistent view of the balances of an account.
+ *
+ * Balances are fixed-point mantissas at the {@link #getScale(int) scale} of their asset, which is
+ * {@link AccountBalanceCache#SCALE} unless the asset holds very large balances, indexed by asset id. Asset ids are
+ * stable: an asset keeps its id in all later snapshots of the same cache.
+ *
+ * @see FixedPointDecimal
+ */
+public final class AccountBalanceSnapshot {
+
+  private final boolean seeded;
+  private final long updateTime;
+  private final Map<String, Integer> assetIds;
+  private final String[] assets;
+  private final long[] free;
+  private final long[] locked;
+  private final int[] scales;
+
+  AccountBalanceSnapshot(boolean seeded, long updateTime, Map<String, Integer> assetIds, String[] assets, long[] free, long[] locked,
+                         int[] scales) {
+    this.seeded = seeded;
+    this.updateTime = updateTime;
+    this.assetIds = assetIds;
+    this.assets = assets;
+    this.free = free;
+    this.locked = locked;
+    this.scales = scales;
+  }
+
+  /**
+   * @return false until the cache has been seeded with the full account, in which case assets may be missing
+   */
+  public boolean isSeeded() {
+    return seeded;
+  }
+
+  /**
+   * @return the time of the latest account update applied, in milliseconds since the epoch, or -1 if none was
+   */
+  public long getUpdateTime() {
+    return updateTime;
+  }
+
+  /**
+   * @return the number of assets; ids range from 0 to this number excluded
+   */
+  public int getAssetCount() {
+    return assets.length;
+  }
+
+  /**
+   * @return the id of an asset, or -1 if it is not known
+   */
+  public int getAssetId(String asset) {
+    Integer id = assetIds.get(asset);
+    return id != null && id < assets.length ? id : -1;
+  }
+
+  public String getAsset(int assetId) {
+    return assets[assetId];
+  }
+
+  /**
+   * @return the scale of the balances of an asset
+   */
+  public int getScale(int assetId) {
+    return scales[assetId];
+  }
+
+  /**
+   * @return the scale of the balances of an asset, or {@link AccountBalanceCache#SCALE} if it is not known
+   */
+  public int getScale(String asset) {
+    int id = getAssetId(asset);
+    return id >= 0 ? scales[id] : AccountBalanceCache.SCALE;
+  }
+
+  public long getFree(int assetId) {
+    return free[assetId];
+  }
+
+  public long getLocked(int assetId) {
+    return locked[assetId];
+  }
+
+  /**
+   * @return the free balance of an asset, or 0 if it is not known
+   */
+  public long getFree(String asset) {
+    int id = getAssetId(asset);
+    return id >= 0 ? free[id] : 0;
+  }
+
+  /**
+   * @return the locked balance of an asset, or 0 if it is not known
+   */
+  public long getLocked(String asset) {
+    int id = getAssetId(asset);
+    return id >= 0 ? locked[id] : 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder balances = new StringBuilder("[");
+    for (int i = 0; i < assets.length; i++) {
+      if (free[i] == 0 && locked[i] == 0) {
+        continue;
+      }
+      if (balances.length() > 1) {
+        balances.append(", ");
+      }
+      balances.append(assets[i]).append(' ')
+          .append(FixedPointDecimal.toString(free[i], scales[i]))
+          .append(" / ")
+          .append(FixedPointDecimal.toString(locked[i], scales[i]));
+    }
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("seeded", seeded)
+        .append("updateTime", updateTime)
+        .append("balances", balances.append(']'))
+        .toString();
+  }
+}
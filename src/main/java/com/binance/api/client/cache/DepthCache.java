@@ -0,0 +1,262 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.FixedPointDepthEvent;
+import com.binance.api.client.domain.market.FixedPointOrderBook;
+import com.binance.api.client.domain.market.FixedPointOrderBookEntries;
+import com.binance.api.client.domain.market.OrderBook;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A local order book for one symbol, kept in sync with the exchange from a REST snapshot plus depth deltas.
+ *
+ * Synchronization follows the algorithm documented by Binance:
+ * <ol>
+ * <li>Buffer the depth events received on the web socket.</li>
+ * <li>Get a snapshot from the REST API.</li>
+ * <li>Drop buffered events whose final update id <code>u</code> is not after the snapshot's last update id.</li>
+ * <li>Apply the remaining events, each of which must start (<code>U</code>) no later than one after the last applied
+ * update id. Any event starting later reveals a gap, which discards the book and starts over from step 1.</li>
+ * </ol>
+ *
+ * All depth events must be delivered by a single thread (the writer). Snapshots are fetched asynchronously and handed
+ * over to the writer, which applies them with the next event, so the book itself is never shared. Readers only ever see
+ * immutable {@link DepthCacheSnapshot snapshots} published through a volatile reference, and never block the writer.
+ */
+public class DepthCache implements BinanceApiCallback<FixedPointDepthEvent> {
+
+  /**
+   * Maximum number of events buffered while waiting for a snapshot.
+   */
+  private static final int MAX_PENDING_EVENTS = 10_000;
+
+  /**
+   * Time after which an unanswered snapshot request is issued again.
+   */
+  private static final long SNAPSHOT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String symbol;
+
+  private final int priceScale;
+
+  private final int qtyScale;
+
+  private final int snapshotLimit;
+
+  private final int publishedDepth;
+
+  private final BinanceApiAsyncRestClient restClient;
+
+  private final BinanceApiCallback<DepthCacheSnapshot> updateCallback;
+
+  // State below is only accessed by the writer thread
+
+  private final OrderBookLevels bids = new OrderBookLevels(true);
+
+  private final OrderBookLevels asks = new OrderBookLevels(false);
+
+  private final ArrayDeque<FixedPointDepthEvent> pendingEvents = new ArrayDeque<>();
+
+  private long lastUpdateId = -1;
+
+  private boolean hasSnapshot = false;
+
+  // State below is shared with other threads
+
+  private volatile long snapshotRequestedAt = -1;
+
+  private final AtomicReference<FixedPointOrderBook> receivedSnapshot = new AtomicReference<>();
+
+  private volatile DepthCacheSnapshot snapshot;
+
+  /**
+   * @param symbol         symbol of the book, as used by the REST API (e.g. ETHBTC)
+   * @param priceScale     decimal places of prices
+   * @param qtyScale       decimal places of quantities
+   * @param snapshotLimit  depth of the REST snapshots used to (re)synchronize the book
+   * @param publishedDepth maximum number of levels per side included in published snapshots
+   * @param restClient     client used to fetch snapshots
+   * @param updateCallback optional callback, called on the writer thread with each newly published snapshot
+   */
+  public DepthCache(String symbol, int priceScale, int qtyScale, int snapshotLimit, int publishedDepth,
+                    BinanceApiAsyncRestClient restClient, BinanceApiCallback<DepthCacheSnapshot> updateCallback) {
+    this.symbol = symbol;
+    this.priceScale = priceScale;
+    this.qtyScale = qtyScale;
+    this.snapshotLimit = snapshotLimit;
+    this.publishedDepth = publishedDepth;
+    this.restClient = restClient;
+    this.updateCallback = updateCallback;
+    this.snapshot = newSnapshot(false);
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * @return the latest published view of the book; safe to call from any thread
+   */
+  public DepthCacheSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Applies a depth event. Must always be called from the same thread.
+   */
+  @Override
+  public void onResponse(FixedPointDepthEvent depthEvent) {
+    FixedPointOrderBook orderBook = receivedSnapshot.getAndSet(null);
+    if (orderBook != null && !hasSnapshot) {
+      applySnapshot(orderBook);
+    }
+
+    if (!hasSnapshot) {
+      bufferEvent(depthEvent);
+      requestSnapshotIfNeeded();
+      return;
+    }
+
+    if (apply(depthEvent)) {
+      publish(true);
+    }
+  }
+
+  /**
+   * Discards the book when the underlying stream fails, and reports the failure to the update callback; the book is
+   * rebuilt once events flow again.
+   */
+  @Override
+  public void onFailure(Throwable cause) {
+    invalidate();
+    if (updateCallback != null) {
+      updateCallback.onFailure(cause);
+    }
+  }
+
+  /**
+   * Discards the book and the buffered events, so that the next event starts a new synchronization.
+   * Must be called from the writer thread, or while no events are being delivered.
+   */
+  public void invalidate() {
+    hasSnapshot = false;
+    pendingEvents.clear();
+    publish(false);
+  }
+
+  private void applySnapshot(FixedPointOrderBook orderBook) {
+    bids.clear();
+    asks.clear();
+    setAll(bids, orderBook.getBids());
+    setAll(asks, orderBook.getAsks());
+    lastUpdateId = orderBook.getLastUpdateId();
+    hasSnapshot = true;
+
+    while (hasSnapshot && !pendingEvents.isEmpty()) {
+      apply(pendingEvents.poll());
+    }
+    if (hasSnapshot) {
+      publish(true);
+    }
+  }
+
+  /**
+   * @return true if the event changed the book
+   */
+  private boolean apply(FixedPointDepthEvent depthEvent) {
+    if (depthEvent.getFinalUpdateId() <= lastUpdateId) {
+      // Already part of the snapshot
+      return false;
+    }
+    if (depthEvent.getFirstUpdateId() > lastUpdateId + 1) {
+      // One or more events were missed: start over from a new snapshot, keeping this and any later buffered events
+      hasSnapshot = false;
+      pendingEvents.addFirst(copyOf(depthEvent));
+      publish(false);
+      requestSnapshotIfNeeded();
+      return false;
+    }
+    setAll(bids, depthEvent.getBids());
+    setAll(asks, depthEvent.getAsks());
+    lastUpdateId = depthEvent.getFinalUpdateId();
+    return true;
+  }
+
+  private static void setAll(OrderBookLevels levels, FixedPointOrderBookEntries entries) {
+    for (int i = 0; i < entries.size(); i++) {
+      levels.set(entries.getPrice(i), entries.getQty(i));
+    }
+  }
+
+  private void bufferEvent(FixedPointDepthEvent depthEvent) {
+    if (pendingEvents.size() == MAX_PENDING_EVENTS) {
+      pendingEvents.poll();
+    }
+    pendingEvents.add(copyOf(depthEvent));
+  }
+
+  /**
+   * Events may be reused by the stream, so copies are kept while waiting for a snapshot.
+   */
+  private FixedPointDepthEvent copyOf(FixedPointDepthEvent depthEvent) {
+    FixedPointDepthEvent copy = new FixedPointDepthEvent(priceScale, qtyScale);
+    copy.setEventType(depthEvent.getEventType());
+    copy.setEventTime(depthEvent.getEventTime());
+    copy.setSymbol(depthEvent.getSymbol());
+    copy.setFirstUpdateId(depthEvent.getFirstUpdateId());
+    copy.setFinalUpdateId(depthEvent.getFinalUpdateId());
+    copyEntries(depthEvent.getBids(), copy.getBids());
+    copyEntries(depthEvent.getAsks(), copy.getAsks());
+    return copy;
+  }
+
+  private static void copyEntries(FixedPointOrderBookEntries from, FixedPointOrderBookEntries to) {
+    for (int i = 0; i < from.size(); i++) {
+      to.add(from.getPrice(i), from.getQty(i));
+    }
+  }
+
+  private void requestSnapshotIfNeeded() {
+    long now = System.nanoTime();
+    if (snapshotRequestedAt != -1 && now - snapshotRequestedAt < SNAPSHOT_TIMEOUT_NANOS) {
+      return;
+    }
+    snapshotRequestedAt = now;
+    restClient.getOrderBook(symbol, snapshotLimit, new BinanceApiCallback<OrderBook>() {
+      @Override
+      public void onResponse(OrderBook orderBook) {
+        receivedSnapshot.set(FixedPointOrderBook.of(orderBook, priceScale, qtyScale));
+        snapshotRequestedAt = -1;
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        snapshotRequestedAt = -1;
+      }
+    });
+  }
+
+  private void publish(boolean synchronizedWithExchange) {
+    snapshot = newSnapshot(synchronizedWithExchange);
+    if (updateCallback != null && synchronizedWithExchange) {
+      updateCallback.onResponse(snapshot);
+    }
+  }
+
+  private DepthCacheSnapshot newSnapshot(boolean synchronizedWithExchange) {
+    int bidDepth = Math.min(publishedDepth, bids.size());
+    int askDepth = Math.min(publishedDepth, asks.size());
+    long[] bidPrices = new long[bidDepth];
+    long[] bidQtys = new long[bidDepth];
+    long[] askPrices = new long[askDepth];
+    long[] askQtys = new long[askDepth];
+    bids.copyBest(bidPrices, bidQtys, bidDepth);
+    asks.copyBest(askPrices, askQtys, askDepth);
+    return new DepthCacheSnapshot(symbol, lastUpdateId, synchronizedWithExchange, priceScale, qtyScale,
+        bidPrices, bidQtys, askPrices, askQtys);
+  }
+}
@@ -0,0 +1,224 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.domain.event.FixedPointDepthEvent;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains local order books for any number of symbols.
+ *
+ * Each book is written by the thread delivering its depth stream. When used with a combined stream client
+ * (see {@link com.binance.api.client.BinanceApiClientFactory#newCombinedStreamWebSocketClient()}), the books of all the
+ * symbols sharing a connection are therefore maintained on that connection's single event thread, without any handoff.
+ *
+ * When the web socket client {@link BinanceApiWebSocketClient#isSupervised() reconnects its streams} itself, a failed
+ * stream has been given up by its reconnect policy: its failure is reported to the update callback of the book, which
+ * stays closed until subscribed again. Otherwise, failed streams are reopened after the backoff of the reconnect policy
+ * of this manager.
+ */
+public class DepthCacheManager implements Closeable {
+
+  /**
+   * Depth of the REST snapshots used to synchronize books.
+   */
+  public static final int DEFAULT_SNAPSHOT_LIMIT = 1000;
+
+  /**
+   * Number of levels per side included in published snapshots.
+   */
+  public static final int DEFAULT_PUBLISHED_DEPTH = 20;
+
+  private final BinanceApiWebSocketClient webSocketClient;
+
+  private final BinanceApiAsyncRestClient restClient;
+
+  private final int snapshotLimit;
+
+  private final int publishedDepth;
+
+  private final BinanceApiWebSocketReconnectPolicy reconnectPolicy;
+
+  private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+  /**
+   * Shared by all managers; only reopens the streams of unsupervised web socket clients.
+   */
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "binance-api-depth-cache");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public DepthCacheManager(BinanceApiWebSocketClient webSocketClient, BinanceApiAsyncRestClient restClient) {
+    this(webSocketClient, restClient, DEFAULT_SNAPSHOT_LIMIT, DEFAULT_PUBLISHED_DEPTH);
+  }
+
+  public DepthCacheManager(BinanceApiWebSocketClient webSocketClient, BinanceApiAsyncRestClient restClient,
+                           int snapshotLimit, int publishedDepth) {
+    this(webSocketClient, restClient, snapshotLimit, publishedDepth, new BinanceApiWebSocketReconnectPolicy());
+  }
+
+  /**
+   * @param reconnectPolicy policy the streams are reopened by when the web socket client does not reconnect them itself
+   */
+  public DepthCacheManager(BinanceApiWebSocketClient webSocketClient, BinanceApiAsyncRestClient restClient,
+                           int snapshotLimit, int publishedDepth, BinanceApiWebSocketReconnectPolicy reconnectPolicy) {
+    this.webSocketClient = webSocketClient;
+    this.restClient = restClient;
+    this.snapshotLimit = snapshotLimit;
+    this.publishedDepth = publishedDepth;
+    this.reconnectPolicy = reconnectPolicy;
+  }
+
+  /**
+   * Starts maintaining the book of a symbol, using the price and quantity scales of its filters.
+   */
+  public DepthCache subscribe(SymbolInfo symbolInfo) {
+    return subscribe(symbolInfo, null);
+  }
+
+  /**
+   * Starts maintaining the book of a symbol, using the price and quantity scales of its filters.
+   *
+   * @param updateCallback optional callback, called on the event thread with each newly published snapshot
+   */
+  public DepthCache subscribe(SymbolInfo symbolInfo, BinanceApiCallback<DepthCacheSnapshot> updateCallback) {
+    return subscribe(symbolInfo.getSymbol(), FixedPointDecimal.getPriceScale(symbolInfo),
+        FixedPointDecimal.getQtyScale(symbolInfo), updateCallback);
+  }
+
+  /**
+   * Starts maintaining the book of a symbol.
+   *
+   * @param symbol         symbol as used by the REST API (e.g. ETHBTC)
+   * @param priceScale     decimal places of prices
+   * @param qtyScale       decimal places of quantities
+   * @param updateCallback optional callback, called on the event thread with each newly published snapshot
+   * @return the book, which starts out unsynchronized
+   */
+  public DepthCache subscribe(String symbol, int priceScale, int qtyScale, BinanceApiCallback<DepthCacheSnapshot> updateCallback) {
+    DepthCache depthCache = new DepthCache(symbol, priceScale, qtyScale, snapshotLimit, publishedDepth, restClient, updateCallback);
+    Subscription subscription = new Subscription(depthCache);
+    if (subscriptions.putIfAbsent(symbol, subscription) != null) {
+      throw new IllegalStateException("Already maintaining the order book of " + symbol);
+    }
+    subscription.open();
+    return depthCache;
+  }
+
+  /**
+   * @return the book of a symbol, or null if it is not maintained
+   */
+  public DepthCache getDepthCache(String symbol) {
+    Subscription subscription = subscriptions.get(symbol);
+    return subscription != null ? subscription.depthCache : null;
+  }
+
+  /**
+   * Stops maintaining the book of a symbol.
+   */
+  public void unsubscribe(String symbol) throws IOException {
+    Subscription subscription = subscriptions.remove(symbol);
+    if (subscription != null) {
+      subscription.close();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (String symbol : subscriptions.keySet()) {
+      unsubscribe(symbol);
+    }
+  }
+
+  /**
+   * The depth stream feeding one book.
+   */
+  private final class Subscription implements BinanceApiStreamCallback<FixedPointDepthEvent> {
+
+    private final DepthCache depthCache;
+
+    private Closeable stream;
+
+    private ScheduledFuture<?> reopen;
+
+    private boolean closed = false;
+
+    /**
+     * Number of consecutive failures of the stream, reset by its first event.
+     */
+    private volatile int failures = 0;
+
+    private Subscription(DepthCache depthCache) {
+      this.depthCache = depthCache;
+    }
+
+    private synchronized void open() {
+      if (!closed) {
+        DepthCacheSnapshot snapshot = depthCache.getSnapshot();
+        stream = webSocketClient.onFixedPointDepthEvent(depthCache.getSymbol().toLowerCase(Locale.ROOT),
+            snapshot.getPriceScale(), snapshot.getQtyScale(), this);
+      }
+    }
+
+    private synchronized void close() throws IOException {
+      closed = true;
+      if (reopen != null) {
+        reopen.cancel(false);
+      }
+      stream.close();
+    }
+
+    @Override
+    public void onResponse(FixedPointDepthEvent depthEvent) {
+      if (failures != 0) {
+        failures = 0;
+      }
+      depthCache.onResponse(depthEvent);
+    }
+
+    @Override
+    public void onGap(BinanceApiStreamGap gap) {
+      // Called before the first event of the new connection, so the book is not being written concurrently.
+      // A rotation overlaps both connections, so any missed update is caught by the update id sequence check instead.
+      if (gap.getReason() == BinanceApiStreamGap.Reason.FAILURE) {
+        depthCache.invalidate();
+      }
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+      depthCache.onFailure(cause);
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        int attempt = ++failures;
+        int maxAttempts = reconnectPolicy.getMaxAttempts();
+        if (webSocketClient.isSupervised() || (maxAttempts >= 0 && attempt > maxAttempts)) {
+          // Given up: stays closed until subscribed again
+          closed = true;
+          subscriptions.remove(depthCache.getSymbol(), this);
+          return;
+        }
+        reopen = scheduler.schedule(this::open, reconnectPolicy.getBackoffMillis(attempt), TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Immutable, consistent view of the top of a local order book.
+ *
+ * Prices and quantities are fixed-point mantissas at the scales given by {@link #getPriceScale()} and {@link #getQtyScale()}.
+ * Level 0 is always the best bid or ask.
+ *
+ * @see FixedPointDecimal
+ */
+public final class DepthCacheSnapshot {
+
+  private final String symbol;
+  private final long lastUpdateId;
+  private final boolean synchronizedWithExchange;
+  private final int priceScale;
+  private final int qtyScale;
+  private final long[] bidPrices;
+  private final long[] bidQtys;
+  private final long[] askPrices;
+  private final long[] askQtys;
+
+  DepthCacheSnapshot(String symbol, long lastUpdateId, boolean synchronizedWithExchange, int priceScale, int qtyScale,
+                     long[] bidPrices, long[] bidQtys, long[] askPrices, long[] askQtys) {
+    this.symbol = symbol;
+    this.lastUpdateId = lastUpdateId;
+    this.synchronizedWithExchange = synchronizedWithExchange;
+    this.priceScale = priceScale;
+    this.qtyScale = qtyScale;
+    this.bidPrices = bidPrices;
+    this.bidQtys = bidQtys;
+    this.askPrices = askPrices;
+    this.askQtys = askQtys;
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * @return the final update id of the last depth event applied to the book
+   */
+  public long getLastUpdateId() {
+    return lastUpdateId;
+  }
+
+  /**
+   * @return false while the book is being (re)synchronized from a REST snapshot, in which case its content may be stale
+   */
+  public boolean isSynchronized() {
+    return synchronizedWithExchange;
+  }
+
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  public int getQtyScale() {
+    return qtyScale;
+  }
+
+  public int getBidCount() {
+    return bidPrices.length;
+  }
+
+  public int getAskCount() {
+    return askPrices.length;
+  }
+
+  public long getBidPrice(int level) {
+    return bidPrices[level];
+  }
+
+  public long getBidQty(int level) {
+    return bidQtys[level];
+  }
+
+  public long getAskPrice(int level) {
+    return askPrices[level];
+  }
+
+  public long getAskQty(int level) {
+    return askQtys[level];
+  }
+
+  /**
+   * @return the best bid price, or {@link Long#MIN_VALUE} if there are no bids
+   */
+  public long getBestBidPrice() {
+    return bidPrices.length > 0 ? bidPrices[0] : Long.MIN_VALUE;
+  }
+
+  /**
+   * @return the best ask price, or {@link Long#MAX_VALUE} if there are no asks
+   */
+  public long getBestAskPrice() {
+    return askPrices.length > 0 ? askPrices[0] : Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("symbol", symbol)
+        .append("lastUpdateId", lastUpdateId)
+        .append("synchronized", synchronizedWithExchange)
+        .append("bids", levelsToString(bidPrices, bidQtys))
+        .append("asks", levelsToString(askPrices, askQtys))
+        .toString();
+  }
+
+  private String levelsToString(long[] prices, long[] qtys) {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < prices.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(FixedPointDecimal.toString(prices[i], priceScale))
+          .append(" / ")
+          .append(FixedPointDecimal.toString(qtys[i], qtyScale));
+    }
+    return sb.append(']').toString();
+  }
+}
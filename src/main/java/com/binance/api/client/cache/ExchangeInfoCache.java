@@ -0,0 +1,291 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The exchange information, loaded once and shared, with its symbols indexed by name, base asset and quote asset.
+ *
+ * The exchange information is loaded on the first lookup, and can be {@link #start(long) refreshed} periodically. Each
+ * refresh compares every symbol, and the rate limits, with their previous version, and only replaces the indexes, and
+ * reports the listings, delistings and changes found to the {@link ExchangeInfoListener listeners}, if something
+ * changed. An exception thrown by a listener is reported to its own <code>onFailure</code>, and neither stops the
+ * refresh nor keeps the other listeners from being notified. As reading the exchange information weighs much more than
+ * most requests, the components of a process should share one cache:
+ *
+ * <pre>
+ * ExchangeInfoCache exchangeInfoCache = factory.newExchangeInfoCache().start(TimeUnit.MINUTES.toMillis(5));
+ * OrderValidator validator = new OrderValidator(exchangeInfoCache.getExchangeInfo());
+ * exchangeInfoCache.addListener(new ExchangeInfoListener() {
+ *   public void onRefresh(ExchangeInfo exchangeInfo) {
+ *     validator.refresh(exchangeInfo);
+ *   }
+ * });
+ * </pre>
+ *
+ * Lookups are lock-free and return the exchange information as last loaded.
+ */
+public class ExchangeInfoCache implements Closeable {
+
+  /**
+   * Shared by all caches; only runs refreshes, which are infrequent.
+   */
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "binance-api-exchange-info");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Supplier<ExchangeInfo> exchangeInfoSource;
+
+  private final List<ExchangeInfoListener> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile Index index;
+
+  private ScheduledFuture<?> scheduled;
+
+  /**
+   * @param exchangeInfoSource reads the exchange information, e.g. <code>() -&gt; restClient.getExchangeInfo()</code>
+   */
+  public ExchangeInfoCache(Supplier<ExchangeInfo> exchangeInfoSource) {
+    this.exchangeInfoSource = exchangeInfoSource;
+  }
+
+  /**
+   * Refreshes the exchange information now, in the background if it was not loaded yet, and then every
+   * <code>periodMillis</code>. Failed refreshes keep the previous exchange information, and are reported to the
+   * listeners.
+   *
+   * @return this cache
+   */
+  public synchronized ExchangeInfoCache start(long periodMillis) {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+    long delayMillis = index == null ? 0 : periodMillis;
+    scheduled = scheduler.scheduleWithFixedDelay(this::refreshQuietly, delayMillis, periodMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  public void addListener(ExchangeInfoListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ExchangeInfoListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Reads the exchange information, and replaces the cached one if any symbol was listed, delisted or changed, or if the
+   * rate limits changed.
+   *
+   * @return whether the exchange information changed; always true when it is first loaded
+   * @throws BinanceApiException if the exchange information could not be read
+   */
+  public synchronized boolean refresh() {
+    ExchangeInfo exchangeInfo = exchangeInfoSource.get();
+    Index previous = index;
+    Index current = new Index(exchangeInfo);
+    if (previous == null) {
+      index = current;
+      for (ExchangeInfoListener listener : listeners) {
+        notify(listener, l -> l.onRefresh(exchangeInfo));
+      }
+      return true;
+    }
+
+    List<SymbolInfo> listings = new ArrayList<>();
+    List<SymbolInfo> changes = new ArrayList<>();
+    for (Map.Entry<String, String> fingerprint : current.fingerprints.entrySet()) {
+      String previousFingerprint = previous.fingerprints.get(fingerprint.getKey());
+      if (previousFingerprint == null) {
+        listings.add(current.symbolsByName.get(fingerprint.getKey()));
+      } else if (!previousFingerprint.equals(fingerprint.getValue())) {
+        changes.add(current.symbolsByName.get(fingerprint.getKey()));
+      }
+    }
+    List<SymbolInfo> delistings = new ArrayList<>();
+    for (SymbolInfo symbolInfo : previous.symbolsByName.values()) {
+      if (!current.symbolsByName.containsKey(symbolInfo.getSymbol())) {
+        delistings.add(symbolInfo);
+      }
+    }
+    boolean rateLimitsChanged = !previous.rateLimitsFingerprint.equals(current.rateLimitsFingerprint);
+    if (listings.isEmpty() && changes.isEmpty() && delistings.isEmpty() && !rateLimitsChanged) {
+      return false;
+    }
+
+    index = current;
+    for (ExchangeInfoListener listener : listeners) {
+      for (SymbolInfo symbolInfo : listings) {
+        notify(listener, l -> l.onListing(symbolInfo));
+      }
+      for (SymbolInfo symbolInfo : delistings) {
+        notify(listener, l -> l.onDelisting(symbolInfo));
+      }
+      for (SymbolInfo symbolInfo : changes) {
+        notify(listener, l -> l.onChange(previous.symbolsByName.get(symbolInfo.getSymbol()), symbolInfo));
+      }
+      notify(listener, l -> l.onRefresh(exchangeInfo));
+    }
+    return true;
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      for (ExchangeInfoListener listener : listeners) {
+        notifyFailure(listener, e);
+      }
+    }
+  }
+
+  /**
+   * Notifies a listener, reporting what it throws to its <code>onFailure</code>.
+   */
+  private static void notify(ExchangeInfoListener listener, Consumer<ExchangeInfoListener> notification) {
+    try {
+      notification.accept(listener);
+    } catch (RuntimeException e) {
+      notifyFailure(listener, e);
+    }
+  }
+
+  private static void notifyFailure(ExchangeInfoListener listener, RuntimeException cause) {
+    try {
+      listener.onFailure(cause);
+    } catch (RuntimeException e) {
+      // Nothing left to report it to
+    }
+  }
+
+  /**
+   * @return the exchange information, loaded now if it was not yet
+   * @throws BinanceApiException if the exchange information was not loaded and could not be read
+   */
+  public ExchangeInfo getExchangeInfo() {
+    return getIndex().exchangeInfo;
+  }
+
+  /**
+   * @return the information of a symbol, or null if it is not listed
+   */
+  public SymbolInfo getSymbolInfo(String symbol) {
+    return getIndex().symbolsByName.get(symbol);
+  }
+
+  /**
+   * @return the symbols of a base asset, e.g. ETHBTC and ETHUSDT for ETH
+   */
+  public List<SymbolInfo> getSymbolsByBaseAsset(String baseAsset) {
+    return getIndex().symbolsByBaseAsset.getOrDefault(baseAsset, Collections.emptyList());
+  }
+
+  /**
+   * @return the symbols of a quote asset, e.g. ETHBTC and BNBBTC for BTC
+   */
+  public List<SymbolInfo> getSymbolsByQuoteAsset(String quoteAsset) {
+    return getIndex().symbolsByQuoteAsset.getOrDefault(quoteAsset, Collections.emptyList());
+  }
+
+  /**
+   * @return whether the exchange information was loaded
+   */
+  public boolean isLoaded() {
+    return index != null;
+  }
+
+  private Index getIndex() {
+    Index current = index;
+    if (current == null) {
+      synchronized (this) {
+        if (index == null) {
+          refresh();
+        }
+        current = index;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Stops the periodic refreshes.
+   */
+  @Override
+  public synchronized void close() {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+      scheduled = null;
+    }
+  }
+
+  /**
+   * Immutable indexes of the symbols of an exchange information.
+   */
+  private static final class Index {
+
+    private final ExchangeInfo exchangeInfo;
+
+    private final Map<String, SymbolInfo> symbolsByName = new HashMap<>();
+
+    private final Map<String, List<SymbolInfo>> symbolsByBaseAsset;
+
+    private final Map<String, List<SymbolInfo>> symbolsByQuoteAsset;
+
+    /**
+     * Serialized rules of every symbol, compared to find the symbols which changed.
+     */
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    /**
+     * Serialized rate limits of the exchange, compared to find whether they changed.
+     */
+    private final String rateLimitsFingerprint;
+
+    private Index(ExchangeInfo exchangeInfo) {
+      this.exchangeInfo = exchangeInfo;
+      this.rateLimitsFingerprint = fingerprint(exchangeInfo.getRateLimits());
+      Map<String, List<SymbolInfo>> byBaseAsset = new HashMap<>();
+      Map<String, List<SymbolInfo>> byQuoteAsset = new HashMap<>();
+      for (SymbolInfo symbolInfo : exchangeInfo.getSymbols()) {
+        symbolsByName.put(symbolInfo.getSymbol(), symbolInfo);
+        fingerprints.put(symbolInfo.getSymbol(), fingerprint(symbolInfo));
+        byBaseAsset.computeIfAbsent(symbolInfo.getBaseAsset(), asset -> new ArrayList<>()).add(symbolInfo);
+        byQuoteAsset.computeIfAbsent(symbolInfo.getQuoteAsset(), asset -> new ArrayList<>()).add(symbolInfo);
+      }
+      this.symbolsByBaseAsset = unmodifiable(byBaseAsset);
+      this.symbolsByQuoteAsset = unmodifiable(byQuoteAsset);
+    }
+
+    private static String fingerprint(Object rules) {
+      try {
+        return BinanceApiConstants.JACKSON_MAPPER.writeValueAsString(rules);
+      } catch (JsonProcessingException e) {
+        throw new BinanceApiException(e);
+      }
+    }
+
+    private static Map<String, List<SymbolInfo>> unmodifiable(Map<String, List<SymbolInfo>> symbolsByAsset) {
+      symbolsByAsset.replaceAll((asset, symbols) -> Collections.unmodifiableList(symbols));
+      return symbolsByAsset;
+    }
+  }
+}
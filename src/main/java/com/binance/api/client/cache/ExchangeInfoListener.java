@@ -0,0 +1,42 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+
+/**
+ * Listener of the changes found by an {@link ExchangeInfoCache} when it refreshes.
+ *
+ * Its methods are called on the refreshing thread, once the cache holds the new exchange information, and never
+ * concurrently. Exceptions they throw are reported to {@link #onFailure}.
+ */
+public interface ExchangeInfoListener {
+
+  /**
+   * Called with every symbol which was not listed before.
+   */
+  default void onListing(SymbolInfo symbolInfo) {}
+
+  /**
+   * Called with every symbol which is not listed any more, as last listed.
+   */
+  default void onDelisting(SymbolInfo symbolInfo) {}
+
+  /**
+   * Called with every symbol whose status, order types, filters or other rules changed.
+   */
+  default void onChange(SymbolInfo previous, SymbolInfo current) {}
+
+  /**
+   * Called once the changes of a refresh were reported, including refreshes where only the rate limits changed, with
+   * the new exchange information, e.g. to refresh a {@link com.binance.api.client.ratelimit.RateLimiter}, an
+   * {@link com.binance.api.client.validation.OrderValidator} or a
+   * {@link com.binance.api.client.domain.general.SymbolRegistry}.
+   */
+  default void onRefresh(ExchangeInfo exchangeInfo) {}
+
+  /**
+   * Called when a scheduled refresh failed, in which case the previous exchange information is kept until the next one,
+   * or with the exception this listener threw while being notified of a refresh.
+   */
+  default void onFailure(Throwable cause) {}
+}
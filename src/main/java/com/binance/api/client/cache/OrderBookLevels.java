@@ -0,0 +1,92 @@
+package com.binance.api.client.cache;
+
+import java.util.Arrays;
+
+/**
+ * One side of a local order book, kept as parallel primitive arrays sorted so that the best level is always the last one.
+ *
+ * Levels are keyed by their price mantissa (i.e. their tick index at the symbol's price scale). Bids are stored in
+ * ascending and asks in descending price order, so that the frequent updates near the top of the book only shift a few
+ * elements, and reading the best level is O(1).
+ *
+ * Not thread-safe: instances are only touched by the writer of a {@link DepthCache}.
+ */
+class OrderBookLevels {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * 1 for bids, -1 for asks, so that keys are always ascending towards the best level.
+   */
+  private final int direction;
+
+  private long[] keys = new long[INITIAL_CAPACITY];
+
+  private long[] qtys = new long[INITIAL_CAPACITY];
+
+  private int size;
+
+  OrderBookLevels(boolean bids) {
+    this.direction = bids ? 1 : -1;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return the price of the n-th best level, 0 being the best
+   */
+  long getPrice(int n) {
+    return keys[size - 1 - n] * direction;
+  }
+
+  /**
+   * @return the quantity of the n-th best level, 0 being the best
+   */
+  long getQty(int n) {
+    return qtys[size - 1 - n];
+  }
+
+  /**
+   * Sets the quantity at a price level, removing the level when the quantity is zero.
+   */
+  void set(long price, long qty) {
+    long key = price * direction;
+    int index = Arrays.binarySearch(keys, 0, size, key);
+    if (index >= 0) {
+      if (qty == 0) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(qtys, index + 1, qtys, index, size - index - 1);
+        size--;
+      } else {
+        qtys[index] = qty;
+      }
+    } else if (qty != 0) {
+      index = -index - 1;
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        qtys = Arrays.copyOf(qtys, size * 2);
+      }
+      System.arraycopy(keys, index, keys, index + 1, size - index);
+      System.arraycopy(qtys, index, qtys, index + 1, size - index);
+      keys[index] = key;
+      qtys[index] = qty;
+      size++;
+    }
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Copies up to <code>depth</code> of the best prices and quantities, best first.
+   */
+  void copyBest(long[] prices, long[] quantities, int depth) {
+    for (int n = 0; n < depth; n++) {
+      prices[n] = getPrice(n);
+      quantities[n] = getQty(n);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.ExecutionType;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable state of an order, as last reported by the execution reports of a user data stream or the REST API.
+ *
+ * @see OrderStateCache
+ */
+public final class OrderState {
+
+  private final String symbol;
+  private final long orderId;
+  private final String clientOrderId;
+  private final OrderSide side;
+  private final OrderType type;
+  private final TimeInForce timeInForce;
+  private final String price;
+  private final String origQty;
+  private final OrderStatus status;
+  private final BigDecimal executedQty;
+  private final BigDecimal cumulativeQuoteQty;
+  private final Map<String, BigDecimal> commissions;
+  private final int tradeCount;
+  private final long lastTradeId;
+  private final long updateTime;
+
+  private OrderState(String symbol, long orderId, String clientOrderId, OrderSide side, OrderType type,
+                     TimeInForce timeInForce, String price, String origQty, OrderStatus status, BigDecimal executedQty,
+                     BigDecimal cumulativeQuoteQty, Map<String, BigDecimal> commissions, int tradeCount, long lastTradeId,
+                     long updateTime) {
+    this.symbol = symbol;
+    this.orderId = orderId;
+    this.clientOrderId = clientOrderId;
+    this.side = side;
+    this.type = type;
+    this.timeInForce = timeInForce;
+    this.price = price;
+    this.origQty = origQty;
+    this.status = status;
+    this.executedQty = executedQty;
+    this.cumulativeQuoteQty = cumulativeQuoteQty;
+    this.commissions = commissions;
+    this.tradeCount = tradeCount;
+    this.lastTradeId = lastTradeId;
+    this.updateTime = updateTime;
+  }
+
+  /**
+   * @return the state of an order read with the REST API, which carries no trade or commission details
+   */
+  static OrderState of(Order order) {
+    return new OrderState(order.getSymbol(), order.getOrderId(), order.getClientOrderId(), order.getSide(), order.getType(),
+        order.getTimeInForce(), order.getPrice(), order.getOrigQty(), order.getStatus(), decimal(order.getExecutedQty()),
+        decimal(order.getCummulativeQuoteQty()), Collections.emptyMap(), 0, -1,
+        order.getUpdateTime() > 0 ? order.getUpdateTime() : order.getTime());
+  }
+
+  /**
+   * @return the state of a new order reported by an execution report
+   */
+  static OrderState of(OrderTradeUpdateEvent event) {
+    String clientOrderId = StringUtils.isEmpty(event.getOriginalClientOrderId()) ? event.getNewClientOrderId() : event.getOriginalClientOrderId();
+    return new OrderState(event.getSymbol(), event.getOrderId(), clientOrderId, event.getSide(), event.getType(),
+        event.getTimeInForce(), event.getPrice(), event.getOriginalQuantity(), null, BigDecimal.ZERO, BigDecimal.ZERO,
+        Collections.emptyMap(), 0, -1, Long.MIN_VALUE).apply(event);
+  }
+
+  /**
+   * @return the time of an execution report, which is that of the order update it reports
+   */
+  static long getTime(OrderTradeUpdateEvent event) {
+    if (event.getOrderTradeTime() != null) {
+      return event.getOrderTradeTime();
+    }
+    return event.getEventTime() != null ? event.getEventTime() : 0;
+  }
+
+  /**
+   * @return whether an execution report is older than this state, or reports a trade which was already applied
+   */
+  boolean isStale(OrderTradeUpdateEvent event) {
+    if (getTime(event) < updateTime) {
+      return true;
+    }
+    return event.getExecutionType() == ExecutionType.TRADE && event.getTradeId() != null && event.getTradeId() <= lastTradeId;
+  }
+
+  /**
+   * @return this state updated by an execution report which is not stale
+   */
+  OrderState apply(OrderTradeUpdateEvent event) {
+    BigDecimal executed = event.getAccumulatedQuantity() != null ? decimal(event.getAccumulatedQuantity()) : executedQty;
+    BigDecimal quote = cumulativeQuoteQty;
+    Map<String, BigDecimal> updatedCommissions = commissions;
+    int trades = tradeCount;
+    long tradeId = lastTradeId;
+    if (event.getExecutionType() == ExecutionType.TRADE) {
+      trades++;
+      if (event.getTradeId() != null) {
+        tradeId = event.getTradeId();
+      }
+      if (event.getAccumulatedQuoteQuantity() != null) {
+        quote = decimal(event.getAccumulatedQuoteQuantity());
+      } else {
+        quote = quote.add(decimal(event.getQuantityLastFilledTrade()).multiply(decimal(event.getPriceOfLastFilledTrade())));
+      }
+      BigDecimal commission = decimal(event.getCommission());
+      if (event.getCommissionAsset() != null && commission.signum() != 0) {
+        updatedCommissions = new HashMap<>(commissions);
+        updatedCommissions.merge(event.getCommissionAsset(), commission, BigDecimal::add);
+        updatedCommissions = Collections.unmodifiableMap(updatedCommissions);
+      }
+    } else if (event.getAccumulatedQuoteQuantity() != null) {
+      quote = decimal(event.getAccumulatedQuoteQuantity());
+    }
+    return new OrderState(symbol, orderId, clientOrderId, side, type, timeInForce, price, origQty, event.getOrderStatus(),
+        executed, quote, updatedCommissions, trades, tradeId, Math.max(updateTime, getTime(event)));
+  }
+
+  /**
+   * @return this state with the status and quantities of the same order read with the REST API, keeping its trade details
+   */
+  OrderState reconcile(Order order) {
+    OrderState read = of(order);
+    return new OrderState(symbol, orderId, clientOrderId, side, type, timeInForce, price, origQty, read.status,
+        read.executedQty, read.cumulativeQuoteQty, commissions, tradeCount, lastTradeId, Math.max(updateTime, read.updateTime));
+  }
+
+  private static BigDecimal decimal(String value) {
+    return StringUtils.isEmpty(value) ? BigDecimal.ZERO : new BigDecimal(value);
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public long getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * @return the client order id the order was placed with
+   */
+  public String getClientOrderId() {
+    return clientOrderId;
+  }
+
+  public OrderSide getSide() {
+    return side;
+  }
+
+  public OrderType getType() {
+    return type;
+  }
+
+  public TimeInForce getTimeInForce() {
+    return timeInForce;
+  }
+
+  public String getPrice() {
+    return price;
+  }
+
+  public String getOrigQty() {
+    return origQty;
+  }
+
+  public OrderStatus getStatus() {
+    return status;
+  }
+
+  public BigDecimal getExecutedQty() {
+    return executedQty;
+  }
+
+  public BigDecimal getCumulativeQuoteQty() {
+    return cumulativeQuoteQty;
+  }
+
+  /**
+   * @return the average price of the fills, or null if there are none
+   */
+  public BigDecimal getAveragePrice() {
+    return executedQty.signum() != 0 ? cumulativeQuoteQty.divide(executedQty, MathContext.DECIMAL64) : null;
+  }
+
+  /**
+   * @return the commissions paid for the fills reported by the stream, by asset
+   */
+  public Map<String, BigDecimal> getCommissions() {
+    return commissions;
+  }
+
+  /**
+   * @return the number of fills reported by the stream
+   */
+  public int getTradeCount() {
+    return tradeCount;
+  }
+
+  /**
+   * @return the id of the last fill reported by the stream, or -1 if none was
+   */
+  public long getLastTradeId() {
+    return lastTradeId;
+  }
+
+  /**
+   * @return the time of the last update of the order, in milliseconds since the epoch
+   */
+  public long getUpdateTime() {
+    return updateTime;
+  }
+
+  /**
+   * @return false once the order is filled, canceled, rejected or expired
+   */
+  public boolean isOpen() {
+    return status == OrderStatus.NEW || status == OrderStatus.PARTIALLY_FILLED || status == OrderStatus.PENDING_CANCEL;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("symbol", symbol)
+        .append("orderId", orderId)
+        .append("clientOrderId", clientOrderId)
+        .append("side", side)
+        .append("type", type)
+        .append("price", price)
+        .append("origQty", origQty)
+        .append("status", status)
+        .append("executedQty", executedQty)
+        .append("cumulativeQuoteQty", cumulativeQuoteQty)
+        .append("commissions", commissions)
+        .append("updateTime", updateTime)
+        .toString();
+  }
+}
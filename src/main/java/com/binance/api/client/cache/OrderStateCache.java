@@ -0,0 +1,242 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.userdata.UserDataSnapshot;
+import com.binance.api.client.userdata.UserDataStreamListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The orders of an account, kept up to date from the execution reports of its user data stream.
+ *
+ * Orders can be looked up by order id and client order id, and the open orders by symbol. Fills, commissions and
+ * average prices are accumulated from the trades reported; reports older than the state of their order, and trades
+ * already applied, are rejected. Completed orders are kept for a while, up to a given number.
+ *
+ * The cache must be written by a single thread at a time, e.g. by registering it as a listener of the
+ * {@link com.binance.api.client.userdata.UserDataStreamSession}, which reconciles it with the open orders read with the
+ * REST API on start and after every gap, and with the final state of the orders which completed during the gap, read
+ * along with them. Lookups are lock-free and return immutable {@link OrderState states}.
+ */
+public class OrderStateCache implements UserDataStreamListener {
+
+  /**
+   * Number of completed orders kept by default.
+   */
+  public static final int DEFAULT_COMPLETED_ORDER_RETENTION = 10_000;
+
+  private final boolean readCompletedOrders;
+
+  private final int completedOrderRetention;
+
+  private final Map<Long, OrderState> ordersById = new ConcurrentHashMap<>();
+
+  private final Map<String, Long> orderIdsByClientOrderId = new ConcurrentHashMap<>();
+
+  private final Map<String, Map<Long, OrderState>> openOrdersBySymbol = new ConcurrentHashMap<>();
+
+  private final Map<Long, CompletableFuture<OrderState>> completions = new ConcurrentHashMap<>();
+
+  /**
+   * Ids of the completed orders still kept, oldest first.
+   */
+  private final ArrayDeque<Long> completedOrderIds = new ArrayDeque<>();
+
+  /**
+   * Creates a cache which leaves orders that completed during a gap open until their next execution report.
+   */
+  public OrderStateCache() {
+    this(false, DEFAULT_COMPLETED_ORDER_RETENTION);
+  }
+
+  /**
+   * @param readCompletedOrders     whether to have the final state of the open orders which completed during a gap read
+   *                                along with the snapshot covering it
+   * @param completedOrderRetention number of completed orders kept
+   */
+  public OrderStateCache(boolean readCompletedOrders, int completedOrderRetention) {
+    this.readCompletedOrders = readCompletedOrders;
+    this.completedOrderRetention = completedOrderRetention;
+  }
+
+  /**
+   * @return the state of an order, or null if it is not known
+   */
+  public OrderState getOrder(long orderId) {
+    return ordersById.get(orderId);
+  }
+
+  /**
+   * @return the state of the latest order placed with a client order id, or null if it is not known
+   */
+  public OrderState getOrder(String clientOrderId) {
+    Long orderId = orderIdsByClientOrderId.get(clientOrderId);
+    return orderId != null ? ordersById.get(orderId) : null;
+  }
+
+  /**
+   * @return the open orders of a symbol
+   */
+  public List<OrderState> getOpenOrders(String symbol) {
+    Map<Long, OrderState> openOrders = openOrdersBySymbol.get(symbol);
+    return openOrders != null ? new ArrayList<>(openOrders.values()) : Collections.emptyList();
+  }
+
+  /**
+   * @return the number of open orders of a symbol
+   */
+  public int getOpenOrderCount(String symbol) {
+    Map<Long, OrderState> openOrders = openOrdersBySymbol.get(symbol);
+    return openOrders != null ? openOrders.size() : 0;
+  }
+
+  /**
+   * @return the open orders of all symbols
+   */
+  public List<OrderState> getOpenOrders() {
+    List<OrderState> openOrders = new ArrayList<>();
+    for (Map<Long, OrderState> symbolOpenOrders : openOrdersBySymbol.values()) {
+      openOrders.addAll(symbolOpenOrders.values());
+    }
+    return openOrders;
+  }
+
+  /**
+   * @return a future completed with the final state of an order once it is filled, canceled, rejected or expired; the
+   * order does not have to be known yet, e.g. when awaiting an order which was just placed
+   */
+  public CompletableFuture<OrderState> getCompletion(long orderId) {
+    CompletableFuture<OrderState> completion = completions.computeIfAbsent(orderId, id -> new CompletableFuture<>());
+    // The order may have completed before the future was registered
+    OrderState order = ordersById.get(orderId);
+    if (order != null && !order.isOpen() && completion.complete(order)) {
+      completions.remove(orderId, completion);
+    }
+    return completion;
+  }
+
+  /**
+   * Applies an execution report, unless it is stale.
+   *
+   * @return false if the report was stale
+   */
+  public boolean apply(OrderTradeUpdateEvent event) {
+    OrderState previous = ordersById.get(event.getOrderId());
+    if (previous == null) {
+      update(null, OrderState.of(event));
+      return true;
+    }
+    if (previous.isStale(event)) {
+      return false;
+    }
+    update(previous, previous.apply(event));
+    return true;
+  }
+
+  /**
+   * Reconciles the orders with orders read with the REST API.
+   *
+   * @param openOrders the open orders of all symbols
+   * @param readOrders orders read besides, e.g. the {@link #getOrdersToRead(List, long) orders which completed} while
+   *                   the open orders were not followed
+   */
+  public void reconcile(List<Order> openOrders, List<Order> readOrders) {
+    for (Order order : openOrders) {
+      reconcile(order);
+    }
+    for (Order order : readOrders) {
+      reconcile(order);
+    }
+  }
+
+  /**
+   * Lists the open orders which are missing from the open orders read with the REST API, although they were known
+   * before these were read: they completed in the meantime, and their final state is to be read, if this cache reads
+   * completed orders. Open orders which are not read stay open until their next execution report, or the next
+   * reconciliation.
+   */
+  @Override
+  public List<OrderStatusRequest> getOrdersToRead(List<Order> openOrders, long readAt) {
+    if (!readCompletedOrders) {
+      return Collections.emptyList();
+    }
+    Set<Long> listed = new HashSet<>();
+    for (Order order : openOrders) {
+      listed.add(order.getOrderId());
+    }
+    List<OrderStatusRequest> requests = new ArrayList<>();
+    for (OrderState order : getOpenOrders()) {
+      if (!listed.contains(order.getOrderId()) && order.getUpdateTime() < readAt) {
+        requests.add(new OrderStatusRequest(order.getSymbol(), order.getOrderId()));
+      }
+    }
+    return requests;
+  }
+
+  @Override
+  public void onSnapshot(UserDataSnapshot snapshot) {
+    reconcile(snapshot.getOpenOrders(), snapshot.getReadOrders());
+  }
+
+  @Override
+  public void onEvent(UserDataUpdateEvent event) {
+    if (event.getEventType() == UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+      apply(event.getOrderTradeUpdateEvent());
+    }
+  }
+
+  private void reconcile(Order order) {
+    OrderState previous = ordersById.get(order.getOrderId());
+    OrderState read = OrderState.of(order);
+    if (previous == null) {
+      update(null, read);
+    } else if (read.getUpdateTime() > previous.getUpdateTime() || (previous.isOpen() && !read.isOpen())) {
+      // An order read as completed is newer than an open state, whatever their times
+      update(previous, previous.reconcile(order));
+    }
+  }
+
+  private void update(OrderState previous, OrderState order) {
+    Long orderId = order.getOrderId();
+    ordersById.put(orderId, order);
+    orderIdsByClientOrderId.put(order.getClientOrderId(), orderId);
+    if (order.isOpen()) {
+      openOrdersBySymbol.computeIfAbsent(order.getSymbol(), symbol -> new ConcurrentHashMap<>()).put(orderId, order);
+      return;
+    }
+    Map<Long, OrderState> openOrders = openOrdersBySymbol.get(order.getSymbol());
+    if (openOrders != null) {
+      openOrders.remove(orderId);
+    }
+    if (previous == null || previous.isOpen()) {
+      completedOrderIds.add(orderId);
+      evictCompletedOrders();
+    }
+    CompletableFuture<OrderState> completion = completions.remove(orderId);
+    if (completion != null) {
+      completion.complete(order);
+    }
+  }
+
+  private void evictCompletedOrders() {
+    while (completedOrderIds.size() > completedOrderRetention) {
+      Long orderId = completedOrderIds.poll();
+      OrderState order = ordersById.remove(orderId);
+      if (order != null) {
+        orderIdsByClientOrderId.remove(order.getClientOrderId(), orderId);
+      }
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.binance.api.client.clock;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * An estimate of the exchange's clock, supplying the timestamps of signed requests.
+ *
+ * Each {@link #sync() synchronization} samples the server time a few times, and keeps the offset measured by the sample
+ * with the shortest round trip, NTP-style: the server time is assumed to have been read halfway through the round trip,
+ * so the error of the offset is at most half of it. Timestamps are read from a monotonic local clock corrected by this
+ * offset, and never go backwards, even when a synchronization moves the offset back.
+ *
+ * With timestamps this close to the exchange's, the receive window of signed requests can be shrunk from the default
+ * of a minute to a few hundred milliseconds:
+ *
+ * <pre>
+ * ServerClock clock = factory.newServerClock().recvWindowMillis(500).start(TimeUnit.MINUTES.toMillis(1));
+ * factory.clock(clock);
+ * </pre>
+ */
+public class ServerClock implements Closeable {
+
+  /**
+   * Number of samples of the server time taken by each synchronization.
+   */
+  public static final int DEFAULT_SAMPLES = 5;
+
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+
+  /**
+   * Wall-clock time and monotonic time at the same instant, from which the local clock is derived.
+   */
+  private static final long BASE_MILLIS = System.currentTimeMillis();
+
+  private static final long BASE_NANOS = System.nanoTime();
+
+  /**
+   * Shared by all clocks; only runs synchronizations, which are short.
+   */
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "binance-api-clock-sync");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final LongSupplier serverTimeSource;
+
+  private final int samples;
+
+  private volatile long offsetMillis;
+
+  private volatile long roundTripNanos = -1;
+
+  private volatile long recvWindowMillis;
+
+  private final AtomicLong lastTimestamp = new AtomicLong(Long.MIN_VALUE);
+
+  private ScheduledFuture<?> scheduled;
+
+  /**
+   * @param serverTimeSource reads the server time, e.g. <code>() -&gt; restClient.getServerTime()</code>
+   */
+  public ServerClock(LongSupplier serverTimeSource) {
+    this(serverTimeSource, DEFAULT_SAMPLES);
+  }
+
+  /**
+   * @param serverTimeSource reads the server time, e.g. <code>() -&gt; restClient.getServerTime()</code>
+   * @param samples          number of samples taken by each synchronization
+   */
+  public ServerClock(LongSupplier serverTimeSource, int samples) {
+    if (samples <= 0) {
+      throw new IllegalArgumentException("samples must be positive");
+    }
+    this.serverTimeSource = serverTimeSource;
+    this.samples = samples;
+  }
+
+  /**
+   * Sets the receive window sent along with the timestamps of this clock, instead of that of each request.
+   *
+   * @param recvWindowMillis the receive window, or 0 to keep that of each request
+   * @return this clock
+   */
+  public ServerClock recvWindowMillis(long recvWindowMillis) {
+    this.recvWindowMillis = recvWindowMillis;
+    return this;
+  }
+
+  /**
+   * @return the receive window sent along with the timestamps of this clock, or 0 if that of each request is kept
+   */
+  public long getRecvWindowMillis() {
+    return recvWindowMillis;
+  }
+
+  /**
+   * Synchronizes with the exchange now, in the background, and then every <code>periodMillis</code>. Failed
+   * synchronizations keep the previous offset.
+   *
+   * @return this clock
+   */
+  public synchronized ServerClock start(long periodMillis) {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+    scheduled = scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, periodMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  /**
+   * Samples the server time and updates the offset to the one of the sample with the shortest round trip.
+   *
+   * @throws com.binance.api.client.exception.BinanceApiException if the server time could not be read
+   */
+  public void sync() {
+    long bestRoundTripNanos = Long.MAX_VALUE;
+    long bestOffsetMillis = 0;
+    for (int i = 0; i < samples; i++) {
+      long sentAt = nanoTime();
+      long serverTime = serverTimeSource.getAsLong();
+      long receivedAt = nanoTime();
+      long roundTrip = receivedAt - sentAt;
+      if (roundTrip < bestRoundTripNanos) {
+        bestRoundTripNanos = roundTrip;
+        bestOffsetMillis = serverTime - toMillis(sentAt + roundTrip / 2);
+      }
+    }
+    offsetMillis = bestOffsetMillis;
+    roundTripNanos = bestRoundTripNanos;
+  }
+
+  private void syncQuietly() {
+    try {
+      sync();
+    } catch (RuntimeException e) {
+      // Keep the previous offset until the next synchronization
+    }
+  }
+
+  /**
+   * @return the estimated server time, in milliseconds since the epoch; never less than a previously returned value
+   */
+  public long currentTimeMillis() {
+    long estimate = toMillis(nanoTime()) + offsetMillis;
+    return lastTimestamp.accumulateAndGet(estimate, Math::max);
+  }
+
+  /**
+   * @return how far the server clock is ahead of the local clock, in milliseconds, as of the last synchronization
+   */
+  public long getOffsetMillis() {
+    return offsetMillis;
+  }
+
+  /**
+   * @return the round trip of the sample the offset was measured by, in nanoseconds, or -1 before the first
+   * synchronization; the offset is accurate to half of it
+   */
+  public long getRoundTripNanos() {
+    return roundTripNanos;
+  }
+
+  /**
+   * @return whether the clock was synchronized at least once
+   */
+  public boolean isSynced() {
+    return roundTripNanos >= 0;
+  }
+
+  /**
+   * Stops the periodic synchronizations.
+   */
+  @Override
+  public synchronized void close() {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+      scheduled = null;
+    }
+  }
+
+  long nanoTime() {
+    return System.nanoTime();
+  }
+
+  private static long toMillis(long nanoTime) {
+    return BASE_MILLIS + (nanoTime - BASE_NANOS) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("offsetMillis", offsetMillis)
+        .append("roundTripNanos", roundTripNanos)
+        .append("recvWindowMillis", recvWindowMillis)
+        .toString();
+  }
+}
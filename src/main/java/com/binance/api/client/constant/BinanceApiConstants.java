@@ -23,6 +23,22 @@ public class BinanceApiConstants {
    */
   public static final String WSS_STREAM_URL = "wss://stream.binance.com:9443/stream?streams=";
 
+  /**
+   * WebSocket API base URL, for requests such as order entry over a persistent connection.
+   */
+  public static final String WS_API_URL = "wss://ws-api.binance.com:443/ws-api/v3";
+
+  /**
+   * Maximum number of streams a single combined stream connection may carry.
+   */
+  public static final int WSS_MAX_STREAMS_PER_CONNECTION = 1024;
+
+  /**
+   * Maximum number of messages, including pings, pongs and subscription frames, a client may send per second on a
+   * stream connection before Binance disconnects it.
+   */
+  public static final int WSS_MAX_MESSAGES_PER_SECOND = 5;
+
   /**
    * Asset info base URL.
    */
@@ -0,0 +1,218 @@
+package com.binance.api.client.dispatch;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps only the latest value per key (e.g. per symbol) of a stream, for consumers which never need intermediate updates.
+ *
+ * The web socket thread merely stores the raw JSON of each update in the slot of its key, replacing any update not yet
+ * consumed. Updates are deserialized only when the consumer {@link #poll polls} them, so those replaced in the meantime
+ * are never parsed. Consumers may poll on their own schedule, {@link #awaitUpdate wait} for updates, or be woken by a
+ * listener. For example:
+ *
+ * <pre>
+ * ConflatedStream&lt;AllMarketTickersEvent&gt; tickers = new ConflatedStream&lt;&gt;(AllMarketTickersEvent.class);
+ * client.onAllMarketTickersEvent(tickers);
+ * while (tickers.awaitUpdate(1, TimeUnit.MINUTES)) {
+ *   tickers.poll((symbol, ticker) -&gt; ...);
+ * }
+ * </pre>
+ */
+public class ConflatedStream<T> {
+
+  private final ObjectReader objectReader;
+
+  private final BinanceApiCallback<ConflatedStream<T>> listener;
+
+  private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+  /**
+   * Slots holding an update not yet consumed, each at most once. A slot whose update was consumed by a keyed
+   * {@link #poll(String) poll} stays queued, and is skipped when polled unless it got another update meanwhile.
+   */
+  private final Queue<Slot> updatedSlots = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Number of slots holding an update not yet consumed.
+   */
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  private final Object updateLock = new Object();
+
+  /**
+   * Failure not yet reported by {@link #awaitUpdate}. Guarded by <code>updateLock</code>.
+   */
+  private Throwable failure;
+
+  private final AtomicLong conflatedCount = new AtomicLong();
+
+  /**
+   * @param eventClass class of the values, e.g. <code>PartialDepthEvent.class</code>
+   */
+  public ConflatedStream(Class<T> eventClass) {
+    this(eventClass, null);
+  }
+
+  /**
+   * @param eventClass class of the values, e.g. <code>PartialDepthEvent.class</code>
+   * @param listener   optional listener, called on the web socket thread with this stream whenever a key gets an update
+   *                   while it had none pending, and with failures of the stream; it should poll on another thread
+   */
+  public ConflatedStream(Class<T> eventClass, BinanceApiCallback<ConflatedStream<T>> listener) {
+    this.objectReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(eventClass);
+    this.listener = listener;
+  }
+
+  /**
+   * Stores the raw JSON of the latest value of a key. Called by the web socket client.
+   */
+  public void update(String key, String json) {
+    Slot slot = slots.get(key);
+    if (slot == null) {
+      slot = slots.computeIfAbsent(key, Slot::new);
+    }
+    if (slot.pending.getAndSet(json) != null) {
+      conflatedCount.incrementAndGet();
+      return;
+    }
+    pendingCount.incrementAndGet();
+    if (slot.queued.compareAndSet(false, true)) {
+      updatedSlots.add(slot);
+    }
+    synchronized (updateLock) {
+      updateLock.notifyAll();
+    }
+    if (listener != null) {
+      listener.onResponse(this);
+    }
+  }
+
+  /**
+   * Records a failure of the stream and wakes up waiting consumers. Called by the web socket client.
+   */
+  public void onFailure(Throwable cause) {
+    synchronized (updateLock) {
+      failure = cause;
+      updateLock.notifyAll();
+    }
+    if (listener != null) {
+      listener.onFailure(cause);
+    }
+  }
+
+  /**
+   * Deserializes and hands over the latest value of every key updated since it was last polled.
+   *
+   * @return the number of values handed over
+   */
+  public int poll(BiConsumer<String, ? super T> consumer) {
+    int count = 0;
+    Slot slot;
+    while ((slot = updatedSlots.poll()) != null) {
+      slot.queued.set(false);
+      String json = take(slot);
+      if (json != null) {
+        consumer.accept(slot.key, read(json));
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Deserializes the latest value of a key, if it was updated since it was last polled.
+   *
+   * @return the latest value, or null if there is no new value
+   */
+  public T poll(String key) {
+    Slot slot = slots.get(key);
+    if (slot == null) {
+      return null;
+    }
+    String json = take(slot);
+    return json != null ? read(json) : null;
+  }
+
+  private String take(Slot slot) {
+    String json = slot.pending.getAndSet(null);
+    if (json != null) {
+      pendingCount.decrementAndGet();
+    }
+    return json;
+  }
+
+  /**
+   * Waits until some key has an update pending.
+   *
+   * @return false if the timeout elapsed first
+   * @throws BinanceApiException if the stream failed since the previous call
+   */
+  public boolean awaitUpdate(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (updateLock) {
+      while (!hasUpdates()) {
+        Throwable cause = failure;
+        if (cause != null) {
+          failure = null;
+          throw new BinanceApiException("Stream failed", cause);
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(updateLock, remaining);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * @return true if some key has an update pending
+   */
+  public boolean hasUpdates() {
+    return pendingCount.get() > 0;
+  }
+
+  /**
+   * @return the number of updates replaced before being polled, and therefore never deserialized
+   */
+  public long getConflatedCount() {
+    return conflatedCount.get();
+  }
+
+  private T read(String json) {
+    try {
+      return objectReader.readValue(json);
+    } catch (IOException e) {
+      throw new BinanceApiException(e);
+    }
+  }
+
+  /**
+   * The raw JSON of the latest update of a key, until it is polled.
+   */
+  private static final class Slot {
+    private final String key;
+    private final AtomicReference<String> pending = new AtomicReference<>();
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    private Slot(String key) {
+      this.key = key;
+    }
+  }
+}
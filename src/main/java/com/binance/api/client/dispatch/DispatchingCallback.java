@@ -0,0 +1,295 @@
+package com.binance.api.client.dispatch;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * A callback buffering events in a bounded queue, and invoking the wrapped callback on an executor.
+ *
+ * Events, failures and gaps are delivered to the wrapped callback in the order they were received, one at a time, even
+ * when the executor has several threads. Failures and gaps are never dropped, unless the executor was shut down: the
+ * buffered items are then discarded, and so are later ones.
+ *
+ * @see EventDispatcher
+ */
+public class DispatchingCallback<T> implements BinanceApiStreamCallback<T> {
+
+  /**
+   * Maximum number of items delivered per executor task, so that busy streams do not starve others on a shared pool.
+   */
+  private static final int MAX_BATCH_SIZE = 256;
+
+  private final BinanceApiCallback<T> callback;
+
+  private final Executor executor;
+
+  private final int capacity;
+
+  private final OverflowPolicy overflowPolicy;
+
+  private final Function<? super T, ?> keyFunction;
+
+  /**
+   * Buffered items: events (or {@link Slot slots} when conflating), failures and gaps. Guarded by <code>this</code>.
+   */
+  private final ArrayDeque<Object> queue = new ArrayDeque<>();
+
+  /**
+   * Slots of the buffered events by key, when conflating. Guarded by <code>this</code>.
+   */
+  private final Map<Object, Slot<T>> slots = new HashMap<>();
+
+  private int bufferedEvents = 0;
+
+  private boolean drainScheduled = false;
+
+  /**
+   * Set once the executor rejected a drain, or the dispatcher was closed. Guarded by <code>this</code>.
+   */
+  private boolean closed = false;
+
+  private volatile long droppedCount = 0;
+
+  private volatile long deliveredCount = 0;
+
+  DispatchingCallback(BinanceApiCallback<T> callback, Executor executor, int capacity, OverflowPolicy overflowPolicy,
+                      Function<? super T, ?> keyFunction) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.callback = callback;
+    this.executor = executor;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.keyFunction = keyFunction;
+  }
+
+  /**
+   * @return the number of events currently buffered
+   */
+  public synchronized int getQueueDepth() {
+    return bufferedEvents;
+  }
+
+  /**
+   * @return the number of events discarded or replaced because the buffer was full
+   */
+  public long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * @return the number of events handed to the wrapped callback
+   */
+  public long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  @Override
+  public void onResponse(T response) {
+    synchronized (this) {
+      if (overflowPolicy == OverflowPolicy.CONFLATE) {
+        conflate(response);
+      } else {
+        enqueue(response);
+      }
+      scheduleDrain();
+    }
+  }
+
+  @Override
+  public void onFailure(Throwable cause) {
+    enqueueSignal(new Failure(cause));
+  }
+
+  @Override
+  public void onGap(BinanceApiStreamGap gap) {
+    enqueueSignal(gap);
+  }
+
+  private void enqueue(T event) {
+    if (closed) {
+      return;
+    }
+    if (bufferedEvents >= capacity) {
+      if (overflowPolicy == OverflowPolicy.BLOCK) {
+        boolean interrupted = false;
+        while (bufferedEvents >= capacity && !closed) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+        if (closed) {
+          return;
+        }
+      } else {
+        dropOldestEvent();
+      }
+    }
+    queue.add(event);
+    bufferedEvents++;
+  }
+
+  private void conflate(T event) {
+    if (closed) {
+      return;
+    }
+    Object key = keyFunction.apply(event);
+    Slot<T> slot = slots.get(key);
+    if (slot != null) {
+      slot.event = event;
+      droppedCount++;
+      return;
+    }
+    if (bufferedEvents >= capacity) {
+      dropOldestEvent();
+    }
+    slot = new Slot<>(key, event);
+    slots.put(key, slot);
+    queue.add(slot);
+    bufferedEvents++;
+  }
+
+  private void dropOldestEvent() {
+    for (Iterator<Object> it = queue.iterator(); it.hasNext(); ) {
+      Object item = it.next();
+      if (isEvent(item)) {
+        it.remove();
+        if (item instanceof Slot) {
+          slots.remove(((Slot<?>) item).key);
+        }
+        bufferedEvents--;
+        droppedCount++;
+        return;
+      }
+    }
+  }
+
+  private synchronized void enqueueSignal(Object signal) {
+    if (closed) {
+      return;
+    }
+    queue.add(signal);
+    // Events received after a failure or gap must not be conflated with those received before it
+    slots.clear();
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (!drainScheduled && !closed) {
+      drainScheduled = true;
+      execute();
+    }
+  }
+
+  /**
+   * Submits a drain, closing this callback if the executor was shut down.
+   */
+  private void execute() {
+    try {
+      executor.execute(this::drain);
+    } catch (RejectedExecutionException e) {
+      synchronized (this) {
+        close();
+      }
+    }
+  }
+
+  /**
+   * Discards the buffered and later items, and releases the threads blocked on a full buffer. Called when the
+   * executor is shut down, as no drain will run any more.
+   */
+  synchronized void close() {
+    closed = true;
+    drainScheduled = false;
+    bufferedEvents = 0;
+    queue.clear();
+    slots.clear();
+    notifyAll();
+  }
+
+  private void drain() {
+    for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+      Object item;
+      synchronized (this) {
+        item = queue.poll();
+        if (item == null) {
+          drainScheduled = false;
+          return;
+        }
+        if (item instanceof Slot && slots.get(((Slot<?>) item).key) == item) {
+          slots.remove(((Slot<?>) item).key);
+        }
+        if (isEvent(item)) {
+          bufferedEvents--;
+          notifyAll();
+        }
+      }
+      deliver(item);
+    }
+    execute();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(Object item) {
+    try {
+      if (item instanceof Failure) {
+        callback.onFailure(((Failure) item).cause);
+      } else if (item instanceof BinanceApiStreamGap) {
+        if (callback instanceof BinanceApiStreamCallback) {
+          ((BinanceApiStreamCallback<T>) callback).onGap((BinanceApiStreamGap) item);
+        }
+      } else {
+        T event = item instanceof Slot ? ((Slot<T>) item).event : (T) item;
+        deliveredCount++;
+        callback.onResponse(event);
+      }
+    } catch (RuntimeException e) {
+      // Keep draining: a failing callback must not stall the stream
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+  }
+
+  private static boolean isEvent(Object item) {
+    return !(item instanceof Failure) && !(item instanceof BinanceApiStreamGap);
+  }
+
+  /**
+   * The buffered event of a conflation key.
+   */
+  private static final class Slot<T> {
+    private final Object key;
+    private T event;
+
+    private Slot(Object key, T event) {
+      this.key = key;
+      this.event = event;
+    }
+  }
+
+  /**
+   * A buffered stream failure.
+   */
+  private static final class Failure {
+    private final Throwable cause;
+
+    private Failure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+}
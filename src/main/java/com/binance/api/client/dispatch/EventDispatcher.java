@@ -0,0 +1,125 @@
+package com.binance.api.client.dispatch;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiHttpConfig;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Moves the invocation of stream callbacks off the web socket reader threads.
+ *
+ * Each {@link #dispatch dispatched} callback gets its own bounded buffer, drained in order by the dispatcher's executor,
+ * so that a slow consumer can no longer stall the socket and get it disconnected. For example:
+ *
+ * <pre>
+ * EventDispatcher dispatcher = EventDispatcher.singleThread();
+ * client.onAggTradeEvent("ethbtc", dispatcher.dispatch(callback, 1024, OverflowPolicy.DROP_OLDEST));
+ * </pre>
+ *
+ * Events are handed over as they are. Subscriptions which refill the same event instance for every message copy it
+ * before handing it to a dispatching callback, or reject such callbacks when a copy would defeat their purpose.
+ */
+public class EventDispatcher implements Closeable {
+
+  private final ExecutorService executor;
+
+  /**
+   * Callbacks to close with this dispatcher, weakly held so that those of closed subscriptions can be collected.
+   */
+  private final Set<DispatchingCallback<?>> callbacks = Collections.newSetFromMap(new WeakHashMap<>());
+
+  /**
+   * @param executor executor running the callbacks; may be shared with other dispatchers
+   */
+  public EventDispatcher(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * @return a dispatcher invoking all callbacks on one dedicated thread
+   */
+  public static EventDispatcher singleThread() {
+    return new EventDispatcher(Executors.newSingleThreadExecutor(newThreadFactory()));
+  }
+
+  /**
+   * @return a dispatcher invoking callbacks on a fixed pool of threads; each callback still sees its events in order
+   */
+  public static EventDispatcher pooled(int threads) {
+    return new EventDispatcher(Executors.newFixedThreadPool(threads, newThreadFactory()));
+  }
+
+  /**
+   * @return a dispatcher invoking callbacks on virtual threads
+   * @throws UnsupportedOperationException if virtual threads are not supported, before Java 21
+   */
+  public static EventDispatcher virtualThreads() {
+    return new EventDispatcher(BinanceApiHttpConfig.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * Wraps a callback so that its events are buffered and invoked on this dispatcher's executor.
+   *
+   * @param callback       the callback to invoke
+   * @param capacity       maximum number of buffered events
+   * @param overflowPolicy what to do when the buffer is full; {@link OverflowPolicy#CONFLATE} requires {@link #dispatch(BinanceApiCallback, int, Function)}
+   */
+  public <T> DispatchingCallback<T> dispatch(BinanceApiCallback<T> callback, int capacity, OverflowPolicy overflowPolicy) {
+    if (overflowPolicy == OverflowPolicy.CONFLATE) {
+      throw new IllegalArgumentException("Conflation requires a key function");
+    }
+    return register(new DispatchingCallback<>(callback, executor, capacity, overflowPolicy, null));
+  }
+
+  /**
+   * Wraps a callback so that only the latest event per key is buffered and invoked on this dispatcher's executor.
+   *
+   * @param callback    the callback to invoke
+   * @param capacity    maximum number of buffered keys
+   * @param keyFunction extracts the conflation key of an event, e.g. <code>AllMarketTickersEvent::getSymbol</code>
+   */
+  public <T> DispatchingCallback<T> dispatch(BinanceApiCallback<T> callback, int capacity, Function<? super T, ?> keyFunction) {
+    return register(new DispatchingCallback<>(callback, executor, capacity, OverflowPolicy.CONFLATE, keyFunction));
+  }
+
+  private <T> DispatchingCallback<T> register(DispatchingCallback<T> callback) {
+    synchronized (callbacks) {
+      callbacks.add(callback);
+    }
+    return callback;
+  }
+
+  /**
+   * Stops the executor; events still buffered are discarded, and so are later ones, and threads waiting for room in a
+   * {@link OverflowPolicy#BLOCK blocking} buffer are released.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    List<DispatchingCallback<?>> toClose;
+    synchronized (callbacks) {
+      toClose = new ArrayList<>(callbacks);
+      callbacks.clear();
+    }
+    toClose.forEach(DispatchingCallback::close);
+  }
+
+  private static ThreadFactory newThreadFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "binance-api-dispatcher-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
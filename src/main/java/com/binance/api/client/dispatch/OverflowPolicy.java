@@ -0,0 +1,20 @@
+package com.binance.api.client.dispatch;
+
+/**
+ * What a {@link DispatchingCallback} does with a new event when its buffer is full.
+ */
+public enum OverflowPolicy {
+  /**
+   * Block the thread delivering the event (normally the web socket reader) until there is room, applying back-pressure.
+   */
+  BLOCK,
+  /**
+   * Discard the oldest buffered event.
+   */
+  DROP_OLDEST,
+  /**
+   * Keep only the latest buffered event per key (e.g. per symbol); a new event replaces any buffered event with the same
+   * key. When the buffer holds as many keys as its capacity, the oldest key is discarded.
+   */
+  CONFLATE
+}
@@ -78,7 +78,12 @@ public class Order {
    * Order timestamp.
    */
   private long time;
-  
+
+  /**
+   * Time of the last update of the order.
+   */
+  private long updateTime;
+
   /**
   * Used to calculate the average price 
   */
@@ -187,6 +192,14 @@ public class Order {
   public void setTime(long time) {
     this.time = time;
   }
+
+  public long getUpdateTime() {
+    return updateTime;
+  }
+
+  public void setUpdateTime(long updateTime) {
+    this.updateTime = updateTime;
+  }
   
   public String getCummulativeQuoteQty() {
     return cummulativeQuoteQty;
@@ -212,6 +225,7 @@ public class Order {
         .append("stopPrice", stopPrice)
         .append("icebergQty", icebergQty)
         .append("time", time)
+        .append("updateTime", updateTime)
         .append("cummulativeQuoteQty", cummulativeQuoteQty)
         .toString();
   }
@@ -25,6 +25,9 @@ public class AccountUpdateEvent {
   @JsonProperty("E")
   private long eventTime;
 
+  @JsonProperty("u")
+  private long lastUpdateTime;
+
   @JsonProperty("B")
   @JsonDeserialize(contentUsing = AssetBalanceDeserializer.class)
   private List<AssetBalance> balances;
@@ -45,6 +48,17 @@ public class AccountUpdateEvent {
     this.eventTime = eventTime;
   }
 
+  /**
+   * @return the time of the account update which caused this event, or 0 if not given
+   */
+  public long getLastUpdateTime() {
+    return lastUpdateTime;
+  }
+
+  public void setLastUpdateTime(long lastUpdateTime) {
+    this.lastUpdateTime = lastUpdateTime;
+  }
+
   public List<AssetBalance> getBalances() {
     return balances;
   }
@@ -58,6 +72,7 @@ public class AccountUpdateEvent {
     return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
         .append("eventType", eventType)
         .append("eventTime", eventTime)
+        .append("lastUpdateTime", lastUpdateTime)
         .append("balances", balances)
         .toString();
   }
@@ -1,9 +1,11 @@
 package com.binance.api.client.domain.event;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.SymbolDeserializer;
 import com.binance.api.client.domain.market.AggTrade;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
@@ -19,6 +21,7 @@ public class AggTradeEvent extends AggTrade {
   private long eventTime;
 
   @JsonProperty("s")
+  @JsonDeserialize(using = SymbolDeserializer.class)
   private String symbol;
 
   public String getEventType() {
@@ -0,0 +1,261 @@
+package com.binance.api.client.domain.event;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.SymbolRegistry;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Columnar view of the all market tickers stream: one primitive array per ticker field, indexed by the symbol ids of a
+ * {@link SymbolRegistry}.
+ *
+ * The columns hold the latest ticker of every symbol, and each <code>!ticker@arr</code> message only overwrites the rows of
+ * the symbols it carries, which are listed by {@link #getUpdatedId}. An instance is meant to be filled repeatedly (e.g.
+ * with <code>ObjectReader.withValueToUpdate</code>), in which case decoding a message allocates nothing. Symbols unknown
+ * to the registry are skipped. The columns grow when the registry is refreshed with new symbols, so they should be fetched
+ * again on each update rather than kept.
+ *
+ * @see AllMarketTickersEvent
+ */
+@JsonDeserialize(using = AllMarketTickersColumnsDeserializer.class)
+public class AllMarketTickersColumns {
+
+  static final int PRICE_CHANGE = 0;
+  static final int PRICE_CHANGE_PERCENT = 1;
+  static final int WEIGHTED_AVERAGE_PRICE = 2;
+  static final int PREVIOUS_CLOSE_PRICE = 3;
+  static final int LAST_PRICE = 4;
+  static final int LAST_QTY = 5;
+  static final int BID_PRICE = 6;
+  static final int BID_QTY = 7;
+  static final int ASK_PRICE = 8;
+  static final int ASK_QTY = 9;
+  static final int OPEN_PRICE = 10;
+  static final int HIGH_PRICE = 11;
+  static final int LOW_PRICE = 12;
+  static final int VOLUME = 13;
+  static final int QUOTE_VOLUME = 14;
+  static final int DOUBLE_COLUMNS = 15;
+
+  static final int EVENT_TIME = 0;
+  static final int OPEN_TIME = 1;
+  static final int CLOSE_TIME = 2;
+  static final int FIRST_TRADE_ID = 3;
+  static final int LAST_TRADE_ID = 4;
+  static final int TRADE_COUNT = 5;
+  static final int LONG_COLUMNS = 6;
+
+  private final SymbolRegistry symbolRegistry;
+
+  private final double[][] doubleColumns;
+
+  private final long[][] longColumns;
+
+  private int[] updatedIds;
+
+  private int updatedCount;
+
+  private int skippedCount;
+
+  /**
+   * Scratch row holding a ticker while it is decoded, since its symbol is not its first field.
+   */
+  final double[] doubleRow = new double[DOUBLE_COLUMNS];
+
+  final long[] longRow = new long[LONG_COLUMNS];
+
+  public AllMarketTickersColumns(SymbolRegistry symbolRegistry) {
+    this.symbolRegistry = symbolRegistry;
+    this.doubleColumns = new double[DOUBLE_COLUMNS][symbolRegistry.size()];
+    this.longColumns = new long[LONG_COLUMNS][symbolRegistry.size()];
+    this.updatedIds = new int[symbolRegistry.size()];
+    for (double[] column : doubleColumns) {
+      Arrays.fill(column, Double.NaN);
+    }
+  }
+
+  public SymbolRegistry getSymbolRegistry() {
+    return symbolRegistry;
+  }
+
+  /**
+   * @return the number of symbols updated by the last message
+   */
+  public int getUpdatedCount() {
+    return updatedCount;
+  }
+
+  /**
+   * @return the symbol id of the n-th symbol updated by the last message
+   */
+  public int getUpdatedId(int n) {
+    return updatedIds[n];
+  }
+
+  /**
+   * @return the number of tickers of the last message skipped because their symbol is not in the registry
+   */
+  public int getSkippedCount() {
+    return skippedCount;
+  }
+
+  /**
+   * @return true if a ticker has been received for the symbol id
+   */
+  public boolean hasTicker(int id) {
+    return longColumns[EVENT_TIME][id] != 0;
+  }
+
+  /*
+   * Columns; rows of symbols without a ticker yet hold NaN or 0.
+   */
+
+  public double[] getPriceChanges() {
+    return doubleColumns[PRICE_CHANGE];
+  }
+
+  public double[] getPriceChangePercents() {
+    return doubleColumns[PRICE_CHANGE_PERCENT];
+  }
+
+  public double[] getWeightedAveragePrices() {
+    return doubleColumns[WEIGHTED_AVERAGE_PRICE];
+  }
+
+  public double[] getPreviousClosePrices() {
+    return doubleColumns[PREVIOUS_CLOSE_PRICE];
+  }
+
+  public double[] getLastPrices() {
+    return doubleColumns[LAST_PRICE];
+  }
+
+  public double[] getLastQuantities() {
+    return doubleColumns[LAST_QTY];
+  }
+
+  public double[] getBidPrices() {
+    return doubleColumns[BID_PRICE];
+  }
+
+  public double[] getBidQuantities() {
+    return doubleColumns[BID_QTY];
+  }
+
+  public double[] getAskPrices() {
+    return doubleColumns[ASK_PRICE];
+  }
+
+  public double[] getAskQuantities() {
+    return doubleColumns[ASK_QTY];
+  }
+
+  public double[] getOpenPrices() {
+    return doubleColumns[OPEN_PRICE];
+  }
+
+  public double[] getHighPrices() {
+    return doubleColumns[HIGH_PRICE];
+  }
+
+  public double[] getLowPrices() {
+    return doubleColumns[LOW_PRICE];
+  }
+
+  /**
+   * @return total traded base asset volumes
+   */
+  public double[] getVolumes() {
+    return doubleColumns[VOLUME];
+  }
+
+  /**
+   * @return total traded quote asset volumes
+   */
+  public double[] getQuoteVolumes() {
+    return doubleColumns[QUOTE_VOLUME];
+  }
+
+  public long[] getEventTimes() {
+    return longColumns[EVENT_TIME];
+  }
+
+  public long[] getOpenTimes() {
+    return longColumns[OPEN_TIME];
+  }
+
+  public long[] getCloseTimes() {
+    return longColumns[CLOSE_TIME];
+  }
+
+  public long[] getFirstTradeIds() {
+    return longColumns[FIRST_TRADE_ID];
+  }
+
+  public long[] getLastTradeIds() {
+    return longColumns[LAST_TRADE_ID];
+  }
+
+  public long[] getTradeCounts() {
+    return longColumns[TRADE_COUNT];
+  }
+
+  void beginMessage() {
+    updatedCount = 0;
+    skippedCount = 0;
+  }
+
+  void beginRow() {
+    Arrays.fill(doubleRow, Double.NaN);
+    Arrays.fill(longRow, 0);
+  }
+
+  /**
+   * Copies the scratch row into the row of its symbol.
+   */
+  void endRow(int id) {
+    if (id < 0) {
+      skippedCount++;
+      return;
+    }
+    if (id >= updatedIds.length) {
+      grow();
+    }
+    for (int column = 0; column < DOUBLE_COLUMNS; column++) {
+      doubleColumns[column][id] = doubleRow[column];
+    }
+    for (int column = 0; column < LONG_COLUMNS; column++) {
+      longColumns[column][id] = longRow[column];
+    }
+    if (updatedCount < updatedIds.length) {
+      updatedIds[updatedCount++] = id;
+    }
+  }
+
+  /**
+   * Makes room for the symbols registered since the columns were created or last grown.
+   */
+  private void grow() {
+    int size = symbolRegistry.size();
+    for (int column = 0; column < DOUBLE_COLUMNS; column++) {
+      int oldSize = doubleColumns[column].length;
+      doubleColumns[column] = Arrays.copyOf(doubleColumns[column], size);
+      Arrays.fill(doubleColumns[column], oldSize, size, Double.NaN);
+    }
+    for (int column = 0; column < LONG_COLUMNS; column++) {
+      longColumns[column] = Arrays.copyOf(longColumns[column], size);
+    }
+    updatedIds = Arrays.copyOf(updatedIds, size);
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("symbolCount", symbolRegistry.size())
+        .append("updatedCount", updatedCount)
+        .append("skippedCount", skippedCount)
+        .toString();
+  }
+}
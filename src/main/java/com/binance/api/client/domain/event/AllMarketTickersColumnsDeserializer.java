@@ -0,0 +1,77 @@
+package com.binance.api.client.domain.event;
+
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+
+import static com.binance.api.client.domain.event.AllMarketTickersColumns.*;
+
+/**
+ * Custom deserializer decoding an all market tickers array into columns, which only supports updating existing columns.
+ *
+ * @see AllMarketTickersColumns
+ */
+public class AllMarketTickersColumnsDeserializer extends JsonDeserializer<AllMarketTickersColumns> {
+
+  @Override
+  public AllMarketTickersColumns deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    throw JsonMappingException.from(jp, "Columns require a symbol registry, and can only be decoded into an existing instance");
+  }
+
+  @Override
+  public AllMarketTickersColumns deserialize(JsonParser jp, DeserializationContext ctx, AllMarketTickersColumns columns) throws IOException {
+    if (jp.currentToken() != JsonToken.START_ARRAY) {
+      throw JsonMappingException.from(jp, "Expected an array of tickers");
+    }
+    double[] doubleRow = columns.doubleRow;
+    long[] longRow = columns.longRow;
+    columns.beginMessage();
+    while (jp.nextToken() == JsonToken.START_OBJECT) {
+      columns.beginRow();
+      int id = -1;
+      while (jp.nextToken() == JsonToken.FIELD_NAME) {
+        String field = jp.getCurrentName();
+        jp.nextToken();
+        switch (field) {
+          case "s": id = columns.getSymbolRegistry().getId(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength()); break;
+          case "p": doubleRow[PRICE_CHANGE] = readDouble(jp); break;
+          case "P": doubleRow[PRICE_CHANGE_PERCENT] = readDouble(jp); break;
+          case "w": doubleRow[WEIGHTED_AVERAGE_PRICE] = readDouble(jp); break;
+          case "x": doubleRow[PREVIOUS_CLOSE_PRICE] = readDouble(jp); break;
+          case "c": doubleRow[LAST_PRICE] = readDouble(jp); break;
+          case "Q": doubleRow[LAST_QTY] = readDouble(jp); break;
+          case "b": doubleRow[BID_PRICE] = readDouble(jp); break;
+          case "B": doubleRow[BID_QTY] = readDouble(jp); break;
+          case "a": doubleRow[ASK_PRICE] = readDouble(jp); break;
+          case "A": doubleRow[ASK_QTY] = readDouble(jp); break;
+          case "o": doubleRow[OPEN_PRICE] = readDouble(jp); break;
+          case "h": doubleRow[HIGH_PRICE] = readDouble(jp); break;
+          case "l": doubleRow[LOW_PRICE] = readDouble(jp); break;
+          case "v": doubleRow[VOLUME] = readDouble(jp); break;
+          case "q": doubleRow[QUOTE_VOLUME] = readDouble(jp); break;
+          case "E": longRow[EVENT_TIME] = jp.getValueAsLong(); break;
+          case "O": longRow[OPEN_TIME] = jp.getValueAsLong(); break;
+          case "C": longRow[CLOSE_TIME] = jp.getValueAsLong(); break;
+          case "F": longRow[FIRST_TRADE_ID] = jp.getValueAsLong(); break;
+          case "L": longRow[LAST_TRADE_ID] = jp.getValueAsLong(); break;
+          case "n": longRow[TRADE_COUNT] = jp.getValueAsLong(); break;
+          default: jp.skipChildren();
+        }
+      }
+      columns.endRow(id);
+    }
+    return columns;
+  }
+
+  private static double readDouble(JsonParser jp) throws IOException {
+    if (jp.currentToken() != JsonToken.VALUE_STRING) {
+      return jp.getValueAsDouble(Double.NaN);
+    }
+    return FixedPointDecimal.parseDouble(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+  }
+}
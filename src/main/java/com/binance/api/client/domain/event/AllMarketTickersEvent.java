@@ -1,9 +1,11 @@
 package com.binance.api.client.domain.event;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.SymbolDeserializer;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 /**
  */
@@ -17,6 +19,7 @@ public class AllMarketTickersEvent {
   private long eventTime;
 
   @JsonProperty("s")
+  @JsonDeserialize(using = SymbolDeserializer.class)
   private String symbol;
 
   @JsonProperty("p")
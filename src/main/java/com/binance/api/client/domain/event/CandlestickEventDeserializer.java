@@ -1,50 +1,66 @@
 package com.binance.api.client.domain.event;
 
+import com.binance.api.client.domain.general.SymbolDeserializer;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
 
 /**
  * Custom deserializer for a candlestick stream event, since the structure of the candlestick json differ from the one in the REST API.
  *
+ * The event is read token by token straight into a <code>CandlestickEvent</code>, without building an intermediate tree.
+ *
  * @see CandlestickEvent
  */
 public class CandlestickEventDeserializer extends JsonDeserializer<CandlestickEvent> {
 
   @Override
   public CandlestickEvent deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
-    ObjectCodec oc = jp.getCodec();
-    JsonNode node = oc.readTree(jp);
-
     CandlestickEvent candlestickEvent = new CandlestickEvent();
 
-    // Parse header
-    candlestickEvent.setEventType(node.get("e").asText());
-    candlestickEvent.setEventTime(node.get("E").asLong());
-    candlestickEvent.setSymbol(node.get("s").asText());
-
-    // Parse candlestick data
-    JsonNode candlestickNode = node.get("k");
-    candlestickEvent.setOpenTime(candlestickNode.get("t").asLong());
-    candlestickEvent.setCloseTime(candlestickNode.get("T").asLong());
-    candlestickEvent.setIntervalId(candlestickNode.get("i").asText());
-    candlestickEvent.setFirstTradeId(candlestickNode.get("f").asLong());
-    candlestickEvent.setLastTradeId(candlestickNode.get("L").asLong());
-    candlestickEvent.setOpen(candlestickNode.get("o").asText());
-    candlestickEvent.setClose(candlestickNode.get("c").asText());
-    candlestickEvent.setHigh(candlestickNode.get("h").asText());
-    candlestickEvent.setLow(candlestickNode.get("l").asText());
-    candlestickEvent.setVolume(candlestickNode.get("v").asText());
-    candlestickEvent.setNumberOfTrades(candlestickNode.get("n").asLong());
-    candlestickEvent.setBarFinal(candlestickNode.get("x").asBoolean());
-    candlestickEvent.setQuoteAssetVolume(candlestickNode.get("q").asText());
-    candlestickEvent.setTakerBuyBaseAssetVolume(candlestickNode.get("V").asText());
-    candlestickEvent.setTakerBuyQuoteAssetVolume(candlestickNode.get("Q").asText());
+    JsonToken token = jp.currentToken() == JsonToken.START_OBJECT ? jp.nextToken() : jp.currentToken();
+    for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+      switch (field) {
+        // Parse header
+        case "e": candlestickEvent.setEventType(jp.getValueAsString()); break;
+        case "E": candlestickEvent.setEventTime(jp.getValueAsLong()); break;
+        case "s": candlestickEvent.setSymbol(SymbolDeserializer.readSymbol(jp, ctx)); break;
+        // Parse candlestick data
+        case "k": readCandlestick(jp, candlestickEvent); break;
+        default: jp.skipChildren();
+      }
+    }
 
     return candlestickEvent;
   }
-}
\ No newline at end of file
+
+  private static void readCandlestick(JsonParser jp, CandlestickEvent candlestickEvent) throws IOException {
+    while (jp.nextToken() == JsonToken.FIELD_NAME) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+      switch (field) {
+        case "t": candlestickEvent.setOpenTime(jp.getValueAsLong()); break;
+        case "T": candlestickEvent.setCloseTime(jp.getValueAsLong()); break;
+        case "i": candlestickEvent.setIntervalId(jp.getValueAsString()); break;
+        case "f": candlestickEvent.setFirstTradeId(jp.getValueAsLong()); break;
+        case "L": candlestickEvent.setLastTradeId(jp.getValueAsLong()); break;
+        case "o": candlestickEvent.setOpen(jp.getValueAsString()); break;
+        case "c": candlestickEvent.setClose(jp.getValueAsString()); break;
+        case "h": candlestickEvent.setHigh(jp.getValueAsString()); break;
+        case "l": candlestickEvent.setLow(jp.getValueAsString()); break;
+        case "v": candlestickEvent.setVolume(jp.getValueAsString()); break;
+        case "n": candlestickEvent.setNumberOfTrades(jp.getValueAsLong()); break;
+        case "x": candlestickEvent.setBarFinal(jp.getValueAsBoolean()); break;
+        case "q": candlestickEvent.setQuoteAssetVolume(jp.getValueAsString()); break;
+        case "V": candlestickEvent.setTakerBuyBaseAssetVolume(jp.getValueAsString()); break;
+        case "Q": candlestickEvent.setTakerBuyQuoteAssetVolume(jp.getValueAsString()); break;
+        default: jp.skipChildren();
+      }
+    }
+  }
+}
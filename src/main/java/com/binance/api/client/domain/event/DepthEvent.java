@@ -1,9 +1,11 @@
 package com.binance.api.client.domain.event;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.SymbolDeserializer;
 import com.binance.api.client.domain.market.OrderBookEntry;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.util.List;
@@ -21,6 +23,7 @@ public class DepthEvent {
   private long eventTime;
 
   @JsonProperty("s")
+  @JsonDeserialize(using = SymbolDeserializer.class)
   private String symbol;
 
   @JsonProperty("U")
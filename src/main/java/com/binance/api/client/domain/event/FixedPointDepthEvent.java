@@ -0,0 +1,141 @@
+package com.binance.api.client.domain.event;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.binance.api.client.domain.market.FixedPointOrderBookEntries;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Depth delta event for a symbol, with fixed-point prices and quantities.
+ *
+ * An instance can be filled repeatedly (e.g. with <code>ObjectReader.withValueToUpdate</code>), in which case decoding a
+ * delta allocates nothing per level once the entry arrays have grown to the usual depth.
+ *
+ * @see DepthEvent
+ * @see FixedPointDecimal
+ */
+@JsonDeserialize(using = FixedPointDepthEventDeserializer.class)
+public class FixedPointDepthEvent {
+
+  private String eventType;
+
+  private long eventTime;
+
+  private String symbol;
+
+  private long firstUpdateId;
+
+  /**
+   * updateId to sync up with updateid in /api/v1/depth
+   */
+  private long finalUpdateId;
+
+  /**
+   * Bid depth delta.
+   */
+  private final FixedPointOrderBookEntries bids;
+
+  /**
+   * Ask depth delta.
+   */
+  private final FixedPointOrderBookEntries asks;
+
+  /**
+   * Creates an event using the largest scale used by Binance, which fits any symbol.
+   */
+  public FixedPointDepthEvent() {
+    this(FixedPointDecimal.MAX_SCALE, FixedPointDecimal.MAX_SCALE);
+  }
+
+  /**
+   * @param priceScale decimal places of prices, see {@link FixedPointDecimal#getPriceScale}
+   * @param qtyScale   decimal places of quantities, see {@link FixedPointDecimal#getQtyScale}
+   */
+  public FixedPointDepthEvent(int priceScale, int qtyScale) {
+    this.bids = new FixedPointOrderBookEntries(priceScale, qtyScale);
+    this.asks = new FixedPointOrderBookEntries(priceScale, qtyScale);
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public void setEventType(String eventType) {
+    this.eventType = eventType;
+  }
+
+  public long getEventTime() {
+    return eventTime;
+  }
+
+  public void setEventTime(long eventTime) {
+    this.eventTime = eventTime;
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public void setSymbol(String symbol) {
+    this.symbol = symbol;
+  }
+
+  public long getFirstUpdateId() {
+    return firstUpdateId;
+  }
+
+  public void setFirstUpdateId(long firstUpdateId) {
+    this.firstUpdateId = firstUpdateId;
+  }
+
+  public long getFinalUpdateId() {
+    return finalUpdateId;
+  }
+
+  public void setFinalUpdateId(long finalUpdateId) {
+    this.finalUpdateId = finalUpdateId;
+  }
+
+  public FixedPointOrderBookEntries getBids() {
+    return bids;
+  }
+
+  public FixedPointOrderBookEntries getAsks() {
+    return asks;
+  }
+
+  /**
+   * @return a copy of this event, which may be retained while this instance is refilled
+   */
+  public FixedPointDepthEvent copy() {
+    FixedPointDepthEvent copy = new FixedPointDepthEvent(bids.getPriceScale(), bids.getQtyScale());
+    copy.eventType = eventType;
+    copy.eventTime = eventTime;
+    copy.symbol = symbol;
+    copy.firstUpdateId = firstUpdateId;
+    copy.finalUpdateId = finalUpdateId;
+    copyEntries(bids, copy.bids);
+    copyEntries(asks, copy.asks);
+    return copy;
+  }
+
+  private static void copyEntries(FixedPointOrderBookEntries from, FixedPointOrderBookEntries to) {
+    for (int i = 0; i < from.size(); i++) {
+      to.add(from.getPrice(i), from.getQty(i));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("eventType", eventType)
+        .append("eventTime", eventTime)
+        .append("symbol", symbol)
+        .append("firstUpdateId", firstUpdateId)
+        .append("finalUpdateId", finalUpdateId)
+        .append("bids", bids)
+        .append("asks", asks)
+        .toString();
+  }
+}
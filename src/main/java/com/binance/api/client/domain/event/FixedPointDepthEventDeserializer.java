@@ -0,0 +1,79 @@
+package com.binance.api.client.domain.event;
+
+import com.binance.api.client.domain.general.SymbolDeserializer;
+import com.binance.api.client.domain.market.FixedPointOrderBookEntries;
+import com.binance.api.client.domain.market.OrderBookEntryDeserializer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Custom deserializer for a depth event with fixed-point entries, which also supports updating an existing event in place.
+ *
+ * @see FixedPointDepthEvent
+ */
+public class FixedPointDepthEventDeserializer extends JsonDeserializer<FixedPointDepthEvent> {
+
+  @Override
+  public FixedPointDepthEvent deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    return deserialize(jp, ctx, new FixedPointDepthEvent());
+  }
+
+  @Override
+  public FixedPointDepthEvent deserialize(JsonParser jp, DeserializationContext ctx, FixedPointDepthEvent depthEvent) throws IOException {
+    depthEvent.getBids().clear();
+    depthEvent.getAsks().clear();
+
+    JsonToken token = jp.currentToken() == JsonToken.START_OBJECT ? jp.nextToken() : jp.currentToken();
+    for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+      switch (field) {
+        case "e":
+          if (!textEquals(jp, depthEvent.getEventType())) {
+            depthEvent.setEventType(jp.getValueAsString());
+          }
+          break;
+        case "E": depthEvent.setEventTime(jp.getValueAsLong()); break;
+        case "s":
+          // Reuse the symbol of the previous event, which is the same for every event of a subscription
+          if (!textEquals(jp, depthEvent.getSymbol())) {
+            depthEvent.setSymbol(SymbolDeserializer.readSymbol(jp, ctx));
+          }
+          break;
+        case "U": depthEvent.setFirstUpdateId(jp.getValueAsLong()); break;
+        case "u": depthEvent.setFinalUpdateId(jp.getValueAsLong()); break;
+        case "b": readEntries(jp, depthEvent.getBids()); break;
+        case "a": readEntries(jp, depthEvent.getAsks()); break;
+        default: jp.skipChildren();
+      }
+    }
+    return depthEvent;
+  }
+
+  private static void readEntries(JsonParser jp, FixedPointOrderBookEntries entries) throws IOException {
+    while (jp.nextToken() == JsonToken.START_ARRAY) {
+      OrderBookEntryDeserializer.readFixedPoint(jp, entries);
+    }
+  }
+
+  /**
+   * Compares the current text token to a String without allocating.
+   */
+  private static boolean textEquals(JsonParser jp, String value) throws IOException {
+    if (value == null || jp.currentToken() != JsonToken.VALUE_STRING || jp.getTextLength() != value.length()) {
+      return false;
+    }
+    char[] chars = jp.getTextCharacters();
+    int offset = jp.getTextOffset();
+    for (int i = 0; i < value.length(); i++) {
+      if (chars[offset + i] != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
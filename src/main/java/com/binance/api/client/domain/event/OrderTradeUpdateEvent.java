@@ -7,8 +7,10 @@ import com.binance.api.client.domain.OrderSide;
 import com.binance.api.client.domain.OrderStatus;
 import com.binance.api.client.domain.OrderType;
 import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.general.SymbolDeserializer;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
@@ -28,11 +30,18 @@ public class OrderTradeUpdateEvent {
   private Long eventTime;
 
   @JsonProperty("s")
+  @JsonDeserialize(using = SymbolDeserializer.class)
   private String symbol;
 
   @JsonProperty("c")
   private String newClientOrderId;
 
+  /**
+   * Client order id of the canceled order, when this event reports a cancel; empty otherwise.
+   */
+  @JsonProperty("C")
+  private String originalClientOrderId;
+
   /**
    * Buy/Sell order side.
    */
@@ -99,6 +108,12 @@ public class OrderTradeUpdateEvent {
   @JsonProperty("z")
   private String accumulatedQuantity;
 
+  /**
+   * Accumulated quote quantity of filled trades on this order.
+   */
+  @JsonProperty("Z")
+  private String accumulatedQuoteQuantity;
+
   /**
    * Price of last filled trade.
    */
@@ -161,6 +176,14 @@ public class OrderTradeUpdateEvent {
     this.newClientOrderId = newClientOrderId;
   }
 
+  public String getOriginalClientOrderId() {
+    return originalClientOrderId;
+  }
+
+  public void setOriginalClientOrderId(String originalClientOrderId) {
+    this.originalClientOrderId = originalClientOrderId;
+  }
+
   public OrderSide getSide() {
     return side;
   }
@@ -249,6 +272,14 @@ public class OrderTradeUpdateEvent {
     this.accumulatedQuantity = accumulatedQuantity;
   }
 
+  public String getAccumulatedQuoteQuantity() {
+    return accumulatedQuoteQuantity;
+  }
+
+  public void setAccumulatedQuoteQuantity(String accumulatedQuoteQuantity) {
+    this.accumulatedQuoteQuantity = accumulatedQuoteQuantity;
+  }
+
   public String getPriceOfLastFilledTrade() {
     return priceOfLastFilledTrade;
   }
@@ -297,6 +328,7 @@ public class OrderTradeUpdateEvent {
         .append("eventTime", eventTime)
         .append("symbol", symbol)
         .append("newClientOrderId", newClientOrderId)
+        .append("originalClientOrderId", originalClientOrderId)
         .append("side", side)
         .append("type", type)
         .append("timeInForce", timeInForce)
@@ -308,6 +340,7 @@ public class OrderTradeUpdateEvent {
         .append("orderId", orderId)
         .append("quantityLastFilledTrade", quantityLastFilledTrade)
         .append("accumulatedQuantity", accumulatedQuantity)
+        .append("accumulatedQuoteQuantity", accumulatedQuoteQuantity)
         .append("priceOfLastFilledTrade", priceOfLastFilledTrade)
         .append("commission", commission)
         .append("commissionAsset", commissionAsset)
@@ -11,6 +11,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
  * 1) outboundAccountInfo, whenever there is a change in the account (e.g. balance of an asset)
  * 2) outboundAccountPosition, the change in account balances caused by an event.
  * 3) executionReport, whenever there is a trade or an order
+ * 4) listenKeyExpired, when the listen key of the stream expired, after which no more events are sent
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonDeserialize(using = UserDataUpdateEventDeserializer.class)
@@ -65,7 +66,7 @@ public class UserDataUpdateEvent {
       sb.append("accountUpdateEvent", accountUpdateEvent);
     } else if (eventType == UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE) {
         sb.append("accountPositionUpdateEvent", accountUpdateEvent);
-    } else {
+    } else if (eventType == UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
       sb.append("orderTradeUpdateEvent", orderTradeUpdateEvent);
     }
     return sb.toString();
@@ -74,7 +75,8 @@ public class UserDataUpdateEvent {
   public enum UserDataUpdateEventType {
     ACCOUNT_UPDATE("outboundAccountInfo"),
     ACCOUNT_POSITION_UPDATE("outboundAccountPosition"),
-    ORDER_TRADE_UPDATE("executionReport");
+    ORDER_TRADE_UPDATE("executionReport"),
+    LISTEN_KEY_EXPIRED("listenKeyExpired");
 
     private final String eventTypeId;
 
@@ -93,6 +95,8 @@ public class UserDataUpdateEvent {
         return ORDER_TRADE_UPDATE;
       } else if (ACCOUNT_POSITION_UPDATE.eventTypeId.equals(eventTypeId)) {
         return ACCOUNT_POSITION_UPDATE;
+      } else if (LISTEN_KEY_EXPIRED.eventTypeId.equals(eventTypeId)) {
+        return LISTEN_KEY_EXPIRED;
       }
       throw new IllegalArgumentException("Unrecognized user data update event type id: " + eventTypeId);
     }
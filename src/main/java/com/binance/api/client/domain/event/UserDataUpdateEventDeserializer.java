@@ -1,54 +1,72 @@
 package com.binance.api.client.domain.event;
 
-import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
-import com.binance.api.client.exception.BinanceApiException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.IOException;
 
 /**
  * Custom deserializer for a User Data stream event, since the API can return two different responses in this stream.
+ *
+ * Only the fields up to and including the event type are buffered; the rest of the event is then read straight from the
+ * stream into the matching detail object, so the payload is parsed exactly once.
+ *
  * @see UserDataUpdateEvent
  */
 public class UserDataUpdateEventDeserializer extends JsonDeserializer<UserDataUpdateEvent> {
 
   @Override
   public UserDataUpdateEvent deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    TokenBuffer header = new TokenBuffer(jp, ctx);
+    header.writeStartObject();
 
-    ObjectCodec oc = jp.getCodec();
-    JsonNode node = oc.readTree(jp);
-    String json = node.toString();
-
-    final String eventTypeId = node.get("e").asText();
-    final long eventTime = node.get("E").asLong();
+    String eventTypeId = null;
+    JsonToken token = jp.currentToken() == JsonToken.START_OBJECT ? jp.nextToken() : jp.currentToken();
+    for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+      header.writeFieldName(field);
+      if ("e".equals(field)) {
+        eventTypeId = jp.getText();
+        header.writeString(eventTypeId);
+        break;
+      }
+      // Binance sends the event type first, so this only happens for unusually ordered payloads
+      header.copyCurrentStructure(jp);
+    }
+    if (eventTypeId == null) {
+      return ctx.reportInputMismatch(UserDataUpdateEvent.class, "Missing user data update event type");
+    }
     UserDataUpdateEventType userDataUpdateEventType = UserDataUpdateEventType.fromEventTypeId(eventTypeId);
 
+    JsonParser eventParser = JsonParserSequence.createFlattened(false, header.asParser(jp), jp);
+    eventParser.nextToken();
+
     UserDataUpdateEvent userDataUpdateEvent = new UserDataUpdateEvent();
     userDataUpdateEvent.setEventType(userDataUpdateEventType);
-    userDataUpdateEvent.setEventTime(eventTime);
 
     if (userDataUpdateEventType == UserDataUpdateEventType.ACCOUNT_UPDATE ||
         userDataUpdateEventType == UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE) {
-      AccountUpdateEvent accountUpdateEvent = getUserDataUpdateEventDetail(json, AccountUpdateEvent.class);
+      AccountUpdateEvent accountUpdateEvent = ctx.readValue(eventParser, AccountUpdateEvent.class);
+      userDataUpdateEvent.setEventTime(accountUpdateEvent.getEventTime());
       userDataUpdateEvent.setAccountUpdateEvent(accountUpdateEvent);
+    } else if (userDataUpdateEventType == UserDataUpdateEventType.LISTEN_KEY_EXPIRED) {
+      JsonNode listenKeyExpiredEvent = ctx.readValue(eventParser, JsonNode.class);
+      userDataUpdateEvent.setEventTime(listenKeyExpiredEvent.path("E").asLong());
     } else { // userDataUpdateEventType == UserDataUpdateEventType.ORDER_TRADE_UPDATE
-      OrderTradeUpdateEvent orderTradeUpdateEvent = getUserDataUpdateEventDetail(json, OrderTradeUpdateEvent.class);
+      OrderTradeUpdateEvent orderTradeUpdateEvent = ctx.readValue(eventParser, OrderTradeUpdateEvent.class);
+      if (orderTradeUpdateEvent.getEventTime() != null) {
+        userDataUpdateEvent.setEventTime(orderTradeUpdateEvent.getEventTime());
+      }
       userDataUpdateEvent.setOrderTradeUpdateEvent(orderTradeUpdateEvent);
     }
 
     return userDataUpdateEvent;
   }
-
-  public <T> T getUserDataUpdateEventDetail(String json, Class<T> clazz) {
-    try {
-      return BinanceApiConstants.JACKSON_MAPPER.readValue(json, clazz);
-    } catch (IOException e) {
-      throw new BinanceApiException(e);
-    }
-  }
 }
@@ -5,7 +5,9 @@ import com.binance.api.client.exception.BinanceApiException;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Current exchange trading rules and symbol information.
@@ -24,6 +26,11 @@ public class ExchangeInfo {
 
   private List<SymbolInfo> symbols;
 
+  /**
+   * The symbols by name, indexed on the first lookup.
+   */
+  private volatile Map<String, SymbolInfo> symbolsByName;
+
   public String getTimezone() {
     return timezone;
   }
@@ -54,6 +61,7 @@ public class ExchangeInfo {
 
   public void setSymbols(List<SymbolInfo> symbols) {
     this.symbols = symbols;
+    this.symbolsByName = null;
   }
 
   /**
@@ -61,9 +69,19 @@ public class ExchangeInfo {
    * @return symbol exchange information
    */
   public SymbolInfo getSymbolInfo(String symbol) {
-    return symbols.stream().filter(symbolInfo -> symbolInfo.getSymbol().equals(symbol))
-        .findFirst()
-        .orElseThrow(() -> new BinanceApiException("Unable to obtain information for symbol " + symbol));
+    Map<String, SymbolInfo> index = symbolsByName;
+    if (index == null) {
+      index = new HashMap<>();
+      for (SymbolInfo symbolInfo : symbols) {
+        index.putIfAbsent(symbolInfo.getSymbol(), symbolInfo);
+      }
+      symbolsByName = index;
+    }
+    SymbolInfo symbolInfo = index.get(symbol);
+    if (symbolInfo == null) {
+      throw new BinanceApiException("Unable to obtain information for symbol " + symbol);
+    }
+    return symbolInfo;
   }
 
   @Override
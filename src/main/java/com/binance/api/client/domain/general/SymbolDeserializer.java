@@ -0,0 +1,35 @@
+package com.binance.api.client.domain.general;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Custom deserializer for symbol fields, which resolves symbols to their canonical instance without allocating when a
+ * {@link SymbolRegistry} is set as the <code>SymbolRegistry.class</code> attribute of the reader, e.g. with
+ * <code>ObjectReader.withAttribute(SymbolRegistry.class, symbolRegistry)</code>.
+ */
+public class SymbolDeserializer extends JsonDeserializer<String> {
+
+  @Override
+  public String deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    return readSymbol(jp, ctx);
+  }
+
+  /**
+   * Reads the current symbol token, as the canonical instance of the reader's registry whenever it is registered.
+   */
+  public static String readSymbol(JsonParser jp, DeserializationContext ctx) throws IOException {
+    SymbolRegistry symbolRegistry = (SymbolRegistry) ctx.getAttribute(SymbolRegistry.class);
+    if (symbolRegistry != null && jp.currentToken() == JsonToken.VALUE_STRING) {
+      String symbol = symbolRegistry.getCanonicalSymbol(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+      if (symbol != null) {
+        return symbol;
+      }
+    }
+    return jp.getValueAsString();
+  }
+}
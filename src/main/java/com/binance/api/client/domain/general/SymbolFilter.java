@@ -62,6 +62,34 @@ public class SymbolFilter {
    */
   private String minNotional;
 
+  /**
+   * Whether the MIN_NOTIONAL filter also applies to MARKET orders, whose notional is estimated with the average price.
+   */
+  private Boolean applyToMarket;
+
+  /**
+   * Number of minutes the average price is calculated over, by the MIN_NOTIONAL and PERCENT_PRICE filters.
+   */
+  private Integer avgPriceMins;
+
+  // PERCENT_PRICE
+
+  /**
+   * Defines how far above the average price the price of an order can be, as a multiplier of the average price.
+   */
+  private String multiplierUp;
+
+  /**
+   * Defines how far below the average price the price of an order can be, as a multiplier of the average price.
+   */
+  private String multiplierDown;
+
+  // MAX_NUM_ORDERS
+
+  /**
+   * Defines the maximum number of orders an account is allowed to have open on a symbol.
+   */
+  private Integer maxNumOrders;
 
   // MAX_NUM_ALGO_ORDERS
 
@@ -141,6 +169,46 @@ public class SymbolFilter {
     this.minNotional = minNotional;
   }
 
+  public Boolean getApplyToMarket() {
+    return applyToMarket;
+  }
+
+  public void setApplyToMarket(Boolean applyToMarket) {
+    this.applyToMarket = applyToMarket;
+  }
+
+  public Integer getAvgPriceMins() {
+    return avgPriceMins;
+  }
+
+  public void setAvgPriceMins(Integer avgPriceMins) {
+    this.avgPriceMins = avgPriceMins;
+  }
+
+  public String getMultiplierUp() {
+    return multiplierUp;
+  }
+
+  public void setMultiplierUp(String multiplierUp) {
+    this.multiplierUp = multiplierUp;
+  }
+
+  public String getMultiplierDown() {
+    return multiplierDown;
+  }
+
+  public void setMultiplierDown(String multiplierDown) {
+    this.multiplierDown = multiplierDown;
+  }
+
+  public Integer getMaxNumOrders() {
+    return maxNumOrders;
+  }
+
+  public void setMaxNumOrders(Integer maxNumOrders) {
+    this.maxNumOrders = maxNumOrders;
+  }
+
   public String getMaxNumAlgoOrders() {
     return maxNumAlgoOrders;
   }
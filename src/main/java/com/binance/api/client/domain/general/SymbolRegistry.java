@@ -0,0 +1,208 @@
+package com.binance.api.client.domain.general;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Assigns dense <code>int</code> ids, from 0, to the symbols of an {@link ExchangeInfo}, so that per-symbol data can be
+ * kept in arrays indexed by symbol id.
+ *
+ * Symbols can be resolved straight from the characters of a parsed token to their id or canonical String instance,
+ * without allocating. When installed on a web socket client, event deserializers use the canonical instances for the
+ * symbols of events (see {@link SymbolDeserializer}), so that they do not allocate a new String per event and can be
+ * looked up here at the cost of an identity check.
+ *
+ * Ids are stable: {@link #refresh refreshing} the registry only appends newly listed symbols, and delisted symbols keep
+ * their ids. Lookups are lock-free and may run concurrently with a refresh.
+ */
+public class SymbolRegistry {
+
+  private volatile Table table;
+
+  /**
+   * Registers the symbols of an exchange info, in their order.
+   */
+  public SymbolRegistry(ExchangeInfo exchangeInfo) {
+    this(symbolsOf(exchangeInfo));
+  }
+
+  /**
+   * Registers the given symbols, in their order; duplicates are registered once.
+   */
+  public SymbolRegistry(Collection<String> symbols) {
+    this.table = new Table(new String[0], 0).with(symbols);
+  }
+
+  /**
+   * Registers the symbols of an exchange info which are not registered yet, e.g. new listings.
+   *
+   * @return the number of newly registered symbols
+   */
+  public int refresh(ExchangeInfo exchangeInfo) {
+    return register(symbolsOf(exchangeInfo));
+  }
+
+  /**
+   * Registers the given symbols which are not registered yet.
+   *
+   * @return the number of newly registered symbols
+   */
+  public synchronized int register(Collection<String> symbols) {
+    Table current = table;
+    Table updated = current.with(symbols);
+    table = updated;
+    return updated.size - current.size;
+  }
+
+  /**
+   * @return the number of registered symbols; ids range from 0 to this number excluded
+   */
+  public int size() {
+    return table.size;
+  }
+
+  /**
+   * @return the symbol with the given id
+   */
+  public String getSymbol(int id) {
+    Table current = table;
+    if (id < 0 || id >= current.size) {
+      throw new IndexOutOfBoundsException("Unknown symbol id " + id);
+    }
+    return current.symbols[id];
+  }
+
+  /**
+   * @return the id of a symbol, or -1 if it is not registered; cheapest for canonical instances
+   */
+  public int getId(String symbol) {
+    Table current = table;
+    int mask = current.buckets.length - 1;
+    for (int bucket = spread(symbol.hashCode()) & mask; ; bucket = (bucket + 1) & mask) {
+      int id = current.buckets[bucket] - 1;
+      if (id < 0 || symbol.equals(current.symbols[id])) {
+        return id;
+      }
+    }
+  }
+
+  /**
+   * @return the id of the symbol spelled by the given characters, or -1 if it is not registered
+   */
+  public int getId(char[] chars, int offset, int length) {
+    return getId(table, chars, offset, length);
+  }
+
+  /**
+   * @return the canonical instance of the symbol spelled by the given characters, or null if it is not registered
+   */
+  public String getCanonicalSymbol(char[] chars, int offset, int length) {
+    Table current = table;
+    int id = getId(current, chars, offset, length);
+    return id >= 0 ? current.symbols[id] : null;
+  }
+
+  private static int getId(Table table, char[] chars, int offset, int length) {
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + chars[offset + i];
+    }
+    int mask = table.buckets.length - 1;
+    for (int bucket = spread(hash) & mask; ; bucket = (bucket + 1) & mask) {
+      int id = table.buckets[bucket] - 1;
+      if (id < 0 || equals(table.symbols[id], chars, offset, length)) {
+        return id;
+      }
+    }
+  }
+
+  private static boolean equals(String symbol, char[] chars, int offset, int length) {
+    if (symbol.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (symbol.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static List<String> symbolsOf(ExchangeInfo exchangeInfo) {
+    List<String> symbols = new ArrayList<>(exchangeInfo.getSymbols().size());
+    for (SymbolInfo symbolInfo : exchangeInfo.getSymbols()) {
+      symbols.add(symbolInfo.getSymbol());
+    }
+    return symbols;
+  }
+
+  /**
+   * An immutable open-addressing table of symbol ids plus one; 0 marks an empty bucket.
+   */
+  private static final class Table {
+    private final String[] symbols;
+    private final int size;
+    private final int[] buckets;
+
+    private Table(String[] symbols, int size) {
+      this.symbols = symbols;
+      this.size = size;
+      int capacity = 16;
+      while (capacity < size * 2) {
+        capacity <<= 1;
+      }
+      this.buckets = new int[capacity];
+      for (int id = 0; id < size; id++) {
+        insert(id);
+      }
+    }
+
+    private void insert(int id) {
+      int mask = buckets.length - 1;
+      int bucket = spread(symbols[id].hashCode()) & mask;
+      while (buckets[bucket] != 0) {
+        bucket = (bucket + 1) & mask;
+      }
+      buckets[bucket] = id + 1;
+    }
+
+    private boolean contains(String symbol) {
+      int mask = buckets.length - 1;
+      for (int bucket = spread(symbol.hashCode()) & mask; buckets[bucket] != 0; bucket = (bucket + 1) & mask) {
+        if (symbol.equals(symbols[buckets[bucket] - 1])) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @return this table if all symbols are registered already, or a new table with the missing ones appended
+     */
+    private Table with(Collection<String> newSymbols) {
+      Set<String> added = new LinkedHashSet<>();
+      for (String symbol : newSymbols) {
+        if (!contains(symbol)) {
+          added.add(symbol);
+        }
+      }
+      if (added.isEmpty()) {
+        return this;
+      }
+      String[] appended = Arrays.copyOf(symbols, size + added.size());
+      int id = size;
+      for (String symbol : added) {
+        appended[id++] = symbol;
+      }
+      return new Table(appended, appended.length);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.binance.api.client.domain.market;
+
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.domain.general.SymbolInfo;
+
+import java.math.BigDecimal;
+
+/**
+ * Helpers to represent prices and quantities as <code>long</code> mantissas with a fixed number of decimal places (the scale),
+ * e.g. "0.01230000" at scale 4 is the mantissa 123.
+ */
+public final class FixedPointDecimal {
+
+  /**
+   * Largest number of decimal places used by Binance for prices and quantities.
+   */
+  public static final int MAX_SCALE = 8;
+
+  /**
+   * Mantissas below this bound are exactly representable as doubles.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * Powers of ten which are exactly representable as doubles.
+   */
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private FixedPointDecimal() {
+  }
+
+  /**
+   * @return the scale of prices of a symbol, taken from its PRICE_FILTER tick size.
+   */
+  public static int getPriceScale(SymbolInfo symbolInfo) {
+    return scaleOf(symbolInfo.getSymbolFilter(FilterType.PRICE_FILTER).getTickSize());
+  }
+
+  /**
+   * @return the scale of quantities of a symbol, taken from its LOT_SIZE step size.
+   */
+  public static int getQtyScale(SymbolInfo symbolInfo) {
+    return scaleOf(symbolInfo.getSymbolFilter(FilterType.LOT_SIZE).getStepSize());
+  }
+
+  /**
+   * @param increment a tick or step size, e.g. "0.00010000"
+   * @return the number of significant decimal places of the increment, e.g. 4
+   */
+  public static int scaleOf(String increment) {
+    return Math.max(0, new BigDecimal(increment).stripTrailingZeros().scale());
+  }
+
+  /**
+   * Parses a decimal number into a mantissa at the given scale.
+   */
+  public static long parse(CharSequence text, int scale) {
+    char[] chars = new char[text.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = text.charAt(i);
+    }
+    return parse(chars, 0, chars.length, scale);
+  }
+
+  /**
+   * Parses a decimal number, such as "0.01230000", into a mantissa at the given scale without allocating.
+   *
+   * @throws NumberFormatException if the number is malformed, or has non-zero digits beyond the given scale
+   */
+  public static long parse(char[] buffer, int offset, int length, int scale) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = false;
+    if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+      negative = buffer[i] == '-';
+      i++;
+    }
+    if (i == end) {
+      throw newNumberFormatException(buffer, offset, length);
+    }
+    long mantissa = 0;
+    int decimals = -1;
+    for (; i < end; i++) {
+      char c = buffer[i];
+      if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else if (c >= '0' && c <= '9') {
+        if (decimals >= scale) {
+          if (c != '0') {
+            throw newNumberFormatException(buffer, offset, length);
+          }
+          continue;
+        }
+        if (decimals >= 0) {
+          decimals++;
+        }
+        if (mantissa > (Long.MAX_VALUE - (c - '0')) / 10) {
+          throw newNumberFormatException(buffer, offset, length);
+        }
+        mantissa = mantissa * 10 + (c - '0');
+      } else {
+        throw newNumberFormatException(buffer, offset, length);
+      }
+    }
+    for (int pad = Math.max(decimals, 0); pad < scale; pad++) {
+      if (mantissa > Long.MAX_VALUE / 10) {
+        throw newNumberFormatException(buffer, offset, length);
+      }
+      mantissa *= 10;
+    }
+    return negative ? -mantissa : mantissa;
+  }
+
+  /**
+   * Parses a decimal number, such as "0.01230000", into the nearest double without allocating, as long as it has no more
+   * than 15 significant digits and no exponent; other numbers are handed to {@link Double#parseDouble}.
+   */
+  public static double parseDouble(char[] buffer, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = false;
+    if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+      negative = buffer[i] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int decimals = -1;
+    boolean digits = false;
+    for (; i < end; i++) {
+      char c = buffer[i];
+      if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else if (c >= '0' && c <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+        mantissa = mantissa * 10 + (c - '0');
+        digits = true;
+        if (decimals >= 0) {
+          decimals++;
+        }
+      } else {
+        break;
+      }
+    }
+    if (i < end || !digits || decimals >= DOUBLE_POWERS_OF_TEN.length) {
+      return Double.parseDouble(new String(buffer, offset, length));
+    }
+    // Both operands are exact, so the quotient is correctly rounded
+    double value = decimals > 0 ? mantissa / DOUBLE_POWERS_OF_TEN[decimals] : mantissa;
+    return negative ? -value : value;
+  }
+
+  /**
+   * @return the mantissa as a BigDecimal.
+   */
+  public static BigDecimal toBigDecimal(long mantissa, int scale) {
+    return BigDecimal.valueOf(mantissa, scale);
+  }
+
+  /**
+   * @return the mantissa as a plain decimal string, e.g. "0.0123" for mantissa 123 at scale 4.
+   */
+  public static String toString(long mantissa, int scale) {
+    return toBigDecimal(mantissa, scale).toPlainString();
+  }
+
+  private static NumberFormatException newNumberFormatException(char[] buffer, int offset, int length) {
+    return new NumberFormatException("Cannot represent \"" + new String(buffer, offset, length) + "\" as a fixed-point number");
+  }
+}
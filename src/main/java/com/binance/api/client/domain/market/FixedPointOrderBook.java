@@ -0,0 +1,73 @@
+package com.binance.api.client.domain.market;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Order book of a symbol with fixed-point prices and quantities.
+ *
+ * @see OrderBook
+ * @see FixedPointDecimal
+ */
+public class FixedPointOrderBook {
+
+  /**
+   * Last update id of this order book.
+   */
+  private long lastUpdateId;
+
+  /**
+   * Bids (price/qty).
+   */
+  private final FixedPointOrderBookEntries bids;
+
+  /**
+   * Asks (price/qty).
+   */
+  private final FixedPointOrderBookEntries asks;
+
+  public FixedPointOrderBook(int priceScale, int qtyScale) {
+    this.bids = new FixedPointOrderBookEntries(priceScale, qtyScale);
+    this.asks = new FixedPointOrderBookEntries(priceScale, qtyScale);
+  }
+
+  /**
+   * Converts an order book snapshot, as returned by the REST API, into its fixed-point representation.
+   */
+  public static FixedPointOrderBook of(OrderBook orderBook, int priceScale, int qtyScale) {
+    FixedPointOrderBook fixedPointOrderBook = new FixedPointOrderBook(priceScale, qtyScale);
+    fixedPointOrderBook.setLastUpdateId(orderBook.getLastUpdateId());
+    for (OrderBookEntry bid : orderBook.getBids()) {
+      fixedPointOrderBook.bids.add(FixedPointDecimal.parse(bid.getPrice(), priceScale), FixedPointDecimal.parse(bid.getQty(), qtyScale));
+    }
+    for (OrderBookEntry ask : orderBook.getAsks()) {
+      fixedPointOrderBook.asks.add(FixedPointDecimal.parse(ask.getPrice(), priceScale), FixedPointDecimal.parse(ask.getQty(), qtyScale));
+    }
+    return fixedPointOrderBook;
+  }
+
+  public long getLastUpdateId() {
+    return lastUpdateId;
+  }
+
+  public void setLastUpdateId(long lastUpdateId) {
+    this.lastUpdateId = lastUpdateId;
+  }
+
+  public FixedPointOrderBookEntries getBids() {
+    return bids;
+  }
+
+  public FixedPointOrderBookEntries getAsks() {
+    return asks;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("lastUpdateId", lastUpdateId)
+        .append("bids", bids)
+        .append("asks", asks)
+        .toString();
+  }
+}
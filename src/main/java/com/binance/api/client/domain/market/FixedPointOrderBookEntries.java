@@ -0,0 +1,102 @@
+package com.binance.api.client.domain.market;
+
+import java.util.Arrays;
+
+/**
+ * One side (bids or asks) of an order book, stored as parallel arrays of fixed-point prices and quantities.
+ *
+ * Instances are meant to be reused: {@link #clear()} keeps the backing arrays, so once they have grown to the usual
+ * number of levels, adding entries does not allocate.
+ *
+ * @see FixedPointDecimal
+ */
+public class FixedPointOrderBookEntries {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int priceScale;
+
+  private final int qtyScale;
+
+  private long[] prices = new long[INITIAL_CAPACITY];
+
+  private long[] qtys = new long[INITIAL_CAPACITY];
+
+  private int size;
+
+  public FixedPointOrderBookEntries(int priceScale, int qtyScale) {
+    this.priceScale = priceScale;
+    this.qtyScale = qtyScale;
+  }
+
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  public int getQtyScale() {
+    return qtyScale;
+  }
+
+  /**
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the price mantissa of the entry at the given index
+   */
+  public long getPrice(int index) {
+    checkIndex(index);
+    return prices[index];
+  }
+
+  /**
+   * @return the quantity mantissa of the entry at the given index
+   */
+  public long getQty(int index) {
+    checkIndex(index);
+    return qtys[index];
+  }
+
+  /**
+   * Appends an entry.
+   */
+  public void add(long price, long qty) {
+    if (size == prices.length) {
+      prices = Arrays.copyOf(prices, size * 2);
+      qtys = Arrays.copyOf(qtys, size * 2);
+    }
+    prices[size] = price;
+    qtys[size] = qty;
+    size++;
+  }
+
+  /**
+   * Removes all entries, keeping the allocated capacity.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(FixedPointDecimal.toString(prices[i], priceScale))
+          .append(" / ")
+          .append(FixedPointDecimal.toString(qtys[i], qtyScale));
+    }
+    return sb.append(']').toString();
+  }
+}
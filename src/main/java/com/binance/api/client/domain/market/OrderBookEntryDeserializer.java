@@ -1,11 +1,10 @@
 package com.binance.api.client.domain.market;
 
-import com.binance.api.client.domain.market.OrderBookEntry;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
 
@@ -16,14 +15,45 @@ public class OrderBookEntryDeserializer extends JsonDeserializer<OrderBookEntry>
 
   @Override
   public OrderBookEntry deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
-    ObjectCodec oc = jp.getCodec();
-    JsonNode node = oc.readTree(jp);
-    final String price = node.get(0).asText();
-    final String qty = node.get(1).asText();
+    if (jp.currentToken() != JsonToken.START_ARRAY) {
+      return (OrderBookEntry) ctx.handleUnexpectedToken(OrderBookEntry.class, jp);
+    }
+    jp.nextToken();
+    final String price = jp.getValueAsString();
+    jp.nextToken();
+    final String qty = jp.getValueAsString();
+
+    // Skip any trailing elements, such as the legacy empty array
+    while (jp.nextToken() != JsonToken.END_ARRAY) {
+      jp.skipChildren();
+    }
 
     OrderBookEntry orderBookEntry = new OrderBookEntry();
     orderBookEntry.setPrice(price);
     orderBookEntry.setQty(qty);
     return orderBookEntry;
   }
+
+  /**
+   * Reads an entry in the format [ price, qty, [] ] straight from the parser's character buffer into the given entries,
+   * without allocating an intermediate String or OrderBookEntry.
+   *
+   * @param jp      a parser positioned on the entry's START_ARRAY token
+   * @param entries the entries to append to, whose scales are used to parse price and quantity
+   */
+  public static void readFixedPoint(JsonParser jp, FixedPointOrderBookEntries entries) throws IOException {
+    if (jp.currentToken() != JsonToken.START_ARRAY) {
+      throw new JsonParseException(jp, "Expected an order book entry array but got " + jp.currentToken());
+    }
+    jp.nextToken();
+    final long price = FixedPointDecimal.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength(), entries.getPriceScale());
+    jp.nextToken();
+    final long qty = FixedPointDecimal.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength(), entries.getQtyScale());
+
+    while (jp.nextToken() != JsonToken.END_ARRAY) {
+      jp.skipChildren();
+    }
+
+    entries.add(price, qty);
+  }
 }
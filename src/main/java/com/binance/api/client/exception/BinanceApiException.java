@@ -2,6 +2,9 @@ package com.binance.api.client.exception;
 
 import com.binance.api.client.BinanceApiError;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * An exception which can occur while invoking methods of the Binance API.
  */
@@ -13,6 +16,22 @@ public class BinanceApiException extends RuntimeException {
    */
   private BinanceApiError error;
 
+  /**
+   * HTTP status code of the response, or 0 if no response was received.
+   */
+  private int httpStatusCode;
+
+  /**
+   * Seconds to wait before sending requests again, from the <code>Retry-After</code> header, or null if absent.
+   */
+  private Long retryAfterSeconds;
+
+  /**
+   * Request weight used in each rate limit interval (e.g. <code>1m</code>), from the
+   * <code>X-MBX-USED-WEIGHT-*</code> headers.
+   */
+  private Map<String, Integer> usedWeights = Collections.emptyMap();
+
   /**
    * Instantiates a new binance api exception.
    *
@@ -22,6 +41,24 @@ public class BinanceApiException extends RuntimeException {
     this.error = error;
   }
 
+  /**
+   * Instantiates a new binance api exception for an HTTP error response.
+   *
+   * @param message the message, used when there is no error response object
+   * @param error an error response object, or null if the response had none
+   * @param httpStatusCode the HTTP status code of the response
+   * @param retryAfterSeconds seconds to wait before sending requests again, or null
+   * @param usedWeights the request weight used by rate limit interval
+   */
+  public BinanceApiException(String message, BinanceApiError error, int httpStatusCode, Long retryAfterSeconds,
+                             Map<String, Integer> usedWeights) {
+    super(message);
+    this.error = error;
+    this.httpStatusCode = httpStatusCode;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.usedWeights = Collections.unmodifiableMap(usedWeights);
+  }
+
   /**
    * Instantiates a new binance api exception.
    */
@@ -64,9 +101,45 @@ public class BinanceApiException extends RuntimeException {
     return error;
   }
 
+  /**
+   * @return the error code of the response error object, or 0 if there is none.
+   */
+  public int getErrorCode() {
+    return error != null ? error.getCode() : 0;
+  }
+
+  /**
+   * @return the HTTP status code of the response, or 0 if no response was received (e.g. the connection failed).
+   */
+  public int getHttpStatusCode() {
+    return httpStatusCode;
+  }
+
+  /**
+   * @return seconds to wait before sending requests again, or null if the response did not say.
+   */
+  public Long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  /**
+   * @return the request weight used in each rate limit interval, e.g. <code>{1m=1200}</code>, as of the response.
+   */
+  public Map<String, Integer> getUsedWeights() {
+    return usedWeights;
+  }
+
+  /**
+   * @return whether the request was rejected for breaking a rate limit (HTTP 429), or because the IP address is banned
+   * for having kept on sending requests after that (HTTP 418).
+   */
+  public boolean isRateLimited() {
+    return httpStatusCode == 429 || httpStatusCode == 418;
+  }
+
   @Override
   public String getMessage() {
-    if (error != null) {
+    if (error != null && error.getMsg() != null) {
       return error.getMsg();
     }
     return super.getMessage();
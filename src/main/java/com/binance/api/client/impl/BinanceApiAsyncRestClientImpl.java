@@ -2,6 +2,7 @@ package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiAsyncRestClient;
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiErrorListener;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.account.*;
 import com.binance.api.client.domain.account.request.*;
@@ -23,60 +24,71 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
 
   private final BinanceApiService binanceApiService;
 
+  private final BinanceApiErrorListener errorListener;
+
   public BinanceApiAsyncRestClientImpl(String apiKey, String secret) {
     this(apiKey, secret, null);
   }
 
   public BinanceApiAsyncRestClientImpl(String apiKey, String secret, ProxySelector proxySelector) {
     binanceApiService = createService(BinanceApiService.class, apiKey, secret, proxySelector);
+    errorListener = null;
   }
 
   public BinanceApiAsyncRestClientImpl(final BinanceApiService service){
+    this(service, null);
+  }
+
+  /**
+   * @param errorListener if set, told of the failures of calls
+   */
+  public BinanceApiAsyncRestClientImpl(final BinanceApiService service, final BinanceApiErrorListener errorListener) {
     this.binanceApiService = service;
+    this.errorListener = errorListener;
   }
   // General endpoints
 
   @Override
   public void ping(BinanceApiCallback<Void> callback) {
-    binanceApiService.ping().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.ping().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getServerTime(BinanceApiCallback<ServerTime> callback) {
-    binanceApiService.getServerTime().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getServerTime().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getExchangeInfo(BinanceApiCallback<ExchangeInfo> callback) {
-    binanceApiService.getExchangeInfo().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getExchangeInfo().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAllAssets(BinanceApiCallback<List<Asset>> callback) {
     binanceApiService.getAllAssets(BinanceApiConstants.ASSET_INFO_API_BASE_URL + "assetWithdraw/getAllAsset.html")
-        .enqueue(new BinanceApiCallbackAdapter<>(callback));
+        .enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   // Market Data endpoints
 
   @Override
   public void getOrderBook(String symbol, Integer limit, BinanceApiCallback<OrderBook> callback) {
-    binanceApiService.getOrderBook(symbol, limit).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getOrderBook(symbol, limit).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getTrades(String symbol, Integer limit, BinanceApiCallback<List<TradeHistoryItem>> callback) {
-    binanceApiService.getTrades(symbol, limit).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getTrades(symbol, limit).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getHistoricalTrades(String symbol, Integer limit, Long fromId, BinanceApiCallback<List<TradeHistoryItem>> callback) {
-    binanceApiService.getHistoricalTrades(symbol, limit, fromId).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getHistoricalTrades(symbol, limit, fromId).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<AggTrade>> callback) {
-    binanceApiService.getAggTrades(symbol, fromId, limit, startTime, endTime).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getAggTrades(symbol, fromId, limit, startTime, endTime).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
@@ -86,7 +98,7 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
 
   @Override
   public void getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime, BinanceApiCallback<List<Candlestick>> callback) {
-    binanceApiService.getCandlestickBars(symbol, interval.getIntervalId(), limit, startTime, endTime).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getCandlestickBars(symbol, interval.getIntervalId(), limit, startTime, endTime).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
@@ -96,41 +108,41 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
 
   @Override
   public void get24HrPriceStatistics(String symbol, BinanceApiCallback<TickerStatistics> callback) {
-    binanceApiService.get24HrPriceStatistics(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.get24HrPriceStatistics(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAll24HrPriceStatistics(BinanceApiCallback<List<TickerStatistics>> callback) {
-    binanceApiService.getAll24HrPriceStatistics().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getAll24HrPriceStatistics().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getPrice(String symbol , BinanceApiCallback<TickerPrice> callback) {
-    binanceApiService.getLatestPrice(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getLatestPrice(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getBookTicker(String symbol, BinanceApiCallback<BookTicker> callback) {
-    binanceApiService.getBookTicker(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getBookTicker(symbol).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getBookTickers(BinanceApiCallback<List<BookTicker>> callback) {
-    binanceApiService.getBookTickers().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getBookTickers().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
     binanceApiService.newOrder(order.getSymbol(), order.getSide(), order.getType(),
         order.getTimeInForce(), order.getQuantity(), order.getQuoteOrderQty(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
-        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void newOrderTest(NewOrder order, BinanceApiCallback<Void> callback) {
     binanceApiService.newOrderTest(order.getSymbol(), order.getSide(), order.getType(),
         order.getTimeInForce(), order.getQuantity(), order.getQuoteOrderQty(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
-        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   // Account endpoints
@@ -139,43 +151,43 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
   public void getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
     binanceApiService.getOrderStatus(orderStatusRequest.getSymbol(),
         orderStatusRequest.getOrderId(), orderStatusRequest.getOrigClientOrderId(),
-        orderStatusRequest.getRecvWindow(), orderStatusRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        orderStatusRequest.getRecvWindow(), orderStatusRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
     binanceApiService.cancelOrder(cancelOrderRequest.getSymbol(),
         cancelOrderRequest.getOrderId(), cancelOrderRequest.getOrigClientOrderId(), cancelOrderRequest.getNewClientOrderId(),
-        cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getOpenOrders(OrderRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
     binanceApiService.getOpenOrders(orderRequest.getSymbol(),
-        orderRequest.getRecvWindow(), orderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        orderRequest.getRecvWindow(), orderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAllOrders(AllOrdersRequest orderRequest, BinanceApiCallback<List<Order>> callback) {
     binanceApiService.getAllOrders(orderRequest.getSymbol(),
         orderRequest.getOrderId(), orderRequest.getLimit(),
-        orderRequest.getRecvWindow(), orderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+        orderRequest.getRecvWindow(), orderRequest.getTimestamp()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAccount(Long recvWindow, Long timestamp, BinanceApiCallback<Account> callback) {
-    binanceApiService.getAccount(recvWindow, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getAccount(recvWindow, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getAccount(BinanceApiCallback<Account> callback) {
     long timestamp = System.currentTimeMillis();
-    binanceApiService.getAccount(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getAccount(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp, BinanceApiCallback<List<Trade>> callback) {
-    binanceApiService.getMyTrades(symbol, limit, fromId, recvWindow, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getMyTrades(symbol, limit, fromId, recvWindow, timestamp).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
@@ -191,46 +203,46 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
   @Override
   public void withdraw(String asset, String address, String amount, String name, String addressTag, BinanceApiCallback<WithdrawResult> callback) {
     binanceApiService.withdraw(asset, address, amount, name, addressTag, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis())
-        .enqueue(new BinanceApiCallbackAdapter<>(callback));
+        .enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getDepositHistory(String asset, BinanceApiCallback<DepositHistory> callback) {
     binanceApiService.getDepositHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis())
-        .enqueue(new BinanceApiCallbackAdapter<>(callback));
+        .enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getWithdrawHistory(String asset, BinanceApiCallback<WithdrawHistory> callback) {
     binanceApiService.getWithdrawHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis())
-        .enqueue(new BinanceApiCallbackAdapter<>(callback));
+        .enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getDepositAddress(String asset, BinanceApiCallback<DepositAddress> callback) {
     binanceApiService.getDepositAddress(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis())
-        .enqueue(new BinanceApiCallbackAdapter<>(callback));
+        .enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   // User stream endpoints
 
   @Override
   public void startUserDataStream(BinanceApiCallback<ListenKey> callback) {
-    binanceApiService.startUserDataStream().enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.startUserDataStream().enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void keepAliveUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
-    binanceApiService.keepAliveUserDataStream(listenKey).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.keepAliveUserDataStream(listenKey).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
-    binanceApiService.closeAliveUserDataStream(listenKey).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.closeAliveUserDataStream(listenKey).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 
   @Override
   public void getTradeFee(BinanceApiCallback<TradeFee> callback) {
-    binanceApiService.getTradeFee(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()).enqueue(new BinanceApiCallbackAdapter<>(callback));
+    binanceApiService.getTradeFee(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()).enqueue(new BinanceApiCallbackAdapter<>(callback, errorListener));
   }
 }
@@ -1,15 +1,14 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiCallback;
-import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.BinanceApiErrorListener;
 import com.binance.api.client.exception.BinanceApiException;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
-import java.io.IOException;
-
-import static com.binance.api.client.impl.BinanceApiServiceGenerator.getBinanceApiError;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getBinanceApiException;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.notifyError;
 
 /**
  * An adapter/wrapper which transforms a Callback from Retrofit into a BinanceApiCallback which is exposed to the client.
@@ -18,8 +17,18 @@ public class BinanceApiCallbackAdapter<T> implements Callback<T> {
 
   private final BinanceApiCallback<T> callback;
 
+  private final BinanceApiErrorListener errorListener;
+
   public BinanceApiCallbackAdapter(BinanceApiCallback<T> callback) {
+    this(callback, null);
+  }
+
+  /**
+   * @param errorListener if set, told of failures before the callback
+   */
+  public BinanceApiCallbackAdapter(BinanceApiCallback<T> callback, BinanceApiErrorListener errorListener) {
     this.callback = callback;
+    this.errorListener = errorListener;
   }
 
   public void onResponse(Call<T> call, Response<T> response) {
@@ -31,21 +40,14 @@ public class BinanceApiCallbackAdapter<T> implements Callback<T> {
         // It is important to NOT treat this as a failure; the execution status is UNKNOWN and could have been a success.
         return;
       }
-      try {
-        BinanceApiError apiError = getBinanceApiError(response);
-        onFailure(call, new BinanceApiException(apiError));
-      } catch (IOException e) {
-        onFailure(call, new BinanceApiException(e));
-      }
+      onFailure(call, getBinanceApiException(response));
     }
   }
 
   @Override
   public void onFailure(Call<T> call, Throwable throwable) {
-    if (throwable instanceof BinanceApiException) {
-      callback.onFailure(throwable);
-    } else {
-      callback.onFailure(new BinanceApiException(throwable));
-    }
+    BinanceApiException failure = throwable instanceof BinanceApiException ? (BinanceApiException) throwable : new BinanceApiException(throwable);
+    notifyError(errorListener, failure);
+    callback.onFailure(failure);
   }
 }
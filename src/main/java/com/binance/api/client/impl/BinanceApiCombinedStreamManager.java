@@ -0,0 +1,352 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multiplexes many stream subscriptions onto a small number of combined stream connections.
+ *
+ * Each connection is opened against {@link BinanceApiConstants#WSS_STREAM_URL}, so every message arrives wrapped in a
+ * <code>{"stream":"&lt;name&gt;","data":{...}}</code> envelope and is routed to the listener registered for that stream
+ * name. Streams added to an already open connection are subscribed with a live <code>SUBSCRIBE</code> frame, and closing
+ * a subscription sends an <code>UNSUBSCRIBE</code> frame, so neither requires a reconnect. As Binance disconnects
+ * clients sending more than {@link BinanceApiConstants#WSS_MAX_MESSAGES_PER_SECOND} messages per second, frames are
+ * paced, keeping room for pings and pongs, and the streams added or removed while a frame waits are merged into it.
+ *
+ * Connections are supervised by a {@link BinanceApiWebSocketReconnectPolicy}: a reconnected connection subscribes to
+ * every stream it carried, and all of its listeners are notified of the gap.
+ */
+public class BinanceApiCombinedStreamManager {
+
+    /**
+     * Minimum delay between two subscription frames of a connection, leaving one message per second for pings and pongs.
+     */
+    private static final long FRAME_INTERVAL_MILLIS = 1000L / (BinanceApiConstants.WSS_MAX_MESSAGES_PER_SECOND - 1);
+
+    /**
+     * Shared by all managers; only sends subscription frames, which are cheap.
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "binance-api-combined-streams");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OkHttpClient client;
+
+    private final String streamUrl;
+
+    private final int maxStreamsPerConnection;
+
+    private final BinanceApiWebSocketReconnectPolicy reconnectPolicy;
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    private final AtomicLong frameIds = new AtomicLong();
+
+    public BinanceApiCombinedStreamManager(OkHttpClient client) {
+        this(client, BinanceApiWebSocketReconnectPolicy.never());
+    }
+
+    public BinanceApiCombinedStreamManager(OkHttpClient client, BinanceApiWebSocketReconnectPolicy reconnectPolicy) {
+        this(client, reconnectPolicy, BinanceApiConstants.WSS_MAX_STREAMS_PER_CONNECTION);
+    }
+
+    public BinanceApiCombinedStreamManager(OkHttpClient client, BinanceApiWebSocketReconnectPolicy reconnectPolicy, int maxStreamsPerConnection) {
+        this(client, reconnectPolicy, maxStreamsPerConnection, BinanceApiConstants.WSS_STREAM_URL);
+    }
+
+    /**
+     * @param streamUrl combined stream URL the stream names are appended to, e.g. {@link BinanceApiConstants#WSS_STREAM_URL}
+     */
+    public BinanceApiCombinedStreamManager(OkHttpClient client, BinanceApiWebSocketReconnectPolicy reconnectPolicy,
+                                           int maxStreamsPerConnection, String streamUrl) {
+        if (maxStreamsPerConnection <= 0) {
+            throw new IllegalArgumentException("maxStreamsPerConnection must be positive");
+        }
+        this.client = client;
+        this.streamUrl = streamUrl;
+        this.reconnectPolicy = reconnectPolicy;
+        this.maxStreamsPerConnection = maxStreamsPerConnection;
+    }
+
+    /**
+     * Routes the given streams to a listener, packing them onto a connection that still has room.
+     *
+     * @param streams  stream names, e.g. <code>ethbtc@depth</code>
+     * @param listener the listener receiving the unwrapped <code>data</code> payload of each stream
+     * @return a {@link Closeable} that unsubscribes the streams
+     */
+    public synchronized Closeable subscribe(List<String> streams, BinanceApiWebSocketListener<?> listener) {
+        if (streams.size() > maxStreamsPerConnection) {
+            throw new IllegalArgumentException("Cannot subscribe to more than " + maxStreamsPerConnection + " streams at once");
+        }
+        for (String stream : streams) {
+            for (Connection connection : connections) {
+                if (connection.listeners.containsKey(stream)) {
+                    throw new IllegalArgumentException("Stream " + stream + " is already subscribed");
+                }
+            }
+        }
+        Connection connection = null;
+        for (Connection candidate : connections) {
+            if (candidate.listeners.size() + streams.size() <= maxStreamsPerConnection) {
+                connection = candidate;
+                break;
+            }
+        }
+        if (connection == null) {
+            connection = new Connection();
+            connections.add(connection);
+            connection.open(streams, listener);
+        } else {
+            connection.add(streams, listener);
+        }
+        final Connection owner = connection;
+        return () -> unsubscribe(owner, streams, listener);
+    }
+
+    /**
+     * @return the number of currently open connections
+     */
+    public synchronized int getConnectionCount() {
+        return connections.size();
+    }
+
+    private synchronized void unsubscribe(Connection connection, List<String> streams, BinanceApiWebSocketListener<?> listener) {
+        if (!connection.remove(streams, listener)) {
+            return;
+        }
+        final int code = 1000;
+        listener.onClosing(connection.socket.getWebSocket(), code, null);
+        listener.onClosed(connection.socket.getWebSocket(), code, null);
+        if (connection.listeners.isEmpty()) {
+            connections.remove(connection);
+            connection.close();
+        }
+    }
+
+    private synchronized void onConnectionFailure(Connection connection, WebSocket webSocket, Throwable t, Response response) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        for (BinanceApiWebSocketListener<?> listener : distinctListeners(connection.listeners.values())) {
+            listener.onFailure(webSocket, t, response);
+        }
+        connection.listeners.clear();
+    }
+
+    private static List<BinanceApiWebSocketListener<?>> distinctListeners(Collection<BinanceApiWebSocketListener<?>> listeners) {
+        List<BinanceApiWebSocketListener<?>> distinct = new ArrayList<>();
+        for (BinanceApiWebSocketListener<?> listener : listeners) {
+            if (!distinct.contains(listener)) {
+                distinct.add(listener);
+            }
+        }
+        return distinct;
+    }
+
+    private String newFrame(String method, List<String> streams) {
+        ObjectNode frame = BinanceApiConstants.JACKSON_MAPPER.createObjectNode();
+        frame.put("method", method);
+        ArrayNode params = frame.putArray("params");
+        streams.forEach(params::add);
+        frame.put("id", frameIds.incrementAndGet());
+        return frame.toString();
+    }
+
+    /**
+     * Sends the pending subscription frames of a connection, if it was not closed meanwhile.
+     */
+    private synchronized void flush(Connection connection) {
+        if (connections.contains(connection)) {
+            connection.flush();
+        }
+    }
+
+    /**
+     * A single combined stream socket and the listeners routed through it.
+     *
+     * Its subscription state is guarded by the manager.
+     */
+    private final class Connection extends WebSocketListener {
+
+        private final Map<String, BinanceApiWebSocketListener<?>> listeners = new ConcurrentHashMap<>();
+
+        private final Set<String> pendingSubscriptions = new LinkedHashSet<>();
+
+        private final Set<String> pendingUnsubscriptions = new LinkedHashSet<>();
+
+        private long nextFrameAt = 0;
+
+        private ScheduledFuture<?> scheduledFlush;
+
+        private final BinanceApiSupervisedWebSocket socket =
+                new BinanceApiSupervisedWebSocket(client, this::newRequest, this, this::onGap, reconnectPolicy);
+
+        private volatile boolean closing = false;
+
+        private void open(List<String> streams, BinanceApiWebSocketListener<?> listener) {
+            streams.forEach(stream -> listeners.put(stream, listener));
+            socket.open();
+        }
+
+        /**
+         * Builds a request subscribing to every stream currently routed through this connection.
+         */
+        private Request newRequest() {
+            String streamingUrl = streamUrl + String.join("/", listeners.keySet());
+            return new Request.Builder().url(streamingUrl).build();
+        }
+
+        private void add(List<String> streams, BinanceApiWebSocketListener<?> listener) {
+            for (String stream : streams) {
+                listeners.put(stream, listener);
+                // A stream whose unsubscription was not sent yet is still subscribed
+                if (!pendingUnsubscriptions.remove(stream)) {
+                    pendingSubscriptions.add(stream);
+                }
+            }
+            scheduleFlush();
+        }
+
+        private boolean remove(List<String> streams, BinanceApiWebSocketListener<?> listener) {
+            List<String> removed = new ArrayList<>();
+            for (String stream : streams) {
+                if (listeners.remove(stream, listener)) {
+                    removed.add(stream);
+                }
+            }
+            if (removed.isEmpty()) {
+                return false;
+            }
+            if (!listeners.isEmpty()) {
+                for (String stream : removed) {
+                    // A stream whose subscription was not sent yet was never subscribed
+                    if (!pendingSubscriptions.remove(stream)) {
+                        pendingUnsubscriptions.add(stream);
+                    }
+                }
+                scheduleFlush();
+            }
+            return true;
+        }
+
+        private void scheduleFlush() {
+            if (scheduledFlush == null && (!pendingSubscriptions.isEmpty() || !pendingUnsubscriptions.isEmpty())) {
+                long delayMillis = Math.max(0, nextFrameAt - System.currentTimeMillis());
+                scheduledFlush = scheduler.schedule(() -> BinanceApiCombinedStreamManager.this.flush(this), delayMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Sends one frame, unsubscriptions first, and schedules the next one if more are pending.
+         */
+        private void flush() {
+            scheduledFlush = null;
+            if (!pendingUnsubscriptions.isEmpty()) {
+                socket.send(newFrame("UNSUBSCRIBE", new ArrayList<>(pendingUnsubscriptions)));
+                pendingUnsubscriptions.clear();
+            } else if (!pendingSubscriptions.isEmpty()) {
+                socket.send(newFrame("SUBSCRIBE", new ArrayList<>(pendingSubscriptions)));
+                pendingSubscriptions.clear();
+            } else {
+                return;
+            }
+            nextFrameAt = System.currentTimeMillis() + FRAME_INTERVAL_MILLIS;
+            scheduleFlush();
+        }
+
+        private void close() {
+            closing = true;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            socket.close();
+        }
+
+        private void onGap(BinanceApiStreamGap gap) {
+            for (BinanceApiWebSocketListener<?> listener : distinctListeners(listeners.values())) {
+                listener.onGap(gap);
+            }
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try (JsonParser parser = BinanceApiConstants.JACKSON_MAPPER.getFactory().createParser(text)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return;
+                }
+                String stream = null;
+                JsonNode bufferedData = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("stream".equals(field)) {
+                        stream = parser.getText();
+                    } else if ("data".equals(field) && stream != null) {
+                        // Binance writes the stream name first, so the payload can be read straight off the parser
+                        dispatch(stream, text, parser);
+                        return;
+                    } else if ("data".equals(field)) {
+                        bufferedData = parser.readValueAsTree();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (stream != null && bufferedData != null) {
+                    try (JsonParser dataParser = bufferedData.traverse(BinanceApiConstants.JACKSON_MAPPER)) {
+                        dataParser.nextToken();
+                        dispatch(stream, null, dataParser);
+                    }
+                }
+                // Anything else is a reply to a SUBSCRIBE/UNSUBSCRIBE frame, e.g. {"result":null,"id":1}
+            } catch (IOException e) {
+                throw new BinanceApiException(e);
+            }
+        }
+
+        private void dispatch(String stream, String text, JsonParser parser) throws IOException {
+            BinanceApiWebSocketListener<?> listener = listeners.get(stream);
+            if (listener != null) {
+                listener.onMessage(text, parser);
+            }
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            if (!closing) {
+                onConnectionFailure(this, webSocket, t, response);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.dispatch.ConflatedStream;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import okhttp3.WebSocket;
+
+import java.io.IOException;
+
+/**
+ * Binance API WebSocket listener storing the raw JSON of events into a {@link ConflatedStream}, without deserializing them.
+ *
+ * Events are either all stored under a fixed key, or, for array payloads such as <code>!ticker@arr</code>, split into
+ * their elements, each stored under its symbol (<code>"s"</code> field). Splitting only tokenizes the elements: no value
+ * other than the symbol is decoded.
+ */
+public class BinanceApiConflatingListener<T> extends BinanceApiWebSocketListener<T> {
+
+    private final ConflatedStream<T> stream;
+
+    private final String key;
+
+    /**
+     * @param stream the stream storing the events
+     * @param key    key of every event, or null to split array payloads by symbol
+     */
+    public BinanceApiConflatingListener(ConflatedStream<T> stream, String key) {
+        super(new FailureForwarder<>(stream), BinanceApiConstants.JACKSON_MAPPER.reader());
+        this.stream = stream;
+        this.key = key;
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+        if (key != null) {
+            stream.update(key, text);
+            return;
+        }
+        try (JsonParser parser = BinanceApiConstants.JACKSON_MAPPER.getFactory().createParser(text)) {
+            parser.nextToken();
+            split(text, parser);
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+    }
+
+    @Override
+    void onMessage(String text, JsonParser parser) throws IOException {
+        if (text == null) {
+            // The payload was buffered as a tree, so there is no frame to slice it from
+            onMessage((WebSocket) null, BinanceApiConstants.JACKSON_MAPPER.writeValueAsString(parser.readValueAsTree()));
+            return;
+        }
+        int start = (int) parser.getTokenLocation().getCharOffset();
+        if (key != null) {
+            parser.skipChildren();
+            stream.update(key, text.substring(start, (int) parser.getCurrentLocation().getCharOffset()));
+        } else {
+            split(text, parser);
+        }
+    }
+
+    /**
+     * Stores each element of the array the parser is positioned on under its symbol.
+     */
+    private void split(String text, JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new BinanceApiException("Expected an array of events");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int start = (int) parser.getTokenLocation().getCharOffset();
+            String symbol = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean isSymbol = "s".equals(parser.getCurrentName());
+                parser.nextToken();
+                if (isSymbol) {
+                    symbol = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (symbol != null) {
+                stream.update(symbol, text.substring(start, (int) parser.getCurrentLocation().getCharOffset()));
+            }
+        }
+    }
+
+    /**
+     * Forwards stream failures to the conflated stream; events never go through it.
+     */
+    private static final class FailureForwarder<T> implements BinanceApiCallback<T> {
+
+        private final ConflatedStream<T> stream;
+
+        private FailureForwarder(ConflatedStream<T> stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onResponse(T response) {
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            stream.onFailure(cause);
+        }
+    }
+}
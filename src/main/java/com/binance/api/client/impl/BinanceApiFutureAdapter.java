@@ -0,0 +1,89 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiErrorListener;
+import com.binance.api.client.exception.BinanceApiException;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getBinanceApiException;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.notifyError;
+
+/**
+ * An adapter which completes a <code>CompletableFuture</code> with the outcome of a Retrofit call, the way
+ * {@link BinanceApiCallbackAdapter} calls a callback.
+ */
+public class BinanceApiFutureAdapter<T> implements Callback<T> {
+
+  private final CompletableFuture<T> future;
+
+  private final BinanceApiErrorListener errorListener;
+
+  public BinanceApiFutureAdapter(CompletableFuture<T> future) {
+    this(future, null);
+  }
+
+  /**
+   * @param errorListener if set, told of failures before the future is completed
+   */
+  public BinanceApiFutureAdapter(CompletableFuture<T> future, BinanceApiErrorListener errorListener) {
+    this.future = future;
+    this.errorListener = errorListener;
+  }
+
+  /**
+   * Enqueues a call on the dispatcher of its HTTP client.
+   *
+   * @return a future of the response body; cancelling it cancels the call
+   */
+  public static <T> CompletableFuture<T> enqueue(Call<T> call) {
+    return enqueue(call, null);
+  }
+
+  /**
+   * Enqueues a call on the dispatcher of its HTTP client.
+   *
+   * @param errorListener if set, told of the failure of the call, if it fails
+   * @return a future of the response body; cancelling it cancels the call
+   */
+  public static <T> CompletableFuture<T> enqueue(Call<T> call, BinanceApiErrorListener errorListener) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.whenComplete((response, failure) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
+    call.enqueue(new BinanceApiFutureAdapter<>(future, errorListener));
+    return future;
+  }
+
+  @Override
+  public void onResponse(Call<T> call, Response<T> response) {
+    if (response.isSuccessful()) {
+      future.complete(response.body());
+      return;
+    }
+    if (response.code() == 504) {
+      // Unlike a callback, a future cannot be left pending: fail it, but the request may well have succeeded
+      fail(new BinanceApiException("Execution status unknown: the request timed out (HTTP 504) and may have succeeded",
+          null, 504, null, Collections.emptyMap()));
+      return;
+    }
+    fail(getBinanceApiException(response));
+  }
+
+  @Override
+  public void onFailure(Call<T> call, Throwable throwable) {
+    fail(throwable instanceof BinanceApiException ? (BinanceApiException) throwable : new BinanceApiException(throwable));
+  }
+
+  private void fail(BinanceApiException failure) {
+    if (!future.isDone()) {
+      notifyError(errorListener, failure);
+    }
+    future.completeExceptionally(failure);
+  }
+}
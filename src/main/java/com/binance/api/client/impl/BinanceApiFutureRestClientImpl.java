@@ -0,0 +1,248 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiErrorListener;
+import com.binance.api.client.BinanceApiFutureRestClient;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.*;
+import com.binance.api.client.domain.account.request.*;
+import com.binance.api.client.domain.event.ListenKey;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ServerTime;
+import com.binance.api.client.domain.market.*;
+import retrofit2.Call;
+
+import java.net.ProxySelector;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.createService;
+
+/**
+ * Implementation of Binance's REST API using Retrofit with asynchronous/non-blocking method calls returning futures.
+ */
+public class BinanceApiFutureRestClientImpl implements BinanceApiFutureRestClient {
+
+  private final BinanceApiService binanceApiService;
+
+  private final BinanceApiErrorListener errorListener;
+
+  public BinanceApiFutureRestClientImpl(String apiKey, String secret) {
+    this(apiKey, secret, null);
+  }
+
+  public BinanceApiFutureRestClientImpl(String apiKey, String secret, ProxySelector proxySelector) {
+    binanceApiService = createService(BinanceApiService.class, apiKey, secret, proxySelector);
+    errorListener = null;
+  }
+
+  public BinanceApiFutureRestClientImpl(final BinanceApiService service){
+    this(service, null);
+  }
+
+  /**
+   * @param errorListener if set, told of the failures of calls
+   */
+  public BinanceApiFutureRestClientImpl(final BinanceApiService service, final BinanceApiErrorListener errorListener) {
+    this.binanceApiService = service;
+    this.errorListener = errorListener;
+  }
+  // General endpoints
+
+  @Override
+  public CompletableFuture<Void> ping() {
+    return enqueue(binanceApiService.ping());
+  }
+
+  @Override
+  public CompletableFuture<ServerTime> getServerTime() {
+    return enqueue(binanceApiService.getServerTime());
+  }
+
+  @Override
+  public CompletableFuture<ExchangeInfo> getExchangeInfo() {
+    return enqueue(binanceApiService.getExchangeInfo());
+  }
+
+  @Override
+  public CompletableFuture<List<Asset>> getAllAssets() {
+    return enqueue(binanceApiService.getAllAssets(BinanceApiConstants.ASSET_INFO_API_BASE_URL + "assetWithdraw/getAllAsset.html"));
+  }
+
+  // Market Data endpoints
+
+  @Override
+  public CompletableFuture<OrderBook> getOrderBook(String symbol, Integer limit) {
+    return enqueue(binanceApiService.getOrderBook(symbol, limit));
+  }
+
+  @Override
+  public CompletableFuture<List<TradeHistoryItem>> getTrades(String symbol, Integer limit) {
+    return enqueue(binanceApiService.getTrades(symbol, limit));
+  }
+
+  @Override
+  public CompletableFuture<List<TradeHistoryItem>> getHistoricalTrades(String symbol, Integer limit, Long fromId) {
+    return enqueue(binanceApiService.getHistoricalTrades(symbol, limit, fromId));
+  }
+
+  @Override
+  public CompletableFuture<List<AggTrade>> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime) {
+    return enqueue(binanceApiService.getAggTrades(symbol, fromId, limit, startTime, endTime));
+  }
+
+  @Override
+  public CompletableFuture<List<AggTrade>> getAggTrades(String symbol) {
+    return getAggTrades(symbol, null, null, null, null);
+  }
+
+  @Override
+  public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime) {
+    return enqueue(binanceApiService.getCandlestickBars(symbol, interval.getIntervalId(), limit, startTime, endTime));
+  }
+
+  @Override
+  public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval) {
+    return getCandlestickBars(symbol, interval, null, null, null);
+  }
+
+  @Override
+  public CompletableFuture<TickerStatistics> get24HrPriceStatistics(String symbol) {
+    return enqueue(binanceApiService.get24HrPriceStatistics(symbol));
+  }
+
+  @Override
+  public CompletableFuture<List<TickerStatistics>> getAll24HrPriceStatistics() {
+    return enqueue(binanceApiService.getAll24HrPriceStatistics());
+  }
+
+  @Override
+  public CompletableFuture<TickerPrice> getPrice(String symbol) {
+    return enqueue(binanceApiService.getLatestPrice(symbol));
+  }
+
+  @Override
+  public CompletableFuture<BookTicker> getBookTicker(String symbol) {
+    return enqueue(binanceApiService.getBookTicker(symbol));
+  }
+
+  @Override
+  public CompletableFuture<List<BookTicker>> getBookTickers() {
+    return enqueue(binanceApiService.getBookTickers());
+  }
+
+  @Override
+  public CompletableFuture<NewOrderResponse> newOrder(NewOrder order) {
+    return enqueue(binanceApiService.newOrder(order.getSymbol(), order.getSide(), order.getType(),
+        order.getTimeInForce(), order.getQuantity(), order.getQuoteOrderQty(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
+        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()));
+  }
+
+  @Override
+  public CompletableFuture<Void> newOrderTest(NewOrder order) {
+    return enqueue(binanceApiService.newOrderTest(order.getSymbol(), order.getSide(), order.getType(),
+        order.getTimeInForce(), order.getQuantity(), order.getQuoteOrderQty(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
+        order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(), order.getTimestamp()));
+  }
+
+  // Account endpoints
+
+  @Override
+  public CompletableFuture<Order> getOrderStatus(OrderStatusRequest orderStatusRequest) {
+    return enqueue(binanceApiService.getOrderStatus(orderStatusRequest.getSymbol(),
+        orderStatusRequest.getOrderId(), orderStatusRequest.getOrigClientOrderId(),
+        orderStatusRequest.getRecvWindow(), orderStatusRequest.getTimestamp()));
+  }
+
+  @Override
+  public CompletableFuture<CancelOrderResponse> cancelOrder(CancelOrderRequest cancelOrderRequest) {
+    return enqueue(binanceApiService.cancelOrder(cancelOrderRequest.getSymbol(),
+        cancelOrderRequest.getOrderId(), cancelOrderRequest.getOrigClientOrderId(), cancelOrderRequest.getNewClientOrderId(),
+        cancelOrderRequest.getRecvWindow(), cancelOrderRequest.getTimestamp()));
+  }
+
+  @Override
+  public CompletableFuture<List<Order>> getOpenOrders(OrderRequest orderRequest) {
+    return enqueue(binanceApiService.getOpenOrders(orderRequest.getSymbol(),
+        orderRequest.getRecvWindow(), orderRequest.getTimestamp()));
+  }
+
+  @Override
+  public CompletableFuture<List<Order>> getAllOrders(AllOrdersRequest orderRequest) {
+    return enqueue(binanceApiService.getAllOrders(orderRequest.getSymbol(),
+        orderRequest.getOrderId(), orderRequest.getLimit(),
+        orderRequest.getRecvWindow(), orderRequest.getTimestamp()));
+  }
+
+  @Override
+  public CompletableFuture<Account> getAccount(Long recvWindow, Long timestamp) {
+    return enqueue(binanceApiService.getAccount(recvWindow, timestamp));
+  }
+
+  @Override
+  public CompletableFuture<Account> getAccount() {
+    long timestamp = System.currentTimeMillis();
+    return enqueue(binanceApiService.getAccount(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, timestamp));
+  }
+
+  @Override
+  public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp) {
+    return enqueue(binanceApiService.getMyTrades(symbol, limit, fromId, recvWindow, timestamp));
+  }
+
+  @Override
+  public CompletableFuture<List<Trade>> getMyTrades(String symbol, Integer limit) {
+    return getMyTrades(symbol, limit, null, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis());
+  }
+
+  @Override
+  public CompletableFuture<List<Trade>> getMyTrades(String symbol) {
+    return getMyTrades(symbol, null, null, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis());
+  }
+
+  @Override
+  public CompletableFuture<WithdrawResult> withdraw(String asset, String address, String amount, String name, String addressTag) {
+    return enqueue(binanceApiService.withdraw(asset, address, amount, name, addressTag, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
+  }
+
+  @Override
+  public CompletableFuture<DepositHistory> getDepositHistory(String asset) {
+    return enqueue(binanceApiService.getDepositHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
+  }
+
+  @Override
+  public CompletableFuture<WithdrawHistory> getWithdrawHistory(String asset) {
+    return enqueue(binanceApiService.getWithdrawHistory(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
+  }
+
+  @Override
+  public CompletableFuture<DepositAddress> getDepositAddress(String asset) {
+    return enqueue(binanceApiService.getDepositAddress(asset, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
+  }
+
+  // User stream endpoints
+
+  @Override
+  public CompletableFuture<ListenKey> startUserDataStream() {
+    return enqueue(binanceApiService.startUserDataStream());
+  }
+
+  @Override
+  public CompletableFuture<Void> keepAliveUserDataStream(String listenKey) {
+    return enqueue(binanceApiService.keepAliveUserDataStream(listenKey));
+  }
+
+  @Override
+  public CompletableFuture<Void> closeUserDataStream(String listenKey) {
+    return enqueue(binanceApiService.closeAliveUserDataStream(listenKey));
+  }
+
+  @Override
+  public CompletableFuture<TradeFee> getTradeFee() {
+    return enqueue(binanceApiService.getTradeFee(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
+  }
+
+  private <T> CompletableFuture<T> enqueue(Call<T> call) {
+    return BinanceApiFutureAdapter.enqueue(call, errorListener);
+  }
+}
@@ -1,12 +1,17 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.BinanceApiErrorListener;
+import com.binance.api.client.BinanceApiHttpConfig;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.ratelimit.RateLimitInterceptor;
 import com.binance.api.client.security.AuthenticationInterceptor;
-import okhttp3.Dispatcher;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.Headers;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
 import okhttp3.ResponseBody;
 import org.apache.commons.lang3.StringUtils;
 import retrofit2.Call;
@@ -18,7 +23,9 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.ProxySelector;
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Generates a Binance API implementation based on @see {@link BinanceApiService}.
@@ -29,15 +36,17 @@ public class BinanceApiServiceGenerator {
     private static final Converter.Factory converterFactory = JacksonConverterFactory.create();
 
     static {
-        Dispatcher dispatcher = new Dispatcher();
-        dispatcher.setMaxRequestsPerHost(500);
-        dispatcher.setMaxRequests(500);
-        sharedClient = new OkHttpClient.Builder()
-                .dispatcher(dispatcher)
-                .pingInterval(20, TimeUnit.SECONDS)
-                .build();
+        sharedClient = new BinanceApiHttpConfig().newClient();
     }
 
+    private static final ObjectReader errorReader = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(BinanceApiError.class);
+
+    private static final String USED_WEIGHT_HEADER_PREFIX = "x-mbx-used-weight-";
+
+    private static final int MAX_ERROR_BODY_MESSAGE_LENGTH = 200;
+
     @SuppressWarnings("unchecked")
     private static final Converter<ResponseBody, BinanceApiError> errorBodyConverter =
             (Converter<ResponseBody, BinanceApiError>)converterFactory.responseBodyConverter(
@@ -52,26 +61,27 @@ public class BinanceApiServiceGenerator {
     }
 
     public static <S> S createService(Class<S> serviceClass, String apiKey, String secret, ProxySelector proxySelector) {
+        return createService(serviceClass,
+                new BinanceApiServiceOptions().apiKey(apiKey).secret(secret).proxySelector(proxySelector));
+    }
+
+    public static <S> S createService(Class<S> serviceClass, BinanceApiServiceOptions options) {
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
                 .baseUrl(BinanceApiConstants.API_BASE_URL)
                 .addConverterFactory(converterFactory);
-        final OkHttpClient.Builder clientBuilder = sharedClient.newBuilder();
-        if (!StringUtils.isEmpty(apiKey) && !StringUtils.isEmpty(secret)) {
-            // `adaptedClient` will use its own interceptor, but share thread pool etc with the 'parent' client
-            AuthenticationInterceptor interceptor = new AuthenticationInterceptor(apiKey, secret);
-            clientBuilder.addInterceptor(interceptor);
+        OkHttpClient baseClient = options.getBaseClient() != null ? options.getBaseClient() : sharedClient;
+        final OkHttpClient.Builder clientBuilder = baseClient.newBuilder();
+        if (options.getRateLimiter() != null) {
+            // Added first, so that it sees the endpoint security headers and requests are only signed once they may be sent
+            clientBuilder.addInterceptor(new RateLimitInterceptor(options.getRateLimiter()));
         }
-        if (proxySelector != null) {
-            clientBuilder.proxySelector(proxySelector);
+        // Always added, as it also strips the endpoint security headers: the only interceptor building requests, at most once
+        String apiKey = StringUtils.isEmpty(options.getApiKey()) ? null : options.getApiKey();
+        clientBuilder.addInterceptor(
+                new AuthenticationInterceptor(apiKey, options.getSigner(), options.getHeaders(), options.getClock()));
+        if (options.getProxySelector() != null) {
+            clientBuilder.proxySelector(options.getProxySelector());
         }
-        clientBuilder.addInterceptor(chain -> {
-            final Request orig = chain.request();
-            final Request updated = orig.newBuilder()
-                    .addHeader("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.14; rv:67.0) Gecko/20100101 Firefox/67.0")
-                    .addHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                    .build();
-            return chain.proceed(updated);
-        });
         retrofitBuilder.client(clientBuilder.build());
         Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(serviceClass);
@@ -81,28 +91,27 @@ public class BinanceApiServiceGenerator {
      * Execute a REST call and block until the response is received.
      */
     public static <T> T executeSync(Call<T> call) {
+        return executeSync(call, null);
+    }
+
+    /**
+     * Execute a REST call and block until the response is received.
+     *
+     * @param errorListener if set, told of the failure of the call before it is thrown
+     */
+    public static <T> T executeSync(Call<T> call, BinanceApiErrorListener errorListener) {
+        BinanceApiException failure;
         try {
             Response<T> response = call.execute();
             if (response.isSuccessful()) {
                 return response.body();
-            } else {
-                System.out.println("Response failed with code " + response.code());
-                final ResponseBody err = response.errorBody();
-                if (err != null) {
-                    System.out.println(err.string());
-                } else {
-                    System.out.println("Error body is null!");
-                }
-                System.out.println("HEADERS");
-                System.out.println(response.headers());
-                System.out.println("MESSAGE");
-                System.out.println(response.message());
-                BinanceApiError apiError = getBinanceApiError(response);
-                throw new BinanceApiException(apiError);
             }
+            failure = getBinanceApiException(response);
         } catch (IOException e) {
-            throw new BinanceApiException(e);
+            failure = new BinanceApiException(e);
         }
+        notifyError(errorListener, failure);
+        throw failure;
     }
 
     /**
@@ -112,6 +121,73 @@ public class BinanceApiServiceGenerator {
         return errorBodyConverter.convert(response.errorBody());
     }
 
+    /**
+     * Builds the exception describing a failed response: its HTTP status code, rate limit headers, and error object,
+     * read from the error body, which is consumed. Bodies which are not error objects, e.g. the HTML pages of proxies,
+     * only make the message.
+     */
+    public static BinanceApiException getBinanceApiException(Response<?> response) {
+        int code = response.code();
+        BinanceApiError error = null;
+        String message = "HTTP " + code + " " + response.message();
+        try (ResponseBody errorBody = response.errorBody()) {
+            String content = errorBody != null ? errorBody.string() : "";
+            if (!content.isEmpty()) {
+                try {
+                    error = errorReader.readValue(content);
+                } catch (IOException e) {
+                    message = "HTTP " + code + ": " + StringUtils.abbreviate(content, MAX_ERROR_BODY_MESSAGE_LENGTH);
+                }
+            }
+        } catch (IOException e) {
+            message = "HTTP " + code + ": unable to read error body: " + e.getMessage();
+        }
+        Headers headers = response.headers();
+        return new BinanceApiException(message, error, code, getRetryAfterSeconds(headers), getUsedWeights(headers));
+    }
+
+    private static Long getRetryAfterSeconds(Headers headers) {
+        String retryAfter = headers.get("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.trim());
+            } catch (NumberFormatException e) {
+                // An HTTP date rather than seconds, which Binance does not send
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> getUsedWeights(Headers headers) {
+        Map<String, Integer> usedWeights = new LinkedHashMap<>();
+        for (int i = 0, size = headers.size(); i < size; i++) {
+            String name = headers.name(i);
+            if (name.regionMatches(true, 0, USED_WEIGHT_HEADER_PREFIX, 0, USED_WEIGHT_HEADER_PREFIX.length())
+                    && name.length() > USED_WEIGHT_HEADER_PREFIX.length()) {
+                try {
+                    usedWeights.put(name.substring(USED_WEIGHT_HEADER_PREFIX.length()).toLowerCase(Locale.ROOT),
+                            Integer.parseInt(headers.value(i).trim()));
+                } catch (NumberFormatException e) {
+                    // Ignore malformed values
+                }
+            }
+        }
+        return usedWeights;
+    }
+
+    /**
+     * Tells the listener, if any, of a failure, ignoring what it throws.
+     */
+    static void notifyError(BinanceApiErrorListener errorListener, BinanceApiException failure) {
+        if (errorListener != null) {
+            try {
+                errorListener.onError(failure);
+            } catch (RuntimeException e) {
+                // The failure of the call is what the caller must see
+            }
+        }
+    }
+
     /**
      * Returns the shared OkHttpClient instance.
      */
@@ -0,0 +1,118 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.clock.ServerClock;
+import com.binance.api.client.ratelimit.RateLimiter;
+import com.binance.api.client.security.HmacSHA256Signer;
+import com.binance.api.client.security.RequestSigner;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.ProxySelector;
+
+/**
+ * Options of the REST services built by {@link BinanceApiServiceGenerator#createService(Class, BinanceApiServiceOptions)}.
+ * Every option is unset by default.
+ */
+public class BinanceApiServiceOptions {
+
+    /**
+     * Client whose dispatcher and connection pool the service uses, or null for the shared client.
+     */
+    private OkHttpClient baseClient;
+
+    private String apiKey;
+
+    /**
+     * Signs the signed requests with the secret of the API key, if any.
+     */
+    private RequestSigner signer;
+
+    /**
+     * Headers set on all requests, e.g. a User-Agent, if any.
+     */
+    private Headers headers;
+
+    /**
+     * Supplies the timestamps of signed requests, if set.
+     */
+    private ServerClock clock;
+
+    private ProxySelector proxySelector;
+
+    /**
+     * If set, requests are sent only when the exchange's rate limits leave room for them.
+     */
+    private RateLimiter rateLimiter;
+
+    public OkHttpClient getBaseClient() {
+        return baseClient;
+    }
+
+    public BinanceApiServiceOptions baseClient(OkHttpClient baseClient) {
+        this.baseClient = baseClient;
+        return this;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public BinanceApiServiceOptions apiKey(String apiKey) {
+        this.apiKey = apiKey;
+        return this;
+    }
+
+    public RequestSigner getSigner() {
+        return signer;
+    }
+
+    public BinanceApiServiceOptions signer(RequestSigner signer) {
+        this.signer = signer;
+        return this;
+    }
+
+    /**
+     * Signs the signed requests with HMAC-SHA256, unless the secret is empty.
+     */
+    public BinanceApiServiceOptions secret(String secret) {
+        this.signer = !StringUtils.isEmpty(secret) ? new HmacSHA256Signer(secret) : null;
+        return this;
+    }
+
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    public BinanceApiServiceOptions headers(Headers headers) {
+        this.headers = headers;
+        return this;
+    }
+
+    public ServerClock getClock() {
+        return clock;
+    }
+
+    public BinanceApiServiceOptions clock(ServerClock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    public ProxySelector getProxySelector() {
+        return proxySelector;
+    }
+
+    public BinanceApiServiceOptions proxySelector(ProxySelector proxySelector) {
+        this.proxySelector = proxySelector;
+        return this;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public BinanceApiServiceOptions rateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+}
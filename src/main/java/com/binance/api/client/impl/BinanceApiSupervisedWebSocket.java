@@ -0,0 +1,299 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A web socket which is re-established according to a {@link BinanceApiWebSocketReconnectPolicy}.
+ *
+ * Messages of the current connection are forwarded to a delegate listener. When the connection fails, or is closed by the
+ * server, a new one is opened after a jittered backoff, from a freshly built request so that it carries every channel
+ * subscribed at that time, and a gap is reported once it is open. The delegate's <code>onFailure</code> is only called
+ * when the policy gives up. Connections reaching their maximum age are replaced make-before-break: the new connection is
+ * opened first and the old one closed as soon as the new one is ready.
+ *
+ * Requests which take time to build, e.g. because they need a REST call, should be built on a
+ * {@link #BinanceApiSupervisedWebSocket(OkHttpClient, Supplier, Executor, WebSocketListener, Consumer, BinanceApiWebSocketReconnectPolicy)
+ * request executor} of their own, rather than on the scheduler shared by all supervised web sockets. A request which
+ * cannot be built counts as a failed attempt.
+ */
+public class BinanceApiSupervisedWebSocket extends WebSocketListener {
+
+    private static final int NORMAL_CLOSURE = 1000;
+
+    /**
+     * Shared by all supervised web sockets; only schedules reconnects, which are cheap.
+     */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "binance-api-websocket-supervisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OkHttpClient client;
+
+    private final Supplier<Request> requestSupplier;
+
+    private final Executor requestExecutor;
+
+    private final WebSocketListener delegate;
+
+    private final Consumer<BinanceApiStreamGap> gapHandler;
+
+    private final BinanceApiWebSocketReconnectPolicy policy;
+
+    /**
+     * Serializes the delivery of messages and gaps, so that the delegate never sees two connections concurrently.
+     */
+    private final Object deliveryLock = new Object();
+
+    private volatile WebSocket current;
+
+    private WebSocket next;
+
+    private int attempts = 0;
+
+    private boolean closed = false;
+
+    private long disconnectedAt = -1;
+
+    private Throwable disconnectCause;
+
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * @param client          client used to open connections
+     * @param requestSupplier builds the request of each new connection
+     * @param delegate        listener receiving the messages of the current connection
+     * @param gapHandler      notified once a connection has been re-established
+     * @param policy          reconnect policy
+     */
+    public BinanceApiSupervisedWebSocket(OkHttpClient client, Supplier<Request> requestSupplier, WebSocketListener delegate,
+                                         Consumer<BinanceApiStreamGap> gapHandler, BinanceApiWebSocketReconnectPolicy policy) {
+        this(client, requestSupplier, Runnable::run, delegate, gapHandler, policy);
+    }
+
+    /**
+     * @param requestExecutor executor building the requests of the reconnections and rotations
+     * @see #BinanceApiSupervisedWebSocket(OkHttpClient, Supplier, WebSocketListener, Consumer, BinanceApiWebSocketReconnectPolicy)
+     */
+    public BinanceApiSupervisedWebSocket(OkHttpClient client, Supplier<Request> requestSupplier, Executor requestExecutor,
+                                         WebSocketListener delegate, Consumer<BinanceApiStreamGap> gapHandler,
+                                         BinanceApiWebSocketReconnectPolicy policy) {
+        this.client = client;
+        this.requestSupplier = requestSupplier;
+        this.requestExecutor = requestExecutor;
+        this.delegate = delegate;
+        this.gapHandler = gapHandler;
+        this.policy = policy;
+    }
+
+    /**
+     * Opens the first connection.
+     */
+    public synchronized void open() {
+        current = client.newWebSocket(requestSupplier.get(), this);
+    }
+
+    /**
+     * @return the current connection
+     */
+    public WebSocket getWebSocket() {
+        return current;
+    }
+
+    /**
+     * Sends a text frame on the current connection, and on the connection replacing it, if any.
+     */
+    public synchronized void send(String text) {
+        current.send(text);
+        if (next != null) {
+            next.send(text);
+        }
+    }
+
+    /**
+     * Closes the connection for good.
+     */
+    public void close() {
+        WebSocket toClose;
+        WebSocket nextToClose;
+        synchronized (this) {
+            closed = true;
+            cancelScheduled();
+            toClose = current;
+            nextToClose = next;
+            next = null;
+        }
+        toClose.close(NORMAL_CLOSURE, null);
+        if (nextToClose != null) {
+            nextToClose.close(NORMAL_CLOSURE, null);
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {
+        synchronized (deliveryLock) {
+            onOpenLocked(webSocket, response);
+        }
+    }
+
+    private void onOpenLocked(WebSocket webSocket, Response response) {
+        BinanceApiStreamGap gap = null;
+        synchronized (this) {
+            if (closed) {
+                webSocket.close(NORMAL_CLOSURE, null);
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (webSocket == next) {
+                current.close(NORMAL_CLOSURE, null);
+                current = next;
+                next = null;
+                if (disconnectedAt != -1) {
+                    // The old connection failed while its replacement was opening; messages may have been lost
+                    gap = new BinanceApiStreamGap(BinanceApiStreamGap.Reason.FAILURE, disconnectedAt, now,
+                        attempts, disconnectCause);
+                    disconnectedAt = -1;
+                    disconnectCause = null;
+                } else {
+                    gap = new BinanceApiStreamGap(BinanceApiStreamGap.Reason.ROTATION, now, now, 1, null);
+                }
+            } else if (webSocket != current) {
+                return;
+            } else if (disconnectedAt != -1) {
+                gap = new BinanceApiStreamGap(BinanceApiStreamGap.Reason.FAILURE, disconnectedAt, now, attempts, disconnectCause);
+                disconnectedAt = -1;
+                disconnectCause = null;
+            }
+            attempts = 0;
+            scheduleRotation();
+        }
+        delegate.onOpen(webSocket, response);
+        if (gap != null) {
+            gapHandler.accept(gap);
+        }
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+        synchronized (deliveryLock) {
+            if (webSocket == current) {
+                delegate.onMessage(webSocket, text);
+            }
+        }
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+        // Only reached when the server closes the connection, e.g. on its 24h limit
+        webSocket.close(NORMAL_CLOSURE, null);
+        onDisconnect(webSocket, new IOException("Connection closed by server: " + code + " " + reason), null);
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+        onDisconnect(webSocket, t, response);
+    }
+
+    private void onDisconnect(WebSocket webSocket, Throwable t, Response response) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (webSocket == next) {
+                // The replacement could not be opened; keep the current connection and try again later
+                next = null;
+                scheduleRotationRetry();
+                return;
+            }
+            if (webSocket != current) {
+                return;
+            }
+            cancelScheduled();
+            if (disconnectedAt == -1) {
+                disconnectedAt = System.currentTimeMillis();
+                disconnectCause = t;
+            }
+            attempts++;
+            if (policy.getMaxAttempts() < 0 || attempts <= policy.getMaxAttempts()) {
+                scheduled = scheduler.schedule(this::reconnect, policy.getBackoffMillis(attempts), TimeUnit.MILLISECONDS);
+                return;
+            }
+            closed = true;
+        }
+        delegate.onFailure(webSocket, t, response);
+    }
+
+    private void reconnect() {
+        WebSocket failed = current;
+        requestExecutor.execute(() -> {
+            Request request;
+            try {
+                request = requestSupplier.get();
+            } catch (RuntimeException e) {
+                onDisconnect(failed, e, null);
+                return;
+            }
+            synchronized (this) {
+                if (!closed && current == failed) {
+                    current = client.newWebSocket(request, this);
+                }
+            }
+        });
+    }
+
+    private void rotate() {
+        requestExecutor.execute(() -> {
+            Request request;
+            try {
+                request = requestSupplier.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (!closed && next == null && disconnectedAt == -1) {
+                        scheduleRotationRetry();
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                if (!closed && next == null && disconnectedAt == -1) {
+                    next = client.newWebSocket(request, this);
+                }
+            }
+        });
+    }
+
+    private void scheduleRotation() {
+        cancelScheduled();
+        if (policy.getMaxConnectionAgeMillis() > 0) {
+            scheduled = scheduler.schedule(this::rotate, policy.getMaxConnectionAgeMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void scheduleRotationRetry() {
+        cancelScheduled();
+        scheduled = scheduler.schedule(this::rotate, policy.getBackoffMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelScheduled() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+}
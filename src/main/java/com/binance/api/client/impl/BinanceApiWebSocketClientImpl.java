@@ -1,11 +1,19 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
 import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.dispatch.ConflatedStream;
+import com.binance.api.client.dispatch.DispatchingCallback;
 import com.binance.api.client.domain.event.*;
+import com.binance.api.client.domain.general.SymbolRegistry;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.metrics.BinanceApiMetrics;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.WebSocket;
@@ -13,6 +21,7 @@ import okhttp3.WebSocket;
 import java.io.Closeable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -20,16 +29,80 @@ import java.util.stream.Collectors;
  */
 public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient, Closeable {
 
+    /**
+     * Name of user data streams in metrics, rather than their listen key.
+     */
+    private static final String USER_DATA_STREAM = "userData";
+
     private final OkHttpClient client;
 
+    /**
+     * When set, subscriptions are multiplexed onto combined stream connections instead of one socket each.
+     */
+    private final BinanceApiCombinedStreamManager combinedStreamManager;
+
+    /**
+     * When set, individual web sockets are reconnected according to this policy.
+     */
+    private final BinanceApiWebSocketReconnectPolicy reconnectPolicy;
+
+    /**
+     * When set, the symbols of events are resolved to the canonical instances of this registry.
+     */
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * Metrics the messages and reconnects of streams are reported to.
+     */
+    private final BinanceApiMetrics metrics;
+
     public BinanceApiWebSocketClientImpl(OkHttpClient client) {
+        this(client, (BinanceApiWebSocketReconnectPolicy) null);
+    }
+
+    public BinanceApiWebSocketClientImpl(OkHttpClient client, BinanceApiWebSocketReconnectPolicy reconnectPolicy) {
+        this(client, null, reconnectPolicy, null);
+    }
+
+    public BinanceApiWebSocketClientImpl(OkHttpClient client, BinanceApiCombinedStreamManager combinedStreamManager) {
+        this(client, combinedStreamManager, null, null);
+    }
+
+    /**
+     * @param client                client used to open web sockets
+     * @param combinedStreamManager if set, multiplexes subscriptions onto combined stream connections
+     * @param reconnectPolicy       if set, and no combined stream manager is, reconnects individual web sockets
+     * @param symbolRegistry        if set, resolves the symbols of events to their canonical instances
+     */
+    public BinanceApiWebSocketClientImpl(OkHttpClient client, BinanceApiCombinedStreamManager combinedStreamManager,
+                                         BinanceApiWebSocketReconnectPolicy reconnectPolicy, SymbolRegistry symbolRegistry) {
+        this(client, combinedStreamManager, reconnectPolicy, symbolRegistry, BinanceApiMetrics.NONE);
+    }
+
+    /**
+     * @param metrics metrics the messages and reconnects of streams are reported to
+     * @see #BinanceApiWebSocketClientImpl(OkHttpClient, BinanceApiCombinedStreamManager, BinanceApiWebSocketReconnectPolicy, SymbolRegistry)
+     */
+    public BinanceApiWebSocketClientImpl(OkHttpClient client, BinanceApiCombinedStreamManager combinedStreamManager,
+                                         BinanceApiWebSocketReconnectPolicy reconnectPolicy, SymbolRegistry symbolRegistry,
+                                         BinanceApiMetrics metrics) {
         this.client = client;
+        this.combinedStreamManager = combinedStreamManager;
+        this.reconnectPolicy = combinedStreamManager == null ? reconnectPolicy : null;
+        this.symbolRegistry = symbolRegistry;
+        this.metrics = metrics;
     }
 
     @Override
     public Closeable onPartialDepthEvent(String symbol, int level, BinanceApiCallback<PartialDepthEvent> callback) {
         final String channel = String.format("%s@depth%d", symbol, level);
-        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, PartialDepthEvent.class));
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, readerFor(PartialDepthEvent.class)));
+    }
+
+    @Override
+    public Closeable onPartialDepthEvent(String symbol, int level, ConflatedStream<PartialDepthEvent> stream) {
+        final String channel = String.format("%s@depth%d", symbol, level);
+        return createNewWebSocket(channel, new BinanceApiConflatingListener<>(stream, symbol.toUpperCase(Locale.ROOT)));
     }
 
     @Override
@@ -38,7 +111,19 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
                 .map(String::trim)
                 .map(s -> String.format("%s@depth", s))
                 .collect(Collectors.joining("/"));
-        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, DepthEvent.class));
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, readerFor(DepthEvent.class)));
+    }
+
+    @Override
+    public Closeable onFixedPointDepthEvent(String symbol, int priceScale, int qtyScale, BinanceApiCallback<FixedPointDepthEvent> callback) {
+        final String channel = String.format("%s@depth", symbol.trim());
+        final ObjectReader objectReader = readerFor(FixedPointDepthEvent.class)
+                .withValueToUpdate(new FixedPointDepthEvent(priceScale, qtyScale));
+        if (callback instanceof DispatchingCallback) {
+            // The event is refilled by the next message while the dispatched one may still be buffered
+            callback = copying((DispatchingCallback<FixedPointDepthEvent>) callback);
+        }
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, objectReader));
     }
 
     @Override
@@ -47,7 +132,7 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
                 .map(String::trim)
                 .map(s -> String.format("%s@kline_%s", s, interval.getIntervalId()))
                 .collect(Collectors.joining("/"));
-        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, CandlestickEvent.class));
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, readerFor(CandlestickEvent.class)));
     }
 
     public Closeable onAggTradeEvent(String symbols, BinanceApiCallback<AggTradeEvent> callback) {
@@ -55,16 +140,61 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
                 .map(String::trim)
                 .map(s -> String.format("%s@aggTrade", s))
                 .collect(Collectors.joining("/"));
-        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, AggTradeEvent.class));
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, readerFor(AggTradeEvent.class)));
     }
 
     public Closeable onUserDataUpdateEvent(String listenKey, BinanceApiCallback<UserDataUpdateEvent> callback) {
-        return createNewWebSocket(listenKey, new BinanceApiWebSocketListener<>(callback, UserDataUpdateEvent.class));
+        return createNewWebSocket(listenKey, USER_DATA_STREAM, new BinanceApiWebSocketListener<>(callback, readerFor(UserDataUpdateEvent.class)));
     }
 
     public Closeable onAllMarketTickersEvent(BinanceApiCallback<List<AllMarketTickersEvent>> callback) {
         final String channel = "!ticker@arr";
-        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, new TypeReference<List<AllMarketTickersEvent>>() {}));
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, readerFor(new TypeReference<List<AllMarketTickersEvent>>() {})));
+    }
+
+    @Override
+    public Closeable onAllMarketTickersEvent(ConflatedStream<AllMarketTickersEvent> stream) {
+        final String channel = "!ticker@arr";
+        return createNewWebSocket(channel, new BinanceApiConflatingListener<>(stream, null));
+    }
+
+    @Override
+    public Closeable onAllMarketTickersEvent(AllMarketTickersColumns columns, BinanceApiCallback<AllMarketTickersColumns> callback) {
+        if (callback instanceof DispatchingCallback) {
+            throw new IllegalArgumentException("The columns are updated in place, so they cannot be dispatched; "
+                    + "dispatch the all market tickers events, or use a ConflatedStream, instead");
+        }
+        final String channel = "!ticker@arr";
+        final ObjectReader objectReader = readerFor(AllMarketTickersColumns.class)
+                .withValueToUpdate(columns);
+        return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, objectReader));
+    }
+
+    /**
+     * Wraps a dispatching callback so that it buffers copies of the events, rather than the instance being refilled.
+     */
+    private static BinanceApiCallback<FixedPointDepthEvent> copying(DispatchingCallback<FixedPointDepthEvent> callback) {
+        return new BinanceApiStreamCallback<FixedPointDepthEvent>() {
+            @Override
+            public void onResponse(FixedPointDepthEvent event) {
+                callback.onResponse(event.copy());
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                callback.onFailure(cause);
+            }
+
+            @Override
+            public void onGap(BinanceApiStreamGap gap) {
+                callback.onGap(gap);
+            }
+        };
+    }
+
+    @Override
+    public boolean isSupervised() {
+        return combinedStreamManager != null || reconnectPolicy != null;
     }
 
     /**
@@ -73,9 +203,45 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
     @Override
     public void close() { }
 
+    private ObjectReader readerFor(Class<?> eventClass) {
+        return withSymbolRegistry(BinanceApiConstants.JACKSON_MAPPER.readerFor(eventClass));
+    }
+
+    private ObjectReader readerFor(TypeReference<?> eventTypeReference) {
+        return withSymbolRegistry(BinanceApiConstants.JACKSON_MAPPER.readerFor(eventTypeReference));
+    }
+
+    private ObjectReader withSymbolRegistry(ObjectReader objectReader) {
+        return symbolRegistry != null ? objectReader.withAttribute(SymbolRegistry.class, symbolRegistry) : objectReader;
+    }
+
     private Closeable createNewWebSocket(String channel, BinanceApiWebSocketListener<?> listener) {
+        return createNewWebSocket(channel, channel, listener);
+    }
+
+    /**
+     * @param streamName name the stream is reported under in metrics
+     */
+    private Closeable createNewWebSocket(String channel, String streamName, BinanceApiWebSocketListener<?> listener) {
+        if (metrics != BinanceApiMetrics.NONE) {
+            listener.setMetrics(metrics, streamName);
+        }
+        if (combinedStreamManager != null) {
+            return combinedStreamManager.subscribe(Arrays.asList(channel.split("/")), listener);
+        }
         String streamingUrl = String.format("%s/%s", BinanceApiConstants.WSS_INDIVIDUAL_URL, channel);
         Request request = new Request.Builder().url(streamingUrl).build();
+        if (reconnectPolicy != null) {
+            final BinanceApiSupervisedWebSocket supervisedWebSocket =
+                    new BinanceApiSupervisedWebSocket(client, () -> request, listener, listener::onGap, reconnectPolicy);
+            supervisedWebSocket.open();
+            return () -> {
+                final int code = 1000;
+                listener.onClosing(supervisedWebSocket.getWebSocket(), code, null);
+                supervisedWebSocket.close();
+                listener.onClosed(supervisedWebSocket.getWebSocket(), code, null);
+            };
+        }
         final WebSocket webSocket = client.newWebSocket(request, listener);
         return () -> {
             final int code = 1000;
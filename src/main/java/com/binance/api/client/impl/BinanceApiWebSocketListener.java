@@ -1,8 +1,13 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.dispatch.DispatchingCallback;
 import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectReader;
 import okhttp3.Response;
@@ -22,6 +27,10 @@ public class BinanceApiWebSocketListener<T> extends WebSocketListener {
 
   private boolean closing = false;
 
+  private BinanceApiMetrics metrics = BinanceApiMetrics.NONE;
+
+  private String stream;
+
   public BinanceApiWebSocketListener(BinanceApiCallback<T> callback, Class<T> eventClass) {
     this.callback = callback;
     this.objectReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(eventClass);
@@ -32,16 +41,95 @@ public class BinanceApiWebSocketListener<T> extends WebSocketListener {
     this.objectReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(eventTypeReference);
   }
 
+  /**
+   * Creates a listener reading events with a pre-configured reader, e.g. one updating a reused event in place.
+   */
+  public BinanceApiWebSocketListener(BinanceApiCallback<T> callback, ObjectReader objectReader) {
+    this.callback = callback;
+    this.objectReader = objectReader;
+  }
+
+  /**
+   * Makes this listener report the messages and gaps of its stream to the given metrics.
+   *
+   * @param stream the name the stream is reported under
+   */
+  void setMetrics(BinanceApiMetrics metrics, String stream) {
+    this.metrics = metrics;
+    this.stream = stream;
+  }
+
   @Override
   public void onMessage(WebSocket webSocket, String text) {
     try {
-      T event = objectReader.readValue(text);
-      callback.onResponse(event);
+      if (metrics == BinanceApiMetrics.NONE) {
+        T event = objectReader.readValue(text);
+        callback.onResponse(event);
+      } else {
+        onMeasuredMessage(text, null);
+      }
     } catch (IOException e) {
       throw new BinanceApiException(e);
     }
   }
 
+  /**
+   * Reads an event from a parser positioned on its first token, as done for the payload of a combined stream envelope.
+   *
+   * @param text   the frame the parser reads from, or null if it reads from a buffered tree
+   * @param parser the parser
+   */
+  void onMessage(String text, JsonParser parser) throws IOException {
+    if (metrics == BinanceApiMetrics.NONE) {
+      T event = objectReader.readValue(parser);
+      callback.onResponse(event);
+    } else {
+      onMeasuredMessage(text, parser);
+    }
+  }
+
+  private void onMeasuredMessage(String text, JsonParser parser) throws IOException {
+    long receivedAt = System.currentTimeMillis();
+    long start = System.nanoTime();
+    T event = parser != null ? objectReader.readValue(parser) : objectReader.readValue(text);
+    long parsed = System.nanoTime();
+    callback.onResponse(event);
+    long delivered = System.nanoTime();
+    long eventTime = text != null ? getEventTime(text) : -1;
+    int queueDepth = callback instanceof DispatchingCallback ? ((DispatchingCallback<?>) callback).getQueueDepth() : -1;
+    metrics.onStreamMessage(stream, parsed - start, delivered - parsed, eventTime >= 0 ? receivedAt - eventTime : -1, queueDepth);
+  }
+
+  /**
+   * @return the value of the first <code>"E"</code> (event time) field of a message, or -1 if it has none
+   */
+  static long getEventTime(String text) {
+    int index = text.indexOf("\"E\":");
+    if (index < 0) {
+      return -1;
+    }
+    index += 4;
+    while (index < text.length() && text.charAt(index) == ' ') {
+      index++;
+    }
+    int start = index;
+    long eventTime = 0;
+    while (index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+      eventTime = eventTime * 10 + (text.charAt(index++) - '0');
+    }
+    return index > start ? eventTime : -1;
+  }
+
+  /**
+   * Notifies the callback, if it is a {@link BinanceApiStreamCallback}, that its stream was re-established.
+   */
+  public void onGap(BinanceApiStreamGap gap) {
+    metrics.onStreamGap(stream, gap);
+    if (callback instanceof BinanceApiStreamCallback) {
+      ((BinanceApiStreamCallback<T>) callback).onGap(gap);
+    }
+  }
+
   @Override
   public void onClosing(final WebSocket webSocket, final int code, final String reason) {
     closing = true;
@@ -0,0 +1,416 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.BinanceApiWebSocketTradingClient;
+import com.binance.api.client.clock.ServerClock;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.security.RequestSigner;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Binance WebSocket API trading client implementation using OkHttp.
+ *
+ * Each request gets an id, and a future completed by the response carrying that id. The connection is opened on the
+ * first request, and opened again on the next request after it is lost; requests in flight on a lost connection fail.
+ * Requests left without a response for longer than the timeout fail too, whether they are awaited or not; they are
+ * failed on a thread of the dispatcher of the HTTP client, so that slow callbacks do not hold back the timeouts of the
+ * other clients.
+ */
+public class BinanceApiWebSocketTradingClientImpl implements BinanceApiWebSocketTradingClient {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000L;
+
+    /**
+     * Shared by all clients; only finds the requests which timed out, and hands them over to be failed.
+     */
+    private static final ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "binance-api-websocket-api-timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // Most requests are answered long before their timeout
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    private final OkHttpClient client;
+
+    private final String url;
+
+    private final String apiKey;
+
+    private final RequestSigner signer;
+
+    private final long timeoutMillis;
+
+    private final ServerClock clock;
+
+    private final ObjectReader newOrderResponseReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(NewOrderResponse.class);
+
+    private final ObjectReader orderReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(Order.class);
+
+    private final ObjectReader cancelOrderResponseReader = BinanceApiConstants.JACKSON_MAPPER.readerFor(CancelOrderResponse.class);
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final Map<Long, PendingRequest<?>> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Current connection, or null until the next request opens one. Guarded by <code>this</code>.
+     */
+    private WebSocket webSocket;
+
+    private boolean closed;
+
+    public BinanceApiWebSocketTradingClientImpl(OkHttpClient client, String apiKey, RequestSigner signer) {
+        this(client, apiKey, signer, null);
+    }
+
+    /**
+     * @param clock if set, supplies the timestamp, and receive window if it has one, of requests, replacing theirs
+     */
+    public BinanceApiWebSocketTradingClientImpl(OkHttpClient client, String apiKey, RequestSigner signer, ServerClock clock) {
+        this(client, BinanceApiConstants.WS_API_URL, apiKey, signer, DEFAULT_TIMEOUT_MILLIS, clock);
+    }
+
+    /**
+     * @param client        client used to open the web socket
+     * @param url           WebSocket API URL
+     * @param apiKey        the API key
+     * @param signer        signs the requests with the secret of the API key
+     * @param timeoutMillis how long requests wait for a response before they fail
+     */
+    public BinanceApiWebSocketTradingClientImpl(OkHttpClient client, String url, String apiKey, RequestSigner signer,
+                                                long timeoutMillis) {
+        this(client, url, apiKey, signer, timeoutMillis, null);
+    }
+
+    /**
+     * @param clock if set, supplies the timestamp, and receive window if it has one, of requests, replacing theirs
+     * @see #BinanceApiWebSocketTradingClientImpl(OkHttpClient, String, String, RequestSigner, long)
+     */
+    public BinanceApiWebSocketTradingClientImpl(OkHttpClient client, String url, String apiKey, RequestSigner signer,
+                                                long timeoutMillis, ServerClock clock) {
+        this.client = client;
+        this.url = url;
+        this.apiKey = apiKey;
+        this.signer = signer;
+        this.timeoutMillis = timeoutMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public NewOrderResponse newOrder(NewOrder order) {
+        return await(sendNewOrder(order));
+    }
+
+    @Override
+    public void newOrder(NewOrder order, BinanceApiCallback<NewOrderResponse> callback) {
+        notify(sendNewOrder(order), callback);
+    }
+
+    @Override
+    public Order getOrderStatus(OrderStatusRequest orderStatusRequest) {
+        return await(sendOrderStatus(orderStatusRequest));
+    }
+
+    @Override
+    public void getOrderStatus(OrderStatusRequest orderStatusRequest, BinanceApiCallback<Order> callback) {
+        notify(sendOrderStatus(orderStatusRequest), callback);
+    }
+
+    @Override
+    public CancelOrderResponse cancelOrder(CancelOrderRequest cancelOrderRequest) {
+        return await(sendCancelOrder(cancelOrderRequest));
+    }
+
+    @Override
+    public void cancelOrder(CancelOrderRequest cancelOrderRequest, BinanceApiCallback<CancelOrderResponse> callback) {
+        notify(sendCancelOrder(cancelOrderRequest), callback);
+    }
+
+    @Override
+    public void close() {
+        WebSocket current;
+        synchronized (this) {
+            closed = true;
+            current = webSocket;
+            webSocket = null;
+        }
+        if (current != null) {
+            current.close(1000, null);
+            failPendingRequests(current, new BinanceApiException("WebSocket API client closed"));
+        }
+    }
+
+    /**
+     * @return the number of requests awaiting their response
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    private PendingRequest<NewOrderResponse> sendNewOrder(NewOrder order) {
+        Map<String, Object> params = new TreeMap<>();
+        params.put("symbol", order.getSymbol());
+        params.put("side", order.getSide());
+        params.put("type", order.getType());
+        params.put("timeInForce", order.getTimeInForce());
+        params.put("quantity", order.getQuantity());
+        params.put("quoteOrderQty", order.getQuoteOrderQty());
+        params.put("price", order.getPrice());
+        params.put("newClientOrderId", order.getNewClientOrderId());
+        params.put("stopPrice", order.getStopPrice());
+        params.put("icebergQty", order.getIcebergQty());
+        params.put("newOrderRespType", order.getNewOrderRespType());
+        params.put("recvWindow", order.getRecvWindow());
+        params.put("timestamp", order.getTimestamp());
+        return send("order.place", params, newOrderResponseReader);
+    }
+
+    private PendingRequest<Order> sendOrderStatus(OrderStatusRequest request) {
+        Map<String, Object> params = new TreeMap<>();
+        params.put("symbol", request.getSymbol());
+        params.put("orderId", request.getOrderId());
+        params.put("origClientOrderId", request.getOrigClientOrderId());
+        params.put("recvWindow", request.getRecvWindow());
+        params.put("timestamp", request.getTimestamp());
+        return send("order.status", params, orderReader);
+    }
+
+    private PendingRequest<CancelOrderResponse> sendCancelOrder(CancelOrderRequest request) {
+        Map<String, Object> params = new TreeMap<>();
+        params.put("symbol", request.getSymbol());
+        params.put("orderId", request.getOrderId());
+        params.put("origClientOrderId", request.getOrigClientOrderId());
+        params.put("newClientOrderId", request.getNewClientOrderId());
+        params.put("recvWindow", request.getRecvWindow());
+        params.put("timestamp", request.getTimestamp());
+        return send("order.cancel", params, cancelOrderResponseReader);
+    }
+
+    /**
+     * Signs and sends a request.
+     *
+     * @param params parameters of the request, sorted by name; null values are left out
+     */
+    private <T> PendingRequest<T> send(String method, Map<String, Object> params, ObjectReader resultReader) {
+        params.values().removeIf(value -> value == null);
+        params.put("apiKey", apiKey);
+        if (clock != null) {
+            params.put("timestamp", clock.currentTimeMillis());
+            if (clock.getRecvWindowMillis() > 0) {
+                params.put("recvWindow", clock.getRecvWindowMillis());
+            }
+        }
+        long id = nextId.incrementAndGet();
+        String message = toMessage(id, method, params);
+        WebSocket current = getWebSocket();
+        PendingRequest<T> request = new PendingRequest<>(id, current, resultReader);
+        pendingRequests.put(id, request);
+        if (!current.send(message)) {
+            pendingRequests.remove(id);
+            request.future.completeExceptionally(new BinanceApiException("WebSocket API connection is closed"));
+            return request;
+        }
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            if (pendingRequests.remove(id, request)) {
+                fail(request, new BinanceApiException("No response to request " + id + " within " + timeoutMillis + " ms"));
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        request.future.whenComplete((response, failure) -> timeout.cancel(false));
+        return request;
+    }
+
+    /**
+     * Writes a request, signing the <code>name=value</code> pairs of its parameters, in alphabetical order.
+     */
+    private String toMessage(long id, String method, Map<String, Object> params) {
+        StringBuilder payload = new StringBuilder(256);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            if (payload.length() > 0) {
+                payload.append('&');
+            }
+            payload.append(param.getKey()).append('=').append(param.getValue());
+        }
+        StringWriter writer = new StringWriter(payload.length() + 256);
+        try (JsonGenerator generator = BinanceApiConstants.JACKSON_MAPPER.getFactory().createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("method", method);
+            generator.writeObjectFieldStart("params");
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                Object value = param.getValue();
+                if (value instanceof Long) {
+                    generator.writeNumberField(param.getKey(), (Long) value);
+                } else {
+                    generator.writeStringField(param.getKey(), value.toString());
+                }
+            }
+            // Signers return signatures encoded for query strings, which JSON does not need
+            generator.writeStringField("signature", URLDecoder.decode(signer.sign(payload.toString()), "UTF-8"));
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+        return writer.toString();
+    }
+
+    private synchronized WebSocket getWebSocket() {
+        if (closed) {
+            throw new BinanceApiException("WebSocket API client closed");
+        }
+        if (webSocket == null) {
+            webSocket = client.newWebSocket(new Request.Builder().url(url).build(), new ResponseListener());
+        }
+        return webSocket;
+    }
+
+    /**
+     * Fails a request on a thread of the dispatcher of the HTTP client, or on the current thread if it was shut down.
+     */
+    private void fail(PendingRequest<?> request, BinanceApiException failure) {
+        try {
+            client.dispatcher().executorService().execute(() -> request.future.completeExceptionally(failure));
+        } catch (RejectedExecutionException e) {
+            request.future.completeExceptionally(failure);
+        }
+    }
+
+    private void onResponse(String text) {
+        try {
+            JsonNode response = BinanceApiConstants.JACKSON_MAPPER.readTree(text);
+            JsonNode id = response.get("id");
+            PendingRequest<?> request = id != null ? pendingRequests.remove(id.asLong()) : null;
+            if (request == null) {
+                // Response to a request which timed out, or was failed with its connection
+                return;
+            }
+            if (response.path("status").asInt() == 200) {
+                request.complete(response.get("result"));
+            } else {
+                BinanceApiError error = BinanceApiConstants.JACKSON_MAPPER.treeToValue(response.get("error"), BinanceApiError.class);
+                request.future.completeExceptionally(new BinanceApiException(error));
+            }
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+    }
+
+    private void onConnectionLost(WebSocket lost, Throwable cause) {
+        synchronized (this) {
+            if (webSocket == lost) {
+                webSocket = null;
+            }
+        }
+        failPendingRequests(lost, cause);
+    }
+
+    private void failPendingRequests(WebSocket lost, Throwable cause) {
+        Throwable failure = cause instanceof BinanceApiException ? cause : new BinanceApiException("WebSocket API connection lost", cause);
+        for (PendingRequest<?> request : pendingRequests.values()) {
+            if (request.webSocket == lost && pendingRequests.remove(request.id, request)) {
+                request.future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static <T> T await(PendingRequest<T> request) {
+        try {
+            // Failed once the timeout elapsed if no response arrives in time
+            return request.future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof BinanceApiException ? (BinanceApiException) e.getCause() : new BinanceApiException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BinanceApiException(e);
+        }
+    }
+
+    private static <T> void notify(PendingRequest<T> request, BinanceApiCallback<T> callback) {
+        request.future.whenComplete((response, failure) -> {
+            if (failure == null) {
+                callback.onResponse(response);
+            } else {
+                callback.onFailure(failure);
+            }
+        });
+    }
+
+    /**
+     * A request awaiting its response.
+     */
+    private static final class PendingRequest<T> {
+        private final long id;
+        private final WebSocket webSocket;
+        private final ObjectReader resultReader;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private PendingRequest(long id, WebSocket webSocket, ObjectReader resultReader) {
+            this.id = id;
+            this.webSocket = webSocket;
+            this.resultReader = resultReader;
+        }
+
+        private void complete(JsonNode result) {
+            try {
+                future.complete(resultReader.readValue(result));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(new BinanceApiException(e));
+            }
+        }
+    }
+
+    private final class ResponseListener extends WebSocketListener {
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            onResponse(text);
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(code, null);
+            onConnectionLost(webSocket, new BinanceApiException("WebSocket API connection closed: " + code + " " + reason));
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            onConnectionLost(webSocket, t);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiStreamGap;
+
+/**
+ * Receives measurements of REST calls and streams, e.g. to feed latency histograms.
+ *
+ * All methods do nothing by default, so implementations only override what they record. They are called on the threads
+ * making the calls and reading the web sockets, so they must return quickly and not block. {@link RecordingMetrics}
+ * bridges them to the timers and histograms of a metrics library, such as Micrometer or HdrHistogram.
+ *
+ * Nothing is measured when the metrics are {@link #NONE}, the default.
+ */
+public interface BinanceApiMetrics {
+
+  /**
+   * Metrics recording nothing.
+   */
+  BinanceApiMetrics NONE = new BinanceApiMetrics() {
+  };
+
+  /**
+   * Called once the response headers of a REST request are received, or the request failed.
+   *
+   * @param endpoint       the method and path of the request, e.g. <code>GET /api/v3/depth</code>
+   * @param httpStatusCode the HTTP status code of the response, or 0 if none was received
+   * @param latencyNanos   time from sending the request to receiving the response headers
+   * @param weight         the request weight the request consumes
+   */
+  default void onRequest(String endpoint, int httpStatusCode, long latencyNanos, int weight) {
+  }
+
+  /**
+   * Called with the request weight used in a rate limit interval, as reported by a response.
+   *
+   * @param interval   the interval of the limit, e.g. <code>1m</code>
+   * @param usedWeight the weight used in the current interval
+   */
+  default void onUsedWeight(String interval, int usedWeight) {
+  }
+
+  /**
+   * Called for each message of a stream, once its callback returned.
+   *
+   * @param stream         the stream, e.g. <code>ethbtc@depth</code>
+   * @param parseNanos     time to read the event from the message
+   * @param callbackNanos  time spent in the callback; only the time to enqueue the event for dispatched callbacks
+   * @param eventLagMillis time from the event time (<code>E</code> field) to receiving the message, or -1 if unknown
+   * @param queueDepth     events waiting in the dispatch queue of the callback, or -1 if it is not dispatched
+   */
+  default void onStreamMessage(String stream, long parseNanos, long callbackNanos, long eventLagMillis, int queueDepth) {
+  }
+
+  /**
+   * Called when the connection of a stream was re-established.
+   *
+   * @param stream the stream
+   * @param gap    the gap in the stream
+   */
+  default void onStreamGap(String stream, BinanceApiStreamGap gap) {
+  }
+}
@@ -0,0 +1,56 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.ratelimit.EndpointWeights;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * A network interceptor reporting the latency and weight of each REST request, and the weight used as reported by the
+ * exchange, to a {@link BinanceApiMetrics}.
+ *
+ * Installed as a network interceptor, it only measures time spent on the network: neither waiting for the rate limiter,
+ * nor signing requests, nor reading response bodies.
+ */
+public class MetricsInterceptor implements Interceptor {
+
+    private static final String USED_WEIGHT_HEADER_PREFIX = "x-mbx-used-weight-";
+
+    private final BinanceApiMetrics metrics;
+
+    public MetricsInterceptor(BinanceApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = request.method() + " " + request.url().encodedPath();
+        int weight = EndpointWeights.getWeight(request);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            metrics.onRequest(endpoint, 0, System.nanoTime() - start, weight);
+            throw e;
+        }
+        metrics.onRequest(endpoint, response.code(), System.nanoTime() - start, weight);
+        for (int i = 0, size = response.headers().size(); i < size; i++) {
+            String name = response.headers().name(i);
+            if (name.length() > USED_WEIGHT_HEADER_PREFIX.length()
+                    && name.regionMatches(true, 0, USED_WEIGHT_HEADER_PREFIX, 0, USED_WEIGHT_HEADER_PREFIX.length())) {
+                try {
+                    metrics.onUsedWeight(name.substring(USED_WEIGHT_HEADER_PREFIX.length()).toLowerCase(Locale.ROOT),
+                            Integer.parseInt(response.headers().value(i).trim()));
+                } catch (NumberFormatException e) {
+                    // Ignore malformed headers rather than failing the call
+                }
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,136 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.BinanceApiStreamGap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Metrics recording each measurement as a value of a named, tagged recorder, created on first use by a
+ * {@link RecorderFactory}. This is all it takes to bridge to Micrometer:
+ *
+ * <pre>
+ * new RecordingMetrics((name, tag) -&gt; DistributionSummary.builder(name).tag("key", tag).register(registry)::record)
+ * </pre>
+ *
+ * or to HdrHistogram, with one <code>ConcurrentHistogram</code> per name and tag:
+ *
+ * <pre>
+ * new RecordingMetrics((name, tag) -&gt; histograms.computeIfAbsent(name + ' ' + tag, k -&gt; new ConcurrentHistogram(3))::recordValue)
+ * </pre>
+ *
+ * Counts, such as {@link #STREAM_MESSAGES}, are recorded as values of 1, so that their rate is that of the recorder.
+ */
+public class RecordingMetrics implements BinanceApiMetrics {
+
+  /**
+   * Latency of REST requests, in nanoseconds, tagged by endpoint.
+   */
+  public static final String REQUEST_LATENCY = "binance.request.latency";
+
+  /**
+   * Request weight consumed by REST requests, tagged by endpoint.
+   */
+  public static final String REQUEST_WEIGHT = "binance.request.weight";
+
+  /**
+   * REST requests which failed or were answered with an error status, tagged by endpoint.
+   */
+  public static final String REQUEST_ERRORS = "binance.request.errors";
+
+  /**
+   * Request weight used, as reported by responses, tagged by rate limit interval.
+   */
+  public static final String USED_WEIGHT = "binance.weight.used";
+
+  /**
+   * Messages received, tagged by stream.
+   */
+  public static final String STREAM_MESSAGES = "binance.stream.messages";
+
+  /**
+   * Time to read events from messages, in nanoseconds, tagged by stream.
+   */
+  public static final String STREAM_PARSE_TIME = "binance.stream.parse";
+
+  /**
+   * Time spent in stream callbacks, in nanoseconds, tagged by stream.
+   */
+  public static final String STREAM_CALLBACK_TIME = "binance.stream.callback";
+
+  /**
+   * Time from the event time of events to their reception, in milliseconds, tagged by stream.
+   */
+  public static final String STREAM_EVENT_LAG = "binance.stream.lag";
+
+  /**
+   * Events waiting in the dispatch queue of dispatched callbacks, tagged by stream.
+   */
+  public static final String STREAM_QUEUE_DEPTH = "binance.stream.queue";
+
+  /**
+   * Reconnections of streams, tagged by stream.
+   */
+  public static final String STREAM_RECONNECTS = "binance.stream.reconnects";
+
+  /**
+   * Creates the recorder of a metric and tag.
+   */
+  @FunctionalInterface
+  public interface RecorderFactory {
+
+    /**
+     * @param name the name of the metric, one of the constants of {@link RecordingMetrics}
+     * @param tag  the endpoint, stream or interval the values are of
+     * @return the recorder of the values, which must be thread-safe
+     */
+    LongConsumer newRecorder(String name, String tag);
+  }
+
+  private final RecorderFactory recorderFactory;
+
+  private final Map<String, Map<String, LongConsumer>> recorders = new ConcurrentHashMap<>();
+
+  public RecordingMetrics(RecorderFactory recorderFactory) {
+    this.recorderFactory = recorderFactory;
+  }
+
+  @Override
+  public void onRequest(String endpoint, int httpStatusCode, long latencyNanos, int weight) {
+    recorder(REQUEST_LATENCY, endpoint).accept(latencyNanos);
+    recorder(REQUEST_WEIGHT, endpoint).accept(weight);
+    if (httpStatusCode == 0 || httpStatusCode >= 400) {
+      recorder(REQUEST_ERRORS, endpoint).accept(1);
+    }
+  }
+
+  @Override
+  public void onUsedWeight(String interval, int usedWeight) {
+    recorder(USED_WEIGHT, interval).accept(usedWeight);
+  }
+
+  @Override
+  public void onStreamMessage(String stream, long parseNanos, long callbackNanos, long eventLagMillis, int queueDepth) {
+    recorder(STREAM_MESSAGES, stream).accept(1);
+    recorder(STREAM_PARSE_TIME, stream).accept(parseNanos);
+    recorder(STREAM_CALLBACK_TIME, stream).accept(callbackNanos);
+    if (eventLagMillis >= 0) {
+      recorder(STREAM_EVENT_LAG, stream).accept(eventLagMillis);
+    }
+    if (queueDepth >= 0) {
+      recorder(STREAM_QUEUE_DEPTH, stream).accept(queueDepth);
+    }
+  }
+
+  @Override
+  public void onStreamGap(String stream, BinanceApiStreamGap gap) {
+    recorder(STREAM_RECONNECTS, stream).accept(1);
+  }
+
+  private LongConsumer recorder(String name, String tag) {
+    Map<String, LongConsumer> recordersByTag = recorders.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    LongConsumer recorder = recordersByTag.get(tag);
+    return recorder != null ? recorder : recordersByTag.computeIfAbsent(tag, key -> recorderFactory.newRecorder(name, key));
+  }
+}
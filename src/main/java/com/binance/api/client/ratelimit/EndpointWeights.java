@@ -0,0 +1,64 @@
+package com.binance.api.client.ratelimit;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Request weights of the REST endpoints, as documented by Binance. Endpoints not listed weigh 1.
+ */
+public final class EndpointWeights {
+
+  private EndpointWeights() {
+  }
+
+  /**
+   * @return the weight a request counts for against the REQUEST_WEIGHT limits
+   */
+  public static int getWeight(Request request) {
+    HttpUrl url = request.url();
+    boolean hasSymbol = url.queryParameter("symbol") != null;
+    switch (url.encodedPath()) {
+      case "/api/v3/depth":
+        return getDepthWeight(url.queryParameter("limit"));
+      case "/api/v3/exchangeInfo":
+        return 10;
+      case "/api/v3/historicalTrades":
+      case "/api/v3/allOrders":
+      case "/api/v3/account":
+      case "/api/v3/myTrades":
+        return 5;
+      case "/api/v3/ticker/24hr":
+      case "/api/v3/openOrders":
+        return hasSymbol ? 1 : 40;
+      case "/api/v3/ticker/price":
+      case "/api/v3/ticker/bookTicker":
+        return hasSymbol ? 1 : 2;
+      case "/api/v1/ticker/allBookTickers":
+        return 2;
+      case "/api/v3/order":
+        // Querying an order weighs more than placing or cancelling one
+        return "GET".equals(request.method()) ? 2 : 1;
+      default:
+        return 1;
+    }
+  }
+
+  /**
+   * @return true if a request counts against the ORDERS limits
+   */
+  public static boolean isOrder(Request request) {
+    return "POST".equals(request.method()) && "/api/v3/order".equals(request.url().encodedPath());
+  }
+
+  private static int getDepthWeight(String limit) {
+    int depth = limit != null ? Integer.parseInt(limit) : 100;
+    if (depth <= 100) {
+      return 1;
+    } else if (depth <= 500) {
+      return 5;
+    } else if (depth <= 1000) {
+      return 10;
+    }
+    return 50;
+  }
+}
@@ -0,0 +1,18 @@
+package com.binance.api.client.ratelimit;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a request is rejected by a {@link RateLimiter} instead of being sent.
+ *
+ * It is an <code>IOException</code> so that OkHttp reports it to asynchronous callbacks like any failed call; synchronous
+ * clients wrap it in a {@link com.binance.api.client.exception.BinanceApiException}.
+ */
+public class RateLimitExceededException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  public RateLimitExceededException(String message) {
+    super(message);
+  }
+}
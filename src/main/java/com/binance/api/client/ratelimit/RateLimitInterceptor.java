@@ -0,0 +1,100 @@
+package com.binance.api.client.ratelimit;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.RateLimitType;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * A request interceptor that spends the budget of each request in a {@link RateLimiter} before sending it, and reports
+ * the usage returned by the exchange back to it.
+ *
+ * It must run before the {@link com.binance.api.client.security.AuthenticationInterceptor}, which removes the headers
+ * telling signed requests apart, and so that requests are signed only once they may be sent.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private static final String USED_WEIGHT_HEADER_PREFIX = "x-mbx-used-weight-";
+
+    private static final String ORDER_COUNT_HEADER_PREFIX = "x-mbx-order-count-";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int IP_BANNED = 418;
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean signed = request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) != null;
+        rateLimiter.acquire(EndpointWeights.getWeight(request), EndpointWeights.isOrder(request), signed);
+
+        Response response = chain.proceed(request);
+        for (String name : response.headers().names()) {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (lowerCaseName.startsWith(USED_WEIGHT_HEADER_PREFIX)) {
+                onUsage(RateLimitType.REQUEST_WEIGHT, lowerCaseName.substring(USED_WEIGHT_HEADER_PREFIX.length()), response.header(name));
+            } else if (lowerCaseName.startsWith(ORDER_COUNT_HEADER_PREFIX)) {
+                onUsage(RateLimitType.ORDERS, lowerCaseName.substring(ORDER_COUNT_HEADER_PREFIX.length()), response.header(name));
+            }
+        }
+        if (response.code() == TOO_MANY_REQUESTS || response.code() == IP_BANNED) {
+            String retryAfter = response.header("Retry-After");
+            if (retryAfter != null) {
+                try {
+                    rateLimiter.onRetryAfter(Long.parseLong(retryAfter.trim()) * 1000L);
+                } catch (NumberFormatException e) {
+                    // Not in seconds; the usage headers still apply
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * @param interval interval suffix of a usage header, e.g. "1m" or "10s"
+     */
+    private void onUsage(RateLimitType type, String interval, String used) {
+        long intervalMillis = parseIntervalMillis(interval);
+        if (intervalMillis > 0 && used != null) {
+            try {
+                rateLimiter.onUsage(type, intervalMillis, Integer.parseInt(used.trim()));
+            } catch (NumberFormatException e) {
+                // Ignore malformed headers rather than failing the call
+            }
+        }
+    }
+
+    static long parseIntervalMillis(String interval) {
+        if (interval.length() < 2) {
+            return -1;
+        }
+        long intervalNum;
+        try {
+            intervalNum = Long.parseLong(interval.substring(0, interval.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        switch (interval.charAt(interval.length() - 1)) {
+            case 's':
+                return intervalNum * 1000L;
+            case 'm':
+                return intervalNum * 60_000L;
+            case 'h':
+                return intervalNum * 3_600_000L;
+            case 'd':
+                return intervalNum * 86_400_000L;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.binance.api.client.ratelimit;
+
+/**
+ * What a {@link RateLimiter} does with a request when the exchange's limits leave no room for it.
+ */
+public enum RateLimitMode {
+  /**
+   * Block the calling thread until the request fits, up to the limiter's maximum wait.
+   *
+   * Requests of the async and future clients wait on OkHttp's dispatcher threads, where they also hold one of the
+   * dispatcher's concurrent request slots, so waiting requests can hold back every other asynchronous call of the
+   * factory for up to the maximum wait. Prefer {@link #FAIL_FAST} or {@link #SHED} for applications relying on those
+   * clients, or keep the maximum wait short.
+   */
+  WAIT,
+  /**
+   * Reject the request with a {@link com.binance.api.client.exception.BinanceApiException}.
+   */
+  FAIL_FAST,
+  /**
+   * Reject market data requests as soon as they would eat into the reserve kept for signed (trading and account)
+   * requests, which wait for room instead.
+   */
+  SHED
+}
@@ -0,0 +1,271 @@
+package com.binance.api.client.ratelimit;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.RateLimit;
+import com.binance.api.client.domain.general.RateLimitInterval;
+import com.binance.api.client.domain.general.RateLimitType;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps REST requests within the exchange's REQUEST_WEIGHT, ORDERS and RAW_REQUESTS limits.
+ *
+ * Each limit is tracked as a budget per window, aligned on the epoch like the exchange's own windows, so that a burst
+ * straddling two windows cannot exceed a limit the way a continuously refilled bucket could. The budget is spent
+ * locally before each request, using the weight of its endpoint (see {@link EndpointWeights}), and reconciled with the
+ * usage reported by the exchange in the <code>X-MBX-USED-WEIGHT-*</code> and <code>X-MBX-ORDER-COUNT-*</code> response
+ * headers, which also account for other processes sharing the same IP or account. A 429 or 418 response with a
+ * <code>Retry-After</code> header suspends all requests for that long.
+ *
+ * A single instance is meant to be shared by every client of a {@link com.binance.api.client.BinanceApiClientFactory}.
+ * It starts with Binance's documented default limits; {@link #configure(ExchangeInfo)} applies the current ones.
+ */
+public class RateLimiter {
+
+  /**
+   * Default maximum time a request waits for room, in milliseconds.
+   */
+  public static final long DEFAULT_MAX_WAIT_MILLIS = 60_000L;
+
+  /**
+   * Default share of the weight limits reserved for signed requests in {@link RateLimitMode#SHED} mode.
+   */
+  public static final double DEFAULT_SHED_RESERVE = 0.2;
+
+  private final RateLimitMode mode;
+
+  private long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+
+  private double shedReserve = DEFAULT_SHED_RESERVE;
+
+  private List<Window> windows = new ArrayList<>();
+
+  /**
+   * Time before which no request may be sent, after the exchange asked to back off.
+   */
+  private long suspendedUntil = 0;
+
+  public RateLimiter(RateLimitMode mode) {
+    this.mode = mode;
+    configure(defaultRateLimits());
+  }
+
+  public RateLimitMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Sets the maximum time a request waits for room before being rejected. Asynchronous requests wait on OkHttp's
+   * dispatcher threads (see {@link RateLimitMode#WAIT}).
+   */
+  public synchronized RateLimiter maxWaitMillis(long maxWaitMillis) {
+    this.maxWaitMillis = maxWaitMillis;
+    return this;
+  }
+
+  /**
+   * Sets the share of the weight limits that market data requests may not use in {@link RateLimitMode#SHED} mode.
+   */
+  public synchronized RateLimiter shedReserve(double shedReserve) {
+    this.shedReserve = shedReserve;
+    return this;
+  }
+
+  /**
+   * Applies the rate limits of an exchange info.
+   */
+  public void configure(ExchangeInfo exchangeInfo) {
+    configure(exchangeInfo.getRateLimits());
+  }
+
+  /**
+   * Replaces the tracked rate limits, keeping the usage of the windows which are still tracked.
+   */
+  public synchronized void configure(List<RateLimit> rateLimits) {
+    List<Window> configured = new ArrayList<>(rateLimits.size());
+    for (RateLimit rateLimit : rateLimits) {
+      if (rateLimit.getRateLimitType() == null || rateLimit.getInterval() == null || rateLimit.getLimit() == null) {
+        continue;
+      }
+      long intervalMillis = toMillis(rateLimit);
+      Window window = findWindow(rateLimit.getRateLimitType(), intervalMillis);
+      if (window == null) {
+        window = new Window(rateLimit.getRateLimitType(), intervalMillis);
+      }
+      window.limit = rateLimit.getLimit();
+      configured.add(window);
+    }
+    windows = configured;
+    notifyAll();
+  }
+
+  /**
+   * Spends the budget of a request, waiting or failing according to the mode when there is not enough left.
+   *
+   * @param weight weight of the request against the REQUEST_WEIGHT limits
+   * @param order  whether the request counts against the ORDERS limits
+   * @param signed whether the request is signed, i.e. trading or account related
+   * @throws RateLimitExceededException if the request may not be sent
+   */
+  public synchronized void acquire(int weight, boolean order, boolean signed) throws RateLimitExceededException, InterruptedIOException {
+    boolean mayWait = mode == RateLimitMode.WAIT || (mode == RateLimitMode.SHED && signed);
+    double reserve = mode == RateLimitMode.SHED && !signed ? shedReserve : 0;
+    long now = currentTimeMillis();
+    long deadline = now + maxWaitMillis;
+    while (true) {
+      long waitMillis = tryAcquire(weight, order, reserve, now);
+      if (waitMillis == 0) {
+        return;
+      }
+      if (!mayWait || now + waitMillis > deadline) {
+        throw new RateLimitExceededException("Rate limit reached, the request could only be sent in " + waitMillis + "ms");
+      }
+      try {
+        wait(waitMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+      }
+      now = currentTimeMillis();
+    }
+  }
+
+  /**
+   * Records the usage of a window reported by the exchange.
+   */
+  public synchronized void onUsage(RateLimitType type, long intervalMillis, int used) {
+    Window window = findWindow(type, intervalMillis);
+    if (window != null) {
+      window.roll(currentTimeMillis());
+      window.used = Math.max(window.used, used);
+    }
+  }
+
+  /**
+   * Suspends all requests after the exchange asked to back off.
+   */
+  public synchronized void onRetryAfter(long retryAfterMillis) {
+    suspendedUntil = Math.max(suspendedUntil, currentTimeMillis() + retryAfterMillis);
+  }
+
+  /**
+   * @return the budget spent in the current window of a limit, or -1 if the limit is not tracked
+   */
+  public synchronized int getUsed(RateLimitType type, long intervalMillis) {
+    Window window = findWindow(type, intervalMillis);
+    if (window == null) {
+      return -1;
+    }
+    window.roll(currentTimeMillis());
+    return window.used;
+  }
+
+  long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Spends the budget of a request if every window has room for it.
+   *
+   * @return 0 if the budget was spent, or else the time after which there may be room
+   */
+  private long tryAcquire(int weight, boolean order, double reserve, long now) {
+    if (now < suspendedUntil) {
+      return suspendedUntil - now;
+    }
+    long waitMillis = 0;
+    for (Window window : windows) {
+      window.roll(now);
+      int cost = window.costOf(weight, order);
+      int budget = window.type == RateLimitType.ORDERS ? window.limit : (int) (window.limit * (1 - reserve));
+      // A request costing more than a whole window may still be sent into an empty one
+      if (cost > 0 && window.used > 0 && window.used + cost > budget) {
+        waitMillis = Math.max(waitMillis, window.start + window.intervalMillis - now);
+      }
+    }
+    if (waitMillis > 0) {
+      return waitMillis;
+    }
+    for (Window window : windows) {
+      window.used += window.costOf(weight, order);
+    }
+    return 0;
+  }
+
+  private Window findWindow(RateLimitType type, long intervalMillis) {
+    for (Window window : windows) {
+      if (window.type == type && window.intervalMillis == intervalMillis) {
+        return window;
+      }
+    }
+    return null;
+  }
+
+  private static long toMillis(RateLimit rateLimit) {
+    long intervalNum = rateLimit.getIntervalNum() != null ? rateLimit.getIntervalNum() : 1;
+    switch (rateLimit.getInterval()) {
+      case SECOND:
+        return intervalNum * 1000L;
+      case MINUTE:
+        return intervalNum * 60_000L;
+      default:
+        return intervalNum * 86_400_000L;
+    }
+  }
+
+  private static List<RateLimit> defaultRateLimits() {
+    return Arrays.asList(
+        newRateLimit(RateLimitType.REQUEST_WEIGHT, RateLimitInterval.MINUTE, 1, 1200),
+        newRateLimit(RateLimitType.ORDERS, RateLimitInterval.SECOND, 10, 100),
+        newRateLimit(RateLimitType.ORDERS, RateLimitInterval.DAY, 1, 200000),
+        newRateLimit(RateLimitType.RAW_REQUESTS, RateLimitInterval.MINUTE, 5, 6100));
+  }
+
+  private static RateLimit newRateLimit(RateLimitType type, RateLimitInterval interval,
+                                        int intervalNum, int limit) {
+    RateLimit rateLimit = new RateLimit();
+    rateLimit.setRateLimitType(type);
+    rateLimit.setInterval(interval);
+    rateLimit.setIntervalNum(intervalNum);
+    rateLimit.setLimit(limit);
+    return rateLimit;
+  }
+
+  /**
+   * The budget spent in the current window of a limit.
+   */
+  private static final class Window {
+    private final RateLimitType type;
+    private final long intervalMillis;
+    private int limit;
+    private long start;
+    private int used;
+
+    private Window(RateLimitType type, long intervalMillis) {
+      this.type = type;
+      this.intervalMillis = intervalMillis;
+    }
+
+    private void roll(long now) {
+      long currentStart = now - now % intervalMillis;
+      if (currentStart != start) {
+        start = currentStart;
+        used = 0;
+      }
+    }
+
+    private int costOf(int weight, boolean order) {
+      switch (type) {
+        case REQUEST_WEIGHT:
+          return weight;
+        case ORDERS:
+          return order ? 1 : 0;
+        default:
+          return 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.binance.api.client.security;
+
+/**
+ * The types of API keys, and how requests are signed with each.
+ */
+public enum ApiKeyType {
+
+  /**
+   * A key with a secret shared with the exchange, signing with HMAC-SHA256.
+   */
+  HMAC {
+    @Override
+    public RequestSigner newSigner(String secret) {
+      return new HmacSHA256Signer(secret);
+    }
+  },
+
+  /**
+   * An Ed25519 key pair, signing with the private key. Requires Java 15 or later.
+   */
+  ED25519 {
+    @Override
+    public RequestSigner newSigner(String privateKeyPem) {
+      return new Ed25519Signer(privateKeyPem);
+    }
+  },
+
+  /**
+   * An RSA key pair, signing with the private key using SHA256withRSA.
+   */
+  RSA {
+    @Override
+    public RequestSigner newSigner(String privateKeyPem) {
+      return new RsaSigner(privateKeyPem);
+    }
+  };
+
+  /**
+   * Creates a signer for a key of this type.
+   *
+   * @param secret the secret of an HMAC key, or the PEM encoded PKCS#8 private key of an asymmetric key
+   */
+  public abstract RequestSigner newSigner(String secret);
+}
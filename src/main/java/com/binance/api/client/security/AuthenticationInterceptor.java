@@ -1,6 +1,8 @@
 package com.binance.api.client.security;
 
+import com.binance.api.client.clock.ServerClock;
 import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.Request;
@@ -13,41 +15,107 @@ import java.io.IOException;
 import java.util.Objects;
 
 /**
- * A request interceptor that injects the API Key Header into requests, and signs messages, whenever required.
+ * The one interceptor which finalizes requests: it injects the API Key Header into requests, signs messages, whenever
+ * required, and adds the configured headers, e.g. a User-Agent, building each request at most once. Requests needing
+ * none of these are sent as they are.
  */
 public class AuthenticationInterceptor implements Interceptor {
 
+    private static final Headers EMPTY_HEADERS = Headers.of();
+
     private final String apiKey;
 
     private final String secret;
 
+    private final RequestSigner signer;
+
+    private final Headers headers;
+
+    private final ServerClock clock;
+
+    /**
+     * Signs requests with the secret of an HMAC key.
+     */
     public AuthenticationInterceptor(String apiKey, String secret) {
         this.apiKey = apiKey;
         this.secret = secret;
+        this.signer = secret != null ? new HmacSHA256Signer(secret) : null;
+        this.headers = EMPTY_HEADERS;
+        this.clock = null;
+    }
+
+    /**
+     * Signs requests with the given signer, e.g. one of an Ed25519 or RSA key.
+     */
+    public AuthenticationInterceptor(String apiKey, RequestSigner signer) {
+        this(apiKey, signer, null);
+    }
+
+    /**
+     * @param apiKey  API key sent to endpoints requiring one, or null for none
+     * @param signer  signs the requests to signed endpoints, or null for none
+     * @param headers headers set on all requests, replacing those of the same names, or null for none
+     */
+    public AuthenticationInterceptor(String apiKey, RequestSigner signer, Headers headers) {
+        this(apiKey, signer, headers, null);
+    }
+
+    /**
+     * @param apiKey  API key sent to endpoints requiring one, or null for none
+     * @param signer  signs the requests to signed endpoints, or null for none
+     * @param headers headers set on all requests, replacing those of the same names, or null for none
+     * @param clock   if set, supplies the timestamp, and receive window if it has one, of signed requests, replacing theirs
+     */
+    public AuthenticationInterceptor(String apiKey, RequestSigner signer, Headers headers, ServerClock clock) {
+        this.apiKey = apiKey;
+        this.secret = null;
+        this.signer = signer;
+        this.headers = headers != null ? headers : EMPTY_HEADERS;
+        this.clock = clock;
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
         Request original = chain.request();
-        Request.Builder newRequestBuilder = original.newBuilder();
 
         boolean isApiKeyRequired = original.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) != null;
         boolean isSignatureRequired = original.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) != null;
-        newRequestBuilder.removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY)
-            .removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED);
+        if (!isApiKeyRequired && !isSignatureRequired && headers.size() == 0) {
+            return chain.proceed(original);
+        }
 
-        // Endpoint requires sending a valid API-KEY
+        Request.Builder newRequestBuilder = original.newBuilder();
         if (isApiKeyRequired || isSignatureRequired) {
-            newRequestBuilder.addHeader(BinanceApiConstants.API_KEY_HEADER, apiKey);
+            newRequestBuilder.removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY)
+                .removeHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED);
+
+            // Endpoint requires sending a valid API-KEY
+            if (apiKey != null) {
+                newRequestBuilder.header(BinanceApiConstants.API_KEY_HEADER, apiKey);
+            }
+        }
+
+        for (int i = 0, size = headers.size(); i < size; i++) {
+            newRequestBuilder.header(headers.name(i), headers.value(i));
         }
 
         // Endpoint requires signing the payload
-        if (isSignatureRequired) {
-            String payload = original.url().query();
+        if (isSignatureRequired && signer != null) {
+            HttpUrl url = original.url();
+            if (clock != null) {
+                // Stamp the request as it is sent, rather than when its parameters were built
+                HttpUrl.Builder urlBuilder = url.newBuilder()
+                    .setQueryParameter("timestamp", Long.toString(clock.currentTimeMillis()));
+                if (clock.getRecvWindowMillis() > 0) {
+                    urlBuilder.setQueryParameter("recvWindow", Long.toString(clock.getRecvWindowMillis()));
+                }
+                url = urlBuilder.build();
+            }
+            // Sign the query exactly as it is sent, and append the signature, which signers return encoded
+            String payload = url.encodedQuery();
             if (!StringUtils.isEmpty(payload)) {
-                String signature = HmacSHA256Signer.sign(payload, secret);
-                HttpUrl signedUrl = original.url().newBuilder().addQueryParameter("signature", signature).build();
-                newRequestBuilder.url(signedUrl);
+                String signature = signer.sign(payload);
+                newRequestBuilder.url(HttpUrl.get(url.toString() + "&signature=" + signature));
             }
         }
 
@@ -81,12 +149,12 @@ public class AuthenticationInterceptor implements Interceptor {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final AuthenticationInterceptor that = (AuthenticationInterceptor) o;
-        return Objects.equals(apiKey, that.apiKey) &&
-                Objects.equals(secret, that.secret);
+        return Objects.equals(apiKey, that.apiKey) && headers.equals(that.headers) &&
+                (secret != null ? secret.equals(that.secret) : that.secret == null && Objects.equals(signer, that.signer));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(apiKey, secret);
+        return Objects.hash(apiKey, secret != null ? secret : signer, headers);
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.binance.api.client.security;
+
+import java.security.PrivateKey;
+
+/**
+ * Signs requests with the private key of an Ed25519 API key.
+ *
+ * Ed25519 is provided by the JDK from Java 15 on; creating a signer on an older JDK fails.
+ */
+public class Ed25519Signer extends PrivateKeySigner {
+
+  private static final String ALGORITHM = "Ed25519";
+
+  /**
+   * @param privateKeyPem the PEM encoded PKCS#8 private key
+   */
+  public Ed25519Signer(String privateKeyPem) {
+    this(parsePrivateKey(privateKeyPem, ALGORITHM));
+  }
+
+  public Ed25519Signer(PrivateKey privateKey) {
+    super(ALGORITHM, privateKey);
+  }
+}
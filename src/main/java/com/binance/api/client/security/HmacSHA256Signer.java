@@ -4,11 +4,39 @@ import org.apache.commons.codec.binary.Hex;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 
 /**
  * Utility class to sign messages using HMAC-SHA256.
+ *
+ * Instances are bound to one secret, and sign without any setup per message: each thread signs with its own clone of a
+ * <code>Mac</code> initialized once with the key, and reuses its buffers for the message bytes, digest and hex encoding.
  */
-public class HmacSHA256Signer {
+public class HmacSHA256Signer implements RequestSigner {
+
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final SecretKeySpec key;
+
+  private final Mac prototype;
+
+  private final ThreadLocal<SigningBuffers> buffers = ThreadLocal.withInitial(this::newSigningBuffers);
+
+  /**
+   * @param secret secret key
+   */
+  public HmacSHA256Signer(String secret) {
+    try {
+      this.key = new SecretKeySpec(secret.getBytes(), ALGORITHM);
+      this.prototype = Mac.getInstance(ALGORITHM);
+      this.prototype.init(key);
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException("Unable to initialize signer.", e);
+    }
+  }
 
   /**
    * Sign the given message using the given secret.
@@ -18,12 +46,92 @@ public class HmacSHA256Signer {
    */
   public static String sign(String message, String secret) {
     try {
-      Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-      SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(), "HmacSHA256");
+      Mac sha256_HMAC = Mac.getInstance(ALGORITHM);
+      SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(), ALGORITHM);
       sha256_HMAC.init(secretKeySpec);
       return new String(Hex.encodeHex(sha256_HMAC.doFinal(message.getBytes())));
     } catch (Exception e) {
       throw new RuntimeException("Unable to sign message.", e);
     }
   }
+
+  /**
+   * Sign the given message using the secret of this signer.
+   * @param message message to sign, normally an encoded query string
+   * @return the signature, as lower-case hex
+   */
+  @Override
+  public String sign(String message) {
+    SigningBuffers signingBuffers = buffers.get();
+    Mac mac = signingBuffers.mac;
+    if (signingBuffers.encodeAscii(message)) {
+      mac.update(signingBuffers.input, 0, message.length());
+    } else {
+      // Query strings are ASCII once encoded; anything else is signed as UTF-8
+      mac.update(message.getBytes(StandardCharsets.UTF_8));
+    }
+    try {
+      mac.doFinal(signingBuffers.digest, 0);
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException("Unable to sign message.", e);
+    }
+    char[] hex = signingBuffers.hex;
+    for (int i = 0; i < signingBuffers.digest.length; i++) {
+      int b = signingBuffers.digest[i];
+      hex[2 * i] = HEX_DIGITS[(b >> 4) & 0xF];
+      hex[2 * i + 1] = HEX_DIGITS[b & 0xF];
+    }
+    return new String(hex);
+  }
+
+  private SigningBuffers newSigningBuffers() {
+    try {
+      return new SigningBuffers((Mac) prototype.clone());
+    } catch (CloneNotSupportedException e) {
+      // Some providers cannot clone; each thread then initializes its own instance once
+      try {
+        Mac mac = Mac.getInstance(ALGORITHM, prototype.getProvider());
+        mac.init(key);
+        return new SigningBuffers(mac);
+      } catch (GeneralSecurityException ex) {
+        throw new RuntimeException("Unable to initialize signer.", ex);
+      }
+    }
+  }
+
+  /**
+   * A thread's own initialized <code>Mac</code> and buffers.
+   */
+  private static final class SigningBuffers {
+    private final Mac mac;
+    private byte[] input = new byte[512];
+    private final byte[] digest;
+    private final char[] hex;
+
+    private SigningBuffers(Mac mac) {
+      this.mac = mac;
+      this.digest = new byte[mac.getMacLength()];
+      this.hex = new char[2 * digest.length];
+    }
+
+    /**
+     * Copies an ASCII message into the input buffer.
+     *
+     * @return false if the message is not ASCII
+     */
+    private boolean encodeAscii(String message) {
+      int length = message.length();
+      if (input.length < length) {
+        input = new byte[Math.max(length, 2 * input.length)];
+      }
+      for (int i = 0; i < length; i++) {
+        char c = message.charAt(i);
+        if (c > 0x7F) {
+          return false;
+        }
+        input[i] = (byte) c;
+      }
+      return true;
+    }
+  }
 }
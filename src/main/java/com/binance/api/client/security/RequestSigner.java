@@ -0,0 +1,19 @@
+package com.binance.api.client.security;
+
+/**
+ * Signs the payload of signed (<code>SIGNED</code>) requests with the secret of an API key.
+ *
+ * Implementations must be thread-safe, as one signer is shared by all the requests of the clients using the key.
+ *
+ * @see ApiKeyType
+ */
+public interface RequestSigner {
+
+  /**
+   * Signs a payload, normally the encoded query string of a request.
+   *
+   * @param payload the payload to sign
+   * @return the signature, ready to be appended to a query string as the value of the <code>signature</code> parameter
+   */
+  String sign(String payload);
+}
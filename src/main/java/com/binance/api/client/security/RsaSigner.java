@@ -0,0 +1,22 @@
+package com.binance.api.client.security;
+
+import java.security.PrivateKey;
+
+/**
+ * Signs requests with the private key of an RSA API key, using SHA256withRSA (PKCS#1 v1.5).
+ */
+public class RsaSigner extends PrivateKeySigner {
+
+  private static final String ALGORITHM = "SHA256withRSA";
+
+  /**
+   * @param privateKeyPem the PEM encoded PKCS#8 private key
+   */
+  public RsaSigner(String privateKeyPem) {
+    this(parsePrivateKey(privateKeyPem, "RSA"));
+  }
+
+  public RsaSigner(PrivateKey privateKey) {
+    super(ALGORITHM, privateKey);
+  }
+}
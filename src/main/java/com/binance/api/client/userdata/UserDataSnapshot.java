@@ -0,0 +1,81 @@
+package com.binance.api.client.userdata;
+
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.Order;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.List;
+
+/**
+ * The state of an account read with the REST API, to reconcile state derived from its user data stream with.
+ */
+public class UserDataSnapshot {
+
+  private final Account account;
+
+  private final List<Order> openOrders;
+
+  private final List<Order> readOrders;
+
+  private final long takenAt;
+
+  private final BinanceApiStreamGap gap;
+
+  public UserDataSnapshot(Account account, List<Order> openOrders, List<Order> readOrders, long takenAt,
+                          BinanceApiStreamGap gap) {
+    this.account = account;
+    this.openOrders = openOrders;
+    this.readOrders = readOrders;
+    this.takenAt = takenAt;
+    this.gap = gap;
+  }
+
+  /**
+   * @return the account, with its balances
+   */
+  public Account getAccount() {
+    return account;
+  }
+
+  /**
+   * @return the open orders of all symbols
+   */
+  public List<Order> getOpenOrders() {
+    return openOrders;
+  }
+
+  /**
+   * @return the orders read because the listeners asked for them, e.g. orders which completed during the gap
+   * @see UserDataStreamListener#getOrdersToRead(List, long)
+   */
+  public List<Order> getReadOrders() {
+    return readOrders;
+  }
+
+  /**
+   * @return the time, in milliseconds since the epoch, at which the snapshot was requested
+   */
+  public long getTakenAt() {
+    return takenAt;
+  }
+
+  /**
+   * @return the gap this snapshot covers, or null for the snapshot taken when the session started
+   */
+  public BinanceApiStreamGap getGap() {
+    return gap;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("account", account)
+        .append("openOrders", openOrders)
+        .append("readOrders", readOrders)
+        .append("takenAt", takenAt)
+        .append("gap", gap)
+        .toString();
+  }
+}
@@ -0,0 +1,44 @@
+package com.binance.api.client.userdata;
+
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listener of a {@link UserDataStreamSession}.
+ *
+ * Its methods are never called concurrently, except {@link #getOrdersToRead}.
+ */
+public interface UserDataStreamListener {
+
+  /**
+   * Called with the state of the account when the session starts, and again after every gap in its stream. Events
+   * received while the snapshot was taken are delivered right after it, so some of them may predate it.
+   */
+  void onSnapshot(UserDataSnapshot snapshot);
+
+  /**
+   * Called while a snapshot is taken, once its open orders were read, with the orders whose state should be read as
+   * well and handed along with it, e.g. open orders which are missing from the snapshot because they completed during
+   * the gap. Unlike the other methods, it is called on the thread taking the snapshot, concurrently with them.
+   *
+   * @param openOrders the open orders of all symbols
+   * @param readAt     the time, in milliseconds since the epoch, at which the open orders were requested
+   */
+  default List<OrderStatusRequest> getOrdersToRead(List<Order> openOrders, long readAt) {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Called with every event of the stream, except the expiry of its listen key which the session handles itself.
+   */
+  void onEvent(UserDataUpdateEvent event);
+
+  /**
+   * Called when a snapshot could not be taken, before it is tried again, or when the stream was given up.
+   */
+  default void onFailure(Throwable cause) {}
+}
@@ -0,0 +1,367 @@
+package com.binance.api.client.userdata;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.impl.BinanceApiSupervisedWebSocket;
+import com.binance.api.client.impl.BinanceApiWebSocketListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A user data stream which manages its own listen key.
+ *
+ * The key is kept alive periodically, and the stream is reconnected whenever it fails, with a key fetched again for each
+ * connection, so that a key which expired while disconnected is replaced. An expired key, whether announced by the
+ * stream or found by a keep-alive, makes the stream reconnect with a new one. After every such gap, and when the session
+ * starts, the account and its open orders are read with the REST API and handed to the listeners as a snapshot, along
+ * with the orders the listeners asked to read; events received meanwhile are held back and delivered right after it.
+ * Snapshots are taken without holding back the delivery of the events which are not.
+ *
+ * Binance hands the same listen key to every stream of an account, so a session is meant to be shared by all the
+ * listeners of an account, e.g. its balance and order caches: closing a session closes the streams of the other
+ * sessions of the account, and each session takes its own snapshots.
+ */
+public class UserDataStreamSession implements Closeable {
+
+  /**
+   * Period of the keep-alives; listen keys expire 60 minutes after the last one.
+   */
+  public static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+  /**
+   * Error code of the requests made with a listen key which does not exist, e.g. because it expired.
+   */
+  private static final int UNKNOWN_LISTEN_KEY = -1125;
+
+  /**
+   * Shared by all sessions; runs keep-alives, listen key requests and snapshots, which are rare.
+   */
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "binance-api-user-data-stream");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final BinanceApiRestClient restClient;
+
+  private final OkHttpClient client;
+
+  private final String streamUrl;
+
+  private final BinanceApiWebSocketReconnectPolicy reconnectPolicy;
+
+  private final long keepAliveMillis;
+
+  private final List<UserDataStreamListener> listeners;
+
+  /**
+   * Serializes the calls of the listeners.
+   */
+  private final Object deliveryLock = new Object();
+
+  /**
+   * Events received while a snapshot is taken, or null if none is.
+   */
+  private List<UserDataUpdateEvent> pendingEvents;
+
+  /**
+   * Number of the latest snapshot requested; earlier ones still being taken are dropped.
+   */
+  private int snapshotRequest = 0;
+
+  private volatile String listenKey;
+
+  private volatile boolean closed = false;
+
+  private BinanceApiWebSocketListener<UserDataUpdateEvent> streamListener;
+
+  private BinanceApiSupervisedWebSocket webSocket;
+
+  private ScheduledFuture<?> keepAlive;
+
+  /**
+   * Creates a session on the Binance stream endpoint, reconnecting forever.
+   *
+   * @param restClient client managing the listen key and taking snapshots, which must have an API key and secret
+   * @param client     client used to open the stream connections
+   * @param listeners  listeners of the snapshots and events, called in this order
+   */
+  public UserDataStreamSession(BinanceApiRestClient restClient, OkHttpClient client, UserDataStreamListener... listeners) {
+    this(restClient, client, BinanceApiConstants.WSS_INDIVIDUAL_URL, new BinanceApiWebSocketReconnectPolicy(),
+        DEFAULT_KEEP_ALIVE_MILLIS, listeners);
+  }
+
+  /**
+   * @param streamUrl       URL of the stream endpoint, to which the listen key is appended
+   * @param reconnectPolicy reconnect policy of the stream, whose backoff also spaces the attempts to take a snapshot
+   * @param keepAliveMillis period of the keep-alives
+   * @see #UserDataStreamSession(BinanceApiRestClient, OkHttpClient, UserDataStreamListener...)
+   */
+  public UserDataStreamSession(BinanceApiRestClient restClient, OkHttpClient client, String streamUrl,
+                               BinanceApiWebSocketReconnectPolicy reconnectPolicy, long keepAliveMillis,
+                               UserDataStreamListener... listeners) {
+    this.restClient = restClient;
+    this.client = client;
+    this.streamUrl = streamUrl;
+    this.reconnectPolicy = reconnectPolicy;
+    this.keepAliveMillis = keepAliveMillis;
+    this.listeners = Arrays.asList(listeners.clone());
+  }
+
+  /**
+   * Fetches a listen key, opens the stream and requests the first snapshot.
+   *
+   * @return this session
+   * @throws BinanceApiException if no listen key could be fetched
+   */
+  public synchronized UserDataStreamSession start() {
+    if (streamListener != null) {
+      throw new IllegalStateException("The session was already started");
+    }
+    streamListener = new BinanceApiWebSocketListener<>(new StreamCallback(), UserDataUpdateEvent.class);
+    // Listen keys are fetched on the scheduler of the sessions, not on the one shared by all supervised web sockets
+    webSocket = new BinanceApiSupervisedWebSocket(client, this::newRequest, scheduler, streamListener, streamListener::onGap,
+        reconnectPolicy);
+    requestSnapshot(null);
+    webSocket.open();
+    keepAlive = scheduler.scheduleAtFixedRate(this::keepAlive, keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  /**
+   * @return the listen key of the current connection, or null if the session was not started
+   */
+  public String getListenKey() {
+    return listenKey;
+  }
+
+  /**
+   * Closes the stream and its listen key, which also closes the streams of the other sessions of the account.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed || streamListener == null) {
+        return;
+      }
+      closed = true;
+    }
+    keepAlive.cancel(false);
+    final int code = 1000;
+    streamListener.onClosing(webSocket.getWebSocket(), code, null);
+    webSocket.close();
+    streamListener.onClosed(webSocket.getWebSocket(), code, null);
+    restClient.closeUserDataStream(listenKey);
+  }
+
+  /**
+   * Builds the request of each connection, with a key fetched again so that a key which expired is replaced. Fetching
+   * an existing key also extends it.
+   */
+  private Request newRequest() {
+    try {
+      listenKey = restClient.startUserDataStream();
+    } catch (BinanceApiException e) {
+      if (listenKey == null) {
+        throw e;
+      }
+      // Reconnect with the current key; should it have expired, the connection fails and is retried with a new one
+    }
+    return new Request.Builder().url(String.format("%s/%s", streamUrl, listenKey)).build();
+  }
+
+  private void keepAlive() {
+    try {
+      restClient.keepAliveUserDataStream(listenKey);
+    } catch (BinanceApiException e) {
+      if (e.getErrorCode() == UNKNOWN_LISTEN_KEY) {
+        restart();
+      }
+      // Otherwise the key stays valid until the next keep-alive extends it
+    }
+  }
+
+  /**
+   * Makes the stream reconnect with a new key, reporting a gap once it has.
+   */
+  private void restart() {
+    WebSocket current = webSocket.getWebSocket();
+    if (!closed && current != null) {
+      current.cancel();
+    }
+  }
+
+  /**
+   * Holds back events until a new snapshot has been taken and delivered.
+   *
+   * @param gap the gap the snapshot covers, or null for the first one
+   */
+  private void requestSnapshot(BinanceApiStreamGap gap) {
+    int request;
+    synchronized (deliveryLock) {
+      if (pendingEvents == null) {
+        pendingEvents = new ArrayList<>();
+      }
+      request = ++snapshotRequest;
+    }
+    scheduler.execute(() -> takeSnapshot(request, gap, 1));
+  }
+
+  private void takeSnapshot(int request, BinanceApiStreamGap gap, int attempt) {
+    synchronized (deliveryLock) {
+      if (closed || request != snapshotRequest) {
+        return;
+      }
+    }
+    UserDataSnapshot snapshot;
+    try {
+      long takenAt = System.currentTimeMillis();
+      Account account = restClient.getAccount();
+      List<Order> openOrders = restClient.getOpenOrders(new OrderRequest(null));
+      snapshot = new UserDataSnapshot(account, openOrders, readOrders(openOrders, takenAt), takenAt, gap);
+    } catch (RuntimeException e) {
+      synchronized (deliveryLock) {
+        notifyFailure(e);
+      }
+      scheduler.schedule(() -> takeSnapshot(request, gap, attempt + 1), reconnectPolicy.getBackoffMillis(attempt), TimeUnit.MILLISECONDS);
+      return;
+    }
+    synchronized (deliveryLock) {
+      if (closed || request != snapshotRequest) {
+        return;
+      }
+      List<UserDataUpdateEvent> events = pendingEvents;
+      pendingEvents = null;
+      for (UserDataStreamListener listener : listeners) {
+        try {
+          listener.onSnapshot(snapshot);
+        } catch (RuntimeException e) {
+          notifyFailure(listener, e);
+        }
+      }
+      for (UserDataUpdateEvent event : events) {
+        deliver(event);
+      }
+    }
+  }
+
+  /**
+   * Reads the orders the listeners ask for, each once, outside the delivery lock so that the stream is not held up by as
+   * many REST requests. An order which cannot be read is left out of the snapshot.
+   */
+  private List<Order> readOrders(List<Order> openOrders, long takenAt) {
+    Map<Long, OrderStatusRequest> requests = new LinkedHashMap<>();
+    for (UserDataStreamListener listener : listeners) {
+      try {
+        for (OrderStatusRequest request : listener.getOrdersToRead(openOrders, takenAt)) {
+          requests.putIfAbsent(request.getOrderId(), request);
+        }
+      } catch (RuntimeException e) {
+        synchronized (deliveryLock) {
+          notifyFailure(listener, e);
+        }
+      }
+    }
+    List<Order> orders = new ArrayList<>();
+    for (OrderStatusRequest request : requests.values()) {
+      try {
+        orders.add(restClient.getOrderStatus(request));
+      } catch (BinanceApiException e) {
+        // The listeners may ask for it again with the next snapshot
+      }
+    }
+    return orders;
+  }
+
+  /**
+   * Hands an event to the listeners; an exception thrown by a listener is reported to it, and neither stops the other
+   * listeners nor the delivery of the next events. Must be called while holding the delivery lock.
+   */
+  private void deliver(UserDataUpdateEvent event) {
+    for (UserDataStreamListener listener : listeners) {
+      try {
+        listener.onEvent(event);
+      } catch (RuntimeException e) {
+        notifyFailure(listener, e);
+      }
+    }
+  }
+
+  /**
+   * Must be called while holding the delivery lock.
+   */
+  private void notifyFailure(Throwable cause) {
+    for (UserDataStreamListener listener : listeners) {
+      notifyFailure(listener, cause);
+    }
+  }
+
+  /**
+   * Must be called while holding the delivery lock.
+   */
+  private static void notifyFailure(UserDataStreamListener listener, Throwable cause) {
+    try {
+      listener.onFailure(cause);
+    } catch (RuntimeException e) {
+      // The listener has nothing else to be told with
+    }
+  }
+
+  /**
+   * Receives the events of the current connection, and its gaps.
+   */
+  private final class StreamCallback implements BinanceApiStreamCallback<UserDataUpdateEvent> {
+
+    @Override
+    public void onResponse(UserDataUpdateEvent event) {
+      if (event.getEventType() == UserDataUpdateEventType.LISTEN_KEY_EXPIRED) {
+        restart();
+        return;
+      }
+      synchronized (deliveryLock) {
+        if (pendingEvents != null) {
+          pendingEvents.add(event);
+        } else {
+          deliver(event);
+        }
+      }
+    }
+
+    @Override
+    public void onGap(BinanceApiStreamGap gap) {
+      // A rotation overlaps both connections, so only a failure can have lost events
+      if (gap.getReason() == BinanceApiStreamGap.Reason.FAILURE) {
+        requestSnapshot(gap);
+      }
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+      synchronized (deliveryLock) {
+        notifyFailure(cause);
+      }
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package com.binance.api.client.validation;
+
+import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.cache.OrderStateCache;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks new orders against the filters of their symbol before they are sent, rejecting those the exchange would reject.
+ *
+ * The filters of every symbol are compiled once into {@link SymbolRules}, so that checking an order only parses its
+ * decimals and compares fixed-point mantissas. Orders can also be rounded onto the tick and step sizes of their symbol.
+ * Orders by quote quantity are not checked against the lot size and minimum notional filters, and the PERCENT_PRICE
+ * filter and the minimum notional of MARKET orders are only checked when given a reference price.
+ *
+ * The rules are replaced on {@link #refresh(ExchangeInfo)}; validation is lock-free and can be done from any thread.
+ */
+public class OrderValidator {
+
+  /**
+   * Reference price used when it is not known.
+   */
+  public static final long UNKNOWN_PRICE = -1;
+
+  private final OrderStateCache openOrders;
+
+  private volatile Map<String, SymbolRules> rulesBySymbol;
+
+  public OrderValidator(ExchangeInfo exchangeInfo) {
+    this(exchangeInfo, null);
+  }
+
+  /**
+   * @param openOrders if set, used to check the MAX_NUM_ORDERS filter
+   */
+  public OrderValidator(ExchangeInfo exchangeInfo, OrderStateCache openOrders) {
+    this.openOrders = openOrders;
+    refresh(exchangeInfo);
+  }
+
+  /**
+   * Compiles the rules of the symbols of new exchange information, replacing the previous ones.
+   */
+  public void refresh(ExchangeInfo exchangeInfo) {
+    Map<String, SymbolRules> rules = new HashMap<>();
+    for (SymbolInfo symbolInfo : exchangeInfo.getSymbols()) {
+      rules.put(symbolInfo.getSymbol(), SymbolRules.compile(symbolInfo));
+    }
+    this.rulesBySymbol = rules;
+  }
+
+  /**
+   * @return the rules of a symbol, or null if it is not known
+   */
+  public SymbolRules getRules(String symbol) {
+    return rulesBySymbol.get(symbol);
+  }
+
+  /**
+   * @return the first violation of a new order, or null if the order is valid
+   */
+  public OrderViolation findViolation(NewOrder order) {
+    return findViolation(order, UNKNOWN_PRICE);
+  }
+
+  /**
+   * @param referencePrice the average price of the symbol, as a mantissa at its price scale, or {@link #UNKNOWN_PRICE}
+   * @return the first violation of a new order, or null if the order is valid
+   */
+  public OrderViolation findViolation(NewOrder order, long referencePrice) {
+    SymbolRules rules = rulesBySymbol.get(order.getSymbol());
+    if (rules == null) {
+      return OrderViolation.UNKNOWN_SYMBOL;
+    }
+    if (!rules.isTrading()) {
+      return OrderViolation.SYMBOL_NOT_TRADING;
+    }
+    OrderType type = order.getType();
+    if (!rules.isOrderTypeAllowed(type)) {
+      return OrderViolation.ORDER_TYPE_NOT_ALLOWED;
+    }
+
+    long price = UNKNOWN_PRICE;
+    if (hasPrice(type)) {
+      price = parse(order.getPrice(), rules.getPriceScale());
+      if (price < 0 || !rules.isValidPrice(price)) {
+        return OrderViolation.PRICE_FILTER;
+      }
+      if (referencePrice > 0 && !rules.isValidPercentPrice(price, referencePrice)) {
+        return OrderViolation.PERCENT_PRICE;
+      }
+    }
+    if (hasStopPrice(type)) {
+      long stopPrice = parse(order.getStopPrice(), rules.getPriceScale());
+      if (stopPrice < 0 || !rules.isValidPrice(stopPrice)) {
+        return OrderViolation.PRICE_FILTER;
+      }
+      if (price == UNKNOWN_PRICE) {
+        // Triggered as MARKET orders, at about the stop price
+        price = stopPrice;
+      }
+    }
+
+    if (order.getQuantity() != null) {
+      long qty = parse(order.getQuantity(), rules.getQtyScale());
+      if (qty < 0 || !rules.isValidQty(qty)) {
+        return OrderViolation.LOT_SIZE;
+      }
+      if (type == OrderType.MARKET) {
+        if (!rules.isValidMarketQty(qty)) {
+          return OrderViolation.MARKET_LOT_SIZE;
+        }
+        if (rules.isMinNotionalAppliedToMarket() && referencePrice > 0 && !rules.isValidNotional(referencePrice, qty)) {
+          return OrderViolation.MIN_NOTIONAL;
+        }
+      } else if (price > 0 && !rules.isValidNotional(price, qty)) {
+        return OrderViolation.MIN_NOTIONAL;
+      }
+    }
+
+    if (openOrders != null && rules.getMaxNumOrders() > 0 &&
+        openOrders.getOpenOrderCount(order.getSymbol()) >= rules.getMaxNumOrders()) {
+      return OrderViolation.MAX_NUM_ORDERS;
+    }
+    return null;
+  }
+
+  /**
+   * Checks a new order.
+   *
+   * @return the order, if it is valid
+   * @throws BinanceApiException with the error the exchange would answer, if the order is not valid
+   */
+  public NewOrder check(NewOrder order) {
+    return check(order, UNKNOWN_PRICE);
+  }
+
+  /**
+   * Checks a new order.
+   *
+   * @param referencePrice the average price of the symbol, as a mantissa at its price scale, or {@link #UNKNOWN_PRICE}
+   * @return the order, if it is valid
+   * @throws BinanceApiException with the error the exchange would answer, if the order is not valid
+   */
+  public NewOrder check(NewOrder order, long referencePrice) {
+    OrderViolation violation = findViolation(order, referencePrice);
+    if (violation != null) {
+      BinanceApiError error = new BinanceApiError();
+      error.setCode(violation.getErrorCode());
+      error.setMsg(violation.getMessage());
+      throw new BinanceApiException(error);
+    }
+    return order;
+  }
+
+  /**
+   * Rounds the prices of a new order onto a tick, down for BUY orders and up for SELL orders, and its quantity down onto
+   * a step, then checks it.
+   *
+   * @return the order, rounded in place, if it is valid once rounded
+   * @throws BinanceApiException with the error the exchange would answer, if the order is not valid once rounded
+   */
+  public NewOrder round(NewOrder order) {
+    SymbolRules rules = rulesBySymbol.get(order.getSymbol());
+    if (rules != null) {
+      boolean up = order.getSide() == OrderSide.SELL;
+      if (hasPrice(order.getType()) && order.getPrice() != null) {
+        order.price(roundPrice(rules, order.getPrice(), up));
+      }
+      if (hasStopPrice(order.getType()) && order.getStopPrice() != null) {
+        order.stopPrice(roundPrice(rules, order.getStopPrice(), up));
+      }
+      if (order.getQuantity() != null) {
+        try {
+          long qty = rules.roundQty(FixedPointDecimal.parse(order.getQuantity(), FixedPointDecimal.MAX_SCALE),
+              order.getType() == OrderType.MARKET);
+          order.quantity(FixedPointDecimal.toString(qty, rules.getQtyScale()));
+        } catch (NumberFormatException e) {
+          // Left as is, and rejected by the check
+        }
+      }
+    }
+    return check(order);
+  }
+
+  private static String roundPrice(SymbolRules rules, String price, boolean up) {
+    try {
+      return FixedPointDecimal.toString(rules.roundPrice(FixedPointDecimal.parse(price, FixedPointDecimal.MAX_SCALE), up),
+          rules.getPriceScale());
+    } catch (NumberFormatException e) {
+      return price;
+    }
+  }
+
+  private static boolean hasPrice(OrderType type) {
+    return type == OrderType.LIMIT || type == OrderType.LIMIT_MAKER ||
+        type == OrderType.STOP_LOSS_LIMIT || type == OrderType.TAKE_PROFIT_LIMIT;
+  }
+
+  private static boolean hasStopPrice(OrderType type) {
+    return type == OrderType.STOP_LOSS || type == OrderType.STOP_LOSS_LIMIT ||
+        type == OrderType.TAKE_PROFIT || type == OrderType.TAKE_PROFIT_LIMIT;
+  }
+
+  /**
+   * @return the mantissa of a decimal, or -1 if it is missing, malformed or finer than the scale
+   */
+  private static long parse(String value, int scale) {
+    if (value == null) {
+      return -1;
+    }
+    try {
+      return FixedPointDecimal.parse(value, scale);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
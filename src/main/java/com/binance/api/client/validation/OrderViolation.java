@@ -0,0 +1,35 @@
+package com.binance.api.client.validation;
+
+/**
+ * A reason for the exchange to reject a new order, found before sending it, with the error the exchange would answer.
+ *
+ * @see OrderValidator
+ */
+public enum OrderViolation {
+  UNKNOWN_SYMBOL(-1121, "Invalid symbol."),
+  SYMBOL_NOT_TRADING(-1013, "Market is closed."),
+  ORDER_TYPE_NOT_ALLOWED(-1116, "Invalid orderType."),
+  PRICE_FILTER(-1013, "Filter failure: PRICE_FILTER"),
+  PERCENT_PRICE(-1013, "Filter failure: PERCENT_PRICE"),
+  LOT_SIZE(-1013, "Filter failure: LOT_SIZE"),
+  MARKET_LOT_SIZE(-1013, "Filter failure: MARKET_LOT_SIZE"),
+  MIN_NOTIONAL(-1013, "Filter failure: MIN_NOTIONAL"),
+  MAX_NUM_ORDERS(-1013, "Filter failure: MAX_NUM_ORDERS");
+
+  private final int errorCode;
+
+  private final String message;
+
+  OrderViolation(int errorCode, String message) {
+    this.errorCode = errorCode;
+    this.message = message;
+  }
+
+  public int getErrorCode() {
+    return errorCode;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+}
@@ -0,0 +1,297 @@
+package com.binance.api.client.validation;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.domain.general.SymbolFilter;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The trading rules of a symbol, compiled from its filters into fixed-point mantissas.
+ *
+ * Prices are mantissas at {@link #getPriceScale()}, quantities at {@link #getQtyScale()}, and notionals at the sum of
+ * both. A zero bound, increment or multiplier means that the rule does not apply.
+ */
+public final class SymbolRules {
+
+  private final String symbol;
+  private final boolean trading;
+  private final Set<OrderType> orderTypes;
+  private final int priceScale;
+  private final int qtyScale;
+  private final long minPrice;
+  private final long maxPrice;
+  private final long tickSize;
+  private final long minQty;
+  private final long maxQty;
+  private final long stepSize;
+  private final long marketMinQty;
+  private final long marketMaxQty;
+  private final long marketStepSize;
+  private final long minNotional;
+  private final boolean minNotionalAppliedToMarket;
+  private final double multiplierUp;
+  private final double multiplierDown;
+  private final int maxNumOrders;
+
+  private SymbolRules(SymbolInfo symbolInfo) {
+    SymbolFilter priceFilter = getFilter(symbolInfo, FilterType.PRICE_FILTER);
+    SymbolFilter lotSize = getFilter(symbolInfo, FilterType.LOT_SIZE);
+    SymbolFilter marketLotSize = getFilter(symbolInfo, FilterType.MARKET_LOT_SIZE);
+    SymbolFilter minNotionalFilter = getFilter(symbolInfo, FilterType.MIN_NOTIONAL);
+    SymbolFilter percentPrice = getFilter(symbolInfo, FilterType.PERCENT_PRICE);
+    SymbolFilter maxNumOrdersFilter = getFilter(symbolInfo, FilterType.MAX_NUM_ORDERS);
+
+    this.symbol = symbolInfo.getSymbol();
+    this.trading = symbolInfo.getStatus() == SymbolStatus.TRADING;
+    this.orderTypes = symbolInfo.getOrderTypes() == null || symbolInfo.getOrderTypes().isEmpty()
+        ? EnumSet.allOf(OrderType.class) : EnumSet.copyOf(symbolInfo.getOrderTypes());
+    this.priceScale = priceFilter == null ? 0
+        : scaleOf(priceFilter.getTickSize(), priceFilter.getMinPrice(), priceFilter.getMaxPrice());
+    this.qtyScale = Math.max(lotSize == null ? 0 : scaleOf(lotSize.getStepSize(), lotSize.getMinQty(), lotSize.getMaxQty()),
+        marketLotSize == null ? 0 : scaleOf(marketLotSize.getStepSize(), marketLotSize.getMinQty(), marketLotSize.getMaxQty()));
+    this.minPrice = priceFilter == null ? 0 : parse(priceFilter.getMinPrice(), priceScale);
+    this.maxPrice = priceFilter == null ? 0 : parse(priceFilter.getMaxPrice(), priceScale);
+    this.tickSize = priceFilter == null ? 0 : parse(priceFilter.getTickSize(), priceScale);
+    this.minQty = lotSize == null ? 0 : parse(lotSize.getMinQty(), qtyScale);
+    this.maxQty = lotSize == null ? 0 : parse(lotSize.getMaxQty(), qtyScale);
+    this.stepSize = lotSize == null ? 0 : parse(lotSize.getStepSize(), qtyScale);
+    this.marketMinQty = marketLotSize == null ? 0 : parse(marketLotSize.getMinQty(), qtyScale);
+    this.marketMaxQty = marketLotSize == null ? 0 : parse(marketLotSize.getMaxQty(), qtyScale);
+    this.marketStepSize = marketLotSize == null ? 0 : parse(marketLotSize.getStepSize(), qtyScale);
+    this.minNotional = minNotionalFilter == null ? 0 : parse(minNotionalFilter.getMinNotional(), priceScale + qtyScale);
+    this.minNotionalAppliedToMarket = minNotionalFilter != null && Boolean.TRUE.equals(minNotionalFilter.getApplyToMarket());
+    this.multiplierUp = percentPrice == null || percentPrice.getMultiplierUp() == null ? 0 : Double.parseDouble(percentPrice.getMultiplierUp());
+    this.multiplierDown = percentPrice == null || percentPrice.getMultiplierDown() == null ? 0 : Double.parseDouble(percentPrice.getMultiplierDown());
+    this.maxNumOrders = maxNumOrdersFilter == null || maxNumOrdersFilter.getMaxNumOrders() == null ? 0 : maxNumOrdersFilter.getMaxNumOrders();
+  }
+
+  /**
+   * Compiles the rules of a symbol.
+   */
+  public static SymbolRules compile(SymbolInfo symbolInfo) {
+    return new SymbolRules(symbolInfo);
+  }
+
+  private static SymbolFilter getFilter(SymbolInfo symbolInfo, FilterType filterType) {
+    if (symbolInfo.getFilters() != null) {
+      for (SymbolFilter filter : symbolInfo.getFilters()) {
+        if (filter.getFilterType() == filterType) {
+          return filter;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static int scaleOf(String... values) {
+    int scale = 0;
+    for (String value : values) {
+      if (StringUtils.isNotEmpty(value)) {
+        scale = Math.max(scale, FixedPointDecimal.scaleOf(value));
+      }
+    }
+    return Math.min(scale, FixedPointDecimal.MAX_SCALE);
+  }
+
+  private static long parse(String value, int scale) {
+    return StringUtils.isEmpty(value) ? 0 : FixedPointDecimal.parse(value, scale);
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * @return whether the symbol can be traded
+   */
+  public boolean isTrading() {
+    return trading;
+  }
+
+  public boolean isOrderTypeAllowed(OrderType orderType) {
+    return orderTypes.contains(orderType);
+  }
+
+  public int getPriceScale() {
+    return priceScale;
+  }
+
+  public int getQtyScale() {
+    return qtyScale;
+  }
+
+  public long getMinPrice() {
+    return minPrice;
+  }
+
+  public long getMaxPrice() {
+    return maxPrice;
+  }
+
+  public long getTickSize() {
+    return tickSize;
+  }
+
+  public long getMinQty() {
+    return minQty;
+  }
+
+  public long getMaxQty() {
+    return maxQty;
+  }
+
+  public long getStepSize() {
+    return stepSize;
+  }
+
+  public long getMarketMinQty() {
+    return marketMinQty;
+  }
+
+  public long getMarketMaxQty() {
+    return marketMaxQty;
+  }
+
+  public long getMarketStepSize() {
+    return marketStepSize;
+  }
+
+  /**
+   * @return the minimum notional, at the sum of the price and quantity scales
+   */
+  public long getMinNotional() {
+    return minNotional;
+  }
+
+  /**
+   * @return whether the minimum notional also applies to MARKET orders
+   */
+  public boolean isMinNotionalAppliedToMarket() {
+    return minNotionalAppliedToMarket;
+  }
+
+  public double getMultiplierUp() {
+    return multiplierUp;
+  }
+
+  public double getMultiplierDown() {
+    return multiplierDown;
+  }
+
+  public int getMaxNumOrders() {
+    return maxNumOrders;
+  }
+
+  /**
+   * @return whether a price is within the bounds and on a tick of the PRICE_FILTER
+   */
+  public boolean isValidPrice(long price) {
+    return isValid(price, minPrice, maxPrice, tickSize);
+  }
+
+  /**
+   * @return whether a quantity is within the bounds and on a step of the LOT_SIZE filter
+   */
+  public boolean isValidQty(long qty) {
+    return isValid(qty, minQty, maxQty, stepSize);
+  }
+
+  /**
+   * @return whether a quantity is within the bounds and on a step of the MARKET_LOT_SIZE filter
+   */
+  public boolean isValidMarketQty(long qty) {
+    return isValid(qty, marketMinQty, marketMaxQty, marketStepSize);
+  }
+
+  /**
+   * @return whether the notional of a price and quantity reaches the minimum notional
+   */
+  public boolean isValidNotional(long price, long qty) {
+    if (minNotional == 0 || price == 0 || qty > Long.MAX_VALUE / price) {
+      // Overflowing notionals are far above any minimum
+      return true;
+    }
+    return price * qty >= minNotional;
+  }
+
+  /**
+   * @param referencePrice the average price of the symbol
+   * @return whether a price is within the bounds of the PERCENT_PRICE filter
+   */
+  public boolean isValidPercentPrice(long price, long referencePrice) {
+    return (multiplierUp == 0 || price <= referencePrice * multiplierUp) &&
+        (multiplierDown == 0 || price >= referencePrice * multiplierDown);
+  }
+
+  private static boolean isValid(long value, long min, long max, long increment) {
+    return value >= min && (max == 0 || value <= max) && (increment == 0 || (value - min) % increment == 0);
+  }
+
+  /**
+   * Rounds a price to a tick of the PRICE_FILTER.
+   *
+   * @param price mantissa at {@link FixedPointDecimal#MAX_SCALE}
+   * @param up    whether to round up, rather than down
+   * @return the rounded price, at the price scale
+   */
+  long roundPrice(long price, boolean up) {
+    return round(price, minPrice, tickSize, priceScale, up);
+  }
+
+  /**
+   * Rounds a quantity down to a step of the LOT_SIZE filter, or of the MARKET_LOT_SIZE filter for MARKET orders.
+   *
+   * @param qty mantissa at {@link FixedPointDecimal#MAX_SCALE}
+   * @return the rounded quantity, at the quantity scale
+   */
+  long roundQty(long qty, boolean market) {
+    long increment = market && marketStepSize != 0 ? marketStepSize : stepSize;
+    long min = market && marketStepSize != 0 ? marketMinQty : minQty;
+    return round(qty, min, increment, qtyScale, false);
+  }
+
+  private static long round(long value, long min, long increment, int scale, boolean up) {
+    long unit = 1;
+    for (int i = scale; i < FixedPointDecimal.MAX_SCALE; i++) {
+      unit *= 10;
+    }
+    if (increment == 0) {
+      return Math.floorDiv(value, unit);
+    }
+    long scaledMin = min * unit;
+    long scaledIncrement = increment * unit;
+    long offset = value - scaledMin;
+    long rounded = scaledMin + Math.floorDiv(offset, scaledIncrement) * scaledIncrement;
+    if (up && rounded != value) {
+      rounded += scaledIncrement;
+    }
+    return rounded / unit;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("symbol", symbol)
+        .append("trading", trading)
+        .append("orderTypes", orderTypes)
+        .append("minPrice", FixedPointDecimal.toString(minPrice, priceScale))
+        .append("maxPrice", FixedPointDecimal.toString(maxPrice, priceScale))
+        .append("tickSize", FixedPointDecimal.toString(tickSize, priceScale))
+        .append("minQty", FixedPointDecimal.toString(minQty, qtyScale))
+        .append("maxQty", FixedPointDecimal.toString(maxQty, qtyScale))
+        .append("stepSize", FixedPointDecimal.toString(stepSize, qtyScale))
+        .append("minNotional", FixedPointDecimal.toString(minNotional, priceScale + qtyScale))
+        .append("multiplierUp", multiplierUp)
+        .append("multiplierDown", multiplierDown)
+        .append("maxNumOrders", maxNumOrders)
+        .toString();
+  }
+}
@@ -0,0 +1,85 @@
+package com.binance.api.client;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the batch combinators of {@link BinanceApiFutures}.
+ */
+public class BinanceApiFuturesTest {
+
+  @Test
+  public void testForEachBoundsConcurrencyAndKeepsKeyOrder() {
+    List<CompletableFuture<String>> pending = new ArrayList<>();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<String> symbols = Arrays.asList("BTCUSDT", "ETHUSDT", "BNBUSDT", "LTCUSDT", "XRPUSDT");
+    CompletableFuture<Map<String, String>> batch = BinanceApiFutures.forEach(symbols, 2, symbol -> {
+      CompletableFuture<String> future = new CompletableFuture<>();
+      pending.add(future);
+      long inFlight = pending.stream().filter(f -> !f.isDone()).count();
+      maxInFlight.set(Math.max(maxInFlight.get(), (int) inFlight));
+      return future;
+    });
+    assertEquals(2, pending.size());
+    // Complete the calls out of order
+    pending.get(1).complete("ETH");
+    assertEquals(3, pending.size());
+    pending.get(0).complete("BTC");
+    pending.get(2).complete("BNB");
+    pending.get(4).complete("XRP");
+    assertFalse(batch.isDone());
+    pending.get(3).complete("LTC");
+
+    Map<String, String> results = batch.join();
+    assertEquals(symbols, new ArrayList<>(results.keySet()));
+    assertEquals(Arrays.asList("BTC", "ETH", "BNB", "LTC", "XRP"), new ArrayList<>(results.values()));
+    assertEquals(2, maxInFlight.get());
+  }
+
+  @Test
+  public void testFailureStopsBatchAndCancelsCallsInFlight() throws Exception {
+    List<CompletableFuture<Integer>> pending = new ArrayList<>();
+    List<Supplier<CompletableFuture<Integer>>> calls = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      calls.add(() -> {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        pending.add(future);
+        return future;
+      });
+    }
+    CompletableFuture<List<Integer>> batch = BinanceApiFutures.all(calls, 3);
+    IllegalStateException failure = new IllegalStateException("failed");
+    pending.get(1).completeExceptionally(failure);
+    try {
+      batch.get();
+      fail("Expected the batch to fail");
+    } catch (ExecutionException e) {
+      assertSame(failure, e.getCause());
+    }
+    assertEquals(3, pending.size());
+    assertTrue(pending.get(0).isCancelled());
+    assertTrue(pending.get(2).isCancelled());
+  }
+
+  @Test
+  public void testSynchronouslyCompletedCallsDoNotRecurse() {
+    List<Supplier<CompletableFuture<Integer>>> calls = new ArrayList<>(Collections.nCopies(100_000, () -> CompletableFuture.completedFuture(1)));
+    assertEquals(100_000, BinanceApiFutures.all(calls, 4).join().size());
+    assertTrue(BinanceApiFutures.all(new ArrayList<Supplier<CompletableFuture<Integer>>>(), 4).join().isEmpty());
+  }
+}
@@ -0,0 +1,78 @@
+package com.binance.api.client;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import java.net.Socket;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests building HTTP clients from a {@link BinanceApiHttpConfig}.
+ */
+public class BinanceApiHttpConfigTest {
+
+  @Test
+  public void testNewClientAppliesConfiguration() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      BinanceApiHttpConfig config = new BinanceApiHttpConfig()
+          .maxRequests(64)
+          .maxRequestsPerHost(32)
+          .dispatcherExecutor(executor)
+          .pingIntervalMillis(0);
+      OkHttpClient client = config.newClient();
+      assertEquals(64, client.dispatcher().getMaxRequests());
+      assertEquals(32, client.dispatcher().getMaxRequestsPerHost());
+      assertSame(executor, client.dispatcher().executorService());
+      assertEquals(0, client.pingIntervalMillis());
+      assertNotSame(client.connectionPool(), config.newClient().connectionPool());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testNewClientAppliesTimeoutsProtocolsAndSocketOptions() throws Exception {
+    OkHttpClient client = new BinanceApiHttpConfig()
+        .connectTimeoutMillis(1_000)
+        .readTimeoutMillis(2_000)
+        .writeTimeoutMillis(3_000)
+        .callTimeoutMillis(4_000)
+        .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+        .tcpNoDelay(true)
+        .newClient();
+    assertEquals(1_000, client.connectTimeoutMillis());
+    assertEquals(2_000, client.readTimeoutMillis());
+    assertEquals(3_000, client.writeTimeoutMillis());
+    assertEquals(4_000, client.callTimeoutMillis());
+    assertEquals(Collections.singletonList(Protocol.HTTP_1_1), client.protocols());
+    try (Socket socket = client.socketFactory().createSocket()) {
+      assertTrue(socket.getTcpNoDelay());
+    }
+  }
+
+  @Test
+  public void testVirtualThreadsRequireJava21() {
+    if (BinanceApiHttpConfig.isVirtualThreadSupported()) {
+      ExecutorService executor = BinanceApiHttpConfig.virtualThreads().getDispatcherExecutor();
+      assertTrue(executor != null);
+      executor.shutdown();
+      return;
+    }
+    try {
+      BinanceApiHttpConfig.virtualThreads();
+      fail("Expected virtual threads to be unsupported");
+    } catch (UnsupportedOperationException e) {
+      assertTrue(e.getMessage().contains("Java 21"));
+    }
+  }
+}
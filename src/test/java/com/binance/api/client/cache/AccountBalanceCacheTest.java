@@ -0,0 +1,117 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the seeding and the stale-event rejection of an <code>AccountBalanceCache</code>.
+ */
+public class AccountBalanceCacheTest {
+
+  private final AccountBalanceCache cache = new AccountBalanceCache();
+
+  @Test
+  public void testAppliesNewerUpdatesAndRejectsStaleOnes() {
+    cache.seed(account(100, "BTC", "1.5", "0", "USDT", "1000", "250.25"));
+    AccountBalanceSnapshot seeded = cache.getSnapshot();
+    assertTrue(seeded.isSeeded());
+    assertEquals(150_000_000L, seeded.getFree("BTC"));
+    assertEquals(25_025_000_000L, seeded.getLocked("USDT"));
+
+    assertTrue(cache.apply(event(105, "BTC", "1.4", "0.1")));
+    assertFalse(cache.apply(event(99, "BTC", "9", "9")));
+    AccountBalanceSnapshot updated = cache.getSnapshot();
+    assertNotSame(seeded, updated);
+    assertEquals(140_000_000L, updated.getFree("BTC"));
+    assertEquals(10_000_000L, updated.getLocked("BTC"));
+    assertEquals(105, updated.getUpdateTime());
+    // Earlier snapshots are left untouched
+    assertEquals(150_000_000L, seeded.getFree("BTC"));
+  }
+
+  @Test
+  public void testSnapshotOlderThanAnEventKeepsTheEventBalances() {
+    assertTrue(cache.apply(event(200, "ETH", "2", "0")));
+    assertFalse(cache.getSnapshot().isSeeded());
+
+    cache.seed(account(150, "BTC", "1", "0", "ETH", "3", "0"));
+    AccountBalanceSnapshot snapshot = cache.getSnapshot();
+    assertEquals(200_000_000L, snapshot.getFree("ETH"));
+    assertEquals(100_000_000L, snapshot.getFree("BTC"));
+    assertEquals(200, snapshot.getUpdateTime());
+  }
+
+  @Test
+  public void testAssetIdsAreStableAndUnlistedAssetsAreZeroed() {
+    cache.seed(account(100, "BTC", "1", "0", "BNB", "5", "0"));
+    int bnb = cache.getSnapshot().getAssetId("BNB");
+    AccountBalanceSnapshot before = cache.getSnapshot();
+
+    cache.seed(account(110, "BTC", "1", "0"));
+    AccountBalanceSnapshot after = cache.getSnapshot();
+    assertEquals(bnb, after.getAssetId("BNB"));
+    assertEquals(0, after.getFree(bnb));
+    assertEquals(-1, after.getAssetId("DOGE"));
+    assertEquals(0, after.getFree("DOGE"));
+
+    cache.apply(event(120, "BTC", "0.5", "0"));
+    assertSame(before.getAsset(bnb), cache.getSnapshot().getAsset(bnb));
+  }
+
+  @Test
+  public void testLowersTheScaleOfAssetsWithLargeBalances() {
+    cache.seed(account(100, "BTTC", "1.5", "0.25", "BTC", "1", "0"));
+    assertEquals(AccountBalanceCache.SCALE, cache.getSnapshot().getScale("BTTC"));
+
+    // 250 billion units overflow a long at 8 decimals
+    assertTrue(cache.apply(event(105, "BTTC", "250000000000.12345678", "0.25")));
+    AccountBalanceSnapshot snapshot = cache.getSnapshot();
+    assertEquals(6, snapshot.getScale("BTTC"));
+    assertEquals(250_000_000_000_123456L, snapshot.getFree("BTTC"));
+    assertEquals(250_000L, snapshot.getLocked("BTTC"));
+    assertEquals(AccountBalanceCache.SCALE, snapshot.getScale("BTC"));
+
+    // The scale is kept once lowered
+    assertTrue(cache.apply(event(110, "BTTC", "2.5", "0")));
+    assertEquals(2_500_000L, cache.getSnapshot().getFree("BTTC"));
+    assertEquals(6, cache.getSnapshot().getScale("BTTC"));
+  }
+
+  private static Account account(long updateTime, String... balances) {
+    Account account = new Account();
+    account.setUpdateTime(updateTime);
+    account.setBalances(balances(balances));
+    return account;
+  }
+
+  private static AccountUpdateEvent event(long lastUpdateTime, String... balances) {
+    AccountUpdateEvent event = new AccountUpdateEvent();
+    event.setEventTime(lastUpdateTime + 1);
+    event.setLastUpdateTime(lastUpdateTime);
+    event.setBalances(balances(balances));
+    return event;
+  }
+
+  private static List<AssetBalance> balances(String... assetFreeLocked) {
+    List<AssetBalance> balances = new ArrayList<>();
+    for (int i = 0; i < assetFreeLocked.length; i += 3) {
+      AssetBalance balance = new AssetBalance();
+      balance.setAsset(assetFreeLocked[i]);
+      balance.setFree(assetFreeLocked[i + 1]);
+      balance.setLocked(assetFreeLocked[i + 2]);
+      balances.add(balance);
+    }
+    return balances;
+  }
+}
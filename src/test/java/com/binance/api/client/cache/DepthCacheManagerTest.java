@@ -0,0 +1,96 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.domain.event.FixedPointDepthEvent;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests how a <code>DepthCacheManager</code> handles the failures of its depth streams.
+ */
+public class DepthCacheManagerTest {
+
+  private final List<BinanceApiCallback<FixedPointDepthEvent>> streams = new CopyOnWriteArrayList<>();
+
+  private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  private BinanceApiWebSocketClient webSocketClient(boolean supervised) {
+    return (BinanceApiWebSocketClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{BinanceApiWebSocketClient.class}, (proxy, method, args) -> {
+          if (method.getName().equals("isSupervised")) {
+            return supervised;
+          }
+          assertEquals("onFixedPointDepthEvent", method.getName());
+          streams.add((BinanceApiCallback<FixedPointDepthEvent>) args[3]);
+          return (Closeable) () -> {};
+        });
+  }
+
+  private DepthCache subscribe(DepthCacheManager manager) {
+    return manager.subscribe("ETHBTC", 2, 0, new BinanceApiCallback<DepthCacheSnapshot>() {
+      @Override
+      public void onResponse(DepthCacheSnapshot snapshot) {
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        failures.add(cause);
+      }
+    });
+  }
+
+  @Test
+  public void testSupervisedStreamsAreNotReopened() throws IOException, InterruptedException {
+    DepthCacheManager manager = new DepthCacheManager(webSocketClient(true), null);
+    subscribe(manager);
+
+    streams.get(0).onFailure(new IOException("given up"));
+    TimeUnit.MILLISECONDS.sleep(50);
+    assertEquals(1, streams.size());
+    assertEquals(1, failures.size());
+    assertNull(manager.getDepthCache("ETHBTC"));
+    manager.close();
+  }
+
+  @Test
+  public void testUnsupervisedStreamsAreReopenedAfterABackoffUntilGivenUp() throws IOException, InterruptedException {
+    BinanceApiWebSocketReconnectPolicy policy = new BinanceApiWebSocketReconnectPolicy()
+        .initialBackoffMillis(100).maxBackoffMillis(100).maxAttempts(2);
+    DepthCacheManager manager = new DepthCacheManager(webSocketClient(false), null, 1000, 10, policy);
+    DepthCache depthCache = subscribe(manager);
+
+    streams.get(0).onFailure(new IOException("first"));
+    assertEquals(1, streams.size());
+    awaitStreams(2);
+    assertSame(depthCache, manager.getDepthCache("ETHBTC"));
+
+    streams.get(1).onFailure(new IOException("second"));
+    awaitStreams(3);
+    streams.get(2).onFailure(new IOException("third"));
+    TimeUnit.MILLISECONDS.sleep(200);
+    assertEquals(3, streams.size());
+    assertEquals(3, failures.size());
+    assertNull(manager.getDepthCache("ETHBTC"));
+  }
+
+  private void awaitStreams(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 2_000;
+    while (streams.size() < count && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    assertEquals(count, streams.size());
+  }
+}
@@ -0,0 +1,108 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.BinanceApiAsyncRestClient;
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.FixedPointDepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the snapshot plus delta synchronization of a <code>DepthCache</code>.
+ */
+public class DepthCacheTest {
+
+  private final List<BinanceApiCallback<OrderBook>> snapshotRequests = new ArrayList<>();
+
+  private DepthCache depthCache;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    BinanceApiAsyncRestClient restClient = (BinanceApiAsyncRestClient) Proxy.newProxyInstance(
+        getClass().getClassLoader(), new Class<?>[]{BinanceApiAsyncRestClient.class}, (proxy, method, args) -> {
+          assertEquals("getOrderBook", method.getName());
+          snapshotRequests.add((BinanceApiCallback<OrderBook>) args[2]);
+          return null;
+        });
+    depthCache = new DepthCache("ETHBTC", 2, 0, 1000, 10, restClient, null);
+  }
+
+  @Test
+  public void testBuffersEventsUntilSnapshotAndDropsStaleOnes() {
+    depthCache.onResponse(event(95, 100, 101, 5));
+    depthCache.onResponse(event(101, 102, 102, 7));
+    assertEquals(1, snapshotRequests.size());
+    assertFalse(depthCache.getSnapshot().isSynchronized());
+
+    snapshotRequests.get(0).onResponse(orderBook(100, "1.00", "3", "1.05", "4"));
+    depthCache.onResponse(event(103, 103, 104, 2));
+
+    DepthCacheSnapshot snapshot = depthCache.getSnapshot();
+    assertTrue(snapshot.isSynchronized());
+    assertEquals(103, snapshot.getLastUpdateId());
+    assertEquals(104, snapshot.getBestBidPrice());
+    assertEquals(2, snapshot.getBidQty(0));
+    assertEquals(102, snapshot.getBidPrice(1));
+    assertEquals(7, snapshot.getBidQty(1));
+    // The first event is already part of the snapshot
+    assertEquals(100, snapshot.getBidPrice(2));
+    assertEquals(3, snapshot.getBidCount());
+    assertEquals(105, snapshot.getBestAskPrice());
+  }
+
+  @Test
+  public void testGapTriggersResync() {
+    depthCache.onResponse(event(101, 101, 101, 1));
+    snapshotRequests.get(0).onResponse(orderBook(100, "1.00", "3", "1.05", "4"));
+    depthCache.onResponse(event(102, 102, 101, 0));
+    assertTrue(depthCache.getSnapshot().isSynchronized());
+    assertEquals(100, depthCache.getSnapshot().getBestBidPrice());
+
+    // Update ids 103 and 104 are missing
+    depthCache.onResponse(event(105, 105, 99, 1));
+    assertFalse(depthCache.getSnapshot().isSynchronized());
+    assertEquals(2, snapshotRequests.size());
+
+    snapshotRequests.get(1).onResponse(orderBook(104, "0.98", "1", "1.05", "4"));
+    depthCache.onResponse(event(106, 106, 99, 0));
+    DepthCacheSnapshot snapshot = depthCache.getSnapshot();
+    assertTrue(snapshot.isSynchronized());
+    assertEquals(106, snapshot.getLastUpdateId());
+    assertEquals(98, snapshot.getBestBidPrice());
+    assertEquals(1, snapshot.getBidCount());
+  }
+
+  private static FixedPointDepthEvent event(long firstUpdateId, long finalUpdateId, long bidPrice, long bidQty) {
+    FixedPointDepthEvent depthEvent = new FixedPointDepthEvent(2, 0);
+    depthEvent.setFirstUpdateId(firstUpdateId);
+    depthEvent.setFinalUpdateId(finalUpdateId);
+    depthEvent.getBids().add(bidPrice, bidQty);
+    return depthEvent;
+  }
+
+  private static OrderBook orderBook(long lastUpdateId, String bidPrice, String bidQty, String askPrice, String askQty) {
+    OrderBook orderBook = new OrderBook();
+    orderBook.setLastUpdateId(lastUpdateId);
+    orderBook.setBids(Collections.singletonList(entry(bidPrice, bidQty)));
+    orderBook.setAsks(Collections.singletonList(entry(askPrice, askQty)));
+    return orderBook;
+  }
+
+  private static OrderBookEntry entry(String price, String qty) {
+    OrderBookEntry entry = new OrderBookEntry();
+    entry.setPrice(price);
+    entry.setQty(qty);
+    return entry;
+  }
+}
@@ -0,0 +1,205 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the indexes and change detection of an <code>ExchangeInfoCache</code>.
+ */
+public class ExchangeInfoCacheTest {
+
+  private final AtomicReference<ExchangeInfo> exchangeInfo = new AtomicReference<>();
+
+  private final AtomicInteger reads = new AtomicInteger();
+
+  private final ExchangeInfoCache cache = new ExchangeInfoCache(() -> {
+    reads.incrementAndGet();
+    return exchangeInfo.get();
+  });
+
+  @Test
+  public void testLoadsOnceOnFirstLookupAndIndexesTheSymbols() {
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01"), symbol("BNBBTC", "TRADING", "0.01"),
+        symbol("ETHUSDT", "TRADING", "0.01")));
+    assertFalse(cache.isLoaded());
+
+    assertEquals("ETHUSDT", cache.getSymbolInfo("ETHUSDT").getSymbol());
+    assertNull(cache.getSymbolInfo("LTCBTC"));
+    assertEquals(2, cache.getSymbolsByBaseAsset("ETH").size());
+    assertEquals(2, cache.getSymbolsByQuoteAsset("BTC").size());
+    assertTrue(cache.getSymbolsByQuoteAsset("EUR").isEmpty());
+    assertSame(exchangeInfo.get(), cache.getExchangeInfo());
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  public void testReportsListingsDelistingsAndChanges() {
+    List<String> changes = new ArrayList<>();
+    cache.addListener(new ExchangeInfoListener() {
+      @Override
+      public void onListing(SymbolInfo symbolInfo) {
+        changes.add("listing " + symbolInfo.getSymbol());
+      }
+
+      @Override
+      public void onDelisting(SymbolInfo symbolInfo) {
+        changes.add("delisting " + symbolInfo.getSymbol());
+      }
+
+      @Override
+      public void onChange(SymbolInfo previous, SymbolInfo current) {
+        changes.add("change " + current.getSymbol() + " " + previous.getStatus() + " " + current.getStatus());
+      }
+
+      @Override
+      public void onRefresh(ExchangeInfo exchangeInfo) {
+        changes.add("refresh " + exchangeInfo.getSymbols().size());
+      }
+    });
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01"), symbol("BNBBTC", "TRADING", "0.01")));
+    assertTrue(cache.refresh());
+
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01"), symbol("BNBBTC", "TRADING", "0.01")));
+    ExchangeInfo loaded = cache.getExchangeInfo();
+    assertFalse(cache.refresh());
+    assertSame(loaded, cache.getExchangeInfo());
+
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "HALT", "0.01"), symbol("LTCBTC", "TRADING", "0.01")));
+    assertTrue(cache.refresh());
+    assertNull(cache.getSymbolInfo("BNBBTC"));
+    assertEquals(Arrays.asList("refresh 2", "listing LTCBTC", "delisting BNBBTC", "change ETHBTC TRADING HALT", "refresh 2"),
+        changes);
+  }
+
+  @Test
+  public void testFilterChangesAreChanges() {
+    List<String> changes = new ArrayList<>();
+    cache.addListener(new ExchangeInfoListener() {
+      @Override
+      public void onChange(SymbolInfo previous, SymbolInfo current) {
+        changes.add(current.getSymbol());
+      }
+    });
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01")));
+    cache.refresh();
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.001")));
+    assertTrue(cache.refresh());
+    assertEquals(Arrays.asList("ETHBTC"), changes);
+  }
+
+  @Test
+  public void testFailedRefreshesKeepTheExchangeInfo() {
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01")));
+    cache.refresh();
+    exchangeInfo.set(null);
+    try {
+      cache.refresh();
+    } catch (RuntimeException e) {
+      // Expected: the source answered nothing
+    }
+    assertEquals("ETHBTC", cache.getSymbolInfo("ETHBTC").getSymbol());
+  }
+
+  @Test
+  public void testRateLimitChangesAreRefreshes() {
+    List<Integer> refreshes = new ArrayList<>();
+    cache.addListener(new ExchangeInfoListener() {
+      @Override
+      public void onRefresh(ExchangeInfo exchangeInfo) {
+        refreshes.add(exchangeInfo.getRateLimits().get(0).getLimit());
+      }
+    });
+    exchangeInfo.set(exchangeInfoWithRateLimit(rateLimit(1200), symbol("ETHBTC", "TRADING", "0.01")));
+    cache.refresh();
+    exchangeInfo.set(exchangeInfoWithRateLimit(rateLimit(1200), symbol("ETHBTC", "TRADING", "0.01")));
+    assertFalse(cache.refresh());
+    exchangeInfo.set(exchangeInfoWithRateLimit(rateLimit(6000), symbol("ETHBTC", "TRADING", "0.01")));
+    assertTrue(cache.refresh());
+    assertEquals(Arrays.asList(1200, 6000), refreshes);
+  }
+
+  @Test
+  public void testListenerExceptionsAreReportedToTheListenerOnly() {
+    List<String> notifications = new ArrayList<>();
+    cache.addListener(new ExchangeInfoListener() {
+      @Override
+      public void onListing(SymbolInfo symbolInfo) {
+        throw new IllegalStateException("listing " + symbolInfo.getSymbol());
+      }
+
+      @Override
+      public void onRefresh(ExchangeInfo exchangeInfo) {
+        notifications.add("first refresh");
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        notifications.add("first failure " + cause.getMessage());
+        throw new IllegalStateException("failure");
+      }
+    });
+    cache.addListener(new ExchangeInfoListener() {
+      @Override
+      public void onListing(SymbolInfo symbolInfo) {
+        notifications.add("second listing " + symbolInfo.getSymbol());
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        notifications.add("second failure");
+      }
+    });
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01")));
+    cache.refresh();
+    exchangeInfo.set(exchangeInfo(symbol("ETHBTC", "TRADING", "0.01"), symbol("LTCBTC", "TRADING", "0.01")));
+    assertTrue(cache.refresh());
+    assertEquals("LTCBTC", cache.getSymbolInfo("LTCBTC").getSymbol());
+    assertEquals(Arrays.asList("first refresh", "first failure listing LTCBTC", "first refresh", "second listing LTCBTC"),
+        notifications);
+  }
+
+  @Test(expected = BinanceApiException.class)
+  public void testExchangeInfoLookupOfAnUnknownSymbolThrows() {
+    exchangeInfo(symbol("ETHBTC", "TRADING", "0.01")).getSymbolInfo("LTCBTC");
+  }
+
+  private static String symbol(String symbol, String status, String tickSize) {
+    return "{\"symbol\":\"" + symbol + "\",\"status\":\"" + status + "\",\"baseAsset\":\"" + symbol.substring(0, 3) +
+        "\",\"quoteAsset\":\"" + symbol.substring(3) + "\",\"orderTypes\":[\"LIMIT\",\"MARKET\"],\"filters\":[" +
+        "{\"filterType\":\"PRICE_FILTER\",\"minPrice\":\"0.01\",\"maxPrice\":\"1000\",\"tickSize\":\"" + tickSize + "\"}]}";
+  }
+
+  private static String rateLimit(int limit) {
+    return "{\"rateLimitType\":\"REQUEST_WEIGHT\",\"interval\":\"MINUTE\",\"limit\":" + limit + "}";
+  }
+
+  private static ExchangeInfo exchangeInfo(String... symbols) {
+    return exchangeInfoWithRateLimit(null, symbols);
+  }
+
+  private static ExchangeInfo exchangeInfoWithRateLimit(String rateLimit, String... symbols) {
+    try {
+      return BinanceApiConstants.JACKSON_MAPPER.readValue("{\"timezone\":\"UTC\",\"serverTime\":1,\"rateLimits\":[" +
+          (rateLimit == null ? "" : rateLimit) + "],\"symbols\":[" + String.join(",", symbols) + "]}", ExchangeInfo.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.binance.api.client.cache;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the order transitions, fill accumulation and reconciliation of an <code>OrderStateCache</code>.
+ */
+public class OrderStateCacheTest {
+
+  private final OrderStateCache cache = new OrderStateCache();
+
+  @Test
+  public void testAccumulatesFillsAndCompletesOnFill() throws IOException {
+    assertTrue(cache.apply(report("NEW", "NEW", 1, -1, "0", "0", "0", "0", null)));
+    CompletableFuture<OrderState> completion = cache.getCompletion(42);
+    assertEquals(1, cache.getOpenOrders("BTCUSDT").size());
+    assertSame(cache.getOrder(42), cache.getOrder("my-order"));
+
+    assertTrue(cache.apply(report("TRADE", "PARTIALLY_FILLED", 2, 7, "0.4", "0.4", "100", "0.0004", "BTC")));
+    assertFalse(completion.isDone());
+    assertTrue(cache.apply(report("TRADE", "FILLED", 3, 8, "0.6", "1.0", "110", "0.0006", "BTC")));
+
+    OrderState filled = completion.getNow(null);
+    assertEquals(OrderStatus.FILLED, filled.getStatus());
+    assertEquals(new BigDecimal("1.0"), filled.getExecutedQty());
+    assertEquals(0, new BigDecimal("106").compareTo(filled.getAveragePrice()));
+    assertEquals(0, new BigDecimal("0.001").compareTo(filled.getCommissions().get("BTC")));
+    assertEquals(2, filled.getTradeCount());
+    assertTrue(cache.getOpenOrders("BTCUSDT").isEmpty());
+    assertSame(filled, cache.getCompletion(42).getNow(null));
+  }
+
+  @Test
+  public void testRejectsStaleReportsAndReplayedTrades() throws IOException {
+    cache.apply(report("NEW", "NEW", 5, -1, "0", "0", "0", "0", null));
+    cache.apply(report("TRADE", "PARTIALLY_FILLED", 6, 7, "0.4", "0.4", "100", "0.0004", "BTC"));
+
+    assertFalse(cache.apply(report("NEW", "NEW", 4, -1, "0", "0", "0", "0", null)));
+    assertFalse(cache.apply(report("TRADE", "PARTIALLY_FILLED", 6, 7, "0.4", "0.4", "100", "0.0004", "BTC")));
+    assertEquals(1, cache.getOrder(42).getTradeCount());
+    assertEquals(OrderStatus.PARTIALLY_FILLED, cache.getOrder(42).getStatus());
+  }
+
+  @Test
+  public void testCancelIsFoundByTheOriginalClientOrderId() throws IOException {
+    cache.apply(report("NEW", "NEW", 1, -1, "0", "0", "0", "0", null));
+    OrderTradeUpdateEvent cancel = report("CANCELED", "CANCELED", 2, -1, "0", "0", "0", "0", null);
+    cancel.setNewClientOrderId("cancel-request");
+    cancel.setOriginalClientOrderId("my-order");
+    cache.apply(cancel);
+
+    assertEquals(OrderStatus.CANCELED, cache.getOrder("my-order").getStatus());
+    assertNull(cache.getOrder("cancel-request"));
+    assertEquals(OrderStatus.CANCELED, cache.getCompletion(42).getNow(null).getStatus());
+  }
+
+  @Test
+  public void testReconcileAddsListedOrdersAndReadsTheFinalStateOfMissingOnes() throws IOException {
+    OrderStateCache cache = new OrderStateCache(true, 10);
+    cache.apply(report("NEW", "NEW", 1, -1, "0", "0", "0", "0", null));
+    CompletableFuture<OrderState> completion = cache.getCompletion(42);
+
+    List<Order> openOrders = Collections.singletonList(order(43, "NEW", "0", 15));
+    List<OrderStatusRequest> statusRequests = cache.getOrdersToRead(openOrders, 30);
+    assertEquals(1, statusRequests.size());
+    assertEquals(Long.valueOf(42), statusRequests.get(0).getOrderId());
+    assertTrue(cache.getOrdersToRead(openOrders, 1).isEmpty());
+    assertTrue(this.cache.getOrdersToRead(openOrders, 30).isEmpty());
+
+    cache.reconcile(openOrders, Collections.singletonList(order(42, "FILLED", "1.0", 20)));
+    assertEquals(OrderStatus.FILLED, completion.getNow(null).getStatus());
+    assertEquals(1, cache.getOpenOrders().size());
+    assertEquals(43, cache.getOpenOrders("BTCUSDT").get(0).getOrderId());
+  }
+
+  @Test
+  public void testEvictsTheOldestCompletedOrders() throws IOException {
+    OrderStateCache cache = new OrderStateCache(false, 1);
+    OrderTradeUpdateEvent first = report("CANCELED", "CANCELED", 1, -1, "0", "0", "0", "0", null);
+    cache.apply(first);
+    OrderTradeUpdateEvent second = report("CANCELED", "CANCELED", 2, -1, "0", "0", "0", "0", null);
+    second.setOrderId(43L);
+    second.setNewClientOrderId("other-order");
+    cache.apply(second);
+
+    assertNull(cache.getOrder(42));
+    assertNull(cache.getOrder("my-order"));
+    assertEquals(43, cache.getOrder("other-order").getOrderId());
+  }
+
+  private static OrderTradeUpdateEvent report(String executionType, String orderStatus, long time, long tradeId,
+                                              String lastQty, String accumulatedQty, String lastPrice, String commission,
+                                              String commissionAsset) throws IOException {
+    String json = "{\"e\":\"executionReport\",\"E\":" + time + ",\"s\":\"BTCUSDT\",\"c\":\"my-order\",\"S\":\"BUY\","
+        + "\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"1.0\",\"p\":\"120\",\"x\":\"" + executionType + "\",\"X\":\"" + orderStatus
+        + "\",\"r\":\"NONE\",\"i\":42,\"l\":\"" + lastQty + "\",\"z\":\"" + accumulatedQty + "\",\"L\":\"" + lastPrice
+        + "\",\"n\":\"" + commission + "\",\"N\":" + (commissionAsset != null ? "\"" + commissionAsset + "\"" : "null")
+        + ",\"T\":" + time + ",\"t\":" + tradeId + ",\"C\":\"\"}";
+    return BinanceApiConstants.JACKSON_MAPPER.readValue(json, OrderTradeUpdateEvent.class);
+  }
+
+  private static Order order(long orderId, String status, String executedQty, long updateTime) {
+    Order order = new Order();
+    order.setSymbol("BTCUSDT");
+    order.setOrderId(orderId);
+    order.setClientOrderId("order-" + orderId);
+    order.setStatus(OrderStatus.valueOf(status));
+    order.setExecutedQty(executedQty);
+    order.setCummulativeQuoteQty("0");
+    order.setTime(1);
+    order.setUpdateTime(updateTime);
+    return order;
+  }
+}
@@ -0,0 +1,76 @@
+package com.binance.api.client.clock;
+
+import org.junit.Test;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the offset estimated by a <code>ServerClock</code>, on a manual local clock.
+ */
+public class ServerClockTest {
+
+  private static final long MILLI = 1_000_000L;
+
+  private long now = 1_000_000 * MILLI;
+
+  private final class ManualClock extends ServerClock {
+    private ManualClock(LongSupplier serverTimeSource, int samples) {
+      super(serverTimeSource, samples);
+    }
+
+    @Override
+    long nanoTime() {
+      return now;
+    }
+  }
+
+  /**
+   * Reads the local clock, as it is never synchronized.
+   */
+  private final ServerClock local = new ManualClock(() -> 0, 1);
+
+  /**
+   * A server whose clock is <code>offsetMillis</code> ahead, answering sample <code>i</code> after a round trip of
+   * <code>roundTripMillis[i]</code>, with a reading off by <code>errorMillis[i]</code>.
+   */
+  private LongSupplier server(long offsetMillis, long[] roundTripMillis, long[] errorMillis) {
+    int[] sample = {0};
+    return () -> {
+      int i = sample[0]++;
+      now += roundTripMillis[i] * MILLI / 2;
+      long serverTime = local.currentTimeMillis() + offsetMillis + errorMillis[i];
+      now += roundTripMillis[i] * MILLI / 2;
+      return serverTime;
+    };
+  }
+
+  @Test
+  public void testOffsetIsThatOfTheShortestRoundTrip() {
+    ServerClock clock = new ManualClock(server(5_000, new long[] {30, 10, 50}, new long[] {200, 0, -300}), 3);
+    assertFalse(clock.isSynced());
+
+    clock.sync();
+    assertTrue(clock.isSynced());
+    assertEquals(5_000, clock.getOffsetMillis());
+    assertEquals(10 * MILLI, clock.getRoundTripNanos());
+    assertEquals(local.currentTimeMillis() + 5_000, clock.currentTimeMillis());
+  }
+
+  @Test
+  public void testTimestampsNeverGoBackwards() {
+    ServerClock clock = new ManualClock(server(5_000, new long[] {10, 10}, new long[] {0, -1_000}), 1);
+    clock.sync();
+    long timestamp = clock.currentTimeMillis();
+
+    clock.sync();
+    assertEquals(4_000, clock.getOffsetMillis());
+    assertEquals(timestamp, clock.currentTimeMillis());
+
+    now += 2_000 * MILLI;
+    assertEquals(local.currentTimeMillis() + 4_000, clock.currentTimeMillis());
+  }
+}
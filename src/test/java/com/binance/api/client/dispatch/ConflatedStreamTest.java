@@ -0,0 +1,69 @@
+package com.binance.api.client.dispatch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the conflation and polling of a <code>ConflatedStream</code>.
+ */
+public class ConflatedStreamTest {
+
+  private final ConflatedStream<JsonNode> stream = new ConflatedStream<>(JsonNode.class);
+
+  @Test
+  public void testOnlyTheLatestValueOfEachKeyIsPolled() {
+    stream.update("ETHBTC", "{\"p\":1}");
+    stream.update("BNBBTC", "{\"p\":2}");
+    stream.update("ETHBTC", "{\"p\":3}");
+    assertTrue(stream.hasUpdates());
+    assertEquals(1, stream.getConflatedCount());
+
+    List<String> polled = new ArrayList<>();
+    assertEquals(2, stream.poll((key, value) -> polled.add(key + " " + value.get("p").asInt())));
+    assertEquals(Arrays.asList("ETHBTC 3", "BNBBTC 2"), polled);
+    assertFalse(stream.hasUpdates());
+    assertEquals(0, stream.poll((key, value) -> polled.add(key)));
+  }
+
+  @Test
+  public void testPollingAKeyConsumesItsQueuedUpdate() throws InterruptedException {
+    for (int i = 0; i < 1_000; i++) {
+      stream.update("ETHBTC", "{\"p\":" + i + "}");
+      assertTrue(stream.hasUpdates());
+      assertEquals(i, stream.poll("ETHBTC").get("p").asInt());
+      assertFalse(stream.hasUpdates());
+    }
+    assertNull(stream.poll("ETHBTC"));
+    assertNull(stream.poll("BNBBTC"));
+    assertFalse(stream.awaitUpdate(10, TimeUnit.MILLISECONDS));
+    assertEquals(0, stream.poll((key, value) -> {
+      throw new AssertionError("Already polled: " + key);
+    }));
+
+    stream.update("BNBBTC", "{\"p\":1}");
+    stream.update("ETHBTC", "{\"p\":2}");
+    assertEquals(1, stream.poll("BNBBTC").get("p").asInt());
+    assertTrue(stream.awaitUpdate(10, TimeUnit.MILLISECONDS));
+    List<String> polled = new ArrayList<>();
+    assertEquals(1, stream.poll((key, value) -> polled.add(key)));
+    assertEquals(Arrays.asList("ETHBTC"), polled);
+
+    stream.update("BNBBTC", "{\"p\":3}");
+    assertEquals(3, stream.poll("BNBBTC").get("p").asInt());
+    stream.update("BNBBTC", "{\"p\":4}");
+    polled.clear();
+    assertEquals(1, stream.poll((key, value) -> polled.add(key + "=" + value.get("p").asInt())));
+    assertEquals(Arrays.asList("BNBBTC=4"), polled);
+    assertFalse(stream.hasUpdates());
+  }
+}
@@ -0,0 +1,136 @@
+package com.binance.api.client.dispatch;
+
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the buffering and overflow policies of a <code>DispatchingCallback</code>.
+ */
+public class DispatchingCallbackTest {
+
+  /**
+   * Runs submitted tasks only when asked to, so that the buffer can be filled first.
+   */
+  private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+  private final List<String> received = new ArrayList<>();
+
+  private final BinanceApiStreamCallback<String> recorder = new BinanceApiStreamCallback<String>() {
+    @Override
+    public void onResponse(String response) {
+      received.add(response);
+    }
+
+    @Override
+    public void onGap(BinanceApiStreamGap gap) {
+      received.add("gap");
+    }
+  };
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+  }
+
+  @Test
+  public void testDropOldest() {
+    DispatchingCallback<String> callback = new DispatchingCallback<>(recorder, tasks::add, 2, OverflowPolicy.DROP_OLDEST, null);
+    callback.onResponse("a");
+    callback.onResponse("b");
+    callback.onResponse("c");
+    assertEquals(2, callback.getQueueDepth());
+    assertEquals(1, callback.getDroppedCount());
+
+    runTasks();
+    assertEquals(Arrays.asList("b", "c"), received);
+    assertEquals(0, callback.getQueueDepth());
+    assertEquals(2, callback.getDeliveredCount());
+  }
+
+  @Test
+  public void testConflateKeepsLatestPerKeyAndOrdersGaps() {
+    DispatchingCallback<String> callback = new DispatchingCallback<>(recorder, tasks::add, 10, OverflowPolicy.CONFLATE, s -> s.charAt(0));
+    callback.onResponse("a1");
+    callback.onResponse("b1");
+    callback.onResponse("a2");
+    callback.onGap(new BinanceApiStreamGap(BinanceApiStreamGap.Reason.FAILURE, 0, 0, 1, null));
+    callback.onResponse("a3");
+    callback.onResponse("a4");
+
+    runTasks();
+    assertEquals(Arrays.asList("a2", "b1", "gap", "a4"), received);
+    assertEquals(2, callback.getDroppedCount());
+  }
+
+  @Test
+  public void testBlockWaitsForRoom() throws Exception {
+    EventDispatcher dispatcher = new EventDispatcher(Executors.newSingleThreadExecutor());
+    List<String> delivered = new ArrayList<>();
+    DispatchingCallback<String> callback = dispatcher.dispatch(response -> {
+      synchronized (delivered) {
+        delivered.add(response);
+      }
+    }, 1, OverflowPolicy.BLOCK);
+    for (int i = 0; i < 100; i++) {
+      callback.onResponse(Integer.toString(i));
+    }
+    dispatcher.close();
+    synchronized (delivered) {
+      assertEquals(0, callback.getDroppedCount());
+      assertEquals(Integer.toString(delivered.size() - 1), delivered.get(delivered.size() - 1));
+    }
+  }
+
+  @Test
+  public void testRejectedDrainsDoNotBlockTheReader() {
+    DispatchingCallback<String> callback = new DispatchingCallback<>(recorder, task -> {
+      throw new RejectedExecutionException("shut down");
+    }, 1, OverflowPolicy.BLOCK, null);
+    callback.onResponse("a");
+    callback.onResponse("b");
+    callback.onResponse("c");
+    assertEquals(0, callback.getQueueDepth());
+    assertTrue(received.isEmpty());
+  }
+
+  @Test(timeout = 5_000)
+  public void testClosingTheDispatcherReleasesBlockedReaders() throws Exception {
+    EventDispatcher dispatcher = EventDispatcher.singleThread();
+    CountDownLatch delivering = new CountDownLatch(1);
+    DispatchingCallback<String> callback = dispatcher.dispatch(response -> {
+      delivering.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, 1, OverflowPolicy.BLOCK);
+    callback.onResponse("delivering");
+    delivering.await();
+    callback.onResponse("buffered");
+
+    Thread reader = new Thread(() -> callback.onResponse("blocked"));
+    reader.start();
+    while (reader.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+    dispatcher.close();
+    reader.join();
+    assertEquals(0, callback.getQueueDepth());
+    callback.onResponse("after close");
+    assertEquals(0, callback.getQueueDepth());
+  }
+}
@@ -0,0 +1,222 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiStreamCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the routing, subscription frames and reconnects of a {@link BinanceApiCombinedStreamManager} against a local
+ * mock stream server.
+ */
+public class BinanceApiCombinedStreamManagerTest {
+
+  private static final String AGG_TRADE = "{\"stream\":\"%s\",\"data\":{\"e\":\"aggTrade\",\"E\":1,\"s\":\"%s\",\"a\":1," +
+      "\"p\":\"0.001\",\"q\":\"100\",\"f\":1,\"l\":2,\"T\":1,\"m\":true,\"M\":true}}";
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final BlockingQueue<WebSocket> serverSockets = new LinkedBlockingQueue<>();
+
+  private final BlockingQueue<JsonNode> frames = new LinkedBlockingQueue<>();
+
+  private final List<Long> frameTimes = new CopyOnWriteArrayList<>();
+
+  private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+  private BinanceApiCombinedStreamManager manager(BinanceApiWebSocketReconnectPolicy policy) throws IOException {
+    server.start();
+    return new BinanceApiCombinedStreamManager(new OkHttpClient(), policy, 10, server.url("/stream?streams=").toString());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private void enqueueConnection() {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+      @Override
+      public void onOpen(WebSocket webSocket, Response response) {
+        serverSockets.add(webSocket);
+      }
+
+      @Override
+      public void onMessage(WebSocket webSocket, String text) {
+        try {
+          frameTimes.add(System.currentTimeMillis());
+          frames.add(BinanceApiConstants.JACKSON_MAPPER.readTree(text));
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      @Override
+      public void onClosing(WebSocket webSocket, int code, String reason) {
+        webSocket.close(code, null);
+      }
+    }));
+  }
+
+  private BinanceApiWebSocketListener<AggTradeEvent> listener(String name) {
+    return new BinanceApiWebSocketListener<>(new BinanceApiStreamCallback<AggTradeEvent>() {
+      @Override
+      public void onResponse(AggTradeEvent event) {
+        received.add(name + " " + event.getSymbol());
+      }
+
+      @Override
+      public void onGap(BinanceApiStreamGap gap) {
+        received.add(name + " gap " + gap.getReason());
+      }
+    }, AggTradeEvent.class);
+  }
+
+  @Test
+  public void testEnvelopesAreRoutedByStreamName() throws IOException, InterruptedException {
+    enqueueConnection();
+    BinanceApiCombinedStreamManager manager = manager(BinanceApiWebSocketReconnectPolicy.never());
+    manager.subscribe(Arrays.asList("ethbtc@aggTrade", "bnbbtc@aggTrade"), listener("first"));
+    manager.subscribe(Arrays.asList("ltcbtc@aggTrade"), listener("second"));
+    assertEquals(1, manager.getConnectionCount());
+
+    WebSocket serverSocket = serverSockets.poll(5, TimeUnit.SECONDS);
+    assertNotNull(serverSocket);
+    assertNotNull(frames.poll(5, TimeUnit.SECONDS));
+    serverSocket.send("{\"result\":null,\"id\":1}");
+    serverSocket.send(String.format(AGG_TRADE, "ltcbtc@aggTrade", "LTCBTC"));
+    serverSocket.send(String.format(AGG_TRADE, "ethbtc@aggTrade", "ETHBTC"));
+    // The data may come before the stream name, in which case it is buffered
+    serverSocket.send("{\"data\":{\"e\":\"aggTrade\",\"s\":\"BNBBTC\"},\"stream\":\"bnbbtc@aggTrade\"}");
+    serverSocket.send(String.format(AGG_TRADE, "xrpbtc@aggTrade", "XRPBTC"));
+
+    assertEquals("second LTCBTC", received.poll(5, TimeUnit.SECONDS));
+    assertEquals("first ETHBTC", received.poll(5, TimeUnit.SECONDS));
+    assertEquals("first BNBBTC", received.poll(5, TimeUnit.SECONDS));
+    assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testSubscriptionFramesAreMergedAndPaced() throws IOException, InterruptedException {
+    enqueueConnection();
+    BinanceApiCombinedStreamManager manager = manager(BinanceApiWebSocketReconnectPolicy.never());
+    manager.subscribe(Arrays.asList("ethbtc@aggTrade"), listener("first"));
+    List<Closeable> subscriptions = new ArrayList<>();
+    Set<String> added = new HashSet<>();
+    for (int i = 0; i < 8; i++) {
+      String stream = "symbol" + i + "@aggTrade";
+      added.add(stream);
+      subscriptions.add(manager.subscribe(Arrays.asList(stream), listener("stream" + i)));
+    }
+
+    // At most one frame goes out before the others are merged into the next one
+    Set<String> subscribed = new HashSet<>();
+    int subscribeFrames = 0;
+    while (subscribed.size() < added.size()) {
+      JsonNode frame = frames.poll(5, TimeUnit.SECONDS);
+      assertNotNull(frame);
+      assertEquals("SUBSCRIBE", frame.get("method").asText());
+      frame.get("params").forEach(stream -> subscribed.add(stream.asText()));
+      subscribeFrames++;
+    }
+    assertEquals(added, subscribed);
+    assertTrue(subscribeFrames <= 2);
+
+    // Subscribed and unsubscribed before its frame was due: no frame at all
+    manager.subscribe(Arrays.asList("xrpbtc@aggTrade"), listener("short-lived")).close();
+
+    for (Closeable subscription : subscriptions) {
+      subscription.close();
+    }
+    Set<String> unsubscribed = new HashSet<>();
+    int unsubscribeFrames = 0;
+    while (unsubscribed.size() < added.size()) {
+      JsonNode frame = frames.poll(5, TimeUnit.SECONDS);
+      assertNotNull(frame);
+      assertEquals("UNSUBSCRIBE", frame.get("method").asText());
+      frame.get("params").forEach(stream -> unsubscribed.add(stream.asText()));
+      unsubscribeFrames++;
+    }
+    assertEquals(added, unsubscribed);
+    assertTrue(unsubscribeFrames <= 2);
+    assertNull(frames.poll(500, TimeUnit.MILLISECONDS));
+    for (int i = 1; i < frameTimes.size(); i++) {
+      // Arrival times are measured on the server, so allow for some network jitter
+      assertTrue(frameTimes.get(i) - frameTimes.get(i - 1) >= 200);
+    }
+    assertEquals(1, manager.getConnectionCount());
+  }
+
+  @Test
+  public void testReconnectionsSubscribeToTheCurrentStreams() throws IOException, InterruptedException {
+    enqueueConnection();
+    enqueueConnection();
+    BinanceApiWebSocketReconnectPolicy policy = new BinanceApiWebSocketReconnectPolicy()
+        .initialBackoffMillis(50).maxBackoffMillis(50).maxAttempts(3).maxConnectionAgeMillis(0);
+    BinanceApiCombinedStreamManager manager = manager(policy);
+    manager.subscribe(Arrays.asList("ethbtc@aggTrade"), listener("first"));
+    Closeable second = manager.subscribe(Arrays.asList("bnbbtc@aggTrade"), listener("second"));
+    manager.subscribe(Arrays.asList("ltcbtc@aggTrade"), listener("third"));
+    assertEquals("/stream?streams=ethbtc@aggTrade", server.takeRequest(5, TimeUnit.SECONDS).getPath());
+    awaitFrames("SUBSCRIBE", "bnbbtc@aggTrade", "ltcbtc@aggTrade");
+    second.close();
+    awaitFrames("UNSUBSCRIBE", "bnbbtc@aggTrade");
+
+    WebSocket serverSocket = serverSockets.poll(5, TimeUnit.SECONDS);
+    assertNotNull(serverSocket);
+    serverSocket.close(1001, "going away");
+
+    String path = server.takeRequest(5, TimeUnit.SECONDS).getPath();
+    assertTrue(path, path.startsWith("/stream?streams="));
+    assertEquals(new HashSet<>(Arrays.asList("ethbtc@aggTrade", "ltcbtc@aggTrade")),
+        new HashSet<>(Arrays.asList(path.substring("/stream?streams=".length()).split("/"))));
+    Set<String> gaps = new HashSet<>(Arrays.asList(received.poll(5, TimeUnit.SECONDS), received.poll(5, TimeUnit.SECONDS)));
+    assertEquals(new HashSet<>(Arrays.asList("first gap FAILURE", "third gap FAILURE")), gaps);
+
+    serverSocket = serverSockets.poll(5, TimeUnit.SECONDS);
+    assertNotNull(serverSocket);
+    serverSocket.send(String.format(AGG_TRADE, "ltcbtc@aggTrade", "LTCBTC"));
+    assertEquals("third LTCBTC", received.poll(5, TimeUnit.SECONDS));
+    assertEquals(1, manager.getConnectionCount());
+  }
+
+  /**
+   * Waits for the frames of a method until they carried all the given streams.
+   */
+  private void awaitFrames(String method, String... streams) throws InterruptedException {
+    Set<String> expected = new HashSet<>(Arrays.asList(streams));
+    while (!expected.isEmpty()) {
+      JsonNode frame = frames.poll(5, TimeUnit.SECONDS);
+      assertNotNull(frame);
+      assertEquals(method, frame.get("method").asText());
+      frame.get("params").forEach(stream -> expected.remove(stream.asText()));
+    }
+  }
+}
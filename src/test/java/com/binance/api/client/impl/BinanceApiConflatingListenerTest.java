@@ -0,0 +1,62 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.dispatch.ConflatedStream;
+import com.binance.api.client.domain.event.AllMarketTickersEvent;
+import com.binance.api.client.domain.event.PartialDepthEvent;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests that a <code>BinanceApiConflatingListener</code> keeps only the latest event per key.
+ */
+public class BinanceApiConflatingListenerTest {
+
+  private static String ticker(String symbol, String closePrice) {
+    return "{\"e\":\"24hrTicker\",\"E\":123456789,\"s\":\"" + symbol + "\",\"p\":\"0.0015\",\"c\":\"" + closePrice + "\",\"extra\":{\"ignored\":[1]}}";
+  }
+
+  @Test
+  public void testTickerArraysAreConflatedPerSymbol() {
+    ConflatedStream<AllMarketTickersEvent> stream = new ConflatedStream<>(AllMarketTickersEvent.class);
+    BinanceApiConflatingListener<AllMarketTickersEvent> listener = new BinanceApiConflatingListener<>(stream, null);
+
+    listener.onMessage(null, "[" + ticker("ETHBTC", "0.1") + "," + ticker("BNBBTC", "0.2") + "]");
+    listener.onMessage(null, "[" + ticker("ETHBTC", "0.3") + "]");
+
+    Map<String, String> closePrices = new HashMap<>();
+    assertEquals(2, stream.poll((symbol, event) -> closePrices.put(symbol, event.getCurrentDaysClosePrice())));
+    assertEquals("0.3", closePrices.get("ETHBTC"));
+    assertEquals("0.2", closePrices.get("BNBBTC"));
+    assertEquals(1, stream.getConflatedCount());
+    assertFalse(stream.hasUpdates());
+  }
+
+  @Test
+  public void testCombinedStreamPayloadIsSlicedFromFrame() throws Exception {
+    ConflatedStream<PartialDepthEvent> stream = new ConflatedStream<>(PartialDepthEvent.class);
+    BinanceApiConflatingListener<PartialDepthEvent> listener = new BinanceApiConflatingListener<>(stream, "ETHBTC");
+
+    String frame = "{\"stream\":\"ethbtc@depth5\",\"data\":{\"lastUpdateId\":160,\"bids\":[[\"0.0024\",\"10\"]],\"asks\":[[\"0.0026\",\"100\"]]}}";
+    try (JsonParser parser = BinanceApiConstants.JACKSON_MAPPER.getFactory().createParser(frame)) {
+      parser.nextToken();
+      parser.nextToken();
+      parser.nextToken();
+      parser.nextToken();
+      parser.nextToken();
+      listener.onMessage(frame, parser);
+    }
+
+    PartialDepthEvent event = stream.poll("ETHBTC");
+    assertEquals(1, event.getBids().size());
+    assertEquals("0.0026", event.getAsks().get(0).getPrice());
+    assertNull(stream.poll("ETHBTC"));
+  }
+}
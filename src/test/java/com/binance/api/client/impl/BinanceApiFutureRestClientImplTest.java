@@ -0,0 +1,75 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiFutureRestClient;
+import com.binance.api.client.exception.BinanceApiException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the futures of {@link BinanceApiFutureRestClientImpl} against a local mock server.
+ */
+public class BinanceApiFutureRestClientImplTest {
+
+  private final MockWebServer server = new MockWebServer();
+
+  private BinanceApiFutureRestClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+    BinanceApiService service = new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(BinanceApiServiceGenerator.getSharedClient())
+        .build()
+        .create(BinanceApiService.class);
+    client = new BinanceApiFutureRestClientImpl(service);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void testFutureCompletesWithResponse() throws Exception {
+    server.enqueue(new MockResponse().setBody("{\"serverTime\":1499827319559}"));
+    assertEquals(1499827319559L, (long) client.getServerTime().get(5, TimeUnit.SECONDS).getServerTime());
+  }
+
+  @Test
+  public void testFutureFailsWithApiError() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"code\":-1121,\"msg\":\"Invalid symbol.\"}"));
+    try {
+      client.getOrderBook("UNKNOWN", 10).get(5, TimeUnit.SECONDS);
+      fail("Expected the request to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof BinanceApiException);
+      assertEquals(-1121, ((BinanceApiException) e.getCause()).getError().getCode());
+    }
+  }
+
+  @Test
+  public void testTimedOutRequestFailsWithUnknownStatus() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(504));
+    try {
+      client.ping().get(5, TimeUnit.SECONDS);
+      fail("Expected the request to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().getMessage().contains("unknown"));
+    }
+  }
+}
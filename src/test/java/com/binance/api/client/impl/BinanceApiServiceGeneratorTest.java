@@ -0,0 +1,108 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.exception.BinanceApiException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the exceptions {@link BinanceApiServiceGenerator#executeSync} fails with, against a local mock server.
+ */
+public class BinanceApiServiceGeneratorTest {
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final List<BinanceApiException> errors = new CopyOnWriteArrayList<>();
+
+  private BinanceApiRestClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+    BinanceApiService service = new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(BinanceApiServiceGenerator.getSharedClient())
+        .build()
+        .create(BinanceApiService.class);
+    client = new BinanceApiRestClientImpl(service, call -> BinanceApiServiceGenerator.executeSync(call, errors::add));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void testRateLimitedResponseExposesStatusRetryAfterAndUsedWeight() {
+    server.enqueue(new MockResponse().setResponseCode(429)
+        .setHeader("Retry-After", "7")
+        .setHeader("X-MBX-USED-WEIGHT-1M", "1250")
+        .setBody("{\"code\":-1003,\"msg\":\"Too many requests.\",\"data\":{}}"));
+    BinanceApiException exception = expectFailure();
+    assertEquals(429, exception.getHttpStatusCode());
+    assertEquals(-1003, exception.getErrorCode());
+    assertEquals("Too many requests.", exception.getMessage());
+    assertEquals(Long.valueOf(7), exception.getRetryAfterSeconds());
+    assertEquals(Integer.valueOf(1250), exception.getUsedWeights().get("1m"));
+    assertTrue(exception.isRateLimited());
+    assertEquals(1, errors.size());
+    assertSame(exception, errors.get(0));
+  }
+
+  @Test
+  public void testNonJsonErrorBodyMakesTheMessage() {
+    server.enqueue(new MockResponse().setResponseCode(502).setBody("<html>Bad Gateway</html>"));
+    BinanceApiException exception = expectFailure();
+    assertEquals(502, exception.getHttpStatusCode());
+    assertNull(exception.getError());
+    assertNull(exception.getRetryAfterSeconds());
+    assertTrue(exception.getMessage().contains("Bad Gateway"));
+    assertFalse(exception.isRateLimited());
+  }
+
+  @Test
+  public void testThrowingListenerDoesNotHideTheFailure() throws IOException {
+    BinanceApiService service = new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(BinanceApiServiceGenerator.getSharedClient())
+        .build()
+        .create(BinanceApiService.class);
+    server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"code\":-1121,\"msg\":\"Invalid symbol.\"}"));
+    try {
+      BinanceApiServiceGenerator.executeSync(service.getOrderBook("UNKNOWN", 10), exception -> {
+        throw new IllegalStateException("listener failure");
+      });
+      fail("Expected the request to fail");
+    } catch (BinanceApiException e) {
+      assertEquals(-1121, e.getErrorCode());
+      assertEquals(400, e.getHttpStatusCode());
+    }
+  }
+
+  private BinanceApiException expectFailure() {
+    try {
+      client.getOrderBook("BTCUSDT", 10);
+    } catch (BinanceApiException e) {
+      return e;
+    }
+    throw new AssertionError("Expected the request to fail");
+  }
+}
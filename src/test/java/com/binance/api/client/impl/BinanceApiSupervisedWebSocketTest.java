@@ -0,0 +1,238 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the reconnects, rotations and gap reports of a {@link BinanceApiSupervisedWebSocket} against a local mock
+ * web socket server.
+ */
+public class BinanceApiSupervisedWebSocketTest {
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final OkHttpClient client = new OkHttpClient();
+
+  private final BlockingQueue<WebSocket> serverSockets = new LinkedBlockingQueue<>();
+
+  /**
+   * Server sides of the connections the client closed.
+   */
+  private final BlockingQueue<WebSocket> closedSockets = new LinkedBlockingQueue<>();
+
+  /**
+   * Everything the delegate and the gap handler were told, in order.
+   */
+  private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+  private final WebSocketListener delegate = new WebSocketListener() {
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {
+      events.add("open");
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+      events.add("message " + text);
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+      events.add("failure");
+    }
+  };
+
+  private BinanceApiSupervisedWebSocket socket;
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (socket != null) {
+      socket.close();
+    }
+    server.shutdown();
+  }
+
+  private void open(BinanceApiWebSocketReconnectPolicy policy) {
+    Request request = new Request.Builder().url(server.url("/ws")).build();
+    socket = new BinanceApiSupervisedWebSocket(client, () -> request, delegate,
+        gap -> events.add("gap " + gap.getReason() + " " + gap.getAttempts() + " " + describe(gap)), policy);
+    socket.open();
+  }
+
+  private static String describe(BinanceApiStreamGap gap) {
+    assertTrue(gap.getDisconnectedAt() <= gap.getReconnectedAt());
+    return gap.getCause() == null ? "-" : gap.getCause().getMessage();
+  }
+
+  private void enqueueConnection() {
+    enqueueConnection(null);
+  }
+
+  /**
+   * @param lastWords message the server sends when the client closes the connection, before acknowledging the close
+   */
+  private void enqueueConnection(String lastWords) {
+    enqueueConnection(lastWords, 0);
+  }
+
+  /**
+   * @param handshakeMillis time the server waits before accepting the connection
+   */
+  private void enqueueConnection(String lastWords, long handshakeMillis) {
+    MockResponse response = new MockResponse().setHeadersDelay(handshakeMillis, TimeUnit.MILLISECONDS);
+    server.enqueue(response.withWebSocketUpgrade(new WebSocketListener() {
+      @Override
+      public void onOpen(WebSocket webSocket, Response response) {
+        serverSockets.add(webSocket);
+      }
+
+      @Override
+      public void onClosing(WebSocket webSocket, int code, String reason) {
+        closedSockets.add(webSocket);
+        if (lastWords != null) {
+          webSocket.send(lastWords);
+        }
+        webSocket.close(code, null);
+      }
+    }));
+  }
+
+  private void enqueueRefusal() {
+    server.enqueue(new MockResponse().setResponseCode(503));
+  }
+
+  private WebSocket awaitServerSocket() throws InterruptedException {
+    WebSocket serverSocket = serverSockets.poll(5, TimeUnit.SECONDS);
+    assertNotNull(serverSocket);
+    return serverSocket;
+  }
+
+  private String nextEvent() throws InterruptedException {
+    return events.poll(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testReconnectsAfterABackoffUntilGivenUp() throws InterruptedException {
+    enqueueRefusal();
+    enqueueRefusal();
+    enqueueRefusal();
+    open(new BinanceApiWebSocketReconnectPolicy().initialBackoffMillis(200).maxBackoffMillis(200).maxAttempts(2));
+
+    long previous = -1;
+    for (int i = 0; i < 3; i++) {
+      RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+      assertNotNull(request);
+      long now = System.currentTimeMillis();
+      if (previous != -1) {
+        // Backoffs are jittered down to half of 200 ms
+        assertTrue(now - previous >= 90);
+      }
+      previous = now;
+    }
+    assertEquals("failure", nextEvent());
+    assertNull(server.takeRequest(500, TimeUnit.MILLISECONDS));
+    assertNull(events.poll());
+  }
+
+  @Test
+  public void testFailuresAreReportedAsGapsOnceReconnected() throws InterruptedException {
+    enqueueRefusal();
+    enqueueRefusal();
+    enqueueConnection();
+    open(new BinanceApiWebSocketReconnectPolicy().initialBackoffMillis(50).maxBackoffMillis(50).maxAttempts(5));
+
+    awaitServerSocket().send("after");
+    assertEquals("open", nextEvent());
+    String gap = nextEvent();
+    assertTrue(gap, gap.startsWith("gap FAILURE 2 Expected HTTP 101 response but was '503"));
+    assertEquals("message after", nextEvent());
+    assertEquals(3, server.getRequestCount());
+  }
+
+  @Test
+  public void testServerClosesAreDisconnects() throws InterruptedException {
+    enqueueConnection();
+    enqueueConnection();
+    open(new BinanceApiWebSocketReconnectPolicy().initialBackoffMillis(50).maxBackoffMillis(50).maxAttempts(1));
+    awaitServerSocket().close(1001, "going away");
+
+    awaitServerSocket().send("after");
+    assertEquals("open", nextEvent());
+    assertEquals("open", nextEvent());
+    assertEquals("gap FAILURE 1 Connection closed by server: 1001 going away", nextEvent());
+    assertEquals("message after", nextEvent());
+  }
+
+  @Test
+  public void testRotationsOpenTheNewConnectionBeforeClosingTheOldOne() throws InterruptedException {
+    enqueueConnection("from the old connection");
+    enqueueConnection();
+    open(new BinanceApiWebSocketReconnectPolicy().maxConnectionAgeMillis(300));
+    WebSocket first = awaitServerSocket();
+    assertEquals("open", nextEvent());
+    first.send("before");
+    assertEquals("message before", nextEvent());
+
+    // The old connection is only closed once the new one is open, and its last messages are dropped
+    WebSocket second = awaitServerSocket();
+    assertEquals("open", nextEvent());
+    assertEquals("gap ROTATION 1 -", nextEvent());
+    assertSame(first, closedSockets.poll(5, TimeUnit.SECONDS));
+    second.send("after");
+    assertEquals("message after", nextEvent());
+    assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    assertEquals(2, server.getRequestCount());
+  }
+
+  @Test
+  public void testFailuresDuringARotationAreReportedAsFailures() throws InterruptedException {
+    enqueueConnection();
+    enqueueConnection(null, 500);
+    enqueueConnection();
+    open(new BinanceApiWebSocketReconnectPolicy().maxConnectionAgeMillis(300).initialBackoffMillis(10_000)
+        .maxBackoffMillis(10_000));
+    WebSocket first = awaitServerSocket();
+    assertEquals("open", nextEvent());
+
+    // The old connection is dropped while its replacement is handshaking
+    assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+    assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+    first.close(1001, "going away");
+    awaitServerSocket();
+    assertEquals("open", nextEvent());
+    assertEquals("gap FAILURE 1 Connection closed by server: 1001 going away", nextEvent());
+
+    // Rotations go on afterwards
+    awaitServerSocket();
+    assertEquals("open", nextEvent());
+    assertEquals("gap ROTATION 1 -", nextEvent());
+    assertEquals(3, server.getRequestCount());
+  }
+}
@@ -0,0 +1,61 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.metrics.BinanceApiMetrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the stream measurements a {@link BinanceApiWebSocketListener} reports to its metrics.
+ */
+public class BinanceApiWebSocketListenerTest {
+
+  private static final String AGG_TRADE = "{\"e\":\"aggTrade\",\"E\":%d,\"s\":\"ETHBTC\",\"a\":1,\"p\":\"0.001\",\"q\":\"100\",\"f\":1,\"l\":2,\"T\":1499827319550,\"m\":true,\"M\":true}";
+
+  private final List<AggTradeEvent> events = new ArrayList<>();
+
+  private final List<String> measurements = new ArrayList<>();
+
+  private final BinanceApiMetrics metrics = new BinanceApiMetrics() {
+    @Override
+    public void onStreamMessage(String stream, long parseNanos, long callbackNanos, long eventLagMillis, int queueDepth) {
+      assertTrue(parseNanos > 0);
+      assertTrue(eventLagMillis >= 1_000 && eventLagMillis < 60_000);
+      measurements.add(stream + " " + queueDepth);
+    }
+
+    @Override
+    public void onStreamGap(String stream, BinanceApiStreamGap gap) {
+      measurements.add(stream + " gap");
+    }
+  };
+
+  @Test
+  public void testMessagesAndGapsAreReported() {
+    BinanceApiCallback<AggTradeEvent> callback = events::add;
+    BinanceApiWebSocketListener<AggTradeEvent> listener = new BinanceApiWebSocketListener<>(callback, AggTradeEvent.class);
+    listener.setMetrics(metrics, "ethbtc@aggTrade");
+
+    listener.onMessage(null, String.format(AGG_TRADE, System.currentTimeMillis() - 1_000));
+    listener.onGap(new BinanceApiStreamGap(BinanceApiStreamGap.Reason.FAILURE, 0, 1, 1, null));
+
+    assertEquals(1, events.size());
+    assertEquals("ETHBTC", events.get(0).getSymbol());
+    assertEquals(2, measurements.size());
+    assertEquals("ethbtc@aggTrade -1", measurements.get(0));
+    assertEquals("ethbtc@aggTrade gap", measurements.get(1));
+  }
+
+  @Test
+  public void testGetEventTime() {
+    assertEquals(1499827319559L, BinanceApiWebSocketListener.getEventTime("{\"e\":\"trade\",\"E\": 1499827319559,\"s\":\"ETHBTC\"}"));
+    assertEquals(-1, BinanceApiWebSocketListener.getEventTime("{\"lastUpdateId\":160,\"bids\":[]}"));
+  }
+}
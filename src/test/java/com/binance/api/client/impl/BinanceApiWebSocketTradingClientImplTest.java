@@ -0,0 +1,238 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.security.HmacSHA256Signer;
+import com.fasterxml.jackson.databind.JsonNode;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the WebSocket API trading client against a local mock WebSocket API server.
+ */
+public class BinanceApiWebSocketTradingClientImplTest {
+
+  private static final String API_KEY = "API-KEY";
+
+  private static final String SECRET = "SECRET";
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+
+  private BinanceApiWebSocketTradingClientImpl client;
+
+  @Before
+  public void setUp() throws IOException {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+      @Override
+      public void onMessage(WebSocket webSocket, String text) {
+        try {
+          requests.add(new Request(webSocket, BinanceApiConstants.JACKSON_MAPPER.readTree(text)));
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      @Override
+      public void onClosing(WebSocket webSocket, int code, String reason) {
+        webSocket.close(code, null);
+      }
+    }));
+    server.start();
+    client = new BinanceApiWebSocketTradingClientImpl(new OkHttpClient(), server.url("/ws-api/v3").toString(),
+        API_KEY, new HmacSHA256Signer(SECRET), 5_000L);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+    server.shutdown();
+  }
+
+  @Test
+  public void testRequestsAreSignedOverSortedParameters() throws Exception {
+    client.newOrder(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "1", "20000"), response -> {});
+    Request request = requests.poll(5, TimeUnit.SECONDS);
+    assertNotNull(request);
+    assertEquals("order.place", request.message.get("method").asText());
+    JsonNode params = request.message.get("params");
+    assertEquals(API_KEY, params.get("apiKey").asText());
+    assertEquals("BUY", params.get("side").asText());
+    assertTrue(params.get("timestamp").isNumber());
+
+    StringBuilder payload = new StringBuilder();
+    Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+    List<String> names = new ArrayList<>();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (!"signature".equals(field.getKey())) {
+        names.add(field.getKey());
+        payload.append(payload.length() > 0 ? "&" : "").append(field.getKey()).append('=').append(field.getValue().asText());
+      }
+    }
+    List<String> sortedNames = new ArrayList<>(names);
+    sortedNames.sort(null);
+    assertEquals(sortedNames, names);
+    assertEquals(HmacSHA256Signer.sign(payload.toString(), SECRET), params.get("signature").asText());
+  }
+
+  @Test
+  public void testPipelinedResponsesAreMatchedById() throws Exception {
+    int count = 10;
+    BlockingQueue<NewOrderResponse> responses = new ArrayBlockingQueue<>(count);
+    for (int i = 0; i < count; i++) {
+      client.newOrder(NewOrder.marketBuy("BTCUSDT", "1").newClientOrderId("order-" + i), new Collector<>(responses));
+    }
+    List<Request> received = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      received.add(requests.poll(5, TimeUnit.SECONDS));
+    }
+    // Respond in reverse order
+    for (int i = count - 1; i >= 0; i--) {
+      Request request = received.get(i);
+      String clientOrderId = request.message.get("params").get("newClientOrderId").asText();
+      request.respond("{\"id\":" + request.id() + ",\"status\":200,\"result\":{\"symbol\":\"BTCUSDT\",\"orderId\":" + i
+          + ",\"clientOrderId\":\"" + clientOrderId + "\"}}");
+    }
+    for (int i = 0; i < count; i++) {
+      NewOrderResponse response = responses.poll(5, TimeUnit.SECONDS);
+      assertNotNull(response);
+      assertEquals("order-" + response.getOrderId(), response.getClientOrderId());
+    }
+    assertEquals(0, client.getPendingRequestCount());
+  }
+
+  @Test
+  public void testErrorResponseFailsRequest() throws Exception {
+    Thread responder = new Thread(() -> {
+      try {
+        Request request = requests.poll(5, TimeUnit.SECONDS);
+        request.respond("{\"id\":" + request.id() + ",\"status\":400,\"error\":{\"code\":-2011,\"msg\":\"Unknown order sent.\"}}");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    responder.start();
+    try {
+      client.cancelOrder(new CancelOrderRequest("BTCUSDT", 42L));
+      fail("Expected the cancel to fail");
+    } catch (BinanceApiException e) {
+      assertEquals(-2011, e.getError().getCode());
+    }
+    responder.join();
+  }
+
+  @Test
+  public void testLostConnectionFailsRequestsInFlight() throws Exception {
+    CountDownLatch failed = new CountDownLatch(1);
+    client.cancelOrder(new CancelOrderRequest("BTCUSDT", 42L), new BinanceApiCallback<CancelOrderResponse>() {
+      @Override
+      public void onResponse(CancelOrderResponse response) {
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        failed.countDown();
+      }
+    });
+    Request request = requests.poll(5, TimeUnit.SECONDS);
+    assertNotNull(request);
+    request.webSocket.close(1001, "going away");
+    assertTrue(failed.await(5, TimeUnit.SECONDS));
+    assertEquals(0, client.getPendingRequestCount());
+  }
+
+  @Test
+  public void testUnansweredAsyncRequestsTimeOut() throws Exception {
+    client.close();
+    client = new BinanceApiWebSocketTradingClientImpl(new OkHttpClient(), server.url("/ws-api/v3").toString(),
+        API_KEY, new HmacSHA256Signer(SECRET), 200L);
+    BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+    BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+    client.cancelOrder(new CancelOrderRequest("BTCUSDT", 42L), new BinanceApiCallback<CancelOrderResponse>() {
+      @Override
+      public void onResponse(CancelOrderResponse response) {
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        threads.add(Thread.currentThread().getName());
+        failures.add(cause);
+      }
+    });
+    Request request = requests.poll(5, TimeUnit.SECONDS);
+    assertNotNull(request);
+
+    Throwable failure = failures.poll(5, TimeUnit.SECONDS);
+    assertTrue(failure instanceof BinanceApiException);
+    // Not failed on the timeout thread shared by all clients
+    assertTrue(threads.poll().startsWith("OkHttp Dispatcher"));
+    assertEquals(0, client.getPendingRequestCount());
+    // A late response is ignored
+    request.respond("{\"id\":" + request.id() + ",\"status\":200,\"result\":{}}");
+    assertEquals(0, client.getPendingRequestCount());
+  }
+
+  /**
+   * A request received by the server, and the socket to respond on.
+   */
+  private static final class Request {
+    private final WebSocket webSocket;
+    private final JsonNode message;
+
+    private Request(WebSocket webSocket, JsonNode message) {
+      this.webSocket = webSocket;
+      this.message = message;
+    }
+
+    private long id() {
+      return message.get("id").asLong();
+    }
+
+    private void respond(String response) {
+      webSocket.send(response);
+    }
+  }
+
+  private static final class Collector<T> implements BinanceApiCallback<T> {
+    private final BlockingQueue<T> responses;
+
+    private Collector(BlockingQueue<T> responses) {
+      this.responses = responses;
+    }
+
+    @Override
+    public void onResponse(T response) {
+      responses.add(response);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.binance.api.client.metrics;
+
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the values {@link RecordingMetrics} records for REST requests measured by {@link MetricsInterceptor}.
+ */
+public class RecordingMetricsTest {
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final Map<String, List<Long>> values = new ConcurrentHashMap<>();
+
+  private BinanceApiService service;
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+    RecordingMetrics metrics = new RecordingMetrics((name, tag) -> {
+      List<Long> recorded = values.computeIfAbsent(name + " " + tag, key -> new CopyOnWriteArrayList<>());
+      return recorded::add;
+    });
+    OkHttpClient client = BinanceApiServiceGenerator.getSharedClient().newBuilder()
+        .addNetworkInterceptor(new MetricsInterceptor(metrics))
+        .build();
+    service = new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(client)
+        .build()
+        .create(BinanceApiService.class);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  public void testRequestLatencyWeightAndUsedWeightAreRecorded() throws IOException {
+    server.enqueue(new MockResponse().setHeader("X-MBX-USED-WEIGHT-1M", "42").setBody("{\"lastUpdateId\":1,\"bids\":[],\"asks\":[]}"));
+    service.getOrderBook("BTCUSDT", 500).execute();
+
+    assertEquals(1, values.get(RecordingMetrics.REQUEST_LATENCY + " GET /api/v3/depth").size());
+    assertTrue(values.get(RecordingMetrics.REQUEST_LATENCY + " GET /api/v3/depth").get(0) > 0);
+    assertEquals(Long.valueOf(5), values.get(RecordingMetrics.REQUEST_WEIGHT + " GET /api/v3/depth").get(0));
+    assertEquals(Long.valueOf(42), values.get(RecordingMetrics.USED_WEIGHT + " 1m").get(0));
+    assertNull(values.get(RecordingMetrics.REQUEST_ERRORS + " GET /api/v3/depth"));
+  }
+
+  @Test
+  public void testErrorResponsesAreCounted() throws IOException {
+    server.enqueue(new MockResponse().setResponseCode(429).setBody("{\"code\":-1003,\"msg\":\"Too many requests.\"}"));
+    service.getServerTime().execute();
+
+    assertEquals(Long.valueOf(1), values.get(RecordingMetrics.REQUEST_ERRORS + " GET /api/v3/time").get(0));
+  }
+}
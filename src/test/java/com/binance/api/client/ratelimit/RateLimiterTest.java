@@ -0,0 +1,102 @@
+package com.binance.api.client.ratelimit;
+
+import com.binance.api.client.domain.general.RateLimitType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the budgets kept by a <code>RateLimiter</code>, on a manual clock.
+ */
+public class RateLimiterTest {
+
+  private static final long MINUTE = 60_000L;
+
+  private static final class ManualClockRateLimiter extends RateLimiter {
+    private long now = 10 * MINUTE;
+
+    private ManualClockRateLimiter(RateLimitMode mode) {
+      super(mode);
+    }
+
+    @Override
+    long currentTimeMillis() {
+      return now;
+    }
+  }
+
+  private static void assertRejected(RateLimiter rateLimiter, int weight, boolean order, boolean signed) throws Exception {
+    try {
+      rateLimiter.acquire(weight, order, signed);
+      fail("Request should have been rejected");
+    } catch (RateLimitExceededException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testWeightBudgetResetsEveryWindow() throws Exception {
+    ManualClockRateLimiter rateLimiter = new ManualClockRateLimiter(RateLimitMode.FAIL_FAST);
+    rateLimiter.acquire(1000, false, false);
+    rateLimiter.acquire(200, false, false);
+    assertEquals(1200, rateLimiter.getUsed(RateLimitType.REQUEST_WEIGHT, MINUTE));
+    assertRejected(rateLimiter, 1, false, false);
+
+    rateLimiter.now += MINUTE;
+    rateLimiter.acquire(1, false, false);
+    assertEquals(1, rateLimiter.getUsed(RateLimitType.REQUEST_WEIGHT, MINUTE));
+  }
+
+  @Test
+  public void testExchangeUsageAndRetryAfterAreHonoured() throws Exception {
+    ManualClockRateLimiter rateLimiter = new ManualClockRateLimiter(RateLimitMode.FAIL_FAST);
+    rateLimiter.onUsage(RateLimitType.REQUEST_WEIGHT, MINUTE, 1195);
+    assertRejected(rateLimiter, 10, false, false);
+    rateLimiter.acquire(5, false, false);
+
+    rateLimiter.onUsage(RateLimitType.ORDERS, 10_000L, 100);
+    assertRejected(rateLimiter, 0, true, true);
+
+    rateLimiter.now += MINUTE;
+    rateLimiter.onRetryAfter(30_000L);
+    assertRejected(rateLimiter, 1, false, false);
+    rateLimiter.now += 30_000L;
+    rateLimiter.acquire(1, false, false);
+  }
+
+  @Test
+  public void testShedRejectsMarketDataWithinReserve() throws Exception {
+    ManualClockRateLimiter rateLimiter = new ManualClockRateLimiter(RateLimitMode.SHED);
+    rateLimiter.acquire(960, false, false);
+    assertRejected(rateLimiter, 1, false, false);
+    rateLimiter.acquire(240, false, true);
+    assertEquals(1200, rateLimiter.getUsed(RateLimitType.REQUEST_WEIGHT, MINUTE));
+  }
+
+  @Test
+  public void testEndpointWeights() {
+    assertEquals(10, EndpointWeights.getWeight(request("GET", "/api/v3/exchangeInfo")));
+    assertEquals(10, EndpointWeights.getWeight(request("GET", "/api/v3/depth?symbol=ETHBTC&limit=1000")));
+    assertEquals(40, EndpointWeights.getWeight(request("GET", "/api/v3/openOrders")));
+    assertEquals(1, EndpointWeights.getWeight(request("GET", "/api/v3/openOrders?symbol=ETHBTC")));
+    assertEquals(2, EndpointWeights.getWeight(request("GET", "/api/v3/order?symbol=ETHBTC&orderId=1")));
+    assertEquals(1, EndpointWeights.getWeight(request("POST", "/api/v3/order?symbol=ETHBTC")));
+    assertEquals(1, EndpointWeights.getWeight(request("GET", "/api/v3/time")));
+  }
+
+  private static Request request(String method, String path) {
+    return new Request.Builder().url("https://api.binance.com" + path)
+        .method(method, "POST".equals(method) ? RequestBody.create(null, new byte[0]) : null).build();
+  }
+
+  @Test
+  public void testParseIntervalMillis() {
+    assertEquals(MINUTE, RateLimitInterceptor.parseIntervalMillis("1m"));
+    assertEquals(10_000L, RateLimitInterceptor.parseIntervalMillis("10s"));
+    assertEquals(86_400_000L, RateLimitInterceptor.parseIntervalMillis("1d"));
+    assertEquals(-1L, RateLimitInterceptor.parseIntervalMillis("m"));
+  }
+}
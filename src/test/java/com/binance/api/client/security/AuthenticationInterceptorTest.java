@@ -0,0 +1,122 @@
+package com.binance.api.client.security;
+
+import com.binance.api.client.clock.ServerClock;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the requests finalized by {@link AuthenticationInterceptor}, as received by a local mock server.
+ */
+public class AuthenticationInterceptorTest {
+
+  private static final String API_KEY = "vmPUZE6mv9SD5VNHk4HlWFsOr6aKE2zvsw0MuIgwCIPy6utIco14y7Ju91duEh8A";
+
+  private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final AtomicReference<Request> before = new AtomicReference<>();
+
+  private final AtomicReference<Request> after = new AtomicReference<>();
+
+  @Before
+  public void setUp() throws IOException {
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private BinanceApiService service(AuthenticationInterceptor interceptor) {
+    OkHttpClient client = BinanceApiServiceGenerator.getSharedClient().newBuilder()
+        .addInterceptor(chain -> {
+          before.set(chain.request());
+          return chain.proceed(chain.request());
+        })
+        .addInterceptor(interceptor)
+        .addInterceptor(chain -> {
+          after.set(chain.request());
+          return chain.proceed(chain.request());
+        })
+        .build();
+    return new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(client)
+        .build()
+        .create(BinanceApiService.class);
+  }
+
+  @Test
+  public void testPublicRequestIsSentAsBuilt() throws Exception {
+    server.enqueue(new MockResponse().setBody("{\"serverTime\":1499827319559}"));
+    service(new AuthenticationInterceptor(API_KEY, new HmacSHA256Signer(SECRET), null)).getServerTime().execute();
+    assertSame(before.get(), after.get());
+    assertNull(server.takeRequest().getHeader(BinanceApiConstants.API_KEY_HEADER));
+  }
+
+  @Test
+  public void testSignedRequestIsBuiltOnceWithKeySignatureAndHeaders() throws Exception {
+    server.enqueue(new MockResponse().setBody("{}"));
+    Headers headers = Headers.of("User-Agent", "binance-java-api", "Accept", "application/json");
+    service(new AuthenticationInterceptor(API_KEY, new HmacSHA256Signer(SECRET), headers)).getAccount(5000L, 1499827319559L).execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertEquals(API_KEY, request.getHeader(BinanceApiConstants.API_KEY_HEADER));
+    assertEquals("binance-java-api", request.getHeader("User-Agent"));
+    assertEquals("application/json", request.getHeader("Accept"));
+    assertNull(request.getHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED));
+    String query = "recvWindow=5000&timestamp=1499827319559";
+    assertEquals("/api/v3/account?" + query + "&signature=" + HmacSHA256Signer.sign(query, SECRET), request.getPath());
+  }
+
+  @Test
+  public void testClockSuppliesTimestampAndRecvWindowOfSignedRequests() throws Exception {
+    server.enqueue(new MockResponse().setBody("{}"));
+    ServerClock clock = new ServerClock(() -> System.currentTimeMillis() + 10_000, 1).recvWindowMillis(500);
+    clock.sync();
+    long before = System.currentTimeMillis();
+    service(new AuthenticationInterceptor(API_KEY, new HmacSHA256Signer(SECRET), null, clock)).getAccount(60_000L, 1L).execute();
+
+    HttpUrl url = server.takeRequest().getRequestUrl();
+    long timestamp = Long.parseLong(url.queryParameter("timestamp"));
+    assertTrue(timestamp >= before + 9_000 && timestamp <= System.currentTimeMillis() + 11_000);
+    assertEquals("500", url.queryParameter("recvWindow"));
+    String query = url.encodedQuery();
+    String signed = query.substring(0, query.indexOf("&signature="));
+    assertEquals(HmacSHA256Signer.sign(signed, SECRET), url.queryParameter("signature"));
+  }
+
+  @Test
+  public void testApiKeyRequestWithoutSignerSendsKeyAndNoMarkerHeader() throws Exception {
+    server.enqueue(new MockResponse().setBody("{\"listenKey\":\"key\"}"));
+    service(new AuthenticationInterceptor(API_KEY, null, null)).startUserDataStream().execute();
+
+    RecordedRequest request = server.takeRequest();
+    assertEquals(API_KEY, request.getHeader(BinanceApiConstants.API_KEY_HEADER));
+    assertNull(request.getHeader(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY));
+  }
+}
@@ -0,0 +1,74 @@
+package com.binance.api.client.security;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests signing with {@link HmacSHA256Signer}, against the example of the Binance API documentation.
+ */
+public class HmacSHA256SignerTest {
+
+  private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+  private static final String QUERY = "symbol=LTCBTC&side=BUY&type=LIMIT&timeInForce=GTC&quantity=1&price=0.1&recvWindow=5000&timestamp=1499827319559";
+
+  private static final String SIGNATURE = "c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71";
+
+  @Test
+  public void testSignMatchesDocumentationExample() {
+    HmacSHA256Signer signer = new HmacSHA256Signer(SECRET);
+    assertEquals(SIGNATURE, signer.sign(QUERY));
+    assertEquals(SIGNATURE, signer.sign(QUERY));
+    assertEquals(SIGNATURE, HmacSHA256Signer.sign(QUERY, SECRET));
+  }
+
+  @Test
+  public void testSignMatchesStaticSignForLongAndNonAsciiMessages() throws Exception {
+    HmacSHA256Signer signer = new HmacSHA256Signer(SECRET);
+    StringBuilder longQuery = new StringBuilder(QUERY);
+    while (longQuery.length() < 2000) {
+      longQuery.append("&newClientOrderId=abc");
+    }
+    assertEquals(HmacSHA256Signer.sign(longQuery.toString(), SECRET), signer.sign(longQuery.toString()));
+    assertEquals(HmacSHA256Signer.sign("a", SECRET), signer.sign("a"));
+    // A non ASCII message is signed as UTF-8, not with bytes left in the buffer by a previous message
+    String nonAscii = "symbol=\u00e9";
+    assertEquals(hmacOfUtf8(nonAscii), signer.sign(nonAscii));
+  }
+
+  private static String hmacOfUtf8(String message) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(SECRET.getBytes(), "HmacSHA256"));
+    return new String(Hex.encodeHex(mac.doFinal(message.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void testSignFromSeveralThreads() throws Exception {
+    HmacSHA256Signer signer = new HmacSHA256Signer(SECRET);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] futures = new Future<?>[8];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(() -> {
+          for (int j = 0; j < 1000; j++) {
+            assertEquals(SIGNATURE, signer.sign(QUERY));
+          }
+        });
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package com.binance.api.client.userdata;
+
+import com.binance.api.client.BinanceApiStreamGap;
+import com.binance.api.client.BinanceApiWebSocketReconnectPolicy;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.impl.BinanceApiRestClientImpl;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the listen key lifecycle and the reconciliation of a {@link UserDataStreamSession}, against a local mock server
+ * serving both the REST API and the stream.
+ */
+public class UserDataStreamSessionTest {
+
+  private static final String EXECUTION_REPORT = "{\"e\":\"executionReport\",\"E\":2,\"s\":\"BTCUSDT\",\"c\":\"my-order\","
+      + "\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"1.00000000\",\"p\":\"20000.00\",\"x\":\"NEW\",\"X\":\"NEW\","
+      + "\"r\":\"NONE\",\"i\":42,\"T\":2}";
+
+  private final MockWebServer server = new MockWebServer();
+
+  private final AtomicReference<String> activeKey = new AtomicReference<>("key-1");
+
+  private final AtomicBoolean keyExists = new AtomicBoolean(true);
+
+  private final List<RecordedRequest> restRequests = new CopyOnWriteArrayList<>();
+
+  private final BlockingQueue<WebSocket> connections = new LinkedBlockingQueue<>();
+
+  private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+  private final AtomicBoolean listenerThrows = new AtomicBoolean(false);
+
+  private final AtomicReference<List<OrderStatusRequest>> ordersToRead = new AtomicReference<>(Collections.emptyList());
+
+  private UserDataStreamSession session;
+
+  @Before
+  public void setUp() throws IOException {
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        String path = request.getPath();
+        if (path.startsWith("/ws/")) {
+          return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket webSocket, okhttp3.Response response) {
+              connections.add(webSocket);
+            }
+
+            @Override
+            public void onClosing(WebSocket webSocket, int code, String reason) {
+              webSocket.close(code, null);
+            }
+          });
+        }
+        restRequests.add(request);
+        if (path.startsWith("/api/v3/userDataStream")) {
+          if ("PUT".equals(request.getMethod()) && !keyExists.get()) {
+            return new MockResponse().setResponseCode(400).setBody("{\"code\":-1125,\"msg\":\"This listenKey does not exist.\"}");
+          }
+          return new MockResponse().setBody("POST".equals(request.getMethod()) ? "{\"listenKey\":\"" + activeKey.get() + "\"}" : "{}");
+        } else if (path.startsWith("/api/v3/account")) {
+          return new MockResponse().setBody("{\"balances\":[{\"asset\":\"BTC\",\"free\":\"1.00000000\",\"locked\":\"0.00000000\"}]}");
+        } else if (path.startsWith("/api/v3/openOrders")) {
+          return new MockResponse().setBody("[{\"symbol\":\"BTCUSDT\",\"orderId\":42,\"clientOrderId\":\"my-order\",\"status\":\"NEW\",\"time\":1}]");
+        } else if (path.startsWith("/api/v3/order?")) {
+          String orderId = request.getRequestUrl().queryParameter("orderId");
+          return new MockResponse().setBody("{\"symbol\":\"BTCUSDT\",\"orderId\":" + orderId + ",\"status\":\"FILLED\",\"time\":1}");
+        }
+        return new MockResponse().setResponseCode(404);
+      }
+    });
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (session != null) {
+      session.close();
+    }
+    server.shutdown();
+  }
+
+  /**
+   * @param others listeners called after the one recording what it receives
+   */
+  private UserDataStreamSession newSession(long keepAliveMillis, UserDataStreamListener... others) {
+    BinanceApiService service = new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(BinanceApiServiceGenerator.getSharedClient())
+        .build()
+        .create(BinanceApiService.class);
+    String streamUrl = server.url("/ws").toString();
+    BinanceApiWebSocketReconnectPolicy policy = new BinanceApiWebSocketReconnectPolicy().initialBackoffMillis(10).maxBackoffMillis(100);
+    UserDataStreamListener[] listeners = new UserDataStreamListener[others.length + 1];
+    System.arraycopy(others, 0, listeners, 1, others.length);
+    listeners[0] = new UserDataStreamListener() {
+      @Override
+      public void onSnapshot(UserDataSnapshot snapshot) {
+        received.add(snapshot);
+        if (listenerThrows.get()) {
+          throw new IllegalStateException("snapshot");
+        }
+      }
+
+      @Override
+      public List<OrderStatusRequest> getOrdersToRead(List<Order> openOrders, long readAt) {
+        return ordersToRead.get();
+      }
+
+      @Override
+      public void onEvent(UserDataUpdateEvent event) {
+        received.add(event);
+        if (listenerThrows.get()) {
+          throw new IllegalStateException("event");
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable cause) {
+        received.add(cause);
+      }
+    };
+    session = new UserDataStreamSession(new BinanceApiRestClientImpl(service, BinanceApiServiceGenerator::executeSync),
+        BinanceApiServiceGenerator.getSharedClient(), streamUrl, policy, keepAliveMillis, listeners);
+    return session.start();
+  }
+
+  private <T> T next(Class<T> type) throws InterruptedException {
+    Object next = received.poll(5, TimeUnit.SECONDS);
+    assertNotNull("Timed out waiting for a " + type.getSimpleName(), next);
+    assertTrue("Expected a " + type.getSimpleName() + " but got " + next, type.isInstance(next));
+    return type.cast(next);
+  }
+
+  @Test
+  public void testEventsReceivedBeforeTheFirstSnapshotAreDeliveredAfterIt() throws Exception {
+    newSession(UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS);
+    connections.poll(5, TimeUnit.SECONDS).send(EXECUTION_REPORT);
+
+    UserDataSnapshot snapshot = next(UserDataSnapshot.class);
+    assertNull(snapshot.getGap());
+    assertEquals("BTC", snapshot.getAccount().getBalances().get(0).getAsset());
+    assertEquals(Long.valueOf(42), snapshot.getOpenOrders().get(0).getOrderId());
+    UserDataUpdateEvent event = next(UserDataUpdateEvent.class);
+    assertEquals(UserDataUpdateEventType.ORDER_TRADE_UPDATE, event.getEventType());
+    assertEquals("key-1", session.getListenKey());
+
+    session.close();
+    session = null;
+    RecordedRequest closeRequest = restRequests.get(restRequests.size() - 1);
+    assertEquals("DELETE", closeRequest.getMethod());
+    assertEquals("key-1", closeRequest.getRequestUrl().queryParameter("listenKey"));
+  }
+
+  @Test
+  public void testOrdersAskedForAreReadWithTheSnapshot() throws Exception {
+    ordersToRead.set(Collections.singletonList(new OrderStatusRequest("BTCUSDT", 41L)));
+    newSession(UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS);
+
+    List<Order> readOrders = next(UserDataSnapshot.class).getReadOrders();
+    assertEquals(1, readOrders.size());
+    assertEquals(Long.valueOf(41), readOrders.get(0).getOrderId());
+    assertEquals("FILLED", readOrders.get(0).getStatus().name());
+  }
+
+  @Test
+  public void testEveryListenerIsCalledOnceThroughTheSameSnapshots() throws Exception {
+    ordersToRead.set(Collections.singletonList(new OrderStatusRequest("BTCUSDT", 41L)));
+    listenerThrows.set(true);
+    BlockingQueue<Object> otherReceived = new LinkedBlockingQueue<>();
+    newSession(UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS, new UserDataStreamListener() {
+      @Override
+      public List<OrderStatusRequest> getOrdersToRead(List<Order> openOrders, long readAt) {
+        return Collections.singletonList(new OrderStatusRequest("BTCUSDT", 41L));
+      }
+
+      @Override
+      public void onSnapshot(UserDataSnapshot snapshot) {
+        otherReceived.add(snapshot);
+      }
+
+      @Override
+      public void onEvent(UserDataUpdateEvent event) {
+        otherReceived.add(event);
+      }
+    });
+    connections.poll(5, TimeUnit.SECONDS).send(EXECUTION_REPORT);
+
+    // The first listener throws, which the other one does not notice
+    UserDataSnapshot snapshot = next(UserDataSnapshot.class);
+    assertEquals(snapshot, otherReceived.poll(5, TimeUnit.SECONDS));
+    assertEquals(1, snapshot.getReadOrders().size());
+    next(IllegalStateException.class);
+    UserDataUpdateEvent event = next(UserDataUpdateEvent.class);
+    assertEquals(event, otherReceived.poll(5, TimeUnit.SECONDS));
+    assertEquals(1, restRequests.stream().filter(request -> request.getPath().startsWith("/api/v3/account")).count());
+    assertEquals(1, restRequests.stream().filter(request -> request.getPath().startsWith("/api/v3/order?")).count());
+  }
+
+  @Test
+  public void testListenerExceptionsDoNotHoldBackLaterEvents() throws Exception {
+    listenerThrows.set(true);
+    newSession(UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS);
+    WebSocket connection = connections.poll(5, TimeUnit.SECONDS);
+    connection.send(EXECUTION_REPORT);
+
+    next(UserDataSnapshot.class);
+    assertEquals("snapshot", next(IllegalStateException.class).getMessage());
+    next(UserDataUpdateEvent.class);
+    assertEquals("event", next(IllegalStateException.class).getMessage());
+
+    listenerThrows.set(false);
+    connection.send(EXECUTION_REPORT);
+    assertEquals(UserDataUpdateEventType.ORDER_TRADE_UPDATE, next(UserDataUpdateEvent.class).getEventType());
+  }
+
+  @Test
+  public void testExpiredKeyIsReplacedAndTheGapReconciled() throws Exception {
+    newSession(UserDataStreamSession.DEFAULT_KEEP_ALIVE_MILLIS);
+    WebSocket first = connections.poll(5, TimeUnit.SECONDS);
+    next(UserDataSnapshot.class);
+
+    activeKey.set("key-2");
+    first.send("{\"e\":\"listenKeyExpired\",\"E\":3,\"listenKey\":\"key-1\"}");
+    WebSocket second = connections.poll(5, TimeUnit.SECONDS);
+    assertNotNull(second);
+
+    UserDataSnapshot snapshot = next(UserDataSnapshot.class);
+    assertEquals(BinanceApiStreamGap.Reason.FAILURE, snapshot.getGap().getReason());
+    assertEquals("key-2", session.getListenKey());
+    second.send(EXECUTION_REPORT);
+    assertEquals(UserDataUpdateEventType.ORDER_TRADE_UPDATE, next(UserDataUpdateEvent.class).getEventType());
+  }
+
+  @Test
+  public void testKeepAliveOfUnknownKeyReconnectsWithANewKey() throws Exception {
+    newSession(100);
+    connections.poll(5, TimeUnit.SECONDS);
+    next(UserDataSnapshot.class);
+
+    activeKey.set("key-2");
+    keyExists.set(false);
+    assertNotNull(connections.poll(5, TimeUnit.SECONDS));
+    keyExists.set(true);
+    assertEquals(BinanceApiStreamGap.Reason.FAILURE, next(UserDataSnapshot.class).getGap().getReason());
+    assertEquals("key-2", session.getListenKey());
+  }
+}
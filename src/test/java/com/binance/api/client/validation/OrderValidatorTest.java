@@ -0,0 +1,119 @@
+package com.binance.api.client.validation;
+
+import com.binance.api.client.cache.OrderStateCache;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the rules compiled from symbol filters, and the checks and rounding of an <code>OrderValidator</code>.
+ */
+public class OrderValidatorTest {
+
+  private static final String FILTERS = "[" +
+      "{\"filterType\":\"PRICE_FILTER\",\"minPrice\":\"0.01000000\",\"maxPrice\":\"100000.00000000\",\"tickSize\":\"0.01000000\"}," +
+      "{\"filterType\":\"PERCENT_PRICE\",\"multiplierUp\":\"5\",\"multiplierDown\":\"0.2\",\"avgPriceMins\":5}," +
+      "{\"filterType\":\"LOT_SIZE\",\"minQty\":\"0.00100000\",\"maxQty\":\"9000.00000000\",\"stepSize\":\"0.00100000\"}," +
+      "{\"filterType\":\"MIN_NOTIONAL\",\"minNotional\":\"10.00000000\",\"applyToMarket\":true,\"avgPriceMins\":5}," +
+      "{\"filterType\":\"MARKET_LOT_SIZE\",\"minQty\":\"0.00000000\",\"maxQty\":\"100.00000000\",\"stepSize\":\"0.00000000\"}," +
+      "{\"filterType\":\"MAX_NUM_ORDERS\",\"maxNumOrders\":1}]";
+
+  private static ExchangeInfo exchangeInfo(String status) throws IOException {
+    String json = "{\"timezone\":\"UTC\",\"serverTime\":1,\"rateLimits\":[],\"symbols\":[{\"symbol\":\"BTCUSDT\"," +
+        "\"status\":\"" + status + "\",\"baseAsset\":\"BTC\",\"quoteAsset\":\"USDT\",\"orderTypes\":[\"LIMIT\",\"MARKET\"]," +
+        "\"filters\":" + FILTERS + "}]}";
+    return BinanceApiConstants.JACKSON_MAPPER.readValue(json, ExchangeInfo.class);
+  }
+
+  @Test
+  public void testCompilesFiltersIntoMantissas() throws IOException {
+    SymbolRules rules = new OrderValidator(exchangeInfo("TRADING")).getRules("BTCUSDT");
+    assertEquals(2, rules.getPriceScale());
+    assertEquals(3, rules.getQtyScale());
+    assertEquals(1, rules.getTickSize());
+    assertEquals(1, rules.getStepSize());
+    assertEquals(10_00000, rules.getMinNotional());
+    assertEquals(0, rules.getMarketStepSize());
+    assertEquals(1, rules.getMaxNumOrders());
+  }
+
+  @Test
+  public void testFindsTheViolationTheExchangeWouldReport() throws IOException {
+    OrderValidator validator = new OrderValidator(exchangeInfo("TRADING"));
+    assertNull(validator.findViolation(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.5", "20000.01")));
+    assertEquals(OrderViolation.UNKNOWN_SYMBOL, validator.findViolation(NewOrder.limitBuy("ETHUSDT", TimeInForce.GTC, "1", "100")));
+    assertEquals(OrderViolation.ORDER_TYPE_NOT_ALLOWED, validator.findViolation(
+        new NewOrder("BTCUSDT", OrderSide.BUY, OrderType.LIMIT_MAKER, null, "1", null, "100")));
+    assertEquals(OrderViolation.PRICE_FILTER, validator.findViolation(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.5", "20000.015")));
+    assertEquals(OrderViolation.PRICE_FILTER, validator.findViolation(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.5", "100000.01")));
+    assertEquals(OrderViolation.LOT_SIZE, validator.findViolation(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.0005", "20000")));
+    assertEquals(OrderViolation.MIN_NOTIONAL, validator.findViolation(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.001", "9999.99")));
+    assertEquals(OrderViolation.PERCENT_PRICE, validator.findViolation(
+        NewOrder.limitSell("BTCUSDT", TimeInForce.GTC, "0.5", "20000"), 3000_00));
+    assertEquals(OrderViolation.MARKET_LOT_SIZE, validator.findViolation(NewOrder.marketSell("BTCUSDT", "101")));
+    assertEquals(OrderViolation.MIN_NOTIONAL, validator.findViolation(NewOrder.marketSell("BTCUSDT", "0.001"), 9000_00));
+    assertNull(validator.findViolation(NewOrder.marketSell("BTCUSDT", "0.001")));
+    assertNull(validator.findViolation(NewOrder.marketBuy("BTCUSDT", "5")));
+  }
+
+  @Test
+  public void testChecksThrowTheErrorOfTheExchange() throws IOException {
+    OrderValidator validator = new OrderValidator(exchangeInfo("TRADING"));
+    NewOrder order = NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.5", "20000");
+    assertSame(order, validator.check(order));
+
+    validator.refresh(exchangeInfo("HALT"));
+    try {
+      validator.check(order);
+      fail();
+    } catch (BinanceApiException e) {
+      assertEquals(-1013, e.getErrorCode());
+      assertEquals(OrderViolation.SYMBOL_NOT_TRADING.getMessage(), e.getError().getMsg());
+    }
+  }
+
+  @Test
+  public void testRoundsPricesTowardsTheBookAndQuantitiesDown() throws IOException {
+    OrderValidator validator = new OrderValidator(exchangeInfo("TRADING"));
+    NewOrder buy = validator.round(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.12345", "20000.019"));
+    assertEquals("20000.01", buy.getPrice());
+    assertEquals("0.123", buy.getQuantity());
+
+    NewOrder sell = validator.round(NewOrder.limitSell("BTCUSDT", TimeInForce.GTC, "0.1239", "20000.011"));
+    assertEquals("20000.02", sell.getPrice());
+    assertEquals("0.123", sell.getQuantity());
+
+    try {
+      validator.round(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.0009", "20000"));
+      fail();
+    } catch (BinanceApiException e) {
+      assertEquals(OrderViolation.LOT_SIZE.getMessage(), e.getError().getMsg());
+    }
+  }
+
+  @Test
+  public void testCountsTheOpenOrdersOfTheSymbol() throws IOException {
+    OrderStateCache openOrders = new OrderStateCache();
+    OrderValidator validator = new OrderValidator(exchangeInfo("TRADING"), openOrders);
+    NewOrder order = NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.5", "20000");
+    assertNull(validator.findViolation(order));
+
+    openOrders.apply(BinanceApiConstants.JACKSON_MAPPER.readValue("{\"e\":\"executionReport\",\"E\":1,\"s\":\"BTCUSDT\"," +
+        "\"c\":\"my-order\",\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"0.5\",\"p\":\"20000\",\"x\":\"NEW\"," +
+        "\"X\":\"NEW\",\"i\":42,\"z\":\"0\",\"T\":1,\"t\":-1}", OrderTradeUpdateEvent.class));
+    assertEquals(OrderViolation.MAX_NUM_ORDERS, validator.findViolation(order));
+  }
+}
@@ -0,0 +1,62 @@
+package com.binance.api.domain.event;
+
+import com.binance.api.client.domain.event.AllMarketTickersColumns;
+import com.binance.api.client.domain.general.SymbolRegistry;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that all market tickers arrays are decoded into <code>AllMarketTickersColumns</code>.
+ */
+public class AllMarketTickersColumnsDeserializerTest {
+
+  private static String ticker(String symbol, long eventTime, String bidPrice) {
+    return "{\"e\":\"24hrTicker\",\"E\":" + eventTime + ",\"s\":\"" + symbol + "\",\"p\":\"-0.00010000\",\"P\":\"-2.5\"," +
+        "\"w\":\"0.0018\",\"x\":\"0.0009\",\"c\":\"0.0025\",\"Q\":\"10\",\"b\":\"" + bidPrice + "\",\"B\":\"10\"," +
+        "\"a\":\"0.0026\",\"A\":\"100\",\"o\":\"0.0010\",\"h\":\"0.0025\",\"l\":\"0.0010\",\"v\":\"10000\"," +
+        "\"q\":\"18\",\"O\":0,\"C\":86400000,\"F\":0,\"L\":18150,\"n\":18151}";
+  }
+
+  @Test
+  public void testColumnsUpdatedPerSymbol() throws IOException {
+    SymbolRegistry symbolRegistry = new SymbolRegistry(Arrays.asList("ETHBTC", "BNBBTC", "LTCBTC"));
+    AllMarketTickersColumns columns = new AllMarketTickersColumns(symbolRegistry);
+    ObjectReader reader = new ObjectMapper().readerFor(AllMarketTickersColumns.class).withValueToUpdate(columns);
+
+    String firstMessage = "[" + ticker("BNBBTC", 1, "0.0024") + "," + ticker("NEWBTC", 1, "1") + "," + ticker("ETHBTC", 1, "0.05") + "]";
+    assertSame(columns, reader.readValue(firstMessage));
+    assertEquals(2, columns.getUpdatedCount());
+    assertEquals(1, columns.getUpdatedId(0));
+    assertEquals(0, columns.getUpdatedId(1));
+    assertEquals(1, columns.getSkippedCount());
+    assertEquals(0.0024, columns.getBidPrices()[1], 0);
+    assertEquals(-0.0001, columns.getPriceChanges()[1], 0);
+    assertEquals(18151L, columns.getTradeCounts()[1]);
+    assertFalse(columns.hasTicker(2));
+    assertTrue(Double.isNaN(columns.getBidPrices()[2]));
+
+    reader.readValue("[" + ticker("BNBBTC", 2, "0.0023") + "]");
+    assertEquals(1, columns.getUpdatedCount());
+    assertEquals(0.0023, columns.getBidPrices()[1], 0);
+    assertEquals(2L, columns.getEventTimes()[1]);
+    assertEquals(0.05, columns.getBidPrices()[0], 0);
+  }
+
+  @Test
+  public void testParseDouble() {
+    for (String number : Arrays.asList("0.00150000", "-2.5", "123456789.12345678", "1e-7", "12345678901234567890.5", "7")) {
+      char[] chars = ("[" + number + "]").toCharArray();
+      assertEquals(Double.parseDouble(number), FixedPointDecimal.parseDouble(chars, 1, number.length()), 0);
+    }
+  }
+}
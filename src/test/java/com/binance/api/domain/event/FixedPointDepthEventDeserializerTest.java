@@ -0,0 +1,83 @@
+package com.binance.api.domain.event;
+
+import com.binance.api.client.domain.event.FixedPointDepthEvent;
+import com.binance.api.client.domain.market.FixedPointDecimal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests that depth events are decoded into fixed-point <code>FixedPointDepthEvent</code> objects.
+ */
+public class FixedPointDepthEventDeserializerTest {
+
+  private static final String DEPTH_EVENT_JSON = "{\"e\":\"depthUpdate\",\"E\":123456789,\"s\":\"BNBBTC\",\"U\":157,\"u\":160," +
+      "\"b\":[[\"0.00150000\",\"10.00000000\",[]],[\"0.00149000\",\"0.00000000\",[]]],\"a\":[[\"0.00160000\",\"100.50000000\",[]]]}";
+
+  @Test
+  public void testFixedPointDepthEventDeserializer() throws IOException {
+    FixedPointDepthEvent depthEvent = new ObjectMapper().readValue(DEPTH_EVENT_JSON, FixedPointDepthEvent.class);
+    assertEquals(depthEvent.getEventType(), "depthUpdate");
+    assertEquals(depthEvent.getEventTime(), 123456789L);
+    assertEquals(depthEvent.getSymbol(), "BNBBTC");
+    assertEquals(depthEvent.getFirstUpdateId(), 157L);
+    assertEquals(depthEvent.getFinalUpdateId(), 160L);
+
+    assertEquals(depthEvent.getBids().size(), 2);
+    assertEquals(depthEvent.getBids().getPrice(0), 150000L);
+    assertEquals(depthEvent.getBids().getQty(0), 1000000000L);
+    assertEquals(depthEvent.getBids().getQty(1), 0L);
+    assertEquals(depthEvent.getAsks().size(), 1);
+    assertEquals(depthEvent.getAsks().getQty(0), 10050000000L);
+  }
+
+  @Test
+  public void testFixedPointDepthEventUpdatedInPlace() throws IOException {
+    FixedPointDepthEvent reused = new FixedPointDepthEvent(5, 1);
+    ObjectReader reader = new ObjectMapper().readerFor(FixedPointDepthEvent.class).withValueToUpdate(reused);
+
+    FixedPointDepthEvent first = reader.readValue(DEPTH_EVENT_JSON);
+    String symbol = first.getSymbol();
+    FixedPointDepthEvent second = reader.readValue(DEPTH_EVENT_JSON);
+
+    assertSame(reused, second);
+    assertSame(symbol, second.getSymbol());
+    assertEquals(second.getBids().size(), 2);
+    assertEquals(second.getBids().getPrice(0), 150L);
+    assertEquals(second.getAsks().getQty(0), 1005L);
+  }
+
+  @Test
+  public void testCopiesAreNotRefilled() throws IOException {
+    ObjectReader reader = new ObjectMapper().readerFor(FixedPointDepthEvent.class).withValueToUpdate(new FixedPointDepthEvent(5, 1));
+    FixedPointDepthEvent copy = ((FixedPointDepthEvent) reader.readValue(DEPTH_EVENT_JSON)).copy();
+    reader.readValue("{\"e\":\"depthUpdate\",\"E\":1,\"s\":\"ETHBTC\",\"U\":161,\"u\":161,\"b\":[],\"a\":[]}");
+
+    assertEquals(copy.getSymbol(), "BNBBTC");
+    assertEquals(copy.getFinalUpdateId(), 160L);
+    assertEquals(copy.getBids().size(), 2);
+    assertEquals(copy.getBids().getPrice(1), 149L);
+    assertEquals(copy.getAsks().getQty(0), 1005L);
+    assertEquals(copy.getAsks().getQtyScale(), 1);
+  }
+
+  @Test
+  public void testFixedPointDecimal() {
+    assertEquals(FixedPointDecimal.scaleOf("0.01000000"), 2);
+    assertEquals(FixedPointDecimal.scaleOf("1.00000000"), 0);
+    assertEquals(FixedPointDecimal.parse("12.3400", 3), 12340L);
+    assertEquals(FixedPointDecimal.parse("-0.5", 2), -50L);
+    assertEquals(FixedPointDecimal.parse("7", 2), 700L);
+    assertEquals(FixedPointDecimal.toString(12340L, 3), "12.340");
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testFixedPointDecimalRejectsDigitsBeyondScale() {
+    FixedPointDecimal.parse("0.125", 2);
+  }
+}
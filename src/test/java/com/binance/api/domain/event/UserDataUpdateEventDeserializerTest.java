@@ -77,5 +77,36 @@ public class UserDataUpdateEventDeserializerTest {
     }
   }
 
-}
+  @Test
+  public void testOrderUpdateEventDeserializerWithEventTypeNotFirst() {
+    final String orderUpdateEventJson = "{\"E\":2,\"s\":\"NEOETH\",\"c\":\"XXX\",\"e\":\"executionReport\",\"S\":\"SELL\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"1.00000000\",\"p\":\"0.00010000\",\"x\":\"NEW\",\"X\":\"NEW\",\"r\":\"NONE\",\"i\":42,\"T\":2}";
+    ObjectMapper mapper = new ObjectMapper();
+    try {
+      UserDataUpdateEvent userDataUpdateEvent = mapper.readValue(orderUpdateEventJson, UserDataUpdateEvent.class);
+      assertEquals(userDataUpdateEvent.getEventType().getEventTypeId(), "executionReport");
+      assertEquals(userDataUpdateEvent.getEventTime(), 2L);
+
+      OrderTradeUpdateEvent orderTradeUpdateEvent = userDataUpdateEvent.getOrderTradeUpdateEvent();
+      assertEquals(orderTradeUpdateEvent.getSymbol(), "NEOETH");
+      assertEquals(orderTradeUpdateEvent.getNewClientOrderId(), "XXX");
+      assertEquals(orderTradeUpdateEvent.getSide(), OrderSide.SELL);
+      assertEquals(orderTradeUpdateEvent.getOrderStatus(), OrderStatus.NEW);
+      assertEquals(orderTradeUpdateEvent.getOrderId(), new Long(42));
+    } catch (IOException e) {
+      fail();
+    }
+  }
 
+  @Test
+  public void testListenKeyExpiredEventDeserializer() {
+    final String listenKeyExpiredJson = "{\"e\":\"listenKeyExpired\",\"E\":1576653824250,\"listenKey\":\"OfYGbUzi3PraNagEkdKuFwUHn48brFsItTdsuiIXrucEvD0rhRXZ7I6URWfE8YE8\"}";
+    ObjectMapper mapper = new ObjectMapper();
+    try {
+      UserDataUpdateEvent userDataUpdateEvent = mapper.readValue(listenKeyExpiredJson, UserDataUpdateEvent.class);
+      assertEquals(userDataUpdateEvent.getEventType(), UserDataUpdateEvent.UserDataUpdateEventType.LISTEN_KEY_EXPIRED);
+      assertEquals(userDataUpdateEvent.getEventTime(), 1576653824250L);
+    } catch (IOException e) {
+      fail();
+    }
+  }
+}
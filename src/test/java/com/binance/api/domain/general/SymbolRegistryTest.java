@@ -0,0 +1,62 @@
+package com.binance.api.domain.general;
+
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.general.SymbolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the ids and canonical symbols of a <code>SymbolRegistry</code>.
+ */
+public class SymbolRegistryTest {
+
+  @Test
+  public void testIdsAreDenseAndStableAcrossRefreshes() {
+    SymbolRegistry symbolRegistry = new SymbolRegistry(Arrays.asList("ETHBTC", "BNBBTC", "ETHBTC"));
+    assertEquals(2, symbolRegistry.size());
+    assertEquals(0, symbolRegistry.getId("ETHBTC"));
+    assertEquals(1, symbolRegistry.getId("BNBBTC"));
+    assertEquals(-1, symbolRegistry.getId("LTCBTC"));
+
+    assertEquals(1, symbolRegistry.register(Arrays.asList("LTCBTC", "BNBBTC")));
+    assertEquals(0, symbolRegistry.getId("ETHBTC"));
+    assertEquals(2, symbolRegistry.getId("LTCBTC"));
+    assertEquals("LTCBTC", symbolRegistry.getSymbol(2));
+
+    char[] chars = "\"LTCBTC\"".toCharArray();
+    assertEquals(2, symbolRegistry.getId(chars, 1, 6));
+    assertSame(symbolRegistry.getSymbol(2), symbolRegistry.getCanonicalSymbol(chars, 1, 6));
+    assertNull(symbolRegistry.getCanonicalSymbol(chars, 1, 5));
+  }
+
+  @Test
+  public void testEventSymbolsAreCanonical() throws IOException {
+    SymbolRegistry symbolRegistry = new SymbolRegistry(Arrays.asList("ETHBTC", "BNBBTC"));
+    ObjectMapper mapper = new ObjectMapper();
+
+    String depthEventJson = "{\"e\":\"depthUpdate\",\"E\":1,\"s\":\"BNBBTC\",\"U\":157,\"u\":160,\"b\":[],\"a\":[]}";
+    ObjectReader depthEventReader = mapper.readerFor(DepthEvent.class).withAttribute(SymbolRegistry.class, symbolRegistry);
+    assertSame(symbolRegistry.getSymbol(1), depthEventReader.<DepthEvent>readValue(depthEventJson).getSymbol());
+    assertNotSame(symbolRegistry.getSymbol(1), mapper.readValue(depthEventJson, DepthEvent.class).getSymbol());
+
+    String aggTradeEventJson = "{\"e\":\"aggTrade\",\"E\":1,\"s\":\"ETHBTC\",\"a\":12345,\"p\":\"0.001\",\"q\":\"100\"," +
+        "\"f\":100,\"l\":105,\"T\":1,\"m\":true,\"M\":true}";
+    ObjectReader aggTradeEventReader = mapper.readerFor(AggTradeEvent.class).withAttribute(SymbolRegistry.class, symbolRegistry);
+    assertSame(symbolRegistry.getSymbol(0), aggTradeEventReader.<AggTradeEvent>readValue(aggTradeEventJson).getSymbol());
+
+    String candlestickEventJson = "{\"e\":\"kline\",\"E\":1,\"s\":\"NEWBTC\",\"k\":{\"t\":1,\"T\":2,\"s\":\"NEWBTC\",\"i\":\"1m\"}}";
+    ObjectReader candlestickEventReader = mapper.readerFor(CandlestickEvent.class).withAttribute(SymbolRegistry.class, symbolRegistry);
+    assertEquals("NEWBTC", candlestickEventReader.<CandlestickEvent>readValue(candlestickEventJson).getSymbol());
+  }
+}
@@ -0,0 +1,42 @@
+package com.binance.api.domain.market;
+
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that order book entries in the format [ price, qty, [] ] are converted to <code>OrderBookEntry</code> objects.
+ */
+public class OrderBookEntryDeserializerTest {
+
+  @Test
+  public void testOrderBookDeserializer() {
+    final String json = "{\"lastUpdateId\":1027024,\"bids\":[[\"4.00000000\",\"431.00000000\",[]],[\"3.90000000\",\"12.50000000\"]],\"asks\":[[\"4.00000200\",\"12.00000000\",[]]]}";
+    ObjectMapper mapper = new ObjectMapper();
+    try {
+      OrderBook orderBook = mapper.readValue(json, OrderBook.class);
+      assertEquals(orderBook.getLastUpdateId(), 1027024L);
+      assertEquals(orderBook.getBids().size(), 2);
+
+      OrderBookEntry bestBid = orderBook.getBids().get(0);
+      assertEquals(bestBid.getPrice(), "4.00000000");
+      assertEquals(bestBid.getQty(), "431.00000000");
+
+      OrderBookEntry secondBid = orderBook.getBids().get(1);
+      assertEquals(secondBid.getPrice(), "3.90000000");
+      assertEquals(secondBid.getQty(), "12.50000000");
+
+      OrderBookEntry bestAsk = orderBook.getAsks().get(0);
+      assertEquals(bestAsk.getPrice(), "4.00000200");
+      assertEquals(bestAsk.getQty(), "12.00000000");
+    } catch (IOException e) {
+      fail();
+    }
+  }
+}
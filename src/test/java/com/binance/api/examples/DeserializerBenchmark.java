@@ -0,0 +1,209 @@
+package com.binance.api.examples;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the time and memory it takes to decode depth, kline and execution report messages with the streaming
+ * deserializers, and with copies of the deserializers they replaced, which first read every message into a JSON tree
+ * (and, for user data events, printed the tree and parsed it again).
+ *
+ * Allocations are only reported on JVMs which measure them per thread.
+ *
+ * Usage: <code>DeserializerBenchmark [iterations]</code>
+ */
+public class DeserializerBenchmark {
+
+  private static final ObjectMapper MAPPER = BinanceApiConstants.JACKSON_MAPPER;
+
+  /**
+   * Decodes with the former deserializers, which mix-ins put in place of the streaming ones.
+   */
+  private static final ObjectMapper BASELINE_MAPPER = MAPPER.copy()
+      .addMixIn(OrderBookEntry.class, BaselineOrderBookEntry.class)
+      .addMixIn(CandlestickEvent.class, BaselineCandlestickEvent.class)
+      .addMixIn(UserDataUpdateEvent.class, BaselineUserDataUpdateEvent.class);
+
+  private static final String DEPTH = depth(20);
+
+  private static final String KLINE = "{\"e\":\"kline\",\"E\":1499404907056,\"s\":\"ETHBTC\",\"k\":{\"t\":1499404860000," +
+      "\"T\":1499404919999,\"s\":\"ETHBTC\",\"i\":\"1m\",\"f\":77462,\"L\":77465,\"o\":\"0.10278577\",\"c\":\"0.10278645\"," +
+      "\"h\":\"0.10278712\",\"l\":\"0.10278518\",\"v\":\"17.47929838\",\"n\":4,\"x\":false,\"q\":\"1.79662878\"," +
+      "\"V\":\"2.34879839\",\"Q\":\"0.24142166\",\"B\":\"13279784.01349473\"}}";
+
+  private static final String EXECUTION_REPORT = "{\"e\":\"executionReport\",\"E\":1499405658658,\"s\":\"ETHBTC\"," +
+      "\"c\":\"mUvoqJxFIILMdfAW5iGSOW\",\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"1.00000000\",\"p\":\"0.10264410\"," +
+      "\"P\":\"0.00000000\",\"F\":\"0.00000000\",\"g\":-1,\"C\":\"\",\"x\":\"TRADE\",\"X\":\"PARTIALLY_FILLED\",\"r\":\"NONE\"," +
+      "\"i\":4293153,\"l\":\"0.50000000\",\"z\":\"0.50000000\",\"L\":\"0.10264410\",\"n\":\"0.00050000\",\"N\":\"BNB\"," +
+      "\"T\":1499405658657,\"t\":1,\"I\":8641984,\"w\":false,\"m\":false,\"M\":true,\"O\":1499405658657," +
+      "\"Z\":\"0.05132205\",\"Y\":\"0.05132205\",\"Q\":\"0.00000000\"}";
+
+  /**
+   * A way of decoding a message, returning the decoded object.
+   */
+  private interface Decoder {
+    Object decode(String json) throws IOException;
+  }
+
+  public static void main(String[] args) throws IOException {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+    compare("depth (20 levels)", DEPTH, iterations, DepthEvent.class);
+    compare("kline", KLINE, iterations, CandlestickEvent.class);
+    compare("executionReport", EXECUTION_REPORT, iterations, UserDataUpdateEvent.class);
+  }
+
+  private static void compare(String name, String json, int iterations, Class<?> type) throws IOException {
+    Decoder baseline = message -> BASELINE_MAPPER.readValue(message, type);
+    Decoder streaming = message -> MAPPER.readValue(message, type);
+    // Warm up both paths first
+    run(baseline, json, iterations);
+    run(streaming, json, iterations);
+    long[] baselineResult = run(baseline, json, iterations);
+    long[] streamingResult = run(streaming, json, iterations);
+    System.out.printf("%-18s former: %6d ns/message %9s, streaming: %6d ns/message %9s%n", name,
+        baselineResult[0], bytes(baselineResult[1]), streamingResult[0], bytes(streamingResult[1]));
+  }
+
+  /**
+   * @return the average time to decode a message, in nanoseconds, and the average memory allocated, in bytes, or -1
+   */
+  private static long[] run(Decoder decoder, String json, int iterations) throws IOException {
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+    int checksum = 0;
+    for (int i = 0; i < iterations; i++) {
+      checksum += decoder.decode(json).hashCode() & 1;
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocatedAfter = allocatedBytes();
+    if (checksum < 0) {
+      throw new IllegalStateException();
+    }
+    return new long[]{elapsed / iterations, allocatedBefore < 0 ? -1 : (allocatedAfter - allocatedBefore) / iterations};
+  }
+
+  private static String bytes(long bytes) {
+    return bytes < 0 ? "" : "(" + bytes + " B)";
+  }
+
+  /**
+   * @return the memory allocated so far by the current thread, or -1 if the JVM does not measure it
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  private static String depth(int levels) {
+    StringBuilder json = new StringBuilder("{\"e\":\"depthUpdate\",\"E\":1499404907056,\"s\":\"BNBBTC\",\"U\":157,\"u\":160,");
+    for (String side : new String[]{"b", "a"}) {
+      json.append('"').append(side).append("\":[");
+      for (int i = 0; i < levels; i++) {
+        json.append(i > 0 ? "," : "").append(String.format("[\"0.%08d\",\"%d.00000000\",[]]", 150_000 + i * 10, i + 1));
+      }
+      json.append(side.equals("b") ? "]," : "]}");
+    }
+    return json.toString();
+  }
+
+  @JsonDeserialize(using = BaselineOrderBookEntryDeserializer.class)
+  private abstract static class BaselineOrderBookEntry {
+  }
+
+  @JsonDeserialize(using = BaselineCandlestickEventDeserializer.class)
+  private abstract static class BaselineCandlestickEvent {
+  }
+
+  @JsonDeserialize(using = BaselineUserDataUpdateEventDeserializer.class)
+  private abstract static class BaselineUserDataUpdateEvent {
+  }
+
+  /**
+   * The former <code>OrderBookEntryDeserializer</code>.
+   */
+  static class BaselineOrderBookEntryDeserializer extends JsonDeserializer<OrderBookEntry> {
+
+    @Override
+    public OrderBookEntry deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+      JsonNode node = jp.getCodec().readTree(jp);
+      OrderBookEntry orderBookEntry = new OrderBookEntry();
+      orderBookEntry.setPrice(node.get(0).asText());
+      orderBookEntry.setQty(node.get(1).asText());
+      return orderBookEntry;
+    }
+  }
+
+  /**
+   * The former <code>CandlestickEventDeserializer</code>.
+   */
+  static class BaselineCandlestickEventDeserializer extends JsonDeserializer<CandlestickEvent> {
+
+    @Override
+    public CandlestickEvent deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+      JsonNode node = jp.getCodec().readTree(jp);
+      CandlestickEvent candlestickEvent = new CandlestickEvent();
+      candlestickEvent.setEventType(node.get("e").asText());
+      candlestickEvent.setEventTime(node.get("E").asLong());
+      candlestickEvent.setSymbol(node.get("s").asText());
+      JsonNode candlestickNode = node.get("k");
+      candlestickEvent.setOpenTime(candlestickNode.get("t").asLong());
+      candlestickEvent.setCloseTime(candlestickNode.get("T").asLong());
+      candlestickEvent.setIntervalId(candlestickNode.get("i").asText());
+      candlestickEvent.setFirstTradeId(candlestickNode.get("f").asLong());
+      candlestickEvent.setLastTradeId(candlestickNode.get("L").asLong());
+      candlestickEvent.setOpen(candlestickNode.get("o").asText());
+      candlestickEvent.setClose(candlestickNode.get("c").asText());
+      candlestickEvent.setHigh(candlestickNode.get("h").asText());
+      candlestickEvent.setLow(candlestickNode.get("l").asText());
+      candlestickEvent.setVolume(candlestickNode.get("v").asText());
+      candlestickEvent.setNumberOfTrades(candlestickNode.get("n").asLong());
+      candlestickEvent.setBarFinal(candlestickNode.get("x").asBoolean());
+      candlestickEvent.setQuoteAssetVolume(candlestickNode.get("q").asText());
+      candlestickEvent.setTakerBuyBaseAssetVolume(candlestickNode.get("V").asText());
+      candlestickEvent.setTakerBuyQuoteAssetVolume(candlestickNode.get("Q").asText());
+      return candlestickEvent;
+    }
+  }
+
+  /**
+   * The former <code>UserDataUpdateEventDeserializer</code>, which printed the tree of the event to parse it again.
+   */
+  static class BaselineUserDataUpdateEventDeserializer extends JsonDeserializer<UserDataUpdateEvent> {
+
+    @Override
+    public UserDataUpdateEvent deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+      JsonNode node = jp.getCodec().readTree(jp);
+      String json = node.toString();
+      UserDataUpdateEventType eventType = UserDataUpdateEventType.fromEventTypeId(node.get("e").asText());
+      UserDataUpdateEvent userDataUpdateEvent = new UserDataUpdateEvent();
+      userDataUpdateEvent.setEventType(eventType);
+      userDataUpdateEvent.setEventTime(node.get("E").asLong());
+      if (eventType == UserDataUpdateEventType.ACCOUNT_UPDATE || eventType == UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE) {
+        userDataUpdateEvent.setAccountUpdateEvent(MAPPER.readValue(json, AccountUpdateEvent.class));
+      } else {
+        userDataUpdateEvent.setOrderTradeUpdateEvent(MAPPER.readValue(json, OrderTradeUpdateEvent.class));
+      }
+      return userDataUpdateEvent;
+    }
+  }
+}
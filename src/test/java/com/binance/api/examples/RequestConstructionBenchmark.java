@@ -0,0 +1,105 @@
+package com.binance.api.examples;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import com.binance.api.client.security.AuthenticationInterceptor;
+import com.binance.api.client.security.HmacSHA256Signer;
+import com.binance.api.client.security.RequestSigner;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Measures how long it takes to build the final request of a call to each of a few endpoints, from the call of the
+ * service method to the request reaching the network, with the interceptor stage of the clients and with the former
+ * stage which copied every request once more to add browser headers. No request is sent: the last interceptor answers
+ * with an empty response.
+ *
+ * Usage: <code>RequestConstructionBenchmark [iterations]</code>
+ */
+public class RequestConstructionBenchmark {
+
+  private static final String API_KEY = "vmPUZE6mv9SD5VNHk4HlWFsOr6aKE2zvsw0MuIgwCIPy6utIco14y7Ju91duEh8A";
+
+  private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+  public static void main(String[] args) throws IOException {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    RequestSigner signer = new HmacSHA256Signer(SECRET);
+
+    Interceptor browserHeaders = chain -> chain.proceed(chain.request().newBuilder()
+        .addHeader("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.14; rv:67.0) Gecko/20100101 Firefox/67.0")
+        .addHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+        .build());
+    BinanceApiService former = service(new AuthenticationInterceptor(API_KEY, signer), browserHeaders);
+    BinanceApiService fused = service(new AuthenticationInterceptor(API_KEY, signer, Headers.of("User-Agent", "binance-java-api")));
+
+    Map<String, Function<BinanceApiService, Call<?>>> endpoints = new LinkedHashMap<>();
+    endpoints.put("getServerTime", BinanceApiService::getServerTime);
+    endpoints.put("getOrderBook", service -> service.getOrderBook("BTCUSDT", 100));
+    endpoints.put("startUserDataStream", BinanceApiService::startUserDataStream);
+    endpoints.put("getAccount", service -> service.getAccount(5_000L, System.currentTimeMillis()));
+    endpoints.put("newOrder", service -> service.newOrder("BTCUSDT", OrderSide.BUY, OrderType.LIMIT, TimeInForce.GTC, "0.001", null,
+        "20000.00", "my-order-1", null, null, null, 5_000L, System.currentTimeMillis()));
+
+    for (Map.Entry<String, Function<BinanceApiService, Call<?>>> endpoint : endpoints.entrySet()) {
+      // Warm up both stages first
+      run(former, endpoint.getValue(), iterations);
+      run(fused, endpoint.getValue(), iterations);
+      System.out.printf("%-20s former stage: %6d ns/request, fused stage: %6d ns/request%n", endpoint.getKey(),
+          run(former, endpoint.getValue(), iterations), run(fused, endpoint.getValue(), iterations));
+    }
+  }
+
+  private static BinanceApiService service(Interceptor... interceptors) {
+    OkHttpClient.Builder builder = BinanceApiServiceGenerator.getSharedClient().newBuilder();
+    for (Interceptor interceptor : interceptors) {
+      builder.addInterceptor(interceptor);
+    }
+    OkHttpClient client = builder.addInterceptor(RequestConstructionBenchmark::respond).build();
+    return new Retrofit.Builder()
+        .baseUrl("https://api.binance.com")
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(client)
+        .build()
+        .create(BinanceApiService.class);
+  }
+
+  private static Response respond(Interceptor.Chain chain) {
+    Request request = chain.request();
+    return new Response.Builder()
+        .request(request)
+        .protocol(Protocol.HTTP_1_1)
+        .code(204)
+        .message("No Content")
+        .body(ResponseBody.create(MediaType.get("application/json"), ""))
+        .build();
+  }
+
+  /**
+   * @return the average time to build and "send" a request, in nanoseconds
+   */
+  private static long run(BinanceApiService service, Function<BinanceApiService, Call<?>> endpoint, int iterations) throws IOException {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      endpoint.apply(service).execute();
+    }
+    return (System.nanoTime() - start) / iterations;
+  }
+}
@@ -0,0 +1,109 @@
+package com.binance.api.examples;
+
+import com.binance.api.client.BinanceApiFutureRestClient;
+import com.binance.api.client.BinanceApiFutures;
+import com.binance.api.client.BinanceApiHttpConfig;
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.impl.BinanceApiFutureRestClientImpl;
+import com.binance.api.client.impl.BinanceApiRestClientImpl;
+import com.binance.api.client.impl.BinanceApiService;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares how long many concurrent calls take against a local mock server answering after a fixed latency, when made
+ * by the blocking client on platform threads, by the blocking client on virtual threads (from Java 21 on), and by the
+ * future-based asynchronous client.
+ *
+ * Usage: <code>RestClientConcurrencyBenchmark [calls] [latencyMillis] [platformThreads]</code>
+ */
+public class RestClientConcurrencyBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int calls = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+    long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+    int platformThreads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+    MockWebServer server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"serverTime\":1499827319559}").setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+      }
+    });
+    server.start();
+    try {
+      BinanceApiHttpConfig config = new BinanceApiHttpConfig().maxRequests(calls).maxRequestsPerHost(calls).maxIdleConnections(calls);
+      BinanceApiService service = service(server, config.newClient());
+
+      BinanceApiRestClient blockingClient = new BinanceApiRestClientImpl(service, BinanceApiServiceGenerator::executeSync);
+      run("blocking client, " + platformThreads + " platform threads", calls,
+          () -> runBlocking(blockingClient, Executors.newFixedThreadPool(platformThreads), calls));
+
+      if (BinanceApiHttpConfig.isVirtualThreadSupported()) {
+        run("blocking client, virtual threads", calls,
+            () -> runBlocking(blockingClient, BinanceApiHttpConfig.newVirtualThreadPerTaskExecutor(), calls));
+      } else {
+        System.out.println("blocking client, virtual threads: skipped, requires Java 21 or later");
+      }
+
+      BinanceApiFutureRestClient futureClient = new BinanceApiFutureRestClientImpl(service);
+      List<Supplier<CompletableFuture<?>>> futureCalls = new ArrayList<>();
+      for (int i = 0; i < calls; i++) {
+        futureCalls.add(futureClient::getServerTime);
+      }
+      run("future client", calls, () -> BinanceApiFutures.all(futureCalls, calls).join());
+    } finally {
+      server.shutdown();
+    }
+  }
+
+  private static BinanceApiService service(MockWebServer server, OkHttpClient client) {
+    return new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(JacksonConverterFactory.create())
+        .client(client)
+        .build()
+        .create(BinanceApiService.class);
+  }
+
+  private static void runBlocking(BinanceApiRestClient client, ExecutorService executor, int calls) {
+    try {
+      List<Future<?>> futures = new ArrayList<>(calls);
+      for (int i = 0; i < calls; i++) {
+        futures.add(executor.submit(client::getServerTime));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void run(String name, int calls, Runnable benchmark) {
+    // Warm up connections and code paths first
+    benchmark.run();
+    long start = System.nanoTime();
+    benchmark.run();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    System.out.printf("%s: %d calls in %d ms%n", name, calls, elapsedMillis);
+  }
+}
@@ -0,0 +1,77 @@
+package com.binance.api.examples;
+
+import com.binance.api.client.security.Ed25519Signer;
+import com.binance.api.client.security.HmacSHA256Signer;
+import com.binance.api.client.security.PrivateKeySigner;
+import com.binance.api.client.security.RequestSigner;
+import com.binance.api.client.security.RsaSigner;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the latency of signing a new order query with each type of API key: HMAC-SHA256, Ed25519 and RSA. The
+ * asymmetric keys are generated for the run. Ed25519 keys require Java 15 or later, and are skipped otherwise.
+ *
+ * Usage: <code>SigningKeyTypeBenchmark [iterations]</code>
+ */
+public class SigningKeyTypeBenchmark {
+
+  private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+
+  private static final String NEW_ORDER_QUERY = "symbol=BTCUSDT&side=BUY&type=LIMIT&timeInForce=GTC&quantity=0.001" +
+      "&price=20000.00&newClientOrderId=my-order-1&newOrderRespType=RESULT&recvWindow=5000&timestamp=";
+
+  public static void main(String[] args) throws Exception {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+    Map<String, RequestSigner> signers = new LinkedHashMap<>();
+    signers.put("HMAC", new HmacSHA256Signer(SECRET));
+    try {
+      signers.put("Ed25519", new Ed25519Signer(KeyPairGenerator.getInstance("Ed25519").generateKeyPair().getPrivate()));
+    } catch (NoSuchAlgorithmException e) {
+      System.out.println("Ed25519 skipped: requires Java 15 or later");
+    }
+    KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+    rsa.initialize(2048);
+    signers.put("RSA (2048 bits)", new RsaSigner(rsa.generateKeyPair().getPrivate()));
+
+    for (Map.Entry<String, RequestSigner> signer : signers.entrySet()) {
+      // Warm up first; signatures with a private key are much slower, so fewer of them are measured
+      int count = signer.getValue() instanceof PrivateKeySigner ? Math.max(iterations / 50, 100) : iterations;
+      run(signer.getValue(), count);
+      long[] latencies = run(signer.getValue(), count);
+      Arrays.sort(latencies);
+      System.out.printf("%-16s mean: %7d ns, p50: %7d ns, p99: %7d ns per order%n", signer.getKey(),
+          Arrays.stream(latencies).sum() / latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+  }
+
+  /**
+   * Signs queries differing by their timestamp, as orders do.
+   *
+   * @return the time each signature took, in nanoseconds
+   */
+  private static long[] run(RequestSigner signer, int iterations) {
+    long[] latencies = new long[iterations];
+    long timestamp = System.currentTimeMillis();
+    int checksum = 0;
+    for (int i = 0; i < iterations; i++) {
+      String query = NEW_ORDER_QUERY + (timestamp + i);
+      long start = System.nanoTime();
+      checksum += signer.sign(query).charAt(0);
+      latencies[i] = System.nanoTime() - start;
+    }
+    if (checksum < 0) {
+      throw new IllegalStateException();
+    }
+    return latencies;
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.round(percentile * sortedLatencies.length))];
+  }
+}
@@ -1,54 +1,62 @@
 package com.binance.api.examples;
 
 import com.binance.api.client.BinanceApiClientFactory;
-import com.binance.api.client.BinanceApiRestClient;
-import com.binance.api.client.BinanceApiWebSocketClient;
 import com.binance.api.client.domain.event.AccountUpdateEvent;
 import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
 import com.binance.api.client.domain.event.UserDataUpdateEvent.UserDataUpdateEventType;
+import com.binance.api.client.userdata.UserDataSnapshot;
+import com.binance.api.client.userdata.UserDataStreamListener;
+import com.binance.api.client.userdata.UserDataStreamSession;
 
 /**
- * User data stream endpoints examples.
+ * User data stream examples.
  *
- * It illustrates how to create a stream to obtain updates on a user account,
- * as well as update on trades/orders on a user account.
+ * It illustrates how to open a managed stream of updates on a user account, as well as updates on trades/orders on a
+ * user account. The session keeps its listen key alive, reconnects when the stream fails or the key expires, and hands
+ * over a fresh snapshot of the account and its open orders whenever events may have been missed.
  */
 public class UserDataStreamExample {
 
-  public static void main(String[] args) {
+  public static void main(String[] args) throws InterruptedException {
     BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance("YOUR_API_KEY", "YOUR_SECRET");
-    BinanceApiRestClient client = factory.newRestClient();
-
-    // First, we obtain a listenKey which is required to interact with the user data stream
-    String listenKey = client.startUserDataStream();
-
-    // Then, we open a new web socket client, and provide a callback that is called on every update
-    BinanceApiWebSocketClient webSocketClient = factory.newWebSocketClient();
-
-    // Listen for changes in the account
-    webSocketClient.onUserDataUpdateEvent(listenKey, response -> {
-      if (response.getEventType() == UserDataUpdateEventType.ACCOUNT_UPDATE) {
-        AccountUpdateEvent accountUpdateEvent = response.getAccountUpdateEvent();
-        // Print new balances of every available asset
-        System.out.println(accountUpdateEvent.getBalances());
-      } else {
-        OrderTradeUpdateEvent orderTradeUpdateEvent = response.getOrderTradeUpdateEvent();
-        // Print details about an order/trade
-        System.out.println(orderTradeUpdateEvent);
-
-        // Print original quantity
-        System.out.println(orderTradeUpdateEvent.getOriginalQuantity());
-
-        // Or price
-        System.out.println(orderTradeUpdateEvent.getPrice());
+
+    UserDataStreamSession session = factory.newUserDataStreamSession(new UserDataStreamListener() {
+      @Override
+      public void onSnapshot(UserDataSnapshot snapshot) {
+        // Called when the session starts, and after every reconnect: replace any state derived from earlier events
+        System.out.println(snapshot.getAccount().getBalances());
+        System.out.println(snapshot.getOpenOrders());
+      }
+
+      @Override
+      public void onEvent(UserDataUpdateEvent response) {
+        if (response.getEventType() == UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE) {
+          AccountUpdateEvent accountUpdateEvent = response.getAccountUpdateEvent();
+          // Print new balances of every changed asset
+          System.out.println(accountUpdateEvent.getBalances());
+        } else if (response.getEventType() == UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+          OrderTradeUpdateEvent orderTradeUpdateEvent = response.getOrderTradeUpdateEvent();
+          // Print details about an order/trade
+          System.out.println(orderTradeUpdateEvent);
+
+          // Print original quantity
+          System.out.println(orderTradeUpdateEvent.getOriginalQuantity());
+
+          // Or price
+          System.out.println(orderTradeUpdateEvent.getPrice());
+        }
       }
-    });
-    System.out.println("Waiting for events...");
 
-    // We can keep alive the user data stream
-    // client.keepAliveUserDataStream(listenKey);
+      @Override
+      public void onFailure(Throwable cause) {
+        System.err.println("User data stream failure: " + cause);
+      }
+    });
+    System.out.println("Waiting for events on listen key " + session.getListenKey());
 
-    // Or we can invalidate it, whenever it is no longer needed
-    // client.closeUserDataStream(listenKey);
+    // The listen key is closed along with the session, whenever it is no longer needed
+    Runtime.getRuntime().addShutdownHook(new Thread(session::close));
+    Thread.currentThread().join();
   }
 }